@@ -0,0 +1,23 @@
+package com.percap.controllers;
+
+import com.percap.dtos.admin.UserDirectoryPageDTO;
+import com.percap.services.admin.UserDirectoryService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/admin/users")
+public class AdminUserController {
+    private final UserDirectoryService userDirectoryService;
+
+    public AdminUserController(UserDirectoryService userDirectoryService) {
+        this.userDirectoryService = userDirectoryService;
+    }
+
+    @GetMapping
+    public ResponseEntity<UserDirectoryPageDTO> list(@RequestParam(required = false) String prefix,
+                                                     @RequestParam(required = false) String after,
+                                                     @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(userDirectoryService.page(prefix, after, limit));
+    }
+}
@@ -5,6 +5,7 @@ import com.percap.dtos.auth.LoginResponseDTO;
 import com.percap.dtos.auth.RegisterDTO;
 import com.percap.services.AuthorizationService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,11 +20,13 @@ public class AuthenticationController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<LoginResponseDTO> login(@Valid @RequestBody AuthenticationDTO authenticationDTO) {
+    public ResponseEntity<LoginResponseDTO> login(@Valid @RequestBody AuthenticationDTO authenticationDTO,
+                                                  @RequestParam(defaultValue = "false") boolean opaque) {
         try {
             LoginResponseDTO response = authorizationService.authenticate(
                     authenticationDTO.getLogin(), 
-                    authenticationDTO.getPassword()
+                    authenticationDTO.getPassword(),
+                    opaque
             );
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -42,4 +45,12 @@ public class AuthenticationController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        if (authorization.startsWith("Bearer ")) {
+            authorizationService.logout(authorization.substring("Bearer ".length()));
+        }
+        return ResponseEntity.noContent().build();
+    }
 }
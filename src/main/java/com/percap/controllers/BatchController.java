@@ -0,0 +1,28 @@
+package com.percap.controllers;
+
+import com.percap.dtos.batch.BatchRequestDTO;
+import com.percap.services.batch.BatchService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/batch")
+public class BatchController {
+    private final BatchService batchService;
+
+    public BatchController(BatchService batchService) {
+        this.batchService = batchService;
+    }
+
+    @PostMapping
+    public void execute(@Valid @RequestBody BatchRequestDTO batch,
+                        HttpServletRequest request,
+                        HttpServletResponse response) throws IOException {
+        batchService.validate(batch);
+        batchService.execute(batch, request, response);
+    }
+}
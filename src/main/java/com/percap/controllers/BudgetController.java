@@ -0,0 +1,41 @@
+package com.percap.controllers;
+
+import com.percap.domain.user.User;
+import com.percap.dtos.budget.BudgetRequestDTO;
+import com.percap.dtos.budget.BudgetStatusDTO;
+import com.percap.services.budget.BudgetService;
+import com.percap.services.cache.ResponseCache;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/budgets")
+public class BudgetController {
+    private final BudgetService budgetService;
+    private final ResponseCache responseCache;
+
+    public BudgetController(BudgetService budgetService, ResponseCache responseCache) {
+        this.budgetService = budgetService;
+        this.responseCache = responseCache;
+    }
+
+    @GetMapping
+    public ResponseEntity<byte[]> status(@AuthenticationPrincipal User user,
+                                         @RequestParam(required = false) YearMonth month,
+                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        YearMonth resolved = month != null ? month : YearMonth.now();
+        return responseCache.get(user.getId(), "budgets", resolved.toString(), ifNoneMatch,
+                () -> budgetService.getStatus(user, resolved));
+    }
+
+    @PutMapping
+    public ResponseEntity<BudgetStatusDTO> setBudget(@AuthenticationPrincipal User user,
+                                                     @Valid @RequestBody BudgetRequestDTO request) {
+        return ResponseEntity.ok(budgetService.setBudget(user, request));
+    }
+}
@@ -0,0 +1,40 @@
+package com.percap.controllers;
+
+import com.percap.dtos.category.CategoryRuleDTO;
+import com.percap.services.categorization.CategorizationService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/categories/rules")
+public class CategoryRuleController {
+    private final CategorizationService categorizationService;
+
+    public CategoryRuleController(CategorizationService categorizationService) {
+        this.categorizationService = categorizationService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<CategoryRuleDTO>> list() {
+        return ResponseEntity.ok(categorizationService.listRules());
+    }
+
+    @PostMapping
+    public ResponseEntity<CategoryRuleDTO> create(@Valid @RequestBody CategoryRuleDTO ruleDTO) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(categorizationService.addRule(ruleDTO));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable String id) {
+        try {
+            categorizationService.deleteRule(id);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
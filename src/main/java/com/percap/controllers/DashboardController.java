@@ -0,0 +1,23 @@
+package com.percap.controllers;
+
+import com.percap.domain.user.User;
+import com.percap.dtos.dashboard.DashboardDTO;
+import com.percap.services.dashboard.DashboardService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/dashboard")
+public class DashboardController {
+    private final DashboardService dashboardService;
+
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    @GetMapping
+    public ResponseEntity<DashboardDTO> get(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(dashboardService.load(user));
+    }
+}
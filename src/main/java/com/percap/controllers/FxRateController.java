@@ -0,0 +1,22 @@
+package com.percap.controllers;
+
+import com.percap.dtos.fx.FxRateDTO;
+import com.percap.services.fx.FxService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/fx/rates")
+public class FxRateController {
+    private final FxService fxService;
+
+    public FxRateController(FxService fxService) {
+        this.fxService = fxService;
+    }
+
+    @PutMapping
+    public ResponseEntity<FxRateDTO> save(@Valid @RequestBody FxRateDTO request) {
+        return ResponseEntity.ok(fxService.saveRate(request));
+    }
+}
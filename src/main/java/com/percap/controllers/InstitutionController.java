@@ -0,0 +1,34 @@
+package com.percap.controllers;
+
+import com.percap.dtos.institution.InstitutionDTO;
+import com.percap.services.sync.LinkedAccountService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/institutions")
+public class InstitutionController {
+    private final LinkedAccountService linkedAccountService;
+
+    public InstitutionController(LinkedAccountService linkedAccountService) {
+        this.linkedAccountService = linkedAccountService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<InstitutionDTO>> list() {
+        return ResponseEntity.ok(linkedAccountService.listInstitutions());
+    }
+
+    @PostMapping
+    public ResponseEntity<InstitutionDTO> create(@Valid @RequestBody InstitutionDTO request) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(linkedAccountService.createInstitution(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+}
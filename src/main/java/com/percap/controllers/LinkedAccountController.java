@@ -0,0 +1,49 @@
+package com.percap.controllers;
+
+import com.percap.domain.user.User;
+import com.percap.dtos.account.LinkAccountRequestDTO;
+import com.percap.dtos.account.LinkedAccountDTO;
+import com.percap.services.sync.LinkedAccountService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/accounts")
+public class LinkedAccountController {
+    private final LinkedAccountService linkedAccountService;
+
+    public LinkedAccountController(LinkedAccountService linkedAccountService) {
+        this.linkedAccountService = linkedAccountService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<LinkedAccountDTO>> list(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(linkedAccountService.list(user));
+    }
+
+    @PostMapping
+    public ResponseEntity<LinkedAccountDTO> link(@AuthenticationPrincipal User user,
+                                                 @Valid @RequestBody LinkAccountRequestDTO request) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(linkedAccountService.link(user, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PostMapping("/{id}/sync")
+    public ResponseEntity<Void> sync(@AuthenticationPrincipal User user, @PathVariable String id) {
+        try {
+            return linkedAccountService.requestSync(user, id)
+                    ? ResponseEntity.accepted().build()
+                    : ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.percap.controllers;
+
+import com.percap.domain.user.User;
+import com.percap.dtos.portfolio.CashFlowRequestDTO;
+import com.percap.dtos.portfolio.OpenLotDTO;
+import com.percap.dtos.portfolio.RealizedGainsDTO;
+import com.percap.dtos.portfolio.TradeDTO;
+import com.percap.dtos.portfolio.TradeRequestDTO;
+import com.percap.dtos.portfolio.ValuationRequestDTO;
+import com.percap.services.cache.ResponseCache;
+import com.percap.services.portfolio.CostBasisService;
+import com.percap.services.portfolio.PerformanceService;
+import com.percap.services.portfolio.PortfolioService;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/portfolio")
+public class PortfolioController {
+    private final PortfolioService portfolioService;
+    private final PerformanceService performanceService;
+    private final ResponseCache responseCache;
+    private final CostBasisService costBasisService;
+
+    public PortfolioController(PortfolioService portfolioService, PerformanceService performanceService,
+                               ResponseCache responseCache, CostBasisService costBasisService) {
+        this.portfolioService = portfolioService;
+        this.performanceService = performanceService;
+        this.responseCache = responseCache;
+        this.costBasisService = costBasisService;
+    }
+
+    @PutMapping("/valuations")
+    public ResponseEntity<Void> recordValuation(@AuthenticationPrincipal User user,
+                                                @Valid @RequestBody ValuationRequestDTO request) {
+        portfolioService.recordValuation(user, request);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/cash-flows")
+    public ResponseEntity<Void> recordCashFlow(@AuthenticationPrincipal User user,
+                                               @Valid @RequestBody CashFlowRequestDTO request) {
+        portfolioService.recordCashFlow(user, request);
+        return ResponseEntity.status(HttpStatus.CREATED).build();
+    }
+
+    @GetMapping("/performance")
+    public ResponseEntity<byte[]> performance(@AuthenticationPrincipal User user,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.get(user.getId(), "portfolio/performance", from + "/" + to, ifNoneMatch,
+                () -> performanceService.getPerformance(user.getId(), from, to));
+    }
+
+    @PostMapping("/trades")
+    public ResponseEntity<TradeDTO> recordTrade(@AuthenticationPrincipal User user,
+                                                @Valid @RequestBody TradeRequestDTO request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(costBasisService.recordTrade(user, request));
+    }
+
+    @GetMapping("/lots")
+    public ResponseEntity<List<OpenLotDTO>> openLots(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(costBasisService.openLots(user.getId()));
+    }
+
+    @GetMapping("/realized-gains")
+    public ResponseEntity<RealizedGainsDTO> realizedGains(@AuthenticationPrincipal User user, @RequestParam int year) {
+        return ResponseEntity.ok(costBasisService.realizedGains(user.getId(), year));
+    }
+}
@@ -0,0 +1,25 @@
+package com.percap.controllers;
+
+import com.percap.dtos.pricing.PriceDTO;
+import com.percap.services.pricing.PriceService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/prices")
+public class PriceController {
+    private final PriceService priceService;
+
+    public PriceController(PriceService priceService) {
+        this.priceService = priceService;
+    }
+
+    @GetMapping("/{symbol}")
+    public ResponseEntity<PriceDTO> latest(@PathVariable String symbol) {
+        try {
+            return ResponseEntity.ok(priceService.latest(symbol));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.percap.controllers;
+
+import com.percap.domain.user.User;
+import com.percap.dtos.recurring.RecurringPaymentDTO;
+import com.percap.services.recurring.RecurringPaymentService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/recurring")
+public class RecurringPaymentController {
+    private final RecurringPaymentService recurringPaymentService;
+
+    public RecurringPaymentController(RecurringPaymentService recurringPaymentService) {
+        this.recurringPaymentService = recurringPaymentService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<RecurringPaymentDTO>> list(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(recurringPaymentService.list(user.getId()));
+    }
+}
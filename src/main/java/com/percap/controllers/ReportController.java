@@ -0,0 +1,68 @@
+package com.percap.controllers;
+
+import com.percap.domain.user.User;
+import com.percap.dtos.report.ReportJobDTO;
+import com.percap.dtos.report.ReportJobRequestDTO;
+import com.percap.services.report.ReportJobService;
+import jakarta.validation.Valid;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/reports")
+public class ReportController {
+    private final ReportJobService reportJobService;
+
+    public ReportController(ReportJobService reportJobService) {
+        this.reportJobService = reportJobService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ReportJobDTO> submit(@AuthenticationPrincipal User user,
+                                               @Valid @RequestBody ReportJobRequestDTO request) {
+        try {
+            ReportJobDTO job = reportJobService.submit(user.getId(), request);
+            return ResponseEntity.accepted().location(URI.create("/reports/" + job.getId())).body(job);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ReportJobDTO>> list(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(reportJobService.list(user.getId()));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ReportJobDTO> get(@AuthenticationPrincipal User user, @PathVariable String id) {
+        try {
+            return ResponseEntity.ok(reportJobService.get(user.getId(), id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/{id}/download")
+    public ResponseEntity<Resource> download(@AuthenticationPrincipal User user, @PathVariable String id) {
+        try {
+            Resource file = new FileSystemResource(reportJobService.result(user.getId(), id));
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("text/csv"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"report-" + id + ".csv\"")
+                    .body(file);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+}
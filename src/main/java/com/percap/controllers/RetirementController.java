@@ -0,0 +1,31 @@
+package com.percap.controllers;
+
+import com.percap.domain.user.User;
+import com.percap.dtos.retirement.RetirementSimulationRequestDTO;
+import com.percap.dtos.retirement.RetirementSimulationResultDTO;
+import com.percap.services.retirement.RetirementSimulationService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/retirement")
+public class RetirementController {
+    private final RetirementSimulationService retirementSimulationService;
+
+    public RetirementController(RetirementSimulationService retirementSimulationService) {
+        this.retirementSimulationService = retirementSimulationService;
+    }
+
+    @PostMapping("/simulations")
+    public ResponseEntity<RetirementSimulationResultDTO> simulate(@AuthenticationPrincipal User user,
+                                                                  @Valid @RequestBody RetirementSimulationRequestDTO request) {
+        try {
+            return ResponseEntity.ok(retirementSimulationService.simulate(user.getId(), request));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+    }
+}
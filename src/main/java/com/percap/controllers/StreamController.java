@@ -0,0 +1,29 @@
+package com.percap.controllers;
+
+import com.percap.domain.user.User;
+import com.percap.services.streaming.BalanceStreamService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/streams")
+public class StreamController {
+    private final BalanceStreamService balanceStreamService;
+
+    public StreamController(BalanceStreamService balanceStreamService) {
+        this.balanceStreamService = balanceStreamService;
+    }
+
+    @GetMapping(value = "/balances", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> balances(@AuthenticationPrincipal User user) {
+        try {
+            return ResponseEntity.ok(balanceStreamService.subscribe(user.getId()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.percap.controllers;
+
+import com.percap.domain.user.User;
+import com.percap.dtos.transaction.RecategorizeResponseDTO;
+import com.percap.dtos.transaction.TransactionDTO;
+import com.percap.dtos.transaction.TransactionRequestDTO;
+import com.percap.services.TransactionService;
+import com.percap.services.categorization.CategorizationService;
+import com.percap.services.export.ExportFormat;
+import com.percap.services.export.TransactionExportService;
+import com.percap.services.search.TransactionSearchService;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/transactions")
+public class TransactionController {
+    private final TransactionService transactionService;
+    private final CategorizationService categorizationService;
+    private final TransactionExportService transactionExportService;
+    private final TransactionSearchService transactionSearchService;
+
+    public TransactionController(TransactionService transactionService, CategorizationService categorizationService,
+                                 TransactionExportService transactionExportService,
+                                 TransactionSearchService transactionSearchService) {
+        this.transactionService = transactionService;
+        this.categorizationService = categorizationService;
+        this.transactionExportService = transactionExportService;
+        this.transactionSearchService = transactionSearchService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<TransactionDTO>> list(@AuthenticationPrincipal User user,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                     @RequestParam(defaultValue = "0") int page,
+                                                     @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(transactionService.list(user, from, to, page, size));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<TransactionDTO>> search(@AuthenticationPrincipal User user,
+                                                       @RequestParam("q") String query,
+                                                       @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(transactionSearchService.search(user.getId(), query, limit));
+    }
+
+    @PostMapping
+    public ResponseEntity<TransactionDTO> create(@AuthenticationPrincipal User user,
+                                                 @Valid @RequestBody TransactionRequestDTO request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(transactionService.create(user, request));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<TransactionDTO> update(@AuthenticationPrincipal User user, @PathVariable String id,
+                                                 @Valid @RequestBody TransactionRequestDTO request) {
+        try {
+            return ResponseEntity.ok(transactionService.update(user, id, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@AuthenticationPrincipal User user, @PathVariable String id) {
+        try {
+            transactionService.delete(user, id);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PostMapping("/recategorize")
+    public ResponseEntity<RecategorizeResponseDTO> recategorize(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(categorizationService.recategorizeHistory(user));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@AuthenticationPrincipal User user,
+                                                        @RequestParam(defaultValue = "CSV") ExportFormat format,
+                                                        @RequestParam(defaultValue = "false") boolean gzip) {
+        String filename = "transactions." + format.getExtension() + (gzip ? ".gz" : "");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(transactionExportService.export(user.getId(), format, gzip));
+    }
+}
@@ -0,0 +1,62 @@
+package com.percap.domain.account;
+
+import com.percap.domain.institution.Institution;
+import com.percap.domain.user.User;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A user's account at an institution, refreshed by the sync scheduler.
+ */
+@Entity
+@Table(name = "linked_accounts", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_linked_accounts_institution_external", columnNames = {"institution_id", "external_account_id"})
+}, indexes = {
+        @Index(name = "idx_linked_accounts_next_sync_at", columnList = "next_sync_at"),
+        @Index(name = "idx_linked_accounts_user", columnList = "user_id")
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class LinkedAccount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "institution_id", nullable = false)
+    private Institution institution;
+
+    @Column(name = "external_account_id", nullable = false)
+    private String externalAccountId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    @Column(length = 3)
+    private String currency;
+
+    @Column(name = "last_synced_at")
+    private Instant lastSyncedAt;
+
+    @Column(name = "next_sync_at", nullable = false)
+    private Instant nextSyncAt;
+
+    @Column(name = "consecutive_failures", nullable = false)
+    private int consecutiveFailures;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+}
@@ -0,0 +1,44 @@
+package com.percap.domain.audit;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Authentication audit trail, bulk-loaded from each node's local event log.
+ * The id is {@code nodeId:sequence}, so re-shipping a segment is idempotent.
+ */
+@Entity
+@Table(name = "auth_events", indexes = {
+        @Index(name = "idx_auth_events_node_sequence", columnList = "node_id, sequence"),
+        @Index(name = "idx_auth_events_login_occurred_at", columnList = "login, occurred_at")
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class AuthAuditEvent {
+
+    @Id
+    private String id;
+
+    @Column(name = "node_id", nullable = false)
+    private String nodeId;
+
+    @Column(nullable = false)
+    private long sequence;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private AuthEventType type;
+
+    @Column(nullable = false)
+    private String login;
+
+    @Column(name = "user_id")
+    private String userId;
+}
@@ -0,0 +1,7 @@
+package com.percap.domain.audit;
+
+public enum AuthEventType {
+    LOGIN_SUCCESS,
+    LOGIN_FAILURE,
+    REGISTRATION
+}
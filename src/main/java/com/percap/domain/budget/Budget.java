@@ -0,0 +1,37 @@
+package com.percap.domain.budget;
+
+import com.percap.domain.user.User;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "budgets", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_budgets_user_category_month", columnNames = {"user_id", "category", "budget_month"})
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class Budget {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private String category;
+
+    /** First day of the budgeted month. */
+    @Column(name = "budget_month", nullable = false)
+    private LocalDate month;
+
+    @Column(name = "limit_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal limit;
+}
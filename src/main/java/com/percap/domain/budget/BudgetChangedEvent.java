@@ -0,0 +1,16 @@
+package com.percap.domain.budget;
+
+/**
+ * Published when a user sets or changes a monthly budget.
+ */
+public final class BudgetChangedEvent {
+    private final String userId;
+
+    public BudgetChangedEvent(String userId) {
+        this.userId = userId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+}
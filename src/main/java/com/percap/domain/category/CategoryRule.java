@@ -0,0 +1,29 @@
+package com.percap.domain.category;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+@Entity
+@Table(name = "category_rules")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "category-rules")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class CategoryRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(nullable = false)
+    private String keyword;
+
+    @Column(nullable = false)
+    private String category;
+
+    @Column(nullable = false)
+    private int priority;
+}
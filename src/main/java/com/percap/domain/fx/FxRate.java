@@ -0,0 +1,46 @@
+package com.percap.domain.fx;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.SourceType;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Closing rate on a date: one unit of {@code baseCurrency} buys {@code rate} units of {@code quoteCurrency}.
+ */
+@Entity
+@Table(name = "fx_rates", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_fx_rates_pair_date", columnNames = {"base_currency", "quote_currency", "rate_date"})
+}, indexes = {
+        @Index(name = "idx_fx_rates_updated_at", columnList = "updated_at")
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class FxRate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(name = "base_currency", nullable = false, length = 3)
+    private String baseCurrency;
+
+    @Column(name = "quote_currency", nullable = false, length = 3)
+    private String quoteCurrency;
+
+    @Column(name = "rate_date", nullable = false)
+    private LocalDate date;
+
+    @Column(nullable = false, precision = 19, scale = 10)
+    private BigDecimal rate;
+
+    @UpdateTimestamp(source = SourceType.DB)
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+}
@@ -0,0 +1,19 @@
+package com.percap.domain.fx;
+
+/**
+ * Published after the in-memory FX table picked up new or corrected rates.
+ * <p>
+ * Any rate can feed any user's converted totals, so listeners that cache such totals drop all of
+ * them.
+ */
+public final class FxRatesChangedEvent {
+    private final int changedRates;
+
+    public FxRatesChangedEvent(int changedRates) {
+        this.changedRates = changedRates;
+    }
+
+    public int getChangedRates() {
+        return changedRates;
+    }
+}
@@ -0,0 +1,32 @@
+package com.percap.domain.institution;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+/**
+ * A financial institution accounts are synced from, with the load it tolerates from us.
+ */
+@Entity
+@Table(name = "institutions")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "institutions")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class Institution {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(unique = true, nullable = false)
+    private String name;
+
+    @Column(name = "max_concurrent_syncs", nullable = false)
+    private int maxConcurrentSyncs;
+
+    @Column(name = "requests_per_minute", nullable = false)
+    private int requestsPerMinute;
+}
@@ -0,0 +1,24 @@
+package com.percap.domain.job;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * High-water mark of a batch job, so each run only examines what changed since the last one.
+ */
+@Entity
+@Table(name = "job_checkpoints")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class JobCheckpoint {
+
+    @Id
+    private String name;
+
+    @Column(name = "last_run_at", nullable = false)
+    private Instant lastRunAt;
+}
@@ -0,0 +1,44 @@
+package com.percap.domain.outbox;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A domain change waiting to be delivered to outbox subscribers. Rows are inserted in the same
+ * transaction as the change and deleted once delivered.
+ * <p>
+ * Ids come from a pooled sequence so inserts can be JDBC-batched; they order delivery roughly,
+ * not strictly by commit time.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 32)
+    private OutboxEventType type;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(columnDefinition = "text")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    // The process that recorded the change; see OutboxRecorder.ORIGIN.
+    @Column(length = 64)
+    private String origin;
+}
@@ -0,0 +1,9 @@
+package com.percap.domain.outbox;
+
+public enum OutboxEventType {
+    TRANSACTION_CHANGED,
+    PORTFOLIO_CHANGED,
+    USER_CHANGED,
+    LEDGER_RECATEGORIZED,
+    BUDGET_CHANGED
+}
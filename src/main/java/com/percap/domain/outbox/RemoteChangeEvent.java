@@ -0,0 +1,24 @@
+package com.percap.domain.outbox;
+
+/**
+ * Published in-process when another process committed a change to the user's data, as reported
+ * through the outbox fan-out. Listeners drop whatever per-user state the change may have made
+ * stale; the change itself is not carried.
+ */
+public final class RemoteChangeEvent {
+    private final String userId;
+    private final OutboxEventType type;
+
+    public RemoteChangeEvent(String userId, OutboxEventType type) {
+        this.userId = userId;
+        this.type = type;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public OutboxEventType getType() {
+        return type;
+    }
+}
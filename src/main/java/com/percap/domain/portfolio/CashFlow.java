@@ -0,0 +1,41 @@
+package com.percap.domain.portfolio;
+
+import com.percap.domain.user.User;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * External money moved into (positive) or out of (negative) the portfolio.
+ */
+@Entity
+@Table(name = "cash_flows", indexes = {
+        @Index(name = "idx_cash_flows_user_date", columnList = "user_id, flow_date")
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class CashFlow {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "flow_date", nullable = false)
+    private LocalDate date;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @ColumnDefault("'USD'")
+    @Column(nullable = false, length = 3)
+    private String currency;
+}
@@ -0,0 +1,13 @@
+package com.percap.domain.portfolio;
+
+/**
+ * Which open lots a sell is matched against.
+ */
+public enum LotMethod {
+    /** Oldest lots first. */
+    FIFO,
+    /** Newest lots first. */
+    LIFO,
+    /** The single lot named by the sell. */
+    SPECIFIC
+}
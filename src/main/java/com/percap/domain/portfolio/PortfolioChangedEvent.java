@@ -0,0 +1,16 @@
+package com.percap.domain.portfolio;
+
+/**
+ * Published when a user's valuations or cash flows change.
+ */
+public final class PortfolioChangedEvent {
+    private final String userId;
+
+    public PortfolioChangedEvent(String userId) {
+        this.userId = userId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+}
@@ -0,0 +1,41 @@
+package com.percap.domain.portfolio;
+
+import com.percap.domain.user.User;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * End-of-day market value of a user's portfolio, including any cash flow made that day.
+ */
+@Entity
+@Table(name = "portfolio_valuations", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_portfolio_valuations_user_date", columnNames = {"user_id", "valuation_date"})
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class PortfolioValuation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "valuation_date", nullable = false)
+    private LocalDate date;
+
+    @Column(name = "market_value", nullable = false, precision = 19, scale = 2)
+    private BigDecimal marketValue;
+
+    @ColumnDefault("'USD'")
+    @Column(nullable = false, length = 3)
+    private String currency;
+}
@@ -0,0 +1,65 @@
+package com.percap.domain.portfolio;
+
+import com.percap.domain.user.User;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A buy or sell of a security. Trades are applied to tax lots in (date, id) order; ids come from
+ * an unpooled sequence so trades booked on the same day keep the order they were recorded in.
+ * <p>
+ * {@code amount} is the cash side including fees: the cost of a buy, the net proceeds of a sell,
+ * in the security's trading currency.
+ */
+@Entity
+@Table(name = "trades", indexes = {
+        @Index(name = "idx_trades_user_date_id", columnList = "user_id, trade_date, id")
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class Trade {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trades_seq")
+    @SequenceGenerator(name = "trades_seq", sequenceName = "trades_seq", allocationSize = 1)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false, length = 16)
+    private String symbol;
+
+    @Column(name = "trade_date", nullable = false)
+    private LocalDate date;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 4)
+    private TradeSide side;
+
+    @Column(nullable = false, precision = 19, scale = 6)
+    private BigDecimal quantity;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @ColumnDefault("'USD'")
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    /** How a sell picks its lots; null for buys. */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "lot_method", length = 16)
+    private LotMethod lotMethod;
+
+    /** The buy whose lot a {@link LotMethod#SPECIFIC} sell consumes. */
+    @Column(name = "lot_trade_id")
+    private Long lotTradeId;
+}
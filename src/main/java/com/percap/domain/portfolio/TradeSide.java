@@ -0,0 +1,6 @@
+package com.percap.domain.portfolio;
+
+public enum TradeSide {
+    BUY,
+    SELL
+}
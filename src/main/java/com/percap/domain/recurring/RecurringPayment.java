@@ -0,0 +1,53 @@
+package com.percap.domain.recurring;
+
+import com.percap.domain.user.User;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "recurring_payments", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_recurring_payments_user_merchant", columnNames = {"user_id", "merchant"})
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class RecurringPayment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    /** Normalized merchant key, see {@code MerchantNormalizer}. */
+    @Column(nullable = false)
+    private String merchant;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Column(name = "average_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal averageAmount;
+
+    @Column(name = "period_days", nullable = false)
+    private int periodDays;
+
+    @Column(nullable = false)
+    private int occurrences;
+
+    @Column(name = "last_date", nullable = false)
+    private LocalDate lastDate;
+
+    @Column(name = "next_expected_date", nullable = false)
+    private LocalDate nextExpectedDate;
+
+    @Column(name = "detected_at", nullable = false)
+    private Instant detectedAt;
+}
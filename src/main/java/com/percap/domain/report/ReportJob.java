@@ -0,0 +1,78 @@
+package com.percap.domain.report;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A report generated in the background for one user and year.
+ * <p>
+ * The cursor ({@code cursorDate}, {@code cursorId}) is the last ledger row processed; a null
+ * {@code cursorId} means every row up to and including {@code cursorDate} is done. Together with
+ * {@code totals} and {@code outputBytes} it is checkpointed after every chunk, so a job picked up
+ * again after a crash or restart resumes where the last checkpoint left it.
+ */
+@Entity
+@Table(name = "report_jobs")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class ReportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "report_type", nullable = false, length = 32)
+    private ReportType type;
+
+    @Column(name = "report_year", nullable = false)
+    private int year;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ReportJobStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "rows_processed", nullable = false)
+    private long rowsProcessed;
+
+    @Column(name = "cursor_date", nullable = false)
+    private LocalDate cursorDate;
+
+    @Column(name = "cursor_id")
+    private String cursorId;
+
+    @Column(name = "output_bytes", nullable = false)
+    private long outputBytes;
+
+    @Column(columnDefinition = "text")
+    private String totals;
+
+    @Column(length = 1024)
+    private String error;
+
+    @Column(name = "locked_by")
+    private String lockedBy;
+
+    @Column(name = "locked_until")
+    private Instant lockedUntil;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+}
@@ -0,0 +1,8 @@
+package com.percap.domain.report;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,8 @@
+package com.percap.domain.report;
+
+public enum ReportType {
+    /** Every ledger row of the year followed by per-currency, per-category totals. */
+    STATEMENT,
+    /** Only the per-currency, per-category totals of the year. */
+    TAX_SUMMARY
+}
@@ -0,0 +1,19 @@
+package com.percap.domain.transaction;
+
+import java.time.YearMonth;
+
+/**
+ * Published after a month of the ledger was detached from {@code transactions} into the
+ * {@code ledger_archive} schema, where it stays; the cold tier exports it to a segment file.
+ */
+public final class LedgerMonthArchivedEvent {
+    private final YearMonth month;
+
+    public LedgerMonthArchivedEvent(YearMonth month) {
+        this.month = month;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+}
@@ -0,0 +1,19 @@
+package com.percap.domain.transaction;
+
+/**
+ * Published after a bulk rewrite of a user's categories has committed.
+ * <p>
+ * The rewrite bypasses the entity lifecycle and raises no {@link TransactionChangedEvent}s, so
+ * listeners that keep per-user derived state must drop it and rebuild from the ledger.
+ */
+public final class LedgerRecategorizedEvent {
+    private final String userId;
+
+    public LedgerRecategorizedEvent(String userId) {
+        this.userId = userId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+}
@@ -0,0 +1,31 @@
+package com.percap.domain.transaction;
+
+/**
+ * Published whenever a ledger row is inserted, updated or deleted.
+ * <p>
+ * {@code previous} is null for inserts and {@code current} is null for deletes, so listeners
+ * can apply the change as a delta instead of re-reading the ledger.
+ */
+public final class TransactionChangedEvent {
+    private final String userId;
+    private final TransactionSnapshot previous;
+    private final TransactionSnapshot current;
+
+    public TransactionChangedEvent(String userId, TransactionSnapshot previous, TransactionSnapshot current) {
+        this.userId = userId;
+        this.previous = previous;
+        this.current = current;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public TransactionSnapshot getPrevious() {
+        return previous;
+    }
+
+    public TransactionSnapshot getCurrent() {
+        return current;
+    }
+}
@@ -0,0 +1,42 @@
+package com.percap.domain.transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Immutable copy of the fields of a {@link Transaction} that derived views aggregate on.
+ */
+public final class TransactionSnapshot {
+    private final String category;
+    private final LocalDate date;
+    private final BigDecimal amount;
+    private final String currency;
+
+    public TransactionSnapshot(String category, LocalDate date, BigDecimal amount, String currency) {
+        this.category = category;
+        this.date = date;
+        this.amount = amount;
+        this.currency = currency;
+    }
+
+    public static TransactionSnapshot of(Transaction transaction) {
+        return new TransactionSnapshot(transaction.getCategory(), transaction.getDate(), transaction.getAmount(),
+                transaction.getCurrency());
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+}
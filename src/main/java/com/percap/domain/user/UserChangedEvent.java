@@ -0,0 +1,22 @@
+package com.percap.domain.user;
+
+/**
+ * Published when a user is created or their profile changes.
+ */
+public final class UserChangedEvent {
+    private final String userId;
+    private final String login;
+
+    public UserChangedEvent(String userId, String login) {
+        this.userId = userId;
+        this.login = login;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+}
@@ -0,0 +1,12 @@
+package com.percap.domain.user;
+
+/**
+ * Directory view of a user: only the columns an operator needs, never the password hash.
+ */
+public interface UserSummary {
+    String getId();
+
+    String getLogin();
+
+    String getRole();
+}
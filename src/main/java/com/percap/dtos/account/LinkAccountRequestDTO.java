@@ -0,0 +1,47 @@
+package com.percap.dtos.account;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class LinkAccountRequestDTO {
+    @NotBlank(message = "Institution is required")
+    private String institutionId;
+
+    @NotBlank(message = "External account id is required")
+    private String externalAccountId;
+
+    @NotBlank(message = "Name is required")
+    private String name;
+
+    public LinkAccountRequestDTO() {
+    }
+
+    public LinkAccountRequestDTO(String institutionId, String externalAccountId, String name) {
+        this.institutionId = institutionId;
+        this.externalAccountId = externalAccountId;
+        this.name = name;
+    }
+
+    public String getInstitutionId() {
+        return institutionId;
+    }
+
+    public void setInstitutionId(String institutionId) {
+        this.institutionId = institutionId;
+    }
+
+    public String getExternalAccountId() {
+        return externalAccountId;
+    }
+
+    public void setExternalAccountId(String externalAccountId) {
+        this.externalAccountId = externalAccountId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
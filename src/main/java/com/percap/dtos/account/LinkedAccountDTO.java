@@ -0,0 +1,102 @@
+package com.percap.dtos.account;
+
+import com.percap.domain.account.LinkedAccount;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public class LinkedAccountDTO {
+    private String id;
+    private String institutionId;
+    private String name;
+    private BigDecimal balance;
+    private String currency;
+    private Instant lastSyncedAt;
+    private Instant nextSyncAt;
+    private String lastError;
+
+    public LinkedAccountDTO() {
+    }
+
+    public LinkedAccountDTO(String id, String institutionId, String name, BigDecimal balance, String currency,
+                            Instant lastSyncedAt, Instant nextSyncAt, String lastError) {
+        this.id = id;
+        this.institutionId = institutionId;
+        this.name = name;
+        this.balance = balance;
+        this.currency = currency;
+        this.lastSyncedAt = lastSyncedAt;
+        this.nextSyncAt = nextSyncAt;
+        this.lastError = lastError;
+    }
+
+    public static LinkedAccountDTO from(LinkedAccount account) {
+        return new LinkedAccountDTO(account.getId(), account.getInstitution().getId(), account.getName(),
+                account.getBalance(), account.getCurrency(), account.getLastSyncedAt(), account.getNextSyncAt(),
+                account.getLastError());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getInstitutionId() {
+        return institutionId;
+    }
+
+    public void setInstitutionId(String institutionId) {
+        this.institutionId = institutionId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public Instant getLastSyncedAt() {
+        return lastSyncedAt;
+    }
+
+    public void setLastSyncedAt(Instant lastSyncedAt) {
+        this.lastSyncedAt = lastSyncedAt;
+    }
+
+    public Instant getNextSyncAt() {
+        return nextSyncAt;
+    }
+
+    public void setNextSyncAt(Instant nextSyncAt) {
+        this.nextSyncAt = nextSyncAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
@@ -0,0 +1,40 @@
+package com.percap.dtos.admin;
+
+public class UserDirectoryEntryDTO {
+    private String id;
+    private String login;
+    private String role;
+
+    public UserDirectoryEntryDTO() {
+    }
+
+    public UserDirectoryEntryDTO(String id, String login, String role) {
+        this.id = id;
+        this.login = login;
+        this.role = role;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public void setLogin(String login) {
+        this.login = login;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+}
@@ -0,0 +1,42 @@
+package com.percap.dtos.admin;
+
+import java.util.List;
+
+public class UserDirectoryPageDTO {
+    private List<UserDirectoryEntryDTO> users;
+    private String nextCursor;
+    private Long estimatedTotal;
+
+    public UserDirectoryPageDTO() {
+    }
+
+    public UserDirectoryPageDTO(List<UserDirectoryEntryDTO> users, String nextCursor, Long estimatedTotal) {
+        this.users = users;
+        this.nextCursor = nextCursor;
+        this.estimatedTotal = estimatedTotal;
+    }
+
+    public List<UserDirectoryEntryDTO> getUsers() {
+        return users;
+    }
+
+    public void setUsers(List<UserDirectoryEntryDTO> users) {
+        this.users = users;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Long getEstimatedTotal() {
+        return estimatedTotal;
+    }
+
+    public void setEstimatedTotal(Long estimatedTotal) {
+        this.estimatedTotal = estimatedTotal;
+    }
+}
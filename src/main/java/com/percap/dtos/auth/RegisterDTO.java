@@ -2,9 +2,11 @@ package com.percap.dtos.auth;
 
 import com.percap.domain.user.UserRole;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
 public class RegisterDTO {
     @NotBlank(message = "Login is required")
+    @Size(max = 255, message = "Login must be at most 255 characters")
     private String login;
 
     @NotBlank(message = "Password is required")
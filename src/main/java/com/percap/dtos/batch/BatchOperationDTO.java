@@ -0,0 +1,47 @@
+package com.percap.dtos.batch;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
+public class BatchOperationDTO {
+    private String id;
+
+    private String method = "GET";
+
+    @NotBlank(message = "Path is required")
+    @Pattern(regexp = "^/[^\\s#]*$", message = "Path must be an absolute path without a fragment")
+    private String path;
+
+    public BatchOperationDTO() {
+    }
+
+    public BatchOperationDTO(String id, String method, String path) {
+        this.id = id;
+        this.method = method;
+        this.path = path;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+}
@@ -0,0 +1,26 @@
+package com.percap.dtos.batch;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class BatchRequestDTO {
+    @NotEmpty(message = "At least one request is required")
+    private List<@Valid BatchOperationDTO> requests;
+
+    public BatchRequestDTO() {
+    }
+
+    public BatchRequestDTO(List<BatchOperationDTO> requests) {
+        this.requests = requests;
+    }
+
+    public List<BatchOperationDTO> getRequests() {
+        return requests;
+    }
+
+    public void setRequests(List<BatchOperationDTO> requests) {
+        this.requests = requests;
+    }
+}
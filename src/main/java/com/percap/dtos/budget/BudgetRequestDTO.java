@@ -0,0 +1,53 @@
+package com.percap.dtos.budget;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+public class BudgetRequestDTO {
+    @NotBlank(message = "Category is required")
+    private String category;
+
+    @NotNull(message = "Month is required")
+    private YearMonth month;
+
+    @NotNull(message = "Limit is required")
+    @PositiveOrZero(message = "Limit must not be negative")
+    private BigDecimal limit;
+
+    public BudgetRequestDTO() {
+    }
+
+    public BudgetRequestDTO(String category, YearMonth month, BigDecimal limit) {
+        this.category = category;
+        this.month = month;
+        this.limit = limit;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public void setMonth(YearMonth month) {
+        this.month = month;
+    }
+
+    public BigDecimal getLimit() {
+        return limit;
+    }
+
+    public void setLimit(BigDecimal limit) {
+        this.limit = limit;
+    }
+}
@@ -0,0 +1,52 @@
+package com.percap.dtos.budget;
+
+import java.math.BigDecimal;
+
+public class BudgetStatusDTO {
+    private String category;
+    private BigDecimal limit;
+    private BigDecimal spent;
+    private BigDecimal remaining;
+
+    public BudgetStatusDTO() {
+    }
+
+    public BudgetStatusDTO(String category, BigDecimal limit, BigDecimal spent, BigDecimal remaining) {
+        this.category = category;
+        this.limit = limit;
+        this.spent = spent;
+        this.remaining = remaining;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public BigDecimal getLimit() {
+        return limit;
+    }
+
+    public void setLimit(BigDecimal limit) {
+        this.limit = limit;
+    }
+
+    public BigDecimal getSpent() {
+        return spent;
+    }
+
+    public void setSpent(BigDecimal spent) {
+        this.spent = spent;
+    }
+
+    public BigDecimal getRemaining() {
+        return remaining;
+    }
+
+    public void setRemaining(BigDecimal remaining) {
+        this.remaining = remaining;
+    }
+}
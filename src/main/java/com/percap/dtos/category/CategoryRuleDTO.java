@@ -0,0 +1,62 @@
+package com.percap.dtos.category;
+
+import com.percap.domain.category.CategoryRule;
+import jakarta.validation.constraints.NotBlank;
+
+public class CategoryRuleDTO {
+    private String id;
+
+    @NotBlank(message = "Keyword is required")
+    private String keyword;
+
+    @NotBlank(message = "Category is required")
+    private String category;
+
+    private int priority;
+
+    public CategoryRuleDTO() {
+    }
+
+    public CategoryRuleDTO(String id, String keyword, String category, int priority) {
+        this.id = id;
+        this.keyword = keyword;
+        this.category = category;
+        this.priority = priority;
+    }
+
+    public static CategoryRuleDTO from(CategoryRule rule) {
+        return new CategoryRuleDTO(rule.getId(), rule.getKeyword(), rule.getCategory(), rule.getPriority());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public void setKeyword(String keyword) {
+        this.keyword = keyword;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+}
@@ -0,0 +1,72 @@
+package com.percap.dtos.dashboard;
+
+import com.percap.dtos.account.LinkedAccountDTO;
+import com.percap.dtos.budget.BudgetStatusDTO;
+import com.percap.dtos.streaming.BalanceUpdateDTO;
+import com.percap.dtos.transaction.TransactionDTO;
+
+import java.util.List;
+
+/**
+ * Home screen in one response. A component that failed or missed its deadline is null and named
+ * in {@code unavailable}.
+ */
+public class DashboardDTO {
+    private BalanceUpdateDTO netWorth;
+    private List<TransactionDTO> recentTransactions;
+    private List<BudgetStatusDTO> budgets;
+    private List<LinkedAccountDTO> accounts;
+    private List<String> unavailable;
+
+    public DashboardDTO() {
+    }
+
+    public DashboardDTO(BalanceUpdateDTO netWorth, List<TransactionDTO> recentTransactions, List<BudgetStatusDTO> budgets,
+                        List<LinkedAccountDTO> accounts, List<String> unavailable) {
+        this.netWorth = netWorth;
+        this.recentTransactions = recentTransactions;
+        this.budgets = budgets;
+        this.accounts = accounts;
+        this.unavailable = unavailable;
+    }
+
+    public BalanceUpdateDTO getNetWorth() {
+        return netWorth;
+    }
+
+    public void setNetWorth(BalanceUpdateDTO netWorth) {
+        this.netWorth = netWorth;
+    }
+
+    public List<TransactionDTO> getRecentTransactions() {
+        return recentTransactions;
+    }
+
+    public void setRecentTransactions(List<TransactionDTO> recentTransactions) {
+        this.recentTransactions = recentTransactions;
+    }
+
+    public List<BudgetStatusDTO> getBudgets() {
+        return budgets;
+    }
+
+    public void setBudgets(List<BudgetStatusDTO> budgets) {
+        this.budgets = budgets;
+    }
+
+    public List<LinkedAccountDTO> getAccounts() {
+        return accounts;
+    }
+
+    public void setAccounts(List<LinkedAccountDTO> accounts) {
+        this.accounts = accounts;
+    }
+
+    public List<String> getUnavailable() {
+        return unavailable;
+    }
+
+    public void setUnavailable(List<String> unavailable) {
+        this.unavailable = unavailable;
+    }
+}
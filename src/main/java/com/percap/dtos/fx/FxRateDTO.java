@@ -0,0 +1,72 @@
+package com.percap.dtos.fx;
+
+import com.percap.domain.fx.FxRate;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class FxRateDTO {
+    @NotNull(message = "Base currency is required")
+    @Pattern(regexp = "[A-Z]{3}", message = "Base currency must be an ISO 4217 code")
+    private String baseCurrency;
+
+    @NotNull(message = "Quote currency is required")
+    @Pattern(regexp = "[A-Z]{3}", message = "Quote currency must be an ISO 4217 code")
+    private String quoteCurrency;
+
+    @NotNull(message = "Date is required")
+    private LocalDate date;
+
+    @NotNull(message = "Rate is required")
+    @Positive(message = "Rate must be positive")
+    private BigDecimal rate;
+
+    public FxRateDTO() {
+    }
+
+    public FxRateDTO(String baseCurrency, String quoteCurrency, LocalDate date, BigDecimal rate) {
+        this.baseCurrency = baseCurrency;
+        this.quoteCurrency = quoteCurrency;
+        this.date = date;
+        this.rate = rate;
+    }
+
+    public static FxRateDTO from(FxRate rate) {
+        return new FxRateDTO(rate.getBaseCurrency(), rate.getQuoteCurrency(), rate.getDate(), rate.getRate());
+    }
+
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    public void setBaseCurrency(String baseCurrency) {
+        this.baseCurrency = baseCurrency;
+    }
+
+    public String getQuoteCurrency() {
+        return quoteCurrency;
+    }
+
+    public void setQuoteCurrency(String quoteCurrency) {
+        this.quoteCurrency = quoteCurrency;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public BigDecimal getRate() {
+        return rate;
+    }
+
+    public void setRate(BigDecimal rate) {
+        this.rate = rate;
+    }
+}
@@ -0,0 +1,65 @@
+package com.percap.dtos.institution;
+
+import com.percap.domain.institution.Institution;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+public class InstitutionDTO {
+    private String id;
+
+    @NotBlank(message = "Name is required")
+    private String name;
+
+    @Min(value = 1, message = "At least one concurrent sync is required")
+    private int maxConcurrentSyncs = 4;
+
+    @Min(value = 1, message = "At least one request per minute is required")
+    private int requestsPerMinute = 60;
+
+    public InstitutionDTO() {
+    }
+
+    public InstitutionDTO(String id, String name, int maxConcurrentSyncs, int requestsPerMinute) {
+        this.id = id;
+        this.name = name;
+        this.maxConcurrentSyncs = maxConcurrentSyncs;
+        this.requestsPerMinute = requestsPerMinute;
+    }
+
+    public static InstitutionDTO from(Institution institution) {
+        return new InstitutionDTO(institution.getId(), institution.getName(), institution.getMaxConcurrentSyncs(),
+                institution.getRequestsPerMinute());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getMaxConcurrentSyncs() {
+        return maxConcurrentSyncs;
+    }
+
+    public void setMaxConcurrentSyncs(int maxConcurrentSyncs) {
+        this.maxConcurrentSyncs = maxConcurrentSyncs;
+    }
+
+    public int getRequestsPerMinute() {
+        return requestsPerMinute;
+    }
+
+    public void setRequestsPerMinute(int requestsPerMinute) {
+        this.requestsPerMinute = requestsPerMinute;
+    }
+}
@@ -0,0 +1,50 @@
+package com.percap.dtos.portfolio;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class CashFlowRequestDTO {
+    @NotNull(message = "Date is required")
+    private LocalDate date;
+
+    @NotNull(message = "Amount is required")
+    private BigDecimal amount;
+
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be an ISO 4217 code")
+    private String currency;
+
+    public CashFlowRequestDTO() {
+    }
+
+    public CashFlowRequestDTO(LocalDate date, BigDecimal amount) {
+        this.date = date;
+        this.amount = amount;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+}
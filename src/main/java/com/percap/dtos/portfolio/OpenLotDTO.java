@@ -0,0 +1,63 @@
+package com.percap.dtos.portfolio;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class OpenLotDTO {
+    private String symbol;
+    private long lotTradeId;
+    private LocalDate acquiredOn;
+    private BigDecimal quantity;
+    private BigDecimal costBasis;
+
+    public OpenLotDTO() {
+    }
+
+    public OpenLotDTO(String symbol, long lotTradeId, LocalDate acquiredOn, BigDecimal quantity, BigDecimal costBasis) {
+        this.symbol = symbol;
+        this.lotTradeId = lotTradeId;
+        this.acquiredOn = acquiredOn;
+        this.quantity = quantity;
+        this.costBasis = costBasis;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public long getLotTradeId() {
+        return lotTradeId;
+    }
+
+    public void setLotTradeId(long lotTradeId) {
+        this.lotTradeId = lotTradeId;
+    }
+
+    public LocalDate getAcquiredOn() {
+        return acquiredOn;
+    }
+
+    public void setAcquiredOn(LocalDate acquiredOn) {
+        this.acquiredOn = acquiredOn;
+    }
+
+    public BigDecimal getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(BigDecimal quantity) {
+        this.quantity = quantity;
+    }
+
+    public BigDecimal getCostBasis() {
+        return costBasis;
+    }
+
+    public void setCostBasis(BigDecimal costBasis) {
+        this.costBasis = costBasis;
+    }
+}
@@ -0,0 +1,63 @@
+package com.percap.dtos.portfolio;
+
+import java.time.LocalDate;
+
+public class PerformanceDTO {
+    private LocalDate from;
+    private LocalDate to;
+    private double timeWeightedReturn;
+    private double annualizedTimeWeightedReturn;
+    private Double moneyWeightedReturn;
+
+    public PerformanceDTO() {
+    }
+
+    public PerformanceDTO(LocalDate from, LocalDate to, double timeWeightedReturn, double annualizedTimeWeightedReturn,
+                          Double moneyWeightedReturn) {
+        this.from = from;
+        this.to = to;
+        this.timeWeightedReturn = timeWeightedReturn;
+        this.annualizedTimeWeightedReturn = annualizedTimeWeightedReturn;
+        this.moneyWeightedReturn = moneyWeightedReturn;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public double getTimeWeightedReturn() {
+        return timeWeightedReturn;
+    }
+
+    public void setTimeWeightedReturn(double timeWeightedReturn) {
+        this.timeWeightedReturn = timeWeightedReturn;
+    }
+
+    public double getAnnualizedTimeWeightedReturn() {
+        return annualizedTimeWeightedReturn;
+    }
+
+    public void setAnnualizedTimeWeightedReturn(double annualizedTimeWeightedReturn) {
+        this.annualizedTimeWeightedReturn = annualizedTimeWeightedReturn;
+    }
+
+    public Double getMoneyWeightedReturn() {
+        return moneyWeightedReturn;
+    }
+
+    public void setMoneyWeightedReturn(Double moneyWeightedReturn) {
+        this.moneyWeightedReturn = moneyWeightedReturn;
+    }
+}
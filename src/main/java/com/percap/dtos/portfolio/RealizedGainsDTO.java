@@ -0,0 +1,43 @@
+package com.percap.dtos.portfolio;
+
+import java.util.List;
+
+public class RealizedGainsDTO {
+    private int year;
+    /** One entry per trading currency; amounts in different currencies are never added together. */
+    private List<RealizedTotalsDTO> totals;
+    private List<RealizedLotDTO> lots;
+
+    public RealizedGainsDTO() {
+    }
+
+    public RealizedGainsDTO(int year, List<RealizedTotalsDTO> totals, List<RealizedLotDTO> lots) {
+        this.year = year;
+        this.totals = totals;
+        this.lots = lots;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public void setYear(int year) {
+        this.year = year;
+    }
+
+    public List<RealizedTotalsDTO> getTotals() {
+        return totals;
+    }
+
+    public void setTotals(List<RealizedTotalsDTO> totals) {
+        this.totals = totals;
+    }
+
+    public List<RealizedLotDTO> getLots() {
+        return lots;
+    }
+
+    public void setLots(List<RealizedLotDTO> lots) {
+        this.lots = lots;
+    }
+}
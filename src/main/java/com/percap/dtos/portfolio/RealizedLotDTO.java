@@ -0,0 +1,125 @@
+package com.percap.dtos.portfolio;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class RealizedLotDTO {
+    private String symbol;
+    private String currency;
+    private long sellTradeId;
+    private long lotTradeId;
+    private LocalDate acquiredOn;
+    private LocalDate soldOn;
+    private BigDecimal quantity;
+    private BigDecimal cost;
+    private BigDecimal proceeds;
+    private BigDecimal gain;
+    private boolean longTerm;
+
+    public RealizedLotDTO() {
+    }
+
+    public RealizedLotDTO(String symbol, String currency, long sellTradeId, long lotTradeId, LocalDate acquiredOn,
+                          LocalDate soldOn, BigDecimal quantity, BigDecimal cost, BigDecimal proceeds, BigDecimal gain,
+                          boolean longTerm) {
+        this.symbol = symbol;
+        this.currency = currency;
+        this.sellTradeId = sellTradeId;
+        this.lotTradeId = lotTradeId;
+        this.acquiredOn = acquiredOn;
+        this.soldOn = soldOn;
+        this.quantity = quantity;
+        this.cost = cost;
+        this.proceeds = proceeds;
+        this.gain = gain;
+        this.longTerm = longTerm;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public long getSellTradeId() {
+        return sellTradeId;
+    }
+
+    public void setSellTradeId(long sellTradeId) {
+        this.sellTradeId = sellTradeId;
+    }
+
+    public long getLotTradeId() {
+        return lotTradeId;
+    }
+
+    public void setLotTradeId(long lotTradeId) {
+        this.lotTradeId = lotTradeId;
+    }
+
+    public LocalDate getAcquiredOn() {
+        return acquiredOn;
+    }
+
+    public void setAcquiredOn(LocalDate acquiredOn) {
+        this.acquiredOn = acquiredOn;
+    }
+
+    public LocalDate getSoldOn() {
+        return soldOn;
+    }
+
+    public void setSoldOn(LocalDate soldOn) {
+        this.soldOn = soldOn;
+    }
+
+    public BigDecimal getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(BigDecimal quantity) {
+        this.quantity = quantity;
+    }
+
+    public BigDecimal getCost() {
+        return cost;
+    }
+
+    public void setCost(BigDecimal cost) {
+        this.cost = cost;
+    }
+
+    public BigDecimal getProceeds() {
+        return proceeds;
+    }
+
+    public void setProceeds(BigDecimal proceeds) {
+        this.proceeds = proceeds;
+    }
+
+    public BigDecimal getGain() {
+        return gain;
+    }
+
+    public void setGain(BigDecimal gain) {
+        this.gain = gain;
+    }
+
+    public boolean isLongTerm() {
+        return longTerm;
+    }
+
+    public void setLongTerm(boolean longTerm) {
+        this.longTerm = longTerm;
+    }
+}
@@ -0,0 +1,63 @@
+package com.percap.dtos.portfolio;
+
+import java.math.BigDecimal;
+
+public class RealizedTotalsDTO {
+    private String currency;
+    private BigDecimal proceeds;
+    private BigDecimal cost;
+    private BigDecimal shortTermGain;
+    private BigDecimal longTermGain;
+
+    public RealizedTotalsDTO() {
+    }
+
+    public RealizedTotalsDTO(String currency, BigDecimal proceeds, BigDecimal cost, BigDecimal shortTermGain,
+                             BigDecimal longTermGain) {
+        this.currency = currency;
+        this.proceeds = proceeds;
+        this.cost = cost;
+        this.shortTermGain = shortTermGain;
+        this.longTermGain = longTermGain;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public BigDecimal getProceeds() {
+        return proceeds;
+    }
+
+    public void setProceeds(BigDecimal proceeds) {
+        this.proceeds = proceeds;
+    }
+
+    public BigDecimal getCost() {
+        return cost;
+    }
+
+    public void setCost(BigDecimal cost) {
+        this.cost = cost;
+    }
+
+    public BigDecimal getShortTermGain() {
+        return shortTermGain;
+    }
+
+    public void setShortTermGain(BigDecimal shortTermGain) {
+        this.shortTermGain = shortTermGain;
+    }
+
+    public BigDecimal getLongTermGain() {
+        return longTermGain;
+    }
+
+    public void setLongTermGain(BigDecimal longTermGain) {
+        this.longTermGain = longTermGain;
+    }
+}
@@ -0,0 +1,113 @@
+package com.percap.dtos.portfolio;
+
+import com.percap.domain.portfolio.LotMethod;
+import com.percap.domain.portfolio.Trade;
+import com.percap.domain.portfolio.TradeSide;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class TradeDTO {
+    private Long id;
+    private String symbol;
+    private TradeSide side;
+    private LocalDate date;
+    private BigDecimal quantity;
+    private BigDecimal amount;
+    private String currency;
+    private LotMethod lotMethod;
+    private Long lotTradeId;
+
+    public TradeDTO() {
+    }
+
+    public TradeDTO(Long id, String symbol, TradeSide side, LocalDate date, BigDecimal quantity, BigDecimal amount,
+                    String currency, LotMethod lotMethod, Long lotTradeId) {
+        this.id = id;
+        this.symbol = symbol;
+        this.side = side;
+        this.date = date;
+        this.quantity = quantity;
+        this.amount = amount;
+        this.currency = currency;
+        this.lotMethod = lotMethod;
+        this.lotTradeId = lotTradeId;
+    }
+
+    public static TradeDTO from(Trade trade) {
+        return new TradeDTO(trade.getId(), trade.getSymbol(), trade.getSide(), trade.getDate(), trade.getQuantity(),
+                trade.getAmount(), trade.getCurrency(), trade.getLotMethod(), trade.getLotTradeId());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public TradeSide getSide() {
+        return side;
+    }
+
+    public void setSide(TradeSide side) {
+        this.side = side;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public BigDecimal getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(BigDecimal quantity) {
+        this.quantity = quantity;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public LotMethod getLotMethod() {
+        return lotMethod;
+    }
+
+    public void setLotMethod(LotMethod lotMethod) {
+        this.lotMethod = lotMethod;
+    }
+
+    public Long getLotTradeId() {
+        return lotTradeId;
+    }
+
+    public void setLotTradeId(Long lotTradeId) {
+        this.lotTradeId = lotTradeId;
+    }
+}
@@ -0,0 +1,126 @@
+package com.percap.dtos.portfolio;
+
+import com.percap.domain.portfolio.LotMethod;
+import com.percap.domain.portfolio.TradeSide;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class TradeRequestDTO {
+    @NotNull(message = "Symbol is required")
+    @Pattern(regexp = "[A-Z0-9.\\-]{1,16}", message = "Symbol must be 1-16 upper-case letters, digits, dots or dashes")
+    private String symbol;
+
+    @NotNull(message = "Side is required")
+    private TradeSide side;
+
+    @NotNull(message = "Date is required")
+    private LocalDate date;
+
+    @NotNull(message = "Quantity is required")
+    @Positive(message = "Quantity must be positive")
+    private BigDecimal quantity;
+
+    @NotNull(message = "Price is required")
+    @PositiveOrZero(message = "Price must not be negative")
+    private BigDecimal price;
+
+    @PositiveOrZero(message = "Fees must not be negative")
+    private BigDecimal fees;
+
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be an ISO 4217 code")
+    private String currency;
+
+    /** How a sell picks its lots; defaults to FIFO. */
+    private LotMethod lotMethod;
+
+    /** The buy whose lot a SPECIFIC sell consumes. */
+    private Long lotTradeId;
+
+    public TradeRequestDTO() {
+    }
+
+    public TradeRequestDTO(String symbol, TradeSide side, LocalDate date, BigDecimal quantity, BigDecimal price) {
+        this.symbol = symbol;
+        this.side = side;
+        this.date = date;
+        this.quantity = quantity;
+        this.price = price;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public TradeSide getSide() {
+        return side;
+    }
+
+    public void setSide(TradeSide side) {
+        this.side = side;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public BigDecimal getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(BigDecimal quantity) {
+        this.quantity = quantity;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public BigDecimal getFees() {
+        return fees;
+    }
+
+    public void setFees(BigDecimal fees) {
+        this.fees = fees;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public LotMethod getLotMethod() {
+        return lotMethod;
+    }
+
+    public void setLotMethod(LotMethod lotMethod) {
+        this.lotMethod = lotMethod;
+    }
+
+    public Long getLotTradeId() {
+        return lotTradeId;
+    }
+
+    public void setLotTradeId(Long lotTradeId) {
+        this.lotTradeId = lotTradeId;
+    }
+}
@@ -0,0 +1,52 @@
+package com.percap.dtos.portfolio;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class ValuationRequestDTO {
+    @NotNull(message = "Date is required")
+    private LocalDate date;
+
+    @NotNull(message = "Market value is required")
+    @PositiveOrZero(message = "Market value must not be negative")
+    private BigDecimal marketValue;
+
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be an ISO 4217 code")
+    private String currency;
+
+    public ValuationRequestDTO() {
+    }
+
+    public ValuationRequestDTO(LocalDate date, BigDecimal marketValue) {
+        this.date = date;
+        this.marketValue = marketValue;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public BigDecimal getMarketValue() {
+        return marketValue;
+    }
+
+    public void setMarketValue(BigDecimal marketValue) {
+        this.marketValue = marketValue;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+}
@@ -0,0 +1,53 @@
+package com.percap.dtos.pricing;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public class PriceDTO {
+    private String symbol;
+    private BigDecimal price;
+    private Instant asOf;
+    private long updates;
+
+    public PriceDTO() {
+    }
+
+    public PriceDTO(String symbol, BigDecimal price, Instant asOf, long updates) {
+        this.symbol = symbol;
+        this.price = price;
+        this.asOf = asOf;
+        this.updates = updates;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public Instant getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(Instant asOf) {
+        this.asOf = asOf;
+    }
+
+    public long getUpdates() {
+        return updates;
+    }
+
+    public void setUpdates(long updates) {
+        this.updates = updates;
+    }
+}
@@ -0,0 +1,91 @@
+package com.percap.dtos.recurring;
+
+import com.percap.domain.recurring.RecurringPayment;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class RecurringPaymentDTO {
+    private String merchant;
+    private String description;
+    private BigDecimal averageAmount;
+    private int periodDays;
+    private int occurrences;
+    private LocalDate lastDate;
+    private LocalDate nextExpectedDate;
+
+    public RecurringPaymentDTO() {
+    }
+
+    public RecurringPaymentDTO(String merchant, String description, BigDecimal averageAmount, int periodDays,
+                               int occurrences, LocalDate lastDate, LocalDate nextExpectedDate) {
+        this.merchant = merchant;
+        this.description = description;
+        this.averageAmount = averageAmount;
+        this.periodDays = periodDays;
+        this.occurrences = occurrences;
+        this.lastDate = lastDate;
+        this.nextExpectedDate = nextExpectedDate;
+    }
+
+    public static RecurringPaymentDTO from(RecurringPayment payment) {
+        return new RecurringPaymentDTO(payment.getMerchant(), payment.getDescription(), payment.getAverageAmount(),
+                payment.getPeriodDays(), payment.getOccurrences(), payment.getLastDate(), payment.getNextExpectedDate());
+    }
+
+    public String getMerchant() {
+        return merchant;
+    }
+
+    public void setMerchant(String merchant) {
+        this.merchant = merchant;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public BigDecimal getAverageAmount() {
+        return averageAmount;
+    }
+
+    public void setAverageAmount(BigDecimal averageAmount) {
+        this.averageAmount = averageAmount;
+    }
+
+    public int getPeriodDays() {
+        return periodDays;
+    }
+
+    public void setPeriodDays(int periodDays) {
+        this.periodDays = periodDays;
+    }
+
+    public int getOccurrences() {
+        return occurrences;
+    }
+
+    public void setOccurrences(int occurrences) {
+        this.occurrences = occurrences;
+    }
+
+    public LocalDate getLastDate() {
+        return lastDate;
+    }
+
+    public void setLastDate(LocalDate lastDate) {
+        this.lastDate = lastDate;
+    }
+
+    public LocalDate getNextExpectedDate() {
+        return nextExpectedDate;
+    }
+
+    public void setNextExpectedDate(LocalDate nextExpectedDate) {
+        this.nextExpectedDate = nextExpectedDate;
+    }
+}
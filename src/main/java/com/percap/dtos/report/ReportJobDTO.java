@@ -0,0 +1,134 @@
+package com.percap.dtos.report;
+
+import com.percap.domain.report.ReportJob;
+import com.percap.domain.report.ReportJobStatus;
+import com.percap.domain.report.ReportType;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+public class ReportJobDTO {
+    private String id;
+    private ReportType type;
+    private int year;
+    private ReportJobStatus status;
+    private long rowsProcessed;
+    private double progress;
+    private String error;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+
+    public ReportJobDTO() {
+    }
+
+    public ReportJobDTO(String id, ReportType type, int year, ReportJobStatus status, long rowsProcessed,
+                        double progress, String error, Instant createdAt, Instant startedAt, Instant finishedAt) {
+        this.id = id;
+        this.type = type;
+        this.year = year;
+        this.status = status;
+        this.rowsProcessed = rowsProcessed;
+        this.progress = progress;
+        this.error = error;
+        this.createdAt = createdAt;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+    }
+
+    /**
+     * Progress is the share of the year's days the cursor has passed: cheap to compute from the
+     * checkpoint and monotonic, though not proportional to rows when activity is uneven.
+     */
+    public static ReportJobDTO from(ReportJob job) {
+        double progress = 1.0;
+        if (job.getStatus() != ReportJobStatus.SUCCEEDED) {
+            LocalDate start = LocalDate.of(job.getYear(), 1, 1);
+            long days = ChronoUnit.DAYS.between(start, job.getCursorDate()) + (job.getCursorId() == null ? 1 : 0);
+            progress = Math.max(0.0, Math.min(0.99, days / (double) start.lengthOfYear()));
+        }
+        return new ReportJobDTO(job.getId(), job.getType(), job.getYear(), job.getStatus(), job.getRowsProcessed(),
+                progress, job.getError(), job.getCreatedAt(), job.getStartedAt(), job.getFinishedAt());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public ReportType getType() {
+        return type;
+    }
+
+    public void setType(ReportType type) {
+        this.type = type;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public void setYear(int year) {
+        this.year = year;
+    }
+
+    public ReportJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReportJobStatus status) {
+        this.status = status;
+    }
+
+    public long getRowsProcessed() {
+        return rowsProcessed;
+    }
+
+    public void setRowsProcessed(long rowsProcessed) {
+        this.rowsProcessed = rowsProcessed;
+    }
+
+    public double getProgress() {
+        return progress;
+    }
+
+    public void setProgress(double progress) {
+        this.progress = progress;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
@@ -0,0 +1,38 @@
+package com.percap.dtos.report;
+
+import com.percap.domain.report.ReportType;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public class ReportJobRequestDTO {
+    @NotNull(message = "Report type is required")
+    private ReportType type;
+
+    @NotNull(message = "Year is required")
+    @Min(value = 1900, message = "Year must be 1900 or later")
+    private Integer year;
+
+    public ReportJobRequestDTO() {
+    }
+
+    public ReportJobRequestDTO(ReportType type, Integer year) {
+        this.type = type;
+        this.year = year;
+    }
+
+    public ReportType getType() {
+        return type;
+    }
+
+    public void setType(ReportType type) {
+        this.type = type;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+}
@@ -0,0 +1,115 @@
+package com.percap.dtos.retirement;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PositiveOrZero;
+
+public class RetirementSimulationRequestDTO {
+    @PositiveOrZero(message = "Current balance must not be negative")
+    private double currentBalance;
+
+    @PositiveOrZero(message = "Annual contribution must not be negative")
+    private double annualContribution;
+
+    @PositiveOrZero(message = "Annual withdrawal must not be negative")
+    private double annualWithdrawal;
+
+    @Min(value = 0, message = "Years to retirement must not be negative")
+    @Max(value = 70, message = "Years to retirement must be at most 70")
+    private int yearsToRetirement;
+
+    @Min(value = 1, message = "Years in retirement must be at least 1")
+    @Max(value = 50, message = "Years in retirement must be at most 50")
+    private int yearsInRetirement;
+
+    @DecimalMin(value = "-0.5", message = "Expected return must be at least -0.5")
+    @DecimalMax(value = "0.5", message = "Expected return must be at most 0.5")
+    private double expectedReturn = 0.06;
+
+    @DecimalMin(value = "0", message = "Volatility must not be negative")
+    @DecimalMax(value = "1", message = "Volatility must be at most 1")
+    private double volatility = 0.15;
+
+    @Min(value = 10000, message = "At least 10000 paths are required")
+    @Max(value = 100000, message = "At most 100000 paths are allowed")
+    private int paths = 10000;
+
+    private Long seed;
+
+    public RetirementSimulationRequestDTO() {
+    }
+
+    public double getCurrentBalance() {
+        return currentBalance;
+    }
+
+    public void setCurrentBalance(double currentBalance) {
+        this.currentBalance = currentBalance;
+    }
+
+    public double getAnnualContribution() {
+        return annualContribution;
+    }
+
+    public void setAnnualContribution(double annualContribution) {
+        this.annualContribution = annualContribution;
+    }
+
+    public double getAnnualWithdrawal() {
+        return annualWithdrawal;
+    }
+
+    public void setAnnualWithdrawal(double annualWithdrawal) {
+        this.annualWithdrawal = annualWithdrawal;
+    }
+
+    public int getYearsToRetirement() {
+        return yearsToRetirement;
+    }
+
+    public void setYearsToRetirement(int yearsToRetirement) {
+        this.yearsToRetirement = yearsToRetirement;
+    }
+
+    public int getYearsInRetirement() {
+        return yearsInRetirement;
+    }
+
+    public void setYearsInRetirement(int yearsInRetirement) {
+        this.yearsInRetirement = yearsInRetirement;
+    }
+
+    public double getExpectedReturn() {
+        return expectedReturn;
+    }
+
+    public void setExpectedReturn(double expectedReturn) {
+        this.expectedReturn = expectedReturn;
+    }
+
+    public double getVolatility() {
+        return volatility;
+    }
+
+    public void setVolatility(double volatility) {
+        this.volatility = volatility;
+    }
+
+    public int getPaths() {
+        return paths;
+    }
+
+    public void setPaths(int paths) {
+        this.paths = paths;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+}
@@ -0,0 +1,63 @@
+package com.percap.dtos.retirement;
+
+import java.util.List;
+
+public class RetirementSimulationResultDTO {
+    private int requestedPaths;
+    private long completedPaths;
+    private boolean truncated;
+    private double successProbability;
+    private List<YearBandDTO> bands;
+
+    public RetirementSimulationResultDTO() {
+    }
+
+    public RetirementSimulationResultDTO(int requestedPaths, long completedPaths, boolean truncated,
+                                         double successProbability, List<YearBandDTO> bands) {
+        this.requestedPaths = requestedPaths;
+        this.completedPaths = completedPaths;
+        this.truncated = truncated;
+        this.successProbability = successProbability;
+        this.bands = bands;
+    }
+
+    public int getRequestedPaths() {
+        return requestedPaths;
+    }
+
+    public void setRequestedPaths(int requestedPaths) {
+        this.requestedPaths = requestedPaths;
+    }
+
+    public long getCompletedPaths() {
+        return completedPaths;
+    }
+
+    public void setCompletedPaths(long completedPaths) {
+        this.completedPaths = completedPaths;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public double getSuccessProbability() {
+        return successProbability;
+    }
+
+    public void setSuccessProbability(double successProbability) {
+        this.successProbability = successProbability;
+    }
+
+    public List<YearBandDTO> getBands() {
+        return bands;
+    }
+
+    public void setBands(List<YearBandDTO> bands) {
+        this.bands = bands;
+    }
+}
@@ -0,0 +1,70 @@
+package com.percap.dtos.retirement;
+
+public class YearBandDTO {
+    private int year;
+    private double p10;
+    private double p25;
+    private double p50;
+    private double p75;
+    private double p90;
+
+    public YearBandDTO() {
+    }
+
+    public YearBandDTO(int year, double p10, double p25, double p50, double p75, double p90) {
+        this.year = year;
+        this.p10 = p10;
+        this.p25 = p25;
+        this.p50 = p50;
+        this.p75 = p75;
+        this.p90 = p90;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public void setYear(int year) {
+        this.year = year;
+    }
+
+    public double getP10() {
+        return p10;
+    }
+
+    public void setP10(double p10) {
+        this.p10 = p10;
+    }
+
+    public double getP25() {
+        return p25;
+    }
+
+    public void setP25(double p25) {
+        this.p25 = p25;
+    }
+
+    public double getP50() {
+        return p50;
+    }
+
+    public void setP50(double p50) {
+        this.p50 = p50;
+    }
+
+    public double getP75() {
+        return p75;
+    }
+
+    public void setP75(double p75) {
+        this.p75 = p75;
+    }
+
+    public double getP90() {
+        return p90;
+    }
+
+    public void setP90(double p90) {
+        this.p90 = p90;
+    }
+}
@@ -0,0 +1,53 @@
+package com.percap.dtos.streaming;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public class BalanceUpdateDTO {
+    private BigDecimal balance;
+    private BigDecimal portfolioValue;
+    private BigDecimal netWorth;
+    private Instant asOf;
+
+    public BalanceUpdateDTO() {
+    }
+
+    public BalanceUpdateDTO(BigDecimal balance, BigDecimal portfolioValue, BigDecimal netWorth, Instant asOf) {
+        this.balance = balance;
+        this.portfolioValue = portfolioValue;
+        this.netWorth = netWorth;
+        this.asOf = asOf;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
+    public BigDecimal getPortfolioValue() {
+        return portfolioValue;
+    }
+
+    public void setPortfolioValue(BigDecimal portfolioValue) {
+        this.portfolioValue = portfolioValue;
+    }
+
+    public BigDecimal getNetWorth() {
+        return netWorth;
+    }
+
+    public void setNetWorth(BigDecimal netWorth) {
+        this.netWorth = netWorth;
+    }
+
+    public Instant getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(Instant asOf) {
+        this.asOf = asOf;
+    }
+}
@@ -0,0 +1,30 @@
+package com.percap.dtos.transaction;
+
+public class RecategorizeResponseDTO {
+    private int processed;
+    private int categorized;
+
+    public RecategorizeResponseDTO() {
+    }
+
+    public RecategorizeResponseDTO(int processed, int categorized) {
+        this.processed = processed;
+        this.categorized = categorized;
+    }
+
+    public int getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(int processed) {
+        this.processed = processed;
+    }
+
+    public int getCategorized() {
+        return categorized;
+    }
+
+    public void setCategorized(int categorized) {
+        this.categorized = categorized;
+    }
+}
@@ -0,0 +1,81 @@
+package com.percap.dtos.transaction;
+
+import com.percap.domain.transaction.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class TransactionDTO {
+    private String id;
+    private String description;
+    private BigDecimal amount;
+    private String currency;
+    private LocalDate date;
+    private String category;
+
+    public TransactionDTO() {
+    }
+
+    public TransactionDTO(String id, String description, BigDecimal amount, String currency, LocalDate date,
+                          String category) {
+        this.id = id;
+        this.description = description;
+        this.amount = amount;
+        this.currency = currency;
+        this.date = date;
+        this.category = category;
+    }
+
+    public static TransactionDTO from(Transaction transaction) {
+        return new TransactionDTO(transaction.getId(), transaction.getDescription(), transaction.getAmount(),
+                transaction.getCurrency(), transaction.getDate(), transaction.getCategory());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+}
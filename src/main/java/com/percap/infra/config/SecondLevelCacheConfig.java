@@ -0,0 +1,61 @@
+package com.percap.infra.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the JCache (Caffeine) regions behind Hibernate's second-level cache and hands the
+ * cache manager to Hibernate.
+ * <p>
+ * Each region is bounded by {@code api.cache.regions.<region>.max-entries} and expires entries
+ * {@code ttl-seconds} after they were written, so a row changed outside Hibernate is stale for
+ * at most that long.
+ * <p>
+ * Regions are local to each node, and a change made through Hibernate only evicts the copy on the
+ * node that made it. Every request authorizes against the cached user, so a role demoted on one
+ * node stays in force on the others until their entries expire; the user regions therefore
+ * default to a TTL of {@value #USER_TTL_SECONDS} seconds instead of an hour, which bounds how long
+ * a revoked role keeps working.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+    public static final List<String> REGIONS = List.of("users", "users-by-login", "institutions", "category-rules");
+    static final List<String> USER_REGIONS = List.of("users", "users-by-login");
+    static final long USER_TTL_SECONDS = 30;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(Environment environment) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        for (String region : REGIONS) {
+            if (cacheManager.getCache(region) != null) {
+                continue;
+            }
+            long maxEntries = environment.getProperty("api.cache.regions." + region + ".max-entries", Long.class, 10_000L);
+            long ttlSeconds = environment.getProperty("api.cache.regions." + region + ".ttl-seconds", Long.class,
+                    USER_REGIONS.contains(region) ? USER_TTL_SECONDS : 3600L);
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(region, configuration);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+}
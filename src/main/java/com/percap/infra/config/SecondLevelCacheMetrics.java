@@ -0,0 +1,57 @@
+package com.percap.infra.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes hits, misses and the hit ratio of every second-level cache region, read from
+ * Hibernate's statistics ({@code hibernate.generate_statistics} must be on).
+ */
+@Component
+public class SecondLevelCacheMetrics {
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void register() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return;
+        }
+        for (String region : SecondLevelCacheConfig.REGIONS) {
+            FunctionCounter.builder("hibernate.cache.requests", statistics, stats -> hits(stats.getCacheRegionStatistics(region)))
+                    .tag("region", region).tag("result", "hit").register(meterRegistry);
+            FunctionCounter.builder("hibernate.cache.requests", statistics, stats -> misses(stats.getCacheRegionStatistics(region)))
+                    .tag("region", region).tag("result", "miss").register(meterRegistry);
+            Gauge.builder("hibernate.cache.hit.ratio", statistics, stats -> hitRatio(stats.getCacheRegionStatistics(region)))
+                    .tag("region", region).register(meterRegistry);
+        }
+    }
+
+    // A region only has statistics once Hibernate has built it, i.e. once a mapped entity uses it.
+    private static long hits(CacheRegionStatistics region) {
+        return region != null ? region.getHitCount() : 0;
+    }
+
+    private static long misses(CacheRegionStatistics region) {
+        return region != null ? region.getMissCount() : 0;
+    }
+
+    private static double hitRatio(CacheRegionStatistics region) {
+        long requests = hits(region) + misses(region);
+        return requests == 0 ? Double.NaN : (double) hits(region) / requests;
+    }
+}
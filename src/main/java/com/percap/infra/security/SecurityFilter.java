@@ -17,10 +17,12 @@ import java.util.Optional;
 @Component
 public class SecurityFilter extends OncePerRequestFilter {
     private final TokenService tokenService;
+    private final SessionStore sessionStore;
     private final UserRepository userRepository;
 
-    public SecurityFilter(TokenService tokenService, UserRepository userRepository) {
+    public SecurityFilter(TokenService tokenService, SessionStore sessionStore, UserRepository userRepository) {
         this.tokenService = tokenService;
+        this.sessionStore = sessionStore;
         this.userRepository = userRepository;
     }
 
@@ -29,7 +31,7 @@ public class SecurityFilter extends OncePerRequestFilter {
         String token = recoverToken(request);
         
         if (token != null) {
-            String login = tokenService.validateToken(token);
+            String login = SessionStore.isOpaque(token) ? sessionStore.resolve(token) : tokenService.validateToken(token);
             if (login != null) {
                 Optional<User> userOptional = userRepository.findByLogin(login);
                 if (userOptional.isPresent()) {
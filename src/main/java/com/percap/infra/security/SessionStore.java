@@ -0,0 +1,416 @@
+package com.percap.infra.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Server-side sessions for opaque bearer tokens.
+ * <p>
+ * A token is {@value #PREFIX} followed by 24 random bytes in URL-safe base64. Only a 128-bit
+ * SHA-256 prefix of it is kept, in one of {@code stripes} hash maps each guarded by its own lock,
+ * so concurrent lookups rarely contend. A session expires {@code idleTtl} after its last use and
+ * never outlives {@code maxLifetime}; revocation takes effect on the next request. Expired
+ * sessions are dropped lazily on lookup and by a periodic sweep.
+ * <p>
+ * If a journal path is configured, creations, revocations and (at most every half idle period
+ * per session) expiry extensions are appended to it, and it is replayed and compacted on
+ * startup, so sessions survive a restart. Revocations are forced to disk before returning.
+ * <p>
+ * Sessions and their journal are local to the node that issued them: a token presented to
+ * another node is rejected with 401, and a revocation only reaches the node it was sent to.
+ * Deployments with more than one node must therefore route opaque tokens stickily, by the
+ * {@code Authorization} header, so every request with a token reaches the node that issued it.
+ * JWTs are unaffected and can go to any node.
+ */
+@Component
+public class SessionStore implements DisposableBean {
+    public static final String PREFIX = "pcs_";
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionStore.class);
+    private static final int TOKEN_BYTES = 24;
+    private static final byte PUT = 1;
+    private static final byte REVOKE = 2;
+
+    private final Shard[] shards;
+    private final int shardMask;
+    private final long idleTtlMillis;
+    private final long maxLifetimeMillis;
+    private final Path journalPath;
+    private final long journalCompactBytes;
+    private final SecureRandom random = new SecureRandom();
+    private final ReentrantLock journalLock = new ReentrantLock();
+
+    private FileOutputStream journalFile;
+    private DataOutputStream journal;
+    private volatile long journalBytes;
+
+    public SessionStore(@Value("${api.session.stripes:64}") int stripes,
+                        @Value("${api.session.idle-ttl-seconds:1800}") long idleTtlSeconds,
+                        @Value("${api.session.max-lifetime-seconds:43200}") long maxLifetimeSeconds,
+                        @Value("${api.session.journal-path:}") String journalPath,
+                        @Value("${api.session.journal-compact-bytes:67108864}") long journalCompactBytes,
+                        MeterRegistry meterRegistry) throws IOException {
+        int count = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard();
+        }
+        this.shardMask = count - 1;
+        this.idleTtlMillis = TimeUnit.SECONDS.toMillis(idleTtlSeconds);
+        this.maxLifetimeMillis = TimeUnit.SECONDS.toMillis(maxLifetimeSeconds);
+        this.journalPath = journalPath == null || journalPath.isBlank() ? null : Paths.get(journalPath);
+        this.journalCompactBytes = journalCompactBytes;
+        if (this.journalPath != null) {
+            replay(System.currentTimeMillis());
+            compact();
+        }
+        meterRegistry.gauge("sessions.active", this, SessionStore::size);
+    }
+
+    /**
+     * Whether a bearer token has the shape of one issued by this store rather than a JWT.
+     */
+    public static boolean isOpaque(String token) {
+        return token.startsWith(PREFIX) && token.indexOf('.') < 0;
+    }
+
+    public String create(String login) {
+        return create(login, System.currentTimeMillis());
+    }
+
+    /**
+     * Returns the login the token belongs to and extends its idle expiry, or null if the token
+     * is unknown, revoked or expired.
+     */
+    public String resolve(String token) {
+        return resolve(token, System.currentTimeMillis());
+    }
+
+    public void revoke(String token) {
+        Key key = Key.of(token);
+        Shard shard = shardFor(key);
+        shard.lock.lock();
+        try {
+            if (shard.sessions.remove(key) != null) {
+                journalRevoke(key);
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                size += shard.sessions.size();
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    @Scheduled(fixedDelayString = "${api.session.sweep-interval-ms:60000}")
+    public void sweep() {
+        int removed = sweep(System.currentTimeMillis());
+        if (removed > 0) {
+            logger.debug("Swept {} expired sessions", removed);
+        }
+        if (journalPath != null && journalBytes > journalCompactBytes) {
+            compact();
+        }
+    }
+
+    String create(String login, long now) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Key key = Key.of(token);
+        Session session = new Session(login, Math.min(now + idleTtlMillis, now + maxLifetimeMillis), now + maxLifetimeMillis);
+        Shard shard = shardFor(key);
+        shard.lock.lock();
+        try {
+            shard.sessions.put(key, session);
+            journalPut(key, session);
+        } finally {
+            shard.lock.unlock();
+        }
+        return token;
+    }
+
+    String resolve(String token, long now) {
+        if (!isOpaque(token)) {
+            return null;
+        }
+        Key key = Key.of(token);
+        Shard shard = shardFor(key);
+        shard.lock.lock();
+        try {
+            Session session = shard.sessions.get(key);
+            if (session == null) {
+                return null;
+            }
+            if (session.expiresAt <= now) {
+                shard.sessions.remove(key);
+                return null;
+            }
+            session.expiresAt = Math.min(now + idleTtlMillis, session.deadline);
+            if (session.expiresAt - session.journaledExpiresAt > idleTtlMillis / 2) {
+                journalPut(key, session);
+            }
+            return session.login;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    int sweep(long now) {
+        int removed = 0;
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                Iterator<Session> sessions = shard.sessions.values().iterator();
+                while (sessions.hasNext()) {
+                    if (sessions.next().expiresAt <= now) {
+                        sessions.remove();
+                        removed++;
+                    }
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return removed;
+    }
+
+    private Shard shardFor(Key key) {
+        return shards[(int) key.high & shardMask];
+    }
+
+    // Journal writes happen under the session's shard lock, so the journal order of a PUT and a
+    // REVOKE for the same session matches the order they were applied in memory.
+    private void journalPut(Key key, Session session) {
+        if (journalPath == null) {
+            return;
+        }
+        journalLock.lock();
+        try {
+            writePut(journal, key, session);
+            journal.flush();
+        } catch (IOException e) {
+            logger.warn("Could not journal session: {}", e.getMessage());
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    private void writePut(DataOutputStream out, Key key, Session session) throws IOException {
+        byte[] login = session.login.getBytes(StandardCharsets.UTF_8);
+        out.writeByte(PUT);
+        out.writeLong(key.high);
+        out.writeLong(key.low);
+        out.writeLong(session.expiresAt);
+        out.writeLong(session.deadline);
+        out.writeShort(login.length);
+        out.write(login);
+        journalBytes += 35 + login.length;
+        session.journaledExpiresAt = session.expiresAt;
+    }
+
+    private void journalRevoke(Key key) {
+        if (journalPath == null) {
+            return;
+        }
+        journalLock.lock();
+        try {
+            journal.writeByte(REVOKE);
+            journal.writeLong(key.high);
+            journal.writeLong(key.low);
+            journal.flush();
+            journalFile.getFD().sync();
+            journalBytes += 17;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not journal session revocation", e);
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    private void replay(long now) throws IOException {
+        if (!Files.exists(journalPath)) {
+            return;
+        }
+        int records = 0;
+        try (InputStream file = Files.newInputStream(journalPath);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file))) {
+            while (true) {
+                byte type = in.readByte();
+                Key key = new Key(in.readLong(), in.readLong());
+                Map<Key, Session> sessions = shardFor(key).sessions;
+                if (type == PUT) {
+                    long expiresAt = in.readLong();
+                    long deadline = in.readLong();
+                    byte[] login = in.readNBytes(in.readUnsignedShort());
+                    Session session = new Session(new String(login, StandardCharsets.UTF_8), expiresAt, deadline);
+                    session.journaledExpiresAt = expiresAt;
+                    sessions.put(key, session);
+                } else if (type == REVOKE) {
+                    sessions.remove(key);
+                } else {
+                    logger.warn("Session journal {} is corrupt after {} records; ignoring the rest", journalPath, records);
+                    break;
+                }
+                records++;
+            }
+        } catch (EOFException e) {
+            // End of the journal, or a record torn by a crash; everything before it is intact.
+        }
+        int expired = sweep(now);
+        logger.info("Restored {} sessions from {} ({} expired)", size(), journalPath, expired);
+    }
+
+    /**
+     * Rewrites the journal as one PUT per live session. Every shard lock is taken (in index
+     * order, before the journal lock, as elsewhere) so the snapshot cannot miss a concurrent
+     * change.
+     */
+    private void compact() {
+        for (Shard shard : shards) {
+            shard.lock.lock();
+        }
+        journalLock.lock();
+        try {
+            if (journal != null) {
+                journal.close();
+            }
+            Path compacted = journalPath.resolveSibling(journalPath.getFileName() + ".compact");
+            Path parent = journalPath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            journalBytes = 0;
+            try (FileOutputStream file = new FileOutputStream(compacted.toFile());
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+                for (Shard shard : shards) {
+                    for (Map.Entry<Key, Session> entry : shard.sessions.entrySet()) {
+                        writePut(out, entry.getKey(), entry.getValue());
+                    }
+                }
+                out.flush();
+                file.getFD().sync();
+            }
+            Files.move(compacted, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            journalFile = new FileOutputStream(journalPath.toFile(), true);
+            journal = new DataOutputStream(new BufferedOutputStream(journalFile));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not compact session journal " + journalPath, e);
+        } finally {
+            journalLock.unlock();
+            for (int i = shards.length - 1; i >= 0; i--) {
+                shards[i].lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        journalLock.lock();
+        try {
+            if (journal != null) {
+                journal.close();
+                journal = null;
+            }
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    private static final class Shard {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final HashMap<Key, Session> sessions = new HashMap<>();
+    }
+
+    private static final class Session {
+        private final String login;
+        private final long deadline;
+        private long expiresAt;
+        private long journaledExpiresAt;
+
+        private Session(String login, long expiresAt, long deadline) {
+            this.login = login;
+            this.expiresAt = expiresAt;
+            this.deadline = deadline;
+        }
+    }
+
+    /**
+     * The first 128 bits of the token's SHA-256, so neither memory nor the journal holds a
+     * usable token.
+     */
+    private static final class Key {
+        private final long high;
+        private final long low;
+
+        private Key(long high, long low) {
+            this.high = high;
+            this.low = low;
+        }
+
+        private static Key of(String token) {
+            byte[] digest;
+            try {
+                digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+            long high = 0;
+            long low = 0;
+            for (int i = 0; i < 8; i++) {
+                high = (high << 8) | (digest[i] & 0xFF);
+                low = (low << 8) | (digest[i + 8] & 0xFF);
+            }
+            return new Key(high, low);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && key.high == high && key.low == low;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(high ^ low);
+        }
+    }
+}
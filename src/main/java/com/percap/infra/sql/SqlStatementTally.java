@@ -0,0 +1,58 @@
+package com.percap.infra.sql;
+
+/**
+ * Counts the JDBC statements executed on the current thread, and the time spent in them, between
+ * {@link #begin()} and {@link #end()}.
+ * <p>
+ * Tallies nest: a statement is recorded in the innermost tally and in every tally enclosing it,
+ * so a test can wrap a request whose filter keeps its own tally. Work handed to other threads is
+ * not counted.
+ */
+public final class SqlStatementTally {
+    private static final ThreadLocal<SqlStatementTally> CURRENT = new ThreadLocal<>();
+
+    private final SqlStatementTally parent;
+    private int statements;
+    private long nanos;
+
+    private SqlStatementTally(SqlStatementTally parent) {
+        this.parent = parent;
+    }
+
+    public static SqlStatementTally begin() {
+        SqlStatementTally tally = new SqlStatementTally(CURRENT.get());
+        CURRENT.set(tally);
+        return tally;
+    }
+
+    /**
+     * Stops this tally and makes the one it was started inside current again.
+     */
+    public void end() {
+        if (parent != null) {
+            CURRENT.set(parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    static void record(long elapsedNanos) {
+        for (SqlStatementTally tally = CURRENT.get(); tally != null; tally = tally.parent) {
+            tally.statements++;
+            tally.nanos += elapsedNanos;
+        }
+    }
+
+    public void reset() {
+        statements = 0;
+        nanos = 0;
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+}
@@ -0,0 +1,115 @@
+package com.percap.infra.web;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A concurrency limit that follows the server's latency instead of being fixed up front.
+ * <p>
+ * Round-trip times are averaged over windows of {@code windowSize} requests and compared with a
+ * slow moving average of the same (the long-term RTT). While the two agree the limit grows by
+ * about {@code sqrt(limit)} per window; once the short-term RTT rises above {@code tolerance}
+ * times the long-term one, requests are queueing somewhere (usually on database connections)
+ * and the limit shrinks in proportion, down to {@code minLimit}. Each update is smoothed, and the
+ * limit only grows while it is actually being used. Failed requests cut the limit by a tenth.
+ * <p>
+ * Low-priority requests may only occupy {@code lowPriorityShare} of the limit, so under load
+ * they are turned away first and authenticated traffic keeps the remaining capacity.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final double LONG_RTT_WEIGHT = 0.05;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double lowPriorityShare;
+    private final int windowSize;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private double longRttNanos;
+    private long windowRttNanos;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double lowPriorityShare,
+                                      int windowSize, double tolerance) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.lowPriorityShare = lowPriorityShare;
+        this.windowSize = windowSize;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Takes a slot for one request, or returns false if the request should be shed. Every
+     * successful call must be followed by exactly one {@link #release}.
+     */
+    public boolean tryAcquire(boolean lowPriority) {
+        int allowed = (int) (lowPriority ? Math.max(1, limit * lowPriorityShare) : limit);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Frees a slot. {@code rttNanos} is a latency sample; pass a negative value for requests whose
+     * duration says nothing about load (long-lived streams).
+     */
+    public void release(long rttNanos, boolean failed) {
+        int current = inFlight.getAndDecrement();
+        if (failed) {
+            synchronized (this) {
+                limit = Math.max(minLimit, limit * 0.9);
+            }
+        } else if (rttNanos >= 0) {
+            sample(rttNanos, current);
+        }
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void sample(long rttNanos, int inFlightAtCompletion) {
+        windowRttNanos += rttNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtCompletion);
+        if (windowSamples < windowSize) {
+            return;
+        }
+        double shortRtt = (double) windowRttNanos / windowSamples;
+        int maxInFlight = windowMaxInFlight;
+        windowRttNanos = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+
+        if (longRttNanos == 0) {
+            longRttNanos = shortRtt;
+            return;
+        }
+        longRttNanos += (shortRtt - longRttNanos) * LONG_RTT_WEIGHT;
+        // After a slow spell the long-term average lags far behind; let it catch up quickly so the
+        // limit can recover.
+        if (longRttNanos > 2 * shortRtt) {
+            longRttNanos *= 0.95;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRtt));
+        if (gradient == 1.0 && maxInFlight < limit / 2) {
+            return;
+        }
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+}
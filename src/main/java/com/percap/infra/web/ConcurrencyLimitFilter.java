@@ -0,0 +1,96 @@
+package com.percap.infra.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Sheds load with a 503 before it reaches the security filters once the
+ * {@link AdaptiveConcurrencyLimiter} is full.
+ * <p>
+ * Login, registration and anything else without a bearer token are low priority: they are
+ * expensive (password hashing) or anonymous and can be retried, while requests carrying a token
+ * belong to sessions already in progress. The token is not verified here, only its presence is
+ * checked. Health checks are never limited,
+ * and requests that go async (streams, exports) give their slot back as soon as the initial
+ * dispatch returns.
+ * <p>
+ * The 503 is written here rather than through {@code sendError}: an error dispatch to
+ * {@code /error} would pass the security filters unauthenticated and reach the client as a 403.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private static final String SHED_BODY = "{\"error\":\"Server is busy, retry shortly\"}";
+
+    private final boolean enabled;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Counter rejectedHigh;
+    private final Counter rejectedLow;
+
+    public ConcurrencyLimitFilter(MeterRegistry meterRegistry,
+                                  @Value("${api.limiter.enabled:true}") boolean enabled,
+                                  @Value("${api.limiter.initial-limit:50}") int initialLimit,
+                                  @Value("${api.limiter.min-limit:8}") int minLimit,
+                                  @Value("${api.limiter.max-limit:400}") int maxLimit,
+                                  @Value("${api.limiter.low-priority-share:0.5}") double lowPriorityShare,
+                                  @Value("${api.limiter.window-size:50}") int windowSize,
+                                  @Value("${api.limiter.tolerance:1.5}") double tolerance) {
+        this.enabled = enabled;
+        this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, lowPriorityShare, windowSize, tolerance);
+        this.rejectedHigh = Counter.builder("http.server.concurrency.rejected").tag("priority", "high").register(meterRegistry);
+        this.rejectedLow = Counter.builder("http.server.concurrency.rejected").tag("priority", "low").register(meterRegistry);
+        Gauge.builder("http.server.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::limit).register(meterRegistry);
+        Gauge.builder("http.server.concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::inFlight).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || "/actuator/health".equals(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean lowPriority = isLowPriority(request);
+        if (!limiter.tryAcquire(lowPriority)) {
+            (lowPriority ? rejectedLow : rejectedHigh).increment();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", "1");
+            response.setContentType("application/json");
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write(SHED_BODY);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() == HttpServletResponse.SC_SERVICE_UNAVAILABLE
+                    || response.getStatus() == HttpServletResponse.SC_GATEWAY_TIMEOUT;
+        } finally {
+            limiter.release(request.isAsyncStarted() ? -1 : System.nanoTime() - start, failed);
+        }
+    }
+
+    private static boolean isLowPriority(HttpServletRequest request) {
+        String path = request.getServletPath();
+        if ("/auth/login".equals(path) || "/auth/register".equals(path)) {
+            return true;
+        }
+        String authorization = request.getHeader("Authorization");
+        return authorization == null || !authorization.startsWith("Bearer ");
+    }
+}
@@ -0,0 +1,80 @@
+package com.percap.infra.web;
+
+import com.percap.infra.sql.SqlStatementTally;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements each request runs, and the time spent in them, and logs requests
+ * that go over budget. Runs ahead of the security filters so the user lookup is included.
+ * <p>
+ * A request that runs more statements than {@code max-statements} is usually loading an
+ * association row by row (N+1); the log line names the route so it can be found before the
+ * table grows.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlBudgetFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(SqlBudgetFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int maxStatements;
+    private final long maxTimeNanos;
+    private final Counter exceeded;
+
+    public SqlBudgetFilter(MeterRegistry meterRegistry,
+                           @Value("${api.sql.budget.max-statements:20}") int maxStatements,
+                           @Value("${api.sql.budget.max-time-ms:250}") long maxTimeMs) {
+        this.meterRegistry = meterRegistry;
+        this.maxStatements = maxStatements;
+        this.maxTimeNanos = TimeUnit.MILLISECONDS.toNanos(maxTimeMs);
+        this.exceeded = Counter.builder("http.server.sql.budget.exceeded").register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementTally tally = SqlStatementTally.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            tally.end();
+            record(request, tally);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementTally tally) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("http.server.sql.statements")
+                .tag("method", request.getMethod()).tag("uri", uri)
+                .register(meterRegistry).record(tally.statements());
+        Timer.builder("http.server.sql.time")
+                .tag("method", request.getMethod()).tag("uri", uri)
+                .register(meterRegistry).record(tally.nanos(), TimeUnit.NANOSECONDS);
+
+        if (tally.statements() > maxStatements || tally.nanos() > maxTimeNanos) {
+            exceeded.increment();
+            logger.warn("{} {} ran {} SQL statements in {} ms (budget {} statements, {} ms)",
+                    request.getMethod(), uri, tally.statements(), TimeUnit.NANOSECONDS.toMillis(tally.nanos()),
+                    maxStatements, TimeUnit.NANOSECONDS.toMillis(maxTimeNanos));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.percap.infra.web;
+
+import com.percap.domain.user.User;
+import com.percap.services.sync.UserActivityTracker;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Records each authenticated request in the {@link UserActivityTracker}.
+ */
+@Component
+public class UserActivityInterceptor implements HandlerInterceptor {
+    private final UserActivityTracker activityTracker;
+
+    public UserActivityInterceptor(UserActivityTracker activityTracker) {
+        this.activityTracker = activityTracker;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            activityTracker.touch(user.getId());
+        }
+        return true;
+    }
+}
@@ -0,0 +1,49 @@
+package com.percap.infra.web;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Runs streaming responses such as ledger exports on a dedicated, bounded pool so that long
+ * downloads cannot exhaust the request threads, and records user activity for the sync scheduler.
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer, DisposableBean {
+    private final ThreadPoolTaskExecutor streamingExecutor;
+    private final long streamingTimeoutMs;
+    private final UserActivityInterceptor userActivityInterceptor;
+
+    public WebMvcConfig(@Value("${api.streaming.max-concurrent:16}") int maxConcurrent,
+                        @Value("${api.streaming.timeout-ms:1800000}") long streamingTimeoutMs,
+                        UserActivityInterceptor userActivityInterceptor) {
+        this.userActivityInterceptor = userActivityInterceptor;
+        this.streamingTimeoutMs = streamingTimeoutMs;
+        this.streamingExecutor = new ThreadPoolTaskExecutor();
+        this.streamingExecutor.setCorePoolSize(maxConcurrent);
+        this.streamingExecutor.setMaxPoolSize(maxConcurrent);
+        this.streamingExecutor.setQueueCapacity(maxConcurrent * 4);
+        this.streamingExecutor.setThreadNamePrefix("streaming-");
+        this.streamingExecutor.initialize();
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingExecutor);
+        configurer.setDefaultTimeout(streamingTimeoutMs);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(userActivityInterceptor);
+    }
+
+    @Override
+    public void destroy() {
+        streamingExecutor.shutdown();
+    }
+}
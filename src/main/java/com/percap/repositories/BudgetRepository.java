@@ -0,0 +1,16 @@
+package com.percap.repositories;
+
+import com.percap.domain.budget.Budget;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BudgetRepository extends JpaRepository<Budget, String> {
+    List<Budget> findByUserIdAndMonth(String userId, LocalDate month);
+
+    Optional<Budget> findByUserIdAndCategoryAndMonth(String userId, String category, LocalDate month);
+}
@@ -0,0 +1,13 @@
+package com.percap.repositories;
+
+import com.percap.domain.portfolio.CashFlow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface CashFlowRepository extends JpaRepository<CashFlow, String> {
+    List<CashFlow> findByUserIdAndDateBetweenOrderByDateAsc(String userId, LocalDate from, LocalDate to);
+}
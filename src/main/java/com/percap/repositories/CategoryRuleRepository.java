@@ -0,0 +1,9 @@
+package com.percap.repositories;
+
+import com.percap.domain.category.CategoryRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CategoryRuleRepository extends JpaRepository<CategoryRule, String> {
+}
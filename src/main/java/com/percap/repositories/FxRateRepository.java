@@ -0,0 +1,25 @@
+package com.percap.repositories;
+
+import com.percap.domain.fx.FxRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FxRateRepository extends JpaRepository<FxRate, String> {
+    List<FxRate> findByUpdatedAtGreaterThanEqual(Instant since);
+
+    /**
+     * The database clock, which also stamps {@code updated_at}, so refresh checkpoints compare
+     * like with like.
+     */
+    @Query(value = "SELECT CURRENT_TIMESTAMP", nativeQuery = true)
+    Instant currentTimestamp();
+
+    Optional<FxRate> findByBaseCurrencyAndQuoteCurrencyAndDate(String baseCurrency, String quoteCurrency, LocalDate date);
+}
@@ -0,0 +1,12 @@
+package com.percap.repositories;
+
+import com.percap.domain.institution.Institution;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface InstitutionRepository extends JpaRepository<Institution, String> {
+    Optional<Institution> findByName(String name);
+}
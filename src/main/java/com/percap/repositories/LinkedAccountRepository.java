@@ -0,0 +1,55 @@
+package com.percap.repositories;
+
+import com.percap.domain.account.LinkedAccount;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LinkedAccountRepository extends JpaRepository<LinkedAccount, String> {
+    List<LinkedAccount> findByUserId(String userId);
+
+    Optional<LinkedAccount> findByIdAndUserId(String id, String userId);
+
+    @Query("SELECT a.id AS id, a.user.id AS userId, a.institution.id AS institutionId, " +
+            "a.externalAccountId AS externalAccountId, a.nextSyncAt AS nextSyncAt, " +
+            "a.consecutiveFailures AS consecutiveFailures " +
+            "FROM LinkedAccount a WHERE a.nextSyncAt <= :now ORDER BY a.nextSyncAt")
+    List<DueAccount> findDue(@Param("now") Instant now, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE LinkedAccount a SET a.balance = :balance, a.currency = :currency, a.lastSyncedAt = :syncedAt, " +
+            "a.nextSyncAt = :nextSyncAt, a.consecutiveFailures = 0, a.lastError = NULL WHERE a.id = :id")
+    int recordSuccess(@Param("id") String id, @Param("balance") BigDecimal balance, @Param("currency") String currency,
+                      @Param("syncedAt") Instant syncedAt, @Param("nextSyncAt") Instant nextSyncAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE LinkedAccount a SET a.nextSyncAt = :nextSyncAt, a.consecutiveFailures = a.consecutiveFailures + 1, " +
+            "a.lastError = :error WHERE a.id = :id")
+    int recordFailure(@Param("id") String id, @Param("nextSyncAt") Instant nextSyncAt, @Param("error") String error);
+
+    interface DueAccount {
+        String getId();
+
+        String getUserId();
+
+        String getInstitutionId();
+
+        String getExternalAccountId();
+
+        Instant getNextSyncAt();
+
+        int getConsecutiveFailures();
+    }
+}
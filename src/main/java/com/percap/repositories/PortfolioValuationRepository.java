@@ -0,0 +1,20 @@
+package com.percap.repositories;
+
+import com.percap.domain.portfolio.PortfolioValuation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PortfolioValuationRepository extends JpaRepository<PortfolioValuation, String> {
+    List<PortfolioValuation> findByUserIdAndDateBetweenOrderByDateAsc(String userId, LocalDate from, LocalDate to);
+
+    Optional<PortfolioValuation> findTopByUserIdAndDateLessThanOrderByDateDesc(String userId, LocalDate date);
+
+    Optional<PortfolioValuation> findTopByUserIdOrderByDateDesc(String userId);
+
+    Optional<PortfolioValuation> findByUserIdAndDate(String userId, LocalDate date);
+}
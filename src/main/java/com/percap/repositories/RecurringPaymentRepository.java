@@ -0,0 +1,15 @@
+package com.percap.repositories;
+
+import com.percap.domain.recurring.RecurringPayment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RecurringPaymentRepository extends JpaRepository<RecurringPayment, String> {
+    List<RecurringPayment> findByUserIdOrderByNextExpectedDateAsc(String userId);
+
+    List<RecurringPayment> findByUserIdAndMerchantIn(String userId, Collection<String> merchants);
+}
@@ -0,0 +1,23 @@
+package com.percap.repositories;
+
+import com.percap.domain.report.ReportJob;
+import com.percap.domain.report.ReportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, String> {
+
+    Optional<ReportJob> findByIdAndUserId(String id, String userId);
+
+    List<ReportJob> findTop50ByUserIdOrderByCreatedAtDesc(String userId);
+
+    long countByUserIdAndStatusIn(String userId, Collection<ReportJobStatus> statuses);
+
+    List<ReportJob> findByFinishedAtBefore(Instant cutoff);
+}
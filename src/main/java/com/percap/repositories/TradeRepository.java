@@ -0,0 +1,12 @@
+package com.percap.repositories;
+
+import com.percap.domain.portfolio.Trade;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TradeRepository extends JpaRepository<Trade, Long> {
+    Optional<Trade> findByIdAndUserId(Long id, String userId);
+}
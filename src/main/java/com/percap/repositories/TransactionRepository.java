@@ -0,0 +1,114 @@
+package com.percap.repositories;
+
+import com.percap.domain.transaction.Transaction;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TransactionRepository extends JpaRepository<Transaction, String> {
+
+    List<Transaction> findByUserIdOrderByDateDescIdDesc(String userId, Pageable pageable);
+
+    /**
+     * Bounded by date, so Postgres only scans the monthly partitions the range covers.
+     */
+    List<Transaction> findByUserIdAndDateBetweenOrderByDateDescIdDesc(String userId, LocalDate from, LocalDate to,
+                                                                       Pageable pageable);
+
+    Optional<Transaction> findByIdAndUserId(String id, String userId);
+
+    List<SearchDocument> findByUserId(String userId);
+
+    List<TransactionDescription> findTop1000ByUserIdAndIdGreaterThanOrderByIdAsc(String userId, String afterId);
+
+    @Query("SELECT DISTINCT t.user.id FROM Transaction t WHERE t.updatedAt > :since AND t.updatedAt <= :until " +
+            "AND t.user.id > :afterUserId ORDER BY t.user.id")
+    List<String> findUserIdsTouchedBetween(@Param("since") Instant since, @Param("until") Instant until,
+                                           @Param("afterUserId") String afterUserId, Pageable pageable);
+
+    @Query("SELECT DISTINCT t.user.id AS userId, t.description AS description FROM Transaction t " +
+            "WHERE t.user.id IN :userIds AND t.updatedAt > :since AND t.updatedAt <= :until")
+    List<TouchedDescription> findDescriptionsTouchedBetween(@Param("userIds") Collection<String> userIds,
+                                                            @Param("since") Instant since,
+                                                            @Param("until") Instant until);
+
+    List<DatedAmount> findByUserIdAndDateGreaterThanEqualAndAmountLessThanOrderByDateAsc(
+            String userId, LocalDate from, BigDecimal amount);
+
+    @Query("SELECT t.category AS category, t.date AS date, t.currency AS currency, SUM(t.amount) AS total " +
+            "FROM Transaction t WHERE t.user.id = :userId " +
+            "GROUP BY t.category, t.date, t.currency")
+    List<CategoryDayTotal> sumByCategoryDateAndCurrency(@Param("userId") String userId);
+
+    @Query("SELECT t.currency AS currency, SUM(t.amount) AS total FROM Transaction t " +
+            "WHERE t.user.id = :userId GROUP BY t.currency")
+    List<CurrencyTotal> sumByCurrency(@Param("userId") String userId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Transaction t SET t.category = :category, t.updatedAt = :updatedAt WHERE t.id IN :ids")
+    int updateCategory(@Param("category") String category, @Param("ids") Collection<String> ids,
+                       @Param("updatedAt") Instant updatedAt);
+
+    interface TransactionDescription {
+        String getId();
+
+        String getDescription();
+    }
+
+    interface SearchDocument {
+        String getId();
+
+        String getDescription();
+
+        String getCategory();
+
+        LocalDate getDate();
+
+        BigDecimal getAmount();
+
+        String getCurrency();
+    }
+
+    interface TouchedDescription {
+        String getUserId();
+
+        String getDescription();
+    }
+
+    interface DatedAmount {
+        String getDescription();
+
+        LocalDate getDate();
+
+        BigDecimal getAmount();
+    }
+
+    interface CategoryDayTotal {
+        String getCategory();
+
+        LocalDate getDate();
+
+        String getCurrency();
+
+        BigDecimal getTotal();
+    }
+
+    interface CurrencyTotal {
+        String getCurrency();
+
+        BigDecimal getTotal();
+    }
+}
@@ -0,0 +1,12 @@
+package com.percap.repositories;
+
+import com.percap.domain.user.User;
+
+import java.util.Optional;
+
+/**
+ * Resolves users by their natural id, so repeated lookups are served from the second-level cache.
+ */
+public interface UserLoginLookup {
+    Optional<User> findByLogin(String login);
+}
@@ -0,0 +1,25 @@
+package com.percap.repositories;
+
+import com.percap.domain.user.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+/**
+ * A derived {@code findByLogin} query always hits the database. Loading through the natural id
+ * instead resolves login to id from the {@code users-by-login} region and the entity from the
+ * {@code users} region, both of which Hibernate updates or invalidates on every write.
+ */
+class UserLoginLookupImpl implements UserLoginLookup {
+    private final EntityManager entityManager;
+
+    UserLoginLookupImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<User> findByLogin(String login) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(login);
+    }
+}
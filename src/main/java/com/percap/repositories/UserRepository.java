@@ -1,12 +1,35 @@
 package com.percap.repositories;
 
 import com.percap.domain.user.User;
+import com.percap.domain.user.UserSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.List;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, String> {
-    Optional<User> findByLogin(String login);
+public interface UserRepository extends JpaRepository<User, String>, UserLoginLookup {
+    /**
+     * One directory page: users whose login matches {@code pattern} (a LIKE prefix pattern with
+     * backslash escapes) and sorts after {@code after}, in byte order. Filter, keyset and order all
+     * use the C-collated login index, so every page costs the same however deep it is.
+     */
+    @Query(value = """
+            SELECT u.id AS id, u.login AS login, u.role AS role
+            FROM users u
+            WHERE u.login COLLATE "C" LIKE :pattern
+              AND u.login COLLATE "C" > :after
+            ORDER BY u.login COLLATE "C"
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<UserSummary> findDirectoryPage(@Param("pattern") String pattern, @Param("after") String after, @Param("limit") int limit);
+
+    /**
+     * The planner's row estimate for {@code users}, maintained by (auto)vacuum and analyze;
+     * negative if the table has never been analyzed.
+     */
+    @Query(value = "SELECT CAST(c.reltuples AS BIGINT) FROM pg_class c WHERE c.oid = CAST('users' AS regclass)", nativeQuery = true)
+    long estimateCount();
 }
@@ -1,14 +1,20 @@
 package com.percap.services;
 
+import com.percap.domain.audit.AuthEventType;
 import com.percap.domain.user.User;
+import com.percap.domain.user.UserChangedEvent;
 import com.percap.domain.user.UserRole;
 import com.percap.dtos.auth.LoginResponseDTO;
 import com.percap.dtos.auth.RegisterDTO;
+import com.percap.infra.security.SessionStore;
 import com.percap.infra.security.TokenService;
 import com.percap.repositories.UserRepository;
+import com.percap.services.audit.AuthEventLog;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -17,30 +23,49 @@ public class AuthorizationService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final TokenService tokenService;
+    private final SessionStore sessionStore;
+    private final AuthEventLog authEventLog;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public AuthorizationService(UserRepository userRepository, PasswordEncoder passwordEncoder, TokenService tokenService) {
+    public AuthorizationService(UserRepository userRepository, PasswordEncoder passwordEncoder, TokenService tokenService,
+                                SessionStore sessionStore, AuthEventLog authEventLog, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.tokenService = tokenService;
+        this.sessionStore = sessionStore;
+        this.authEventLog = authEventLog;
+        this.eventPublisher = eventPublisher;
     }
 
     public LoginResponseDTO authenticate(String login, String password) {
+        return authenticate(login, password, false);
+    }
+
+    /**
+     * Checks the credentials and issues either a JWT or, if {@code opaque}, a server-side session
+     * token that can be revoked with {@link #logout}.
+     */
+    public LoginResponseDTO authenticate(String login, String password, boolean opaque) {
         Optional<User> userOptional = userRepository.findByLogin(login);
         
         if (userOptional.isEmpty()) {
+            authEventLog.append(AuthEventType.LOGIN_FAILURE, login, null);
             throw new BadCredentialsException("Invalid login or password");
         }
 
         User user = userOptional.get();
         
         if (!passwordEncoder.matches(password, user.getPassword())) {
+            authEventLog.append(AuthEventType.LOGIN_FAILURE, login, user.getId());
             throw new BadCredentialsException("Invalid login or password");
         }
 
-        String token = tokenService.generateToken(user);
+        String token = opaque ? sessionStore.create(user.getLogin()) : tokenService.generateToken(user);
+        authEventLog.append(AuthEventType.LOGIN_SUCCESS, user.getLogin(), user.getId());
         return new LoginResponseDTO(token, user.getLogin(), user.getRole());
     }
 
+    @Transactional
     public LoginResponseDTO register(RegisterDTO registerDTO) {
         if (userRepository.findByLogin(registerDTO.getLogin()).isPresent()) {
             throw new IllegalArgumentException("User with login " + registerDTO.getLogin() + " already exists");
@@ -52,8 +77,19 @@ public class AuthorizationService {
         user.setRole(registerDTO.getRole() != null ? registerDTO.getRole() : UserRole.USER);
 
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId(), savedUser.getLogin()));
         String token = tokenService.generateToken(savedUser);
-        
+        authEventLog.append(AuthEventType.REGISTRATION, savedUser.getLogin(), savedUser.getId());
+
         return new LoginResponseDTO(token, savedUser.getLogin(), savedUser.getRole());
     }
+
+    /**
+     * Ends an opaque session immediately. JWTs cannot be revoked and simply run out.
+     */
+    public void logout(String token) {
+        if (SessionStore.isOpaque(token)) {
+            sessionStore.revoke(token);
+        }
+    }
 }
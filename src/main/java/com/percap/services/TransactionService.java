@@ -0,0 +1,127 @@
+package com.percap.services;
+
+import com.percap.domain.transaction.Transaction;
+import com.percap.domain.transaction.TransactionChangedEvent;
+import com.percap.domain.transaction.TransactionSnapshot;
+import com.percap.domain.user.User;
+import com.percap.dtos.transaction.TransactionDTO;
+import com.percap.dtos.transaction.TransactionRequestDTO;
+import com.percap.repositories.TransactionRepository;
+import com.percap.services.categorization.CategorizationService;
+import com.percap.services.coldstore.ColdLedgerStore;
+import com.percap.services.fx.FxService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class TransactionService {
+    private static final int MAX_PAGE_SIZE = 200;
+    // Deepest row a page may reach once cold history is merged in, since every row before it is read.
+    private static final int MAX_MERGED_ROWS = 10_000;
+
+    private final TransactionRepository transactionRepository;
+    private final CategorizationService categorizationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FxService fxService;
+    private final ColdLedgerStore coldLedgerStore;
+
+    public TransactionService(TransactionRepository transactionRepository, CategorizationService categorizationService,
+                              ApplicationEventPublisher eventPublisher, FxService fxService,
+                              ColdLedgerStore coldLedgerStore) {
+        this.transactionRepository = transactionRepository;
+        this.categorizationService = categorizationService;
+        this.eventPublisher = eventPublisher;
+        this.fxService = fxService;
+        this.coldLedgerStore = coldLedgerStore;
+    }
+
+    /**
+     * Lists transactions newest first. When {@code from} or {@code to} is given the query is
+     * date-bounded, which lets the database skip ledger partitions outside the range. Months moved
+     * to the cold tier are merged in, so the page looks the same as if they were still in Postgres;
+     * such a merge reads every row before the page, so pages past {@value #MAX_MERGED_ROWS} rows
+     * are rejected and the caller must narrow the date range instead.
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionDTO> list(User user, LocalDate from, LocalDate to, int page, int size) {
+        int pageNumber = Math.max(page, 0);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        if (!coldLedgerStore.hasHistory(user.getId(), from, to)) {
+            return hot(user, from, to, PageRequest.of(pageNumber, pageSize)).stream()
+                    .map(TransactionDTO::from)
+                    .toList();
+        }
+
+        // Both sources are sorted the same way, so the first (page + 1) * size rows of each are enough.
+        if ((long) (pageNumber + 1) * pageSize > MAX_MERGED_ROWS) {
+            throw new IllegalArgumentException("Page is too deep into history; narrow the date range");
+        }
+        int needed = (pageNumber + 1) * pageSize;
+        List<TransactionDTO> merged = new ArrayList<>(needed * 2);
+        hot(user, from, to, PageRequest.of(0, needed)).forEach(transaction -> merged.add(TransactionDTO.from(transaction)));
+        merged.addAll(coldLedgerStore.history(user.getId(), from, to, needed));
+        merged.sort(ColdLedgerStore.NEWEST_FIRST);
+        int start = Math.min(pageNumber * pageSize, merged.size());
+        return List.copyOf(merged.subList(start, Math.min(start + pageSize, merged.size())));
+    }
+
+    private List<Transaction> hot(User user, LocalDate from, LocalDate to, PageRequest pageRequest) {
+        if (from == null && to == null) {
+            return transactionRepository.findByUserIdOrderByDateDescIdDesc(user.getId(), pageRequest);
+        }
+        return transactionRepository.findByUserIdAndDateBetweenOrderByDateDescIdDesc(user.getId(),
+                from != null ? from : LocalDate.of(1900, 1, 1), to != null ? to : LocalDate.of(9999, 12, 31),
+                pageRequest);
+    }
+
+    @Transactional
+    public TransactionDTO create(User user, TransactionRequestDTO request) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        applyRequest(transaction, request);
+
+        Transaction saved = transactionRepository.save(transaction);
+        eventPublisher.publishEvent(new TransactionChangedEvent(user.getId(), null, TransactionSnapshot.of(saved)));
+        return TransactionDTO.from(saved);
+    }
+
+    @Transactional
+    public TransactionDTO update(User user, String id, TransactionRequestDTO request) {
+        Transaction transaction = findOwned(user, id);
+        TransactionSnapshot previous = TransactionSnapshot.of(transaction);
+        applyRequest(transaction, request);
+
+        Transaction saved = transactionRepository.save(transaction);
+        eventPublisher.publishEvent(new TransactionChangedEvent(user.getId(), previous, TransactionSnapshot.of(saved)));
+        return TransactionDTO.from(saved);
+    }
+
+    @Transactional
+    public void delete(User user, String id) {
+        Transaction transaction = findOwned(user, id);
+        transactionRepository.delete(transaction);
+        eventPublisher.publishEvent(new TransactionChangedEvent(user.getId(), TransactionSnapshot.of(transaction), null));
+    }
+
+    private Transaction findOwned(User user, String id) {
+        return transactionRepository.findByIdAndUserId(id, user.getId())
+                .orElseThrow(() -> new IllegalArgumentException("Transaction " + id + " does not exist"));
+    }
+
+    private void applyRequest(Transaction transaction, TransactionRequestDTO request) {
+        transaction.setDescription(request.getDescription().trim());
+        transaction.setAmount(request.getAmount());
+        transaction.setCurrency(fxService.currencyFor(request.getCurrency(), request.getDate()));
+        transaction.setDate(request.getDate());
+        String category = request.getCategory();
+        transaction.setCategory(category != null && !category.isBlank()
+                ? category.trim()
+                : categorizationService.categorize(transaction.getDescription()));
+    }
+}
@@ -0,0 +1,67 @@
+package com.percap.services.admin;
+
+import com.percap.domain.user.UserSummary;
+import com.percap.dtos.admin.UserDirectoryEntryDTO;
+import com.percap.dtos.admin.UserDirectoryPageDTO;
+import com.percap.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lists users for operators, a page at a time.
+ * <p>
+ * Pages are keyed by the last login returned ({@code nextCursor}) rather than an offset, so the
+ * database seeks straight to the next page instead of skipping every row before it. The total
+ * is the planner's estimate for the whole table and is only reported for unfiltered listings;
+ * counting exactly would scan millions of rows on every page.
+ */
+@Service
+public class UserDirectoryService {
+    private final UserRepository userRepository;
+    private final int maxPageSize;
+
+    public UserDirectoryService(UserRepository userRepository,
+                                @Value("${api.admin.directory.max-page-size:200}") int maxPageSize) {
+        this.userRepository = userRepository;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Transactional(readOnly = true)
+    public UserDirectoryPageDTO page(String prefix, String after, int limit) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+        String pattern = escapeLike(prefix != null ? prefix : "") + "%";
+        List<UserSummary> rows = userRepository.findDirectoryPage(pattern, after != null ? after : "", limit + 1);
+
+        List<UserDirectoryEntryDTO> users = new ArrayList<>(Math.min(rows.size(), limit));
+        for (int i = 0; i < rows.size() && i < limit; i++) {
+            UserSummary row = rows.get(i);
+            users.add(new UserDirectoryEntryDTO(row.getId(), row.getLogin(), row.getRole()));
+        }
+        String nextCursor = rows.size() > limit ? users.get(users.size() - 1).getLogin() : null;
+        Long estimatedTotal = prefix == null || prefix.isEmpty() ? estimateTotal() : null;
+        return new UserDirectoryPageDTO(users, nextCursor, estimatedTotal);
+    }
+
+    private Long estimateTotal() {
+        long estimate = userRepository.estimateCount();
+        return estimate >= 0 ? estimate : null;
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '%' || c == '_') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,42 @@
+package com.percap.services.audit;
+
+import com.percap.domain.audit.AuthEventType;
+
+/**
+ * One record read back from the {@link AuthEventLog}.
+ */
+public final class AuthEvent {
+    private final long sequence;
+    private final long occurredAtMillis;
+    private final AuthEventType type;
+    private final String login;
+    private final String userId;
+
+    public AuthEvent(long sequence, long occurredAtMillis, AuthEventType type, String login, String userId) {
+        this.sequence = sequence;
+        this.occurredAtMillis = occurredAtMillis;
+        this.type = type;
+        this.login = login;
+        this.userId = userId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getOccurredAtMillis() {
+        return occurredAtMillis;
+    }
+
+    public AuthEventType getType() {
+        return type;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+}
@@ -0,0 +1,300 @@
+package com.percap.services.audit;
+
+import com.percap.domain.audit.AuthEventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only, node-local log of authentication events.
+ * <p>
+ * Request threads only enqueue; a single writer thread assigns sequences, copies records into
+ * memory-mapped {@link LogSegment}s and forces them to disk at most once per fsync interval, so a
+ * burst of logins shares one flush. {@link #durableSequence()} is the highest sequence known to be
+ * on disk, and is the upper bound for {@link #scan}. If the queue stays full the event is counted
+ * as dropped rather than blocking the login. Logins and user ids are stored without NUL characters
+ * and cut to the 255 characters {@code auth_events} holds.
+ * <p>
+ * Sequences start again at 1 in an empty directory, so each directory gets an {@link #epoch()}
+ * when it is first used; sequences are only unique together with it.
+ */
+@Component
+public class AuthEventLog implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(AuthEventLog.class);
+    private static final int MAX_FIELD_LENGTH = 255;
+    private static final String EPOCH_FILE = "epoch";
+    private static final int DRAIN_BATCH = 1024;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long fsyncIntervalNanos;
+    private final BlockingQueue<Pending> queue;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final String epoch;
+    private final ConcurrentSkipListMap<Long, Path> segments = new ConcurrentSkipListMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+
+    private LogSegment active;
+    private long nextSequence;
+    private volatile long durableSequence;
+    private volatile boolean running = true;
+
+    public AuthEventLog(@Value("${api.audit.directory:data/auth-events}") String directory,
+                        @Value("${api.audit.segment-size-bytes:67108864}") int segmentSize,
+                        @Value("${api.audit.queue-capacity:65536}") int queueCapacity,
+                        @Value("${api.audit.fsync-interval-ms:200}") long fsyncIntervalMs) throws IOException {
+        this.directory = Paths.get(directory);
+        this.segmentSize = segmentSize;
+        this.fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMs);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Files.createDirectories(this.directory);
+        this.lockChannel = FileChannel.open(this.directory.resolve("log.lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.lock = lockChannel.tryLock();
+        if (lock == null) {
+            lockChannel.close();
+            throw new IllegalStateException("Auth event log " + this.directory + " is in use by another process");
+        }
+
+        this.epoch = readOrCreateEpoch(this.directory.resolve(EPOCH_FILE));
+
+        try (Stream<Path> files = Files.list(this.directory)) {
+            files.filter(LogSegment::isSegment)
+                    .forEach(path -> segments.put(LogSegment.firstSequenceOf(path), path));
+        }
+        long first = segments.isEmpty() ? 1 : segments.lastKey();
+        this.active = LogSegment.openForAppend(this.directory, first, segmentSize);
+        segments.put(first, active.path());
+        this.nextSequence = active.lastSequence() + 1;
+        this.durableSequence = active.lastSequence();
+
+        this.writer = new Thread(this::runWriter, "auth-event-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues an event for the writer. Returns {@code false} if the queue stayed full and the event
+     * was dropped.
+     */
+    public boolean append(AuthEventType type, String login, String userId) {
+        Pending pending = new Pending(System.currentTimeMillis(), type, login, userId);
+        try {
+            if (queue.offer(pending, 5, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (dropped.incrementAndGet() % 1000 == 1) {
+            logger.warn("Auth event log queue is full; {} events dropped so far", dropped.get());
+        }
+        return false;
+    }
+
+    /**
+     * Identifies this directory's run of sequences; a new one starts whenever the directory is
+     * wiped.
+     */
+    public String epoch() {
+        return epoch;
+    }
+
+    public long durableSequence() {
+        return durableSequence;
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Passes every durable record with a sequence above {@code afterSequence} to {@code visitor},
+     * in sequence order, and returns the highest sequence visited (or {@code afterSequence}).
+     */
+    public long scan(long afterSequence, Consumer<AuthEvent> visitor) {
+        long upTo = durableSequence;
+        long[] last = {afterSequence};
+        List<Map.Entry<Long, Path>> entries = new ArrayList<>(segments.entrySet());
+        for (int i = 0; i < entries.size(); i++) {
+            boolean hasNext = i + 1 < entries.size();
+            if (hasNext && entries.get(i + 1).getKey() <= afterSequence + 1) {
+                continue;
+            }
+            if (entries.get(i).getKey() > upTo) {
+                break;
+            }
+            try {
+                LogSegment.read(entries.get(i).getValue(), afterSequence, upTo, event -> {
+                    visitor.accept(event);
+                    last[0] = event.getSequence();
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return last[0];
+    }
+
+    /**
+     * Deletes closed segments whose records all have sequences at or below {@code sequence}.
+     * The active segment is never deleted.
+     */
+    public int deleteSegmentsThrough(long sequence) {
+        int deleted = 0;
+        Long activeFirst = segments.lastKey();
+        for (Map.Entry<Long, Path> entry : segments.headMap(activeFirst).entrySet()) {
+            Long next = segments.higherKey(entry.getKey());
+            if (next == null || next - 1 > sequence) {
+                break;
+            }
+            try {
+                Files.deleteIfExists(entry.getValue());
+            } catch (IOException e) {
+                logger.warn("Could not delete auth event segment {}", entry.getValue(), e);
+                break;
+            }
+            segments.remove(entry.getKey());
+            deleted++;
+        }
+        return deleted;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        close();
+    }
+
+    public void close() throws IOException {
+        // No interrupt: it would close the channel of a segment being opened mid-rotation.
+        // The writer polls with the fsync interval as timeout, so it notices within one interval.
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (lock.isValid()) {
+            lock.release();
+        }
+        lockChannel.close();
+    }
+
+    private void runWriter() {
+        List<Pending> batch = new ArrayList<>(DRAIN_BATCH);
+        long lastForce = System.nanoTime();
+        boolean dirty = false;
+        try {
+            while (running || !queue.isEmpty()) {
+                Pending first = null;
+                if (running) {
+                    try {
+                        first = queue.poll(fsyncIntervalNanos, TimeUnit.NANOSECONDS);
+                    } catch (InterruptedException e) {
+                        running = false;
+                    }
+                }
+                if (first != null) {
+                    batch.add(first);
+                }
+                queue.drainTo(batch, DRAIN_BATCH);
+                for (Pending pending : batch) {
+                    write(pending);
+                }
+                dirty |= !batch.isEmpty();
+                batch.clear();
+
+                long now = System.nanoTime();
+                if (dirty && (now - lastForce >= fsyncIntervalNanos || !running)) {
+                    active.force();
+                    durableSequence = active.lastSequence();
+                    lastForce = now;
+                    dirty = false;
+                }
+            }
+            active.close();
+            durableSequence = active.lastSequence();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Auth event log writer stopped", e);
+        }
+    }
+
+    private void write(Pending pending) throws IOException {
+        byte[] login = bytes(pending.login);
+        byte[] userId = pending.userId != null ? bytes(pending.userId) : null;
+        long sequence = nextSequence;
+        if (!active.append(sequence, pending.epochMillis, pending.type, login, userId)) {
+            rotate(sequence);
+            if (!active.append(sequence, pending.epochMillis, pending.type, login, userId)) {
+                throw new IllegalStateException("Auth event record does not fit in an empty segment");
+            }
+        }
+        nextSequence++;
+    }
+
+    private void rotate(long firstSequence) throws IOException {
+        active.close();
+        durableSequence = active.lastSequence();
+        active = LogSegment.openForAppend(directory, firstSequence, segmentSize);
+        segments.put(firstSequence, active.path());
+    }
+
+    private static byte[] bytes(String value) {
+        // Postgres rejects NUL in text columns and counts VARCHAR length in characters.
+        String field = value.replace("\u0000", "");
+        if (field.codePointCount(0, field.length()) > MAX_FIELD_LENGTH) {
+            field = field.substring(0, field.offsetByCodePoints(0, MAX_FIELD_LENGTH));
+        }
+        return field.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String readOrCreateEpoch(Path file) throws IOException {
+        if (Files.exists(file)) {
+            return Files.readString(file, StandardCharsets.UTF_8).trim();
+        }
+        String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        Files.writeString(file, epoch, StandardCharsets.UTF_8, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+        return epoch;
+    }
+
+    private static final class Pending {
+        final long epochMillis;
+        final AuthEventType type;
+        final String login;
+        final String userId;
+
+        Pending(long epochMillis, AuthEventType type, String login, String userId) {
+            this.epochMillis = epochMillis;
+            this.type = type;
+            this.login = login;
+            this.userId = userId;
+        }
+    }
+}
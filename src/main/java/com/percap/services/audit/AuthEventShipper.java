@@ -0,0 +1,118 @@
+package com.percap.services.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copies durable records from the local {@link AuthEventLog} into {@code auth_events} in
+ * batched inserts, then deletes segments that are fully shipped.
+ * <p>
+ * Rows are keyed by node and log {@link AuthEventLog#epoch() epoch}, so a node whose log directory
+ * was wiped ships its restarted sequences under a new key instead of below the old checkpoint.
+ * The checkpoint is the highest sequence already in the table for that key, so nothing is
+ * tracked locally; inserts ignore duplicate ids, making a re-ship after a crash harmless. A record
+ * the table rejects is logged and skipped rather than retried forever.
+ */
+@Component
+public class AuthEventShipper {
+    private static final Logger logger = LoggerFactory.getLogger(AuthEventShipper.class);
+    private static final String CHECKPOINT_SQL =
+            "SELECT COALESCE(MAX(sequence), 0) FROM auth_events WHERE node_id = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO auth_events (id, node_id, sequence, occurred_at, event_type, login, user_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) ON CONFLICT (id) DO NOTHING";
+
+    private final AuthEventLog log;
+    private final JdbcTemplate jdbcTemplate;
+    private final String nodeId;
+    private final int batchSize;
+    // Highest sequence skipped as unstorable, so a rejected last record is not retried each run.
+    private long skippedThrough;
+
+    public AuthEventShipper(AuthEventLog log,
+                            DataSource dataSource,
+                            @Value("${api.audit.node-id:}") String nodeId,
+                            @Value("${api.audit.ship-batch-size:1000}") int batchSize) {
+        this.log = log;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.nodeId = (nodeId.isBlank() ? hostName() : nodeId) + "@" + log.epoch();
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${api.audit.ship-interval-ms:10000}")
+    public void ship() {
+        if (log.durableSequence() == 0) {
+            return;
+        }
+        try {
+            Long checkpoint = jdbcTemplate.queryForObject(CHECKPOINT_SQL, Long.class, nodeId);
+            long shipped = Math.max(checkpoint != null ? checkpoint : 0, skippedThrough);
+            if (shipped >= log.durableSequence()) {
+                log.deleteSegmentsThrough(shipped);
+                return;
+            }
+
+            List<Object[]> batch = new ArrayList<>(batchSize);
+            long last = log.scan(shipped, event -> {
+                batch.add(new Object[] {
+                        nodeId + ":" + event.getSequence(),
+                        nodeId,
+                        event.getSequence(),
+                        new Timestamp(event.getOccurredAtMillis()),
+                        event.getType().name(),
+                        event.getLogin(),
+                        event.getUserId()
+                });
+                if (batch.size() == batchSize) {
+                    insert(batch);
+                    batch.clear();
+                }
+            });
+            if (!batch.isEmpty()) {
+                insert(batch);
+            }
+
+            int deleted = log.deleteSegmentsThrough(last);
+            logger.debug("Shipped auth events {}..{} for node {}, deleted {} segments", shipped + 1, last, nodeId, deleted);
+        } catch (RuntimeException e) {
+            logger.warn("Auth event shipping failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private void insert(List<Object[]> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+            return;
+        } catch (DataIntegrityViolationException e) {
+            // Some record cannot be stored; insert one by one to find it. Rows already in are ignored.
+        }
+        for (Object[] row : batch) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, row);
+            } catch (DataIntegrityViolationException e) {
+                skippedThrough = Math.max(skippedThrough, (Long) row[2]);
+                logger.error("Skipping auth event {} that auth_events rejects: {}", row[0], e.getMessage());
+            }
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "local";
+        }
+    }
+}
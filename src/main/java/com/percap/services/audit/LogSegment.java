@@ -0,0 +1,185 @@
+package com.percap.services.audit;
+
+import com.percap.domain.audit.AuthEventType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * One fixed-size, memory-mapped file of the auth event log.
+ * <p>
+ * Each record is {@code [int length][int crc32c][payload]}, where the payload is
+ * {@code [long sequence][long epochMillis][byte type][short loginLength][login]
+ * [short userIdLength or -1][userId]}. The writer fills in the payload and checksum before the
+ * length, and the file starts zero-filled, so a zero length marks the end of the segment and a
+ * record torn by a crash fails its checksum; readers stop at either.
+ */
+final class LogSegment {
+    static final String SUFFIX = ".seg";
+    private static final int HEADER_BYTES = 8;
+    private static final int FIXED_PAYLOAD_BYTES = 8 + 8 + 1 + 2 + 2;
+    private static final AuthEventType[] TYPES = AuthEventType.values();
+
+    private final Path path;
+    private final long firstSequence;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final CRC32C crc = new CRC32C();
+    private long lastSequence;
+
+    private LogSegment(Path path, long firstSequence, FileChannel channel, MappedByteBuffer buffer, long lastSequence) {
+        this.path = path;
+        this.firstSequence = firstSequence;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.lastSequence = lastSequence;
+    }
+
+    static Path pathFor(Path directory, long firstSequence) {
+        return directory.resolve(String.format("%020d%s", firstSequence, SUFFIX));
+    }
+
+    static long firstSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * Opens (creating if needed) a segment for appending, positioned after its last valid record.
+     */
+    static LogSegment openForAppend(Path directory, long firstSequence, int size) throws IOException {
+        Path path = pathFor(directory, firstSequence);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, channel.size()));
+        long[] last = {firstSequence - 1};
+        int end = scan(buffer, Long.MIN_VALUE, Long.MAX_VALUE, event -> last[0] = event.getSequence());
+        if (end + 4 <= buffer.capacity() && buffer.getInt(end) != 0) {
+            // Torn tail from a crash: clear it so stale bytes can't be read back after new records.
+            for (int i = end; i < buffer.capacity(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+        buffer.position(end);
+        return new LogSegment(path, firstSequence, channel, buffer, last[0]);
+    }
+
+    /**
+     * Passes records with {@code afterSequence < sequence <= maxSequence} to {@code visitor}.
+     */
+    static void read(Path segment, long afterSequence, long maxSequence, Consumer<AuthEvent> visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            scan(buffer, afterSequence, maxSequence, visitor);
+        }
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long firstSequence() {
+        return firstSequence;
+    }
+
+    long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Appends a record, or returns {@code false} if the segment has no room for it.
+     */
+    boolean append(long sequence, long epochMillis, AuthEventType type, byte[] login, byte[] userId) {
+        int payloadLength = FIXED_PAYLOAD_BYTES + login.length + (userId != null ? userId.length : 0);
+        int start = buffer.position();
+        // Leave room for a zero length after the record so readers always find an end marker.
+        if (start + HEADER_BYTES + payloadLength + 4 > buffer.capacity()) {
+            return false;
+        }
+        int payloadStart = start + HEADER_BYTES;
+        buffer.position(payloadStart);
+        buffer.putLong(sequence);
+        buffer.putLong(epochMillis);
+        buffer.put((byte) type.ordinal());
+        buffer.putShort((short) login.length);
+        buffer.put(login);
+        if (userId == null) {
+            buffer.putShort((short) -1);
+        } else {
+            buffer.putShort((short) userId.length);
+            buffer.put(userId);
+        }
+        int end = buffer.position();
+
+        crc.reset();
+        crc.update(buffer.slice(payloadStart, payloadLength));
+        buffer.putInt(start + 4, (int) crc.getValue());
+        buffer.putInt(start, payloadLength);
+        buffer.position(end);
+        lastSequence = sequence;
+        return true;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private static int scan(ByteBuffer buffer, long afterSequence, long maxSequence, Consumer<AuthEvent> visitor) {
+        CRC32C crc = new CRC32C();
+        int position = 0;
+        while (position + HEADER_BYTES <= buffer.limit()) {
+            int length = buffer.getInt(position);
+            if (length < FIXED_PAYLOAD_BYTES || position + HEADER_BYTES + length > buffer.limit()) {
+                break;
+            }
+            int payloadStart = position + HEADER_BYTES;
+            crc.reset();
+            crc.update(buffer.slice(payloadStart, length));
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+            long sequence = buffer.getLong(payloadStart);
+            if (sequence > maxSequence) {
+                break;
+            }
+            if (sequence > afterSequence) {
+                visitor.accept(decode(buffer, payloadStart, sequence));
+            }
+            position = payloadStart + length;
+        }
+        return position;
+    }
+
+    private static AuthEvent decode(ByteBuffer buffer, int payloadStart, long sequence) {
+        long epochMillis = buffer.getLong(payloadStart + 8);
+        AuthEventType type = TYPES[buffer.get(payloadStart + 16)];
+        int loginLength = Short.toUnsignedInt(buffer.getShort(payloadStart + 17));
+        String login = string(buffer, payloadStart + 19, loginLength);
+        int userIdOffset = payloadStart + 19 + loginLength;
+        int userIdLength = buffer.getShort(userIdOffset);
+        String userId = userIdLength < 0 ? null : string(buffer, userIdOffset + 2, userIdLength);
+        return new AuthEvent(sequence, epochMillis, type, login, userId);
+    }
+
+    private static String string(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static boolean isSegment(Path path) {
+        return Files.isRegularFile(path) && path.getFileName().toString().endsWith(SUFFIX);
+    }
+}
@@ -0,0 +1,342 @@
+package com.percap.services.batch;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.percap.dtos.batch.BatchOperationDTO;
+import com.percap.dtos.batch.BatchRequestDTO;
+import com.percap.infra.web.ConcurrencyLimitFilter;
+import com.percap.infra.web.SqlBudgetFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs several read-only API calls for one client in a single HTTP round trip.
+ * <p>
+ * The batch is authenticated once by the normal filter chain. Each operation is then dispatched
+ * to the {@link DispatcherServlet} on its own virtual thread with the caller's security context,
+ * after its URL has been checked against the same access rules the filter chain would apply. On
+ * the way it passes the {@link SqlBudgetFilter} and the {@link ConcurrencyLimitFilter}, so each
+ * operation is counted against the SQL budget under its own route and takes its own limiter slot.
+ * At most {@code concurrency} operations of one batch run at a time, each operation's response
+ * is buffered up to {@code maxItemBytes}, and the whole batch shares a deadline and a response
+ * byte budget. Results are streamed back in request order as soon as each one is ready.
+ * <p>
+ * Operations read the batch's request and response, which the container recycles once the batch
+ * returns. Cancelling an operation at the deadline only interrupts it, and neither the cancel nor
+ * closing the executor waits for it, so every dispatch is tracked on a {@link Phaser} that the
+ * batch waits on before it returns.
+ */
+@Service
+public class BatchService {
+    private static final Logger logger = LoggerFactory.getLogger(BatchService.class);
+    private static final int SC_INSUFFICIENT_STORAGE = 507;
+    private static final Result LIMIT_REACHED = Result.error(SC_INSUFFICIENT_STORAGE, "Batch response limit reached");
+
+    private final FilterChain operationChain;
+    private final WebInvocationPrivilegeEvaluator privilegeEvaluator;
+    private final ObjectMapper objectMapper;
+    private final int maxRequests;
+    private final int concurrency;
+    private final int maxItemBytes;
+    private final long maxResponseBytes;
+    private final long timeoutMs;
+    private final List<String> excludedPaths;
+    private final MeterRegistry meterRegistry;
+    private final Counter batches;
+    private final Counter roundTripsSaved;
+    private final DistributionSummary batchSize;
+    private final Timer batchDuration;
+
+    public BatchService(DispatcherServlet dispatcherServlet,
+                        SqlBudgetFilter sqlBudgetFilter,
+                        ConcurrencyLimitFilter concurrencyLimitFilter,
+                        WebInvocationPrivilegeEvaluator privilegeEvaluator,
+                        ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry,
+                        @Value("${api.batch.max-requests:50}") int maxRequests,
+                        @Value("${api.batch.concurrency:8}") int concurrency,
+                        @Value("${api.batch.max-item-bytes:1048576}") int maxItemBytes,
+                        @Value("${api.batch.max-response-bytes:8388608}") long maxResponseBytes,
+                        @Value("${api.batch.timeout-ms:5000}") long timeoutMs,
+                        @Value("${api.batch.excluded-paths:/batch,/streams,/transactions/export,/auth}") List<String> excludedPaths) {
+        FilterChain servlet = dispatcherServlet::service;
+        FilterChain limited = (request, response) -> concurrencyLimitFilter.doFilter(request, response, servlet);
+        this.operationChain = (request, response) -> sqlBudgetFilter.doFilter(request, response, limited);
+        this.privilegeEvaluator = privilegeEvaluator;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.maxRequests = maxRequests;
+        this.concurrency = concurrency;
+        this.maxItemBytes = maxItemBytes;
+        this.maxResponseBytes = maxResponseBytes;
+        this.timeoutMs = timeoutMs;
+        this.excludedPaths = List.copyOf(excludedPaths);
+        this.batches = Counter.builder("batch.requests").register(meterRegistry);
+        this.roundTripsSaved = Counter.builder("batch.roundtrips.saved").register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("batch.size").register(meterRegistry);
+        this.batchDuration = Timer.builder("batch.duration").register(meterRegistry);
+    }
+
+    /**
+     * Checks the batch as a whole before anything is written, so an oversized batch can still be
+     * rejected with a plain error status.
+     */
+    public void validate(BatchRequestDTO batch) {
+        if (batch.getRequests().size() > maxRequests) {
+            throw new IllegalArgumentException("A batch may contain at most " + maxRequests + " requests");
+        }
+    }
+
+    public void execute(BatchRequestDTO batch, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        validate(batch);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        List<BatchOperationDTO> operations = batch.getRequests();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        Semaphore permits = new Semaphore(concurrency);
+
+        Phaser inFlight = new Phaser(1);
+        List<Operation> results = new ArrayList<>(operations.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (BatchOperationDTO operation : operations) {
+                Result rejected = precheck(operation, request, securityContext);
+                results.add(rejected != null
+                        ? Operation.completed(rejected)
+                        : Operation.submit(executor, inFlight,
+                                () -> dispatch(operation, request, response, securityContext, permits, deadline)));
+            }
+            try {
+                writeResults(operations, results, response, deadline);
+            } finally {
+                cancelRemaining(results, 0);
+                inFlight.arriveAndAwaitAdvance();
+            }
+        } finally {
+            batches.increment();
+            roundTripsSaved.increment(operations.size() - 1);
+            batchSize.record(operations.size());
+            batchDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void writeResults(List<BatchOperationDTO> operations, List<Operation> results,
+                              HttpServletResponse response, long deadline) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("application/json");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        long written = 0;
+        boolean limitReached = false;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            for (int i = 0; i < operations.size(); i++) {
+                Result result = limitReached ? LIMIT_REACHED : await(results.get(i), deadline);
+                if (!limitReached && written + result.body.length > maxResponseBytes) {
+                    limitReached = true;
+                    result = LIMIT_REACHED;
+                    cancelRemaining(results, i + 1);
+                }
+                written += result.body.length;
+                writeResult(generator, operations.get(i).getId(), result);
+                generator.flush();
+                meterRegistry.counter("batch.operations", "status", Integer.toString(result.status / 100) + "xx").increment();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private Result precheck(BatchOperationDTO operation, HttpServletRequest request, SecurityContext securityContext) {
+        if (!"GET".equalsIgnoreCase(operation.getMethod())) {
+            return Result.error(HttpServletResponse.SC_METHOD_NOT_ALLOWED, "Only GET requests can be batched");
+        }
+        String path = pathOf(operation.getPath());
+        if (!isNormalized(path)) {
+            return Result.error(HttpServletResponse.SC_BAD_REQUEST, "Path must be normalized");
+        }
+        for (String excluded : excludedPaths) {
+            if (path.equals(excluded) || path.startsWith(excluded + "/")) {
+                return Result.error(HttpServletResponse.SC_BAD_REQUEST, "Path cannot be batched");
+            }
+        }
+        if (!privilegeEvaluator.isAllowed(request.getContextPath(), path, "GET", securityContext.getAuthentication())) {
+            return Result.error(HttpServletResponse.SC_FORBIDDEN, "Access denied");
+        }
+        return null;
+    }
+
+    private Result dispatch(BatchOperationDTO operation, HttpServletRequest request, HttpServletResponse response,
+                            SecurityContext securityContext, Semaphore permits, long deadline) throws InterruptedException {
+        long remaining = deadline - System.nanoTime();
+        if (!permits.tryAcquire(remaining, TimeUnit.NANOSECONDS)) {
+            return Result.error(HttpServletResponse.SC_GATEWAY_TIMEOUT, "Batch deadline exceeded");
+        }
+        BatchSubResponse subResponse = new BatchSubResponse(response, maxItemBytes);
+        try {
+            SecurityContextHolder.setContext(securityContext);
+            operationChain.doFilter(new BatchSubRequest(request, operation.getPath()), subResponse);
+            if (subResponse.overflowed()) {
+                return Result.error(SC_INSUFFICIENT_STORAGE, "Response exceeds " + maxItemBytes + " bytes");
+            }
+            return new Result(subResponse.getStatus(), subResponse.isJson(), subResponse.body());
+        } catch (Exception e) {
+            if (subResponse.overflowed()) {
+                return Result.error(SC_INSUFFICIENT_STORAGE, "Response exceeds " + maxItemBytes + " bytes");
+            }
+            logger.warn("Batch operation {} failed: {}", operation.getPath(), e.getMessage());
+            return Result.error(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Request failed");
+        } finally {
+            SecurityContextHolder.clearContext();
+            permits.release();
+        }
+    }
+
+    private Result await(Operation operation, long deadline) {
+        try {
+            return operation.future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            operation.cancel();
+            return Result.error(HttpServletResponse.SC_GATEWAY_TIMEOUT, "Batch deadline exceeded");
+        } catch (ExecutionException | CancellationException e) {
+            return Result.error(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Request failed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.error(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Batch interrupted");
+        }
+    }
+
+    private void writeResult(JsonGenerator generator, String id, Result result) throws IOException {
+        generator.writeStartObject();
+        if (id != null) {
+            generator.writeStringField("id", id);
+        }
+        generator.writeNumberField("status", result.status);
+        if (result.body.length > 0) {
+            generator.writeFieldName("body");
+            String body = new String(result.body, StandardCharsets.UTF_8);
+            if (result.json) {
+                generator.writeRawValue(body);
+            } else {
+                generator.writeString(body);
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private static void cancelRemaining(List<Operation> results, int from) {
+        for (int i = from; i < results.size(); i++) {
+            results.get(i).cancel();
+        }
+    }
+
+    /**
+     * Sub-requests skip the firewall in the filter chain, so paths that could be matched
+     * differently by the access rules and by the handler mappings are refused outright.
+     */
+    private static boolean isNormalized(String path) {
+        if (path.contains("//") || path.indexOf(';') >= 0 || path.indexOf('%') >= 0 || path.indexOf('\\') >= 0) {
+            return false;
+        }
+        for (String segment : path.split("/")) {
+            if (segment.equals(".") || segment.equals("..")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String pathOf(String path) {
+        int query = path.indexOf('?');
+        return query >= 0 ? path.substring(0, query) : path;
+    }
+
+    /**
+     * One operation of a batch. A dispatched operation holds a party on the batch's phaser until it
+     * finishes, or until it is cancelled before it started, whichever claims it first.
+     */
+    private static final class Operation {
+        private final AtomicBoolean claimed;
+        private final Phaser inFlight;
+        private Future<Result> future;
+
+        private Operation(boolean claimed, Phaser inFlight) {
+            this.claimed = new AtomicBoolean(claimed);
+            this.inFlight = inFlight;
+        }
+
+        private static Operation completed(Result result) {
+            Operation operation = new Operation(true, null);
+            operation.future = CompletableFuture.completedFuture(result);
+            return operation;
+        }
+
+        private static Operation submit(ExecutorService executor, Phaser inFlight, Callable<Result> task) {
+            Operation operation = new Operation(false, inFlight);
+            inFlight.register();
+            operation.future = executor.submit(() -> operation.run(task));
+            return operation;
+        }
+
+        private Result run(Callable<Result> task) throws Exception {
+            if (!claimed.compareAndSet(false, true)) {
+                throw new CancellationException();
+            }
+            try {
+                return task.call();
+            } finally {
+                inFlight.arriveAndDeregister();
+            }
+        }
+
+        private void cancel() {
+            if (claimed.compareAndSet(false, true)) {
+                inFlight.arriveAndDeregister();
+            }
+            future.cancel(true);
+        }
+    }
+
+    private static final class Result {
+        private final int status;
+        private final boolean json;
+        private final byte[] body;
+
+        private Result(int status, boolean json, byte[] body) {
+            this.status = status;
+            this.json = json;
+            this.body = body;
+        }
+
+        private static Result error(int status, String message) {
+            return new Result(status, false, message.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.percap.services.budget;
+
+import com.percap.domain.fx.FxRatesChangedEvent;
+import com.percap.domain.outbox.OutboxEventType;
+import com.percap.domain.outbox.RemoteChangeEvent;
+import com.percap.domain.transaction.LedgerRecategorizedEvent;
+import com.percap.domain.transaction.TransactionChangedEvent;
+import com.percap.domain.transaction.TransactionSnapshot;
+import com.percap.repositories.TransactionRepository;
+import com.percap.repositories.TransactionRepository.CategoryDayTotal;
+import com.percap.services.fx.FxService;
+import com.percap.services.ledger.LedgerViewCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps a {@link SpendingCube} per user so budget screens never aggregate the ledger per request.
+ * <p>
+ * A cube is built from a single grouped query the first time a user's totals are needed (for
+ * example after a restart) and from then on is kept current by applying every committed ledger
+ * change as a delta. Amounts are converted to the base currency at the transaction date's rate
+ * as they enter the cube, from the in-memory FX table.
+ * <p>
+ * Cubes live in a {@link LedgerViewCache}, so a load racing a commit is never installed. A bulk
+ * recategorize or a ledger change committed by another process drops the user's cube, a change to the FX table drops every cube, and so does a
+ * delta that cannot be converted. Cubes unused for {@code api.budget.idle-ttl-ms} are evicted,
+ * and at most {@code api.budget.max-cubes} are kept.
+ */
+@Service
+public class BudgetRollupService {
+    private static final Logger logger = LoggerFactory.getLogger(BudgetRollupService.class);
+
+    private final TransactionRepository transactionRepository;
+    private final CategoryIndex categoryIndex;
+    private final FxService fxService;
+    private final LedgerViewCache<SpendingCube> cubes;
+
+    public BudgetRollupService(TransactionRepository transactionRepository, CategoryIndex categoryIndex,
+                               FxService fxService,
+                               @Value("${api.budget.idle-ttl-ms:1800000}") long idleTtlMs,
+                               @Value("${api.budget.max-cubes:20000}") int maxCubes) {
+        this.transactionRepository = transactionRepository;
+        this.categoryIndex = categoryIndex;
+        this.fxService = fxService;
+        this.cubes = new LedgerViewCache<>(this::load, idleTtlMs, maxCubes);
+    }
+
+    /**
+     * Returns the net total per category for the month, in ledger sign convention (outflows are
+     * negative). Categories without activity in the month are omitted.
+     */
+    public Map<String, BigDecimal> totalsByCategory(String userId, YearMonth month) {
+        long[] totals = cubes.get(userId).month(SpendingCube.epochMonth(month));
+        Map<String, BigDecimal> result = new LinkedHashMap<>();
+        for (int category = 0; category < totals.length; category++) {
+            if (totals[category] != 0) {
+                result.put(categoryIndex.nameOf(category), BigDecimal.valueOf(totals[category], 2));
+            }
+        }
+        return result;
+    }
+
+    public BigDecimal total(String userId, String category, YearMonth month) {
+        // Loading the cube registers the user's categories, so it comes before the lookup.
+        SpendingCube cube = cubes.get(userId);
+        int index = categoryIndex.indexOf(category);
+        if (index == CategoryIndex.NOT_FOUND) {
+            return BigDecimal.valueOf(0, 2);
+        }
+        long cents = cube.get(index, SpendingCube.epochMonth(month));
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTransactionCommitting(TransactionChangedEvent event) {
+        cubes.committing(event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        try {
+            cubes.committed(event.getUserId(), cube -> {
+                // Both sides are converted before either is applied, so a failed conversion leaves the cube untouched.
+                long previous = -baseCents(event.getPrevious());
+                long current = baseCents(event.getCurrent());
+                add(cube, event.getPrevious(), previous);
+                add(cube, event.getCurrent(), current);
+            });
+        } catch (IllegalStateException e) {
+            logger.warn("Dropping the budget cube of user {}", event.getUserId(), e);
+            cubes.evict(event.getUserId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLedgerRecategorized(LedgerRecategorizedEvent event) {
+        cubes.evict(event.getUserId());
+    }
+
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        if (event.getType() == OutboxEventType.TRANSACTION_CHANGED || event.getType() == OutboxEventType.LEDGER_RECATEGORIZED) {
+            cubes.evict(event.getUserId());
+        }
+    }
+
+    @EventListener
+    public void onFxRatesChanged(FxRatesChangedEvent event) {
+        cubes.evictAll();
+    }
+
+    public void evict(String userId) {
+        cubes.evict(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${api.budget.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        cubes.evictIdle();
+    }
+
+    int cachedCubeCount() {
+        return cubes.size();
+    }
+
+    private SpendingCube load(String userId) {
+        SpendingCube cube = new SpendingCube();
+        for (CategoryDayTotal row : transactionRepository.sumByCategoryDateAndCurrency(userId)) {
+            cube.add(categoryIndex.assign(row.getCategory()),
+                    SpendingCube.epochMonth(row.getDate()),
+                    fxService.toBaseCents(toCents(row.getTotal()), row.getCurrency(), row.getDate()));
+        }
+        return cube;
+    }
+
+    private long baseCents(TransactionSnapshot snapshot) {
+        if (snapshot == null) {
+            return 0;
+        }
+        return fxService.toBaseCents(toCents(snapshot.getAmount()), snapshot.getCurrency(), snapshot.getDate());
+    }
+
+    private void add(SpendingCube cube, TransactionSnapshot snapshot, long cents) {
+        if (snapshot != null) {
+            cube.add(categoryIndex.assign(snapshot.getCategory()), SpendingCube.epochMonth(snapshot.getDate()), cents);
+        }
+    }
+
+    static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,75 @@
+package com.percap.services.budget;
+
+import com.percap.domain.budget.Budget;
+import com.percap.domain.budget.BudgetChangedEvent;
+import com.percap.domain.user.User;
+import com.percap.dtos.budget.BudgetRequestDTO;
+import com.percap.dtos.budget.BudgetStatusDTO;
+import com.percap.repositories.BudgetRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class BudgetService {
+    private final BudgetRepository budgetRepository;
+    private final BudgetRollupService budgetRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BudgetService(BudgetRepository budgetRepository, BudgetRollupService budgetRollupService,
+                         ApplicationEventPublisher eventPublisher) {
+        this.budgetRepository = budgetRepository;
+        this.budgetRollupService = budgetRollupService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Budget-vs-actual for one month. Every budgeted category is listed, followed by any other
+     * category with net spending in the month. Spending is reported as a positive amount.
+     */
+    @Transactional(readOnly = true)
+    public List<BudgetStatusDTO> getStatus(User user, YearMonth month) {
+        Map<String, BigDecimal> totals = new HashMap<>(budgetRollupService.totalsByCategory(user.getId(), month));
+        List<BudgetStatusDTO> statuses = new ArrayList<>();
+
+        for (Budget budget : budgetRepository.findByUserIdAndMonth(user.getId(), month.atDay(1))) {
+            BigDecimal total = totals.remove(budget.getCategory());
+            BigDecimal spent = total != null ? total.negate() : BigDecimal.ZERO.setScale(2);
+            statuses.add(new BudgetStatusDTO(budget.getCategory(), budget.getLimit(), spent, budget.getLimit().subtract(spent)));
+        }
+
+        totals.forEach((category, total) -> {
+            if (total.signum() < 0) {
+                statuses.add(new BudgetStatusDTO(category, null, total.negate(), null));
+            }
+        });
+        return statuses;
+    }
+
+    @Transactional
+    public BudgetStatusDTO setBudget(User user, BudgetRequestDTO request) {
+        String category = request.getCategory().trim();
+        Budget budget = budgetRepository
+                .findByUserIdAndCategoryAndMonth(user.getId(), category, request.getMonth().atDay(1))
+                .orElseGet(() -> {
+                    Budget created = new Budget();
+                    created.setUser(user);
+                    created.setCategory(category);
+                    created.setMonth(request.getMonth().atDay(1));
+                    return created;
+                });
+        budget.setLimit(request.getLimit());
+        budgetRepository.save(budget);
+        eventPublisher.publishEvent(new BudgetChangedEvent(user.getId()));
+
+        BigDecimal spent = budgetRollupService.total(user.getId(), category, request.getMonth()).negate();
+        return new BudgetStatusDTO(category, budget.getLimit(), spent, budget.getLimit().subtract(spent));
+    }
+}
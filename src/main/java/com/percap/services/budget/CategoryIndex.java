@@ -0,0 +1,65 @@
+package com.percap.services.budget;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns every category name a small dense integer so per-user aggregates can be kept in
+ * flat arrays. Index 0 is reserved for uncategorized transactions. Indexes are never reused.
+ * <p>
+ * Only categories of stored transactions are registered, through {@link #assign}; lookups by
+ * client-supplied names go through {@link #indexOf}, which never grows the index.
+ */
+@Component
+public class CategoryIndex {
+    public static final int UNCATEGORIZED = 0;
+    public static final int NOT_FOUND = -1;
+
+    private final ConcurrentHashMap<String, Integer> indexes = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[]{null};
+
+    /**
+     * Returns the category's index, registering it if it has none yet.
+     */
+    public int assign(String category) {
+        if (category == null) {
+            return UNCATEGORIZED;
+        }
+        Integer index = indexes.get(category);
+        return index != null ? index : register(category);
+    }
+
+    /**
+     * Returns the category's index, or {@link #NOT_FOUND} if no transaction has used it.
+     */
+    public int indexOf(String category) {
+        if (category == null) {
+            return UNCATEGORIZED;
+        }
+        Integer index = indexes.get(category);
+        return index != null ? index : NOT_FOUND;
+    }
+
+    public String nameOf(int index) {
+        return names[index];
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    private synchronized int register(String category) {
+        Integer existing = indexes.get(category);
+        if (existing != null) {
+            return existing;
+        }
+        String[] grown = Arrays.copyOf(names, names.length + 1);
+        int index = names.length;
+        grown[index] = category;
+        names = grown;
+        indexes.put(category, index);
+        return index;
+    }
+}
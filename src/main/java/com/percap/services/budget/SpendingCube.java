@@ -0,0 +1,99 @@
+package com.percap.services.budget;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Per-user totals in cents, stored as one dense {@code long[]} indexed by category and month.
+ * <p>
+ * Row {@code c} holds the totals of category {@code c} for a contiguous range of months starting
+ * at {@code baseMonth}. The range and the number of rows grow on demand, so a cube only costs
+ * {@code categories * months * 8} bytes for the span the user actually has data in.
+ */
+final class SpendingCube {
+    private static final int MONTH_SLACK = 12;
+
+    private long[] cents = new long[0];
+    private int categories;
+    private int baseMonth;
+    private int months;
+
+    static int epochMonth(int year, int month) {
+        return year * 12 + month - 1;
+    }
+
+    static int epochMonth(LocalDate date) {
+        return epochMonth(date.getYear(), date.getMonthValue());
+    }
+
+    static int epochMonth(YearMonth month) {
+        return epochMonth(month.getYear(), month.getMonthValue());
+    }
+
+    synchronized void add(int category, int epochMonth, long deltaCents) {
+        if (deltaCents == 0) {
+            return;
+        }
+        ensureCapacity(category, epochMonth);
+        cents[category * months + (epochMonth - baseMonth)] += deltaCents;
+    }
+
+    synchronized long get(int category, int epochMonth) {
+        if (category >= categories || epochMonth < baseMonth || epochMonth >= baseMonth + months) {
+            return 0;
+        }
+        return cents[category * months + (epochMonth - baseMonth)];
+    }
+
+    /**
+     * Returns the totals of every category for one month, indexed by category.
+     */
+    synchronized long[] month(int epochMonth) {
+        long[] totals = new long[categories];
+        if (epochMonth < baseMonth || epochMonth >= baseMonth + months) {
+            return totals;
+        }
+        int column = epochMonth - baseMonth;
+        for (int category = 0; category < categories; category++) {
+            totals[category] = cents[category * months + column];
+        }
+        return totals;
+    }
+
+    private void ensureCapacity(int category, int epochMonth) {
+        if (months == 0) {
+            baseMonth = epochMonth - MONTH_SLACK;
+            resize(Math.max(category + 1, 8), baseMonth, 2 * MONTH_SLACK + 1);
+            return;
+        }
+
+        int newCategories = categories;
+        if (category >= categories) {
+            newCategories = Math.max(category + 1, categories * 2);
+        }
+        int newBase = baseMonth;
+        int newMonths = months;
+        if (epochMonth < baseMonth) {
+            newBase = epochMonth - MONTH_SLACK;
+            newMonths = months + (baseMonth - newBase);
+        } else if (epochMonth >= baseMonth + months) {
+            newMonths = epochMonth - baseMonth + 1 + MONTH_SLACK;
+        }
+
+        if (newCategories != categories || newBase != baseMonth || newMonths != months) {
+            resize(newCategories, newBase, newMonths);
+        }
+    }
+
+    private void resize(int newCategories, int newBase, int newMonths) {
+        long[] resized = new long[newCategories * newMonths];
+        int shift = baseMonth - newBase;
+        for (int category = 0; category < categories; category++) {
+            System.arraycopy(cents, category * months, resized, category * newMonths + shift, months);
+        }
+        cents = resized;
+        categories = newCategories;
+        baseMonth = newBase;
+        months = newMonths;
+    }
+}
@@ -0,0 +1,110 @@
+package com.percap.services.cache;
+
+import com.percap.domain.outbox.OutboxEventType;
+import com.percap.domain.outbox.RemoteChangeEvent;
+import com.percap.services.outbox.OutboxRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tails {@code cache_invalidations} and publishes a {@link RemoteChangeEvent} for each change
+ * another process recorded, so per-user caches here do not outlive changes made there.
+ * <p>
+ * Rows are stamped when the outbox publisher's transaction starts but become visible when it
+ * commits, so each poll re-reads the last {@code api.cache-invalidation.overlap-seconds} before
+ * its checkpoint and skips ids it already handled; both timestamps come from the database clock.
+ * Changes recorded by this process were applied by its own listeners at commit and are skipped.
+ * Rows older than {@code api.cache-invalidation.retention-minutes} are purged.
+ */
+@Component
+public class CacheInvalidationListener {
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationListener.class);
+    private static final String SELECT_SQL =
+            "SELECT id, user_id, event_type, origin, created_at FROM cache_invalidations WHERE created_at >= ? ORDER BY id";
+    private static final String PURGE_SQL = "DELETE FROM cache_invalidations WHERE created_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration overlap;
+    private final Duration retention;
+    // Ids already handled, with their created_at, until they fall out of the overlap window.
+    private final Map<Long, Instant> handled = new HashMap<>();
+    private Instant checkpoint;
+
+    public CacheInvalidationListener(DataSource dataSource,
+                                     ApplicationEventPublisher eventPublisher,
+                                     @Value("${api.cache-invalidation.overlap-seconds:60}") long overlapSeconds,
+                                     @Value("${api.cache-invalidation.retention-minutes:60}") long retentionMinutes) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.eventPublisher = eventPublisher;
+        this.overlap = Duration.ofSeconds(overlapSeconds);
+        this.retention = Duration.ofMinutes(retentionMinutes);
+    }
+
+    /**
+     * Caches start empty, so only changes from now on matter.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        checkpoint = databaseNow();
+    }
+
+    @Scheduled(fixedDelayString = "${api.cache-invalidation.poll-interval-ms:1000}")
+    public synchronized void poll() {
+        if (checkpoint == null) {
+            return;
+        }
+        try {
+            Instant until = databaseNow();
+            Instant since = checkpoint.minus(overlap);
+            apply(jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> new Invalidation(rs.getLong("id"),
+                    rs.getString("user_id"), OutboxEventType.valueOf(rs.getString("event_type")),
+                    rs.getString("origin"), rs.getTimestamp("created_at").toInstant()), Timestamp.from(since)), since);
+            checkpoint = until;
+        } catch (RuntimeException e) {
+            logger.warn("Polling cache invalidations failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${api.cache-invalidation.purge-interval-ms:600000}")
+    public void purge() {
+        try {
+            jdbcTemplate.update(PURGE_SQL, Timestamp.from(databaseNow().minus(retention)));
+        } catch (RuntimeException e) {
+            logger.warn("Purging cache invalidations failed: {}", e.getMessage());
+        }
+    }
+
+    void apply(List<Invalidation> invalidations, Instant since) {
+        for (Invalidation invalidation : invalidations) {
+            if (handled.putIfAbsent(invalidation.id(), invalidation.createdAt()) != null
+                    || OutboxRecorder.ORIGIN.equals(invalidation.origin())) {
+                continue;
+            }
+            eventPublisher.publishEvent(new RemoteChangeEvent(invalidation.userId(), invalidation.type()));
+        }
+        handled.values().removeIf(createdAt -> createdAt.isBefore(since));
+    }
+
+    private Instant databaseNow() {
+        return jdbcTemplate.queryForObject("SELECT CURRENT_TIMESTAMP", Timestamp.class).toInstant();
+    }
+
+    record Invalidation(long id, String userId, OutboxEventType type, String origin, Instant createdAt) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.percap.services.cache;
+
+import com.percap.domain.outbox.OutboxEvent;
+import com.percap.domain.outbox.OutboxEventType;
+import com.percap.services.outbox.OutboxSubscriber;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copies every per-user change in an outbox batch into {@code cache_invalidations}, from where
+ * {@link CacheInvalidationListener} on every process picks it up. The outbox hands each batch to
+ * one process only, so this is what lets the others drop their caches. Runs inside the
+ * publisher's transaction, so the copies commit together with the batch's deletion.
+ */
+@Component
+public class CacheInvalidationSubscriber implements OutboxSubscriber {
+    private static final String INSERT_SQL =
+            "INSERT INTO cache_invalidations (user_id, event_type, origin) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CacheInvalidationSubscriber(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public String name() {
+        return "cache-invalidation";
+    }
+
+    @Override
+    public void onEvents(List<OutboxEvent> events) {
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            // New accounts have nothing cached anywhere.
+            if (event.getType() != OutboxEventType.USER_CHANGED) {
+                rows.add(new Object[] {event.getUserId(), event.getType().name(), event.getOrigin()});
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.percap.services.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.percap.domain.budget.BudgetChangedEvent;
+import com.percap.domain.fx.FxRatesChangedEvent;
+import com.percap.domain.outbox.RemoteChangeEvent;
+import com.percap.domain.portfolio.PortfolioChangedEvent;
+import com.percap.domain.transaction.LedgerRecategorizedEvent;
+import com.percap.domain.transaction.TransactionChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches serialized report responses per user until that user's data changes.
+ * <p>
+ * Every user has a generation number that is bumped after each committed change to their
+ * ledger (including bulk recategorizations), budgets or portfolio, whether committed here or
+ * reported by another process through the outbox, on top of a shared one bumped whenever the FX
+ * table changes, since reports are converted at current rates; both only grow, so their sum
+ * identifies the state a report was computed from. A response is stored as JSON bytes together with the generation
+ * it was computed under, and its ETag is derived from the key and that generation alone. A
+ * request whose {@code If-None-Match} matches the current ETag is answered with 304 without
+ * touching the report or the cache; a cached entry from an older generation is never served.
+ * Entries are evicted least recently used first once their combined size passes
+ * {@code maxBytes}.
+ * <p>
+ * A bump sets the user's generation to the next value of a process-wide counter. At most
+ * {@code maxTrackedUsers} generations are kept; past that the least recently bumped half is
+ * dropped, and users without a generation read a floor no lower than any dropped one. A dropped
+ * user's ETags may then change once without a change to their data, but never repeat.
+ * <p>
+ * Generations live in memory, so the ETag also carries a per-process token: ETags handed out
+ * before a restart never match afterwards.
+ */
+@Service
+public class ResponseCache {
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final ObjectMapper objectMapper;
+    private final long maxBytes;
+    private final int maxTrackedUsers;
+    private final String processToken = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong sharedGeneration = new AtomicLong();
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong floor = new AtomicLong();
+    private final ConcurrentHashMap<String, Long> generations = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final AtomicLong weight = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter notModified;
+    private final Counter evictions;
+
+    public ResponseCache(ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${api.response-cache.max-bytes:33554432}") long maxBytes,
+                         @Value("${api.response-cache.max-tracked-users:100000}") int maxTrackedUsers) {
+        this.objectMapper = objectMapper;
+        this.maxBytes = maxBytes;
+        this.maxTrackedUsers = maxTrackedUsers;
+        this.hits = Counter.builder("response.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("response.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.notModified = Counter.builder("response.cache.requests").tag("result", "not_modified").register(meterRegistry);
+        this.evictions = Counter.builder("response.cache.evictions").register(meterRegistry);
+        meterRegistry.gauge("response.cache.bytes", weight);
+    }
+
+    /**
+     * Returns the report for {@code (userId, endpoint, params)}, computing and caching it only
+     * when neither the client's copy nor the cached copy is current.
+     *
+     * @param params      every input the report depends on besides the user, already resolved
+     *                    (e.g. a defaulted month), in a stable order
+     * @param ifNoneMatch the request's {@code If-None-Match} header, or null
+     */
+    public ResponseEntity<byte[]> get(String userId, String endpoint, String params, String ifNoneMatch,
+                                      Supplier<?> report) {
+        String key = userId + '\u0000' + endpoint + '\u0000' + params;
+        long generation = sharedGeneration.get() + generation(userId);
+        String etag = etag(key, generation);
+
+        if (matches(ifNoneMatch, etag)) {
+            notModified.increment();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).build();
+        }
+
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null && entry.generation == generation) {
+            hits.increment();
+            return ok(entry.body, etag);
+        }
+
+        misses.increment();
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(report.get());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + endpoint + " response", e);
+        }
+        put(key, new Entry(generation, body, ENTRY_OVERHEAD_BYTES + 2L * key.length() + body.length));
+        return ok(body, etag);
+    }
+
+    /**
+     * Makes every cached response and ETag for the user stale.
+     */
+    public void invalidate(String userId) {
+        generations.merge(userId, clock.incrementAndGet(), Math::max);
+        if (generations.size() > maxTrackedUsers) {
+            pruneGenerations();
+        }
+    }
+
+    /**
+     * Makes every cached response and ETag stale.
+     */
+    public void invalidateAll() {
+        sharedGeneration.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBudgetChanged(BudgetChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLedgerRecategorized(LedgerRecategorizedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    @EventListener
+    public void onFxRatesChanged(FxRatesChangedEvent event) {
+        invalidateAll();
+    }
+
+    long weight() {
+        return weight.get();
+    }
+
+    int trackedUsers() {
+        return generations.size();
+    }
+
+    private long generation(String userId) {
+        Long generation = generations.get(userId);
+        return generation != null ? generation : floor.get();
+    }
+
+    private synchronized void pruneGenerations() {
+        if (generations.size() <= maxTrackedUsers) {
+            return;
+        }
+        // Each bump takes one clock value, so at most half the limit is newer than this.
+        long cutoff = clock.get() - maxTrackedUsers / 2;
+        // Raise the floor first, so a dropped user never reads a generation below its own.
+        floor.accumulateAndGet(cutoff, Math::max);
+        generations.values().removeIf(generation -> generation <= cutoff);
+    }
+
+    private void put(String key, Entry entry) {
+        if (entry.weight > maxBytes) {
+            return;
+        }
+        synchronized (entries) {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                weight.addAndGet(-previous.weight);
+            }
+            long total = weight.addAndGet(entry.weight);
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while (total > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Entry> evicted = eldest.next();
+                eldest.remove();
+                total = weight.addAndGet(-evicted.getValue().weight);
+                evictions.increment();
+            }
+        }
+    }
+
+    private String etag(String key, long generation) {
+        return "\"" + processToken + '-' + Long.toHexString(generation) + '-' + Integer.toHexString(key.hashCode()) + "\"";
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ResponseEntity<byte[]> ok(byte[] body, String etag) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(body);
+    }
+
+    private static final class Entry {
+        private final long generation;
+        private final byte[] body;
+        private final long weight;
+
+        private Entry(long generation, byte[] body, long weight) {
+            this.generation = generation;
+            this.body = body;
+            this.weight = weight;
+        }
+    }
+}
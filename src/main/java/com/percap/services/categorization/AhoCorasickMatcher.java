@@ -0,0 +1,157 @@
+package com.percap.services.categorization;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable Aho-Corasick automaton over a fixed keyword set.
+ * <p>
+ * Keywords are matched case-insensitively and are identified by their position in the list
+ * passed to {@link #build(List)}. When several keywords occur in the same text the one with the
+ * lowest index wins, so callers order the list by preference. A match walks the text once, so
+ * its cost depends on the length of the text and not on the number of keywords.
+ */
+public final class AhoCorasickMatcher {
+    public static final int NO_MATCH = -1;
+
+    private static final int NONE = Integer.MAX_VALUE;
+
+    // Edges of node i are labels/targets[edgeStart[i] .. edgeStart[i + 1]), sorted by label.
+    private final int[] edgeStart;
+    private final char[] labels;
+    private final int[] targets;
+    private final int[] failure;
+    // Lowest keyword index ending at node i or anywhere on its failure chain.
+    private final int[] best;
+
+    private AhoCorasickMatcher(int[] edgeStart, char[] labels, int[] targets, int[] failure, int[] best) {
+        this.edgeStart = edgeStart;
+        this.labels = labels;
+        this.targets = targets;
+        this.failure = failure;
+        this.best = best;
+    }
+
+    public static AhoCorasickMatcher build(List<String> keywords) {
+        List<Map<Character, Integer>> children = new ArrayList<>();
+        List<Integer> bestByNode = new ArrayList<>();
+        children.add(new HashMap<>());
+        bestByNode.add(NONE);
+
+        for (int index = 0; index < keywords.size(); index++) {
+            String keyword = keywords.get(index);
+            if (keyword == null || keyword.isBlank()) {
+                continue;
+            }
+            int node = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = Character.toLowerCase(keyword.charAt(i));
+                Integer next = children.get(node).get(c);
+                if (next == null) {
+                    next = children.size();
+                    children.get(node).put(c, next);
+                    children.add(new HashMap<>());
+                    bestByNode.add(NONE);
+                }
+                node = next;
+            }
+            bestByNode.set(node, Math.min(bestByNode.get(node), index));
+        }
+
+        int nodeCount = children.size();
+        int[] failure = new int[nodeCount];
+        int[] best = new int[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            best[i] = bestByNode.get(i);
+        }
+
+        ArrayDeque<Integer> queue = new ArrayDeque<>(children.get(0).values());
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (Map.Entry<Character, Integer> edge : children.get(node).entrySet()) {
+                char c = edge.getKey();
+                int child = edge.getValue();
+                int fallback = failure[node];
+                while (fallback != 0 && !children.get(fallback).containsKey(c)) {
+                    fallback = failure[fallback];
+                }
+                Integer target = children.get(fallback).get(c);
+                failure[child] = (node != 0 && target != null) ? target : 0;
+                best[child] = Math.min(best[child], best[failure[child]]);
+                queue.add(child);
+            }
+        }
+
+        int[] edgeStart = new int[nodeCount + 1];
+        int edgeCount = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            edgeStart[i] = edgeCount;
+            edgeCount += children.get(i).size();
+        }
+        edgeStart[nodeCount] = edgeCount;
+
+        char[] labels = new char[edgeCount];
+        int[] targets = new int[edgeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            Character[] sorted = children.get(i).keySet().toArray(new Character[0]);
+            Arrays.sort(sorted);
+            int offset = edgeStart[i];
+            for (Character c : sorted) {
+                labels[offset] = c;
+                targets[offset] = children.get(i).get(c);
+                offset++;
+            }
+        }
+
+        return new AhoCorasickMatcher(edgeStart, labels, targets, failure, best);
+    }
+
+    /**
+     * Returns the lowest index of any keyword occurring in {@code text}, or {@link #NO_MATCH}.
+     */
+    public int match(CharSequence text) {
+        if (text == null) {
+            return NO_MATCH;
+        }
+        int state = 0;
+        int result = NONE;
+        for (int i = 0; i < text.length() && result != 0; i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int next = transition(state, c);
+            while (next < 0 && state != 0) {
+                state = failure[state];
+                next = transition(state, c);
+            }
+            state = next < 0 ? 0 : next;
+            if (best[state] < result) {
+                result = best[state];
+            }
+        }
+        return result == NONE ? NO_MATCH : result;
+    }
+
+    public int nodeCount() {
+        return failure.length;
+    }
+
+    private int transition(int state, char c) {
+        int low = edgeStart[state];
+        int high = edgeStart[state + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char label = labels[mid];
+            if (label < c) {
+                low = mid + 1;
+            } else if (label > c) {
+                high = mid - 1;
+            } else {
+                return targets[mid];
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,123 @@
+package com.percap.services.categorization;
+
+import com.percap.domain.category.CategoryRule;
+import com.percap.domain.transaction.LedgerRecategorizedEvent;
+import com.percap.domain.user.User;
+import com.percap.dtos.category.CategoryRuleDTO;
+import com.percap.dtos.transaction.RecategorizeResponseDTO;
+import com.percap.repositories.CategoryRuleRepository;
+import com.percap.repositories.TransactionRepository;
+import com.percap.repositories.TransactionRepository.TransactionDescription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns categories to transaction descriptions from the admin-managed rule set.
+ * <p>
+ * The rules are compiled into one automaton and published through a volatile field, so
+ * categorization never takes a lock and rule edits swap the whole set atomically.
+ */
+@Service
+public class CategorizationService {
+    private static final Logger logger = LoggerFactory.getLogger(CategorizationService.class);
+    private static final String FIRST_ID = "";
+    // Must match the page size of TransactionRepository.findTop1000ByUserIdAndIdGreaterThanOrderByIdAsc
+    private static final int PAGE_SIZE = 1000;
+
+    private final CategoryRuleRepository categoryRuleRepository;
+    private final TransactionRepository transactionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile CompiledRuleSet ruleSet = CompiledRuleSet.EMPTY;
+
+    public CategorizationService(CategoryRuleRepository categoryRuleRepository, TransactionRepository transactionRepository,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.categoryRuleRepository = categoryRuleRepository;
+        this.transactionRepository = transactionRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reloadRules() {
+        CompiledRuleSet compiled = CompiledRuleSet.compile(categoryRuleRepository.findAll());
+        ruleSet = compiled;
+        logger.info("Compiled {} category rules", compiled.size());
+    }
+
+    public String categorize(String description) {
+        return ruleSet.categorize(description);
+    }
+
+    public List<CategoryRuleDTO> listRules() {
+        return categoryRuleRepository.findAll().stream().map(CategoryRuleDTO::from).toList();
+    }
+
+    public CategoryRuleDTO addRule(CategoryRuleDTO ruleDTO) {
+        CategoryRule rule = new CategoryRule();
+        rule.setKeyword(ruleDTO.getKeyword().trim());
+        rule.setCategory(ruleDTO.getCategory().trim());
+        rule.setPriority(ruleDTO.getPriority());
+
+        CategoryRule saved = categoryRuleRepository.save(rule);
+        reloadRules();
+        return CategoryRuleDTO.from(saved);
+    }
+
+    public void deleteRule(String id) {
+        if (!categoryRuleRepository.existsById(id)) {
+            throw new IllegalArgumentException("Category rule " + id + " does not exist");
+        }
+        categoryRuleRepository.deleteById(id);
+        reloadRules();
+    }
+
+    /**
+     * Re-applies the current rule set to the user's whole history, one page at a time.
+     * Each page is written back with one update per distinct category, stamping {@code updatedAt}
+     * so incremental jobs see the rows again.
+     * <p>
+     * The bulk updates raise no per-row events, so once every page has committed a
+     * {@link LedgerRecategorizedEvent} tells derived views to rebuild the user's state.
+     */
+    public RecategorizeResponseDTO recategorizeHistory(User user) {
+        CompiledRuleSet rules = ruleSet;
+        int processed = 0;
+        int categorized = 0;
+        String afterId = FIRST_ID;
+
+        List<TransactionDescription> page;
+        do {
+            page = transactionRepository.findTop1000ByUserIdAndIdGreaterThanOrderByIdAsc(user.getId(), afterId);
+            Map<String, List<String>> idsByCategory = new HashMap<>();
+            for (TransactionDescription transaction : page) {
+                String category = rules.categorize(transaction.getDescription());
+                idsByCategory.computeIfAbsent(category, key -> new ArrayList<>()).add(transaction.getId());
+                if (category != null) {
+                    categorized++;
+                }
+            }
+            Instant updatedAt = Instant.now();
+            idsByCategory.forEach((category, ids) -> transactionRepository.updateCategory(category, ids, updatedAt));
+
+            processed += page.size();
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == PAGE_SIZE);
+
+        if (processed > 0) {
+            eventPublisher.publishEvent(new LedgerRecategorizedEvent(user.getId()));
+        }
+        return new RecategorizeResponseDTO(processed, categorized);
+    }
+}
@@ -0,0 +1,46 @@
+package com.percap.services.categorization;
+
+import com.percap.domain.category.CategoryRule;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Snapshot of the category rules compiled into a single {@link AhoCorasickMatcher}.
+ * <p>
+ * Rules are ranked by priority (highest first), then by keyword length so that the more
+ * specific keyword wins between rules of equal priority.
+ */
+final class CompiledRuleSet {
+    static final CompiledRuleSet EMPTY = compile(List.of());
+
+    private final AhoCorasickMatcher matcher;
+    private final String[] categories;
+
+    private CompiledRuleSet(AhoCorasickMatcher matcher, String[] categories) {
+        this.matcher = matcher;
+        this.categories = categories;
+    }
+
+    static CompiledRuleSet compile(List<CategoryRule> rules) {
+        List<CategoryRule> ranked = rules.stream()
+                .filter(rule -> rule.getKeyword() != null && !rule.getKeyword().isBlank())
+                .sorted(Comparator.comparingInt(CategoryRule::getPriority).reversed()
+                        .thenComparing(rule -> rule.getKeyword().length(), Comparator.reverseOrder())
+                        .thenComparing(CategoryRule::getKeyword))
+                .toList();
+
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.build(ranked.stream().map(CategoryRule::getKeyword).toList());
+        String[] categories = ranked.stream().map(CategoryRule::getCategory).toArray(String[]::new);
+        return new CompiledRuleSet(matcher, categories);
+    }
+
+    String categorize(String description) {
+        int rank = matcher.match(description);
+        return rank == AhoCorasickMatcher.NO_MATCH ? null : categories[rank];
+    }
+
+    int size() {
+        return categories.length;
+    }
+}
@@ -0,0 +1,269 @@
+package com.percap.services.coldstore;
+
+import com.percap.domain.transaction.LedgerMonthArchivedEvent;
+import com.percap.dtos.transaction.TransactionDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+/**
+ * Cold tier of the ledger: one {@link ColdSegment} file per archived month.
+ * <p>
+ * Months detached into the {@code ledger_archive} schema by the partition manager are exported
+ * to a segment file as soon as they are detached. Until an export succeeds (it is retried on
+ * {@code api.coldstore.export-cron}) the month is read from its archive table instead. History
+ * reads go through {@link #history}, which {@code TransactionService} merges with the hot table.
+ * <p>
+ * The archive table is kept after the export. Segment files are only as durable as the directory
+ * they are written to, and nothing yet requires that directory to be shared by every node, so a
+ * node without the file still reads the month from Postgres. Each month is exported under a
+ * transaction-scoped advisory lock, so nodes never export the same month at once, and a node that
+ * finds the file already written (by another node, on shared storage) loads it instead.
+ */
+@Component
+public class ColdLedgerStore {
+    /** Ledger list order: date descending, then id descending. */
+    public static final Comparator<TransactionDTO> NEWEST_FIRST =
+            Comparator.comparing(TransactionDTO::getDate).thenComparing(TransactionDTO::getId).reversed();
+
+    private static final Logger logger = LoggerFactory.getLogger(ColdLedgerStore.class);
+    private static final String SUFFIX = ".pcol";
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final String ARCHIVED_SQL =
+            "SELECT table_name FROM information_schema.tables " +
+            "WHERE table_schema = 'ledger_archive' AND table_name LIKE 'transactions\\_p%' ORDER BY table_name";
+    // Byte-wise user order, to match String.compareTo in the segment's user directory.
+    private static final String EXPORT_SQL =
+            "SELECT user_id, id, description, amount, currency, transaction_date, category " +
+            "FROM ledger_archive.%s ORDER BY user_id COLLATE \"C\", transaction_date, id";
+    private static final String ARCHIVED_HISTORY_SQL =
+            "SELECT id, description, amount, currency, transaction_date, category FROM ledger_archive.%s " +
+            "WHERE user_id = ? AND transaction_date BETWEEN ? AND ? ORDER BY transaction_date DESC, id DESC LIMIT ?";
+    private static final String EXPORT_LOCK_SQL = "SELECT pg_try_advisory_xact_lock(hashtext(?))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Path directory;
+    private final ConcurrentSkipListMap<YearMonth, ColdSegment> segments = new ConcurrentSkipListMap<>();
+    // Months detached into ledger_archive that have no segment on this node yet.
+    private final ConcurrentSkipListSet<YearMonth> archived = new ConcurrentSkipListSet<>();
+
+    public ColdLedgerStore(DataSource dataSource,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${api.coldstore.directory:data/cold-ledger}") String directory,
+                           @Value("${api.coldstore.fetch-size:10000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.directory = Paths.get(directory);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSegments() throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).toList()) {
+                segments.put(monthOf(file), ColdSegment.open(file));
+            }
+        }
+        for (String table : jdbcTemplate.queryForList(ARCHIVED_SQL, String.class)) {
+            if (!segments.containsKey(monthOf(table))) {
+                archived.add(monthOf(table));
+            }
+        }
+        logger.info("Cold ledger: {} monthly segments loaded from {}, {} archived months awaiting export",
+                segments.size(), directory, archived.size());
+    }
+
+    @EventListener
+    public void onMonthArchived(LedgerMonthArchivedEvent event) {
+        if (!segments.containsKey(event.getMonth())) {
+            archived.add(event.getMonth());
+        }
+        exportArchived();
+    }
+
+    @Scheduled(cron = "${api.coldstore.export-cron:0 45 1 * * *}")
+    public synchronized void exportArchived() {
+        for (String table : jdbcTemplate.queryForList(ARCHIVED_SQL, String.class)) {
+            YearMonth month = monthOf(table);
+            if (segments.containsKey(month)) {
+                continue;
+            }
+            archived.add(month);
+            try {
+                export(month, table);
+            } catch (IOException | RuntimeException e) {
+                logger.error("Exporting archived ledger partition {} failed; reading it from Postgres until it succeeds",
+                        table, e);
+            }
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} of the user's cold rows between the dates (inclusive, either may
+     * be null), newest first.
+     */
+    public List<TransactionDTO> history(String userId, LocalDate from, LocalDate to, int limit) {
+        int fromDay = from != null ? (int) from.toEpochDay() : Integer.MIN_VALUE;
+        int toDay = to != null ? (int) to.toEpochDay() : Integer.MAX_VALUE;
+        List<TransactionDTO> result = new ArrayList<>();
+        for (YearMonth month : months().descendingSet()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            List<TransactionDTO> rows = monthHistory(month, userId, fromDay, toDay, limit - result.size());
+            result.addAll(rows.subList(0, Math.min(rows.size(), limit - result.size())));
+        }
+        return result;
+    }
+
+    /**
+     * Months held in the cold tier, for any user, oldest first.
+     */
+    public NavigableSet<YearMonth> months() {
+        NavigableSet<YearMonth> months = new TreeSet<>(segments.keySet());
+        months.addAll(archived);
+        return months;
+    }
+
+    private List<TransactionDTO> monthHistory(YearMonth month, String userId, int fromDay, int toDay, int limit) {
+        ColdSegment segment = segments.get(month);
+        if (segment == null) {
+            return archivedHistory(month, userId, fromDay, toDay, limit);
+        }
+        List<TransactionDTO> rows = new ArrayList<>();
+        segment.scan(userId, fromDay, toDay, (id, description, amountCents, currency, epochDay, category) ->
+                rows.add(new TransactionDTO(id, description, BigDecimal.valueOf(amountCents, 2), currency,
+                        LocalDate.ofEpochDay(epochDay), category)));
+        rows.sort(NEWEST_FIRST);
+        return rows;
+    }
+
+    private List<TransactionDTO> archivedHistory(YearMonth month, String userId, int fromDay, int toDay, int limit) {
+        LocalDate from = LocalDate.ofEpochDay(Math.max(fromDay, month.atDay(1).toEpochDay()));
+        LocalDate to = LocalDate.ofEpochDay(Math.min(toDay, month.atEndOfMonth().toEpochDay()));
+        if (from.isAfter(to)) {
+            return List.of();
+        }
+        return jdbcTemplate.query(String.format(ARCHIVED_HISTORY_SQL, tableOf(month)), (rs, rowNum) ->
+                new TransactionDTO(rs.getString(1), rs.getString(2), rs.getBigDecimal(3), rs.getString(4),
+                        rs.getDate(5).toLocalDate(), rs.getString(6)),
+                userId, Date.valueOf(from), Date.valueOf(to), limit);
+    }
+
+    /**
+     * True if any cold segment may hold rows for the user in the date range (either bound may be null).
+     */
+    public boolean hasHistory(String userId, LocalDate from, LocalDate to) {
+        int fromDay = from != null ? (int) from.toEpochDay() : Integer.MIN_VALUE;
+        int toDay = to != null ? (int) to.toEpochDay() : Integer.MAX_VALUE;
+        for (ColdSegment segment : segments.values()) {
+            if (segment.mayContain(userId, fromDay, toDay)) {
+                return true;
+            }
+        }
+        for (YearMonth month : archived) {
+            if (month.atDay(1).toEpochDay() <= toDay && month.atEndOfMonth().toEpochDay() >= fromDay) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void export(YearMonth month, String table) throws IOException {
+        Path target = directory.resolve("ledger_" + month.format(MONTH) + SUFFIX);
+        int[] written = {-1};
+        Boolean locked = transactionTemplate.execute(status -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(EXPORT_LOCK_SQL, Boolean.class, "cold-export:" + table))) {
+                return false;
+            }
+            if (Files.notExists(target)) {
+                written[0] = write(table, target);
+            }
+            return true;
+        });
+        if (!Boolean.TRUE.equals(locked)) {
+            logger.debug("{} is being exported by another node; reading it from Postgres meanwhile", table);
+            return;
+        }
+
+        ColdSegment segment = ColdSegment.open(target);
+        if (written[0] >= 0 && segment.rowCount() != written[0]) {
+            throw new UncheckedIOException(new IOException("Row count mismatch in " + target));
+        }
+        segments.put(month, segment);
+        archived.remove(month);
+        if (written[0] >= 0) {
+            logger.info("Exported {} rows of {} to {} ({} bytes)", written[0], table, target, Files.size(target));
+        } else {
+            logger.info("Loaded {} for {}, exported by another node", target, table);
+        }
+    }
+
+    /**
+     * Writes the archive table to a segment file, atomically, and returns its row count. Runs in
+     * the export transaction so the rows stream with the configured fetch size.
+     */
+    private int write(String table, Path target) {
+        ColdSegmentWriter writer = new ColdSegmentWriter();
+        jdbcTemplate.query(String.format(EXPORT_SQL, table), rs -> {
+            writer.add(rs.getString(1), rs.getString(2), rs.getString(3),
+                    rs.getBigDecimal(4).movePointRight(2).longValueExact(), rs.getString(5),
+                    (int) rs.getDate(6).toLocalDate().toEpochDay(), rs.getString(7));
+        });
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try {
+            writer.writeTo(temp);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.rowCount();
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    private static YearMonth monthOf(String table) {
+        return YearMonth.parse(table.substring("transactions_p".length()), MONTH);
+    }
+
+    private static String tableOf(YearMonth month) {
+        return "transactions_p" + month.format(MONTH);
+    }
+
+    private static YearMonth monthOf(Path file) {
+        String name = file.getFileName().toString();
+        return YearMonth.parse(name.substring("ledger_".length(), name.length() - SUFFIX.length()), MONTH);
+    }
+}
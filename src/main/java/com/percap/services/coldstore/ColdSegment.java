@@ -0,0 +1,241 @@
+package com.percap.services.coldstore;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read-only, memory-mapped columnar file holding a closed period of the ledger for many users.
+ * <p>
+ * Layout: a fixed header (row and user counts, min/max date and amount), a table of section
+ * offsets, then the sections. The user directory gives each user's row range, date range and
+ * starting offsets into the delta-encoded date and amount columns. Readers skip a file whose
+ * date range misses the query, then a user whose range misses it, and only then decode rows.
+ * Dictionaries and the user directory are decoded once at open; row columns stay in the mapping.
+ */
+public final class ColdSegment {
+    static final int MAGIC = 0x50434F4C;
+    static final short VERSION = 1;
+    static final byte IDS_UUID = 0;
+    static final byte IDS_UTF8 = 1;
+    static final int HEADER_BYTES = 64;
+
+    static final int USERS = 0;
+    static final int MERCHANTS = 1;
+    static final int CATEGORIES = 2;
+    static final int CURRENCIES = 3;
+    static final int IDS = 4;
+    static final int DATES = 5;
+    static final int AMOUNTS = 6;
+    static final int MERCHANT_REFS = 7;
+    static final int CATEGORY_REFS = 8;
+    static final int CURRENCY_REFS = 9;
+    static final int SECTIONS = 10;
+
+    /**
+     * Receives decoded rows. Amounts are in cents and dates are epoch days.
+     */
+    public interface RowVisitor {
+        void accept(String id, String description, long amountCents, String currency, int epochDay, String category);
+    }
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final boolean uuidIds;
+    private final int rowCount;
+    private final int minDay;
+    private final int maxDay;
+    private final long minCents;
+    private final long maxCents;
+    private final int[] sectionOffsets = new int[SECTIONS];
+
+    private final String[] userIds;
+    private final int[] userFirstRow;
+    private final int[] userRows;
+    private final int[] userMinDay;
+    private final int[] userMaxDay;
+    private final int[] userDateOffset;
+    private final int[] userAmountOffset;
+    private final String[] merchants;
+    private final String[] categories;
+    private final String[] currencies;
+
+    private ColdSegment(Path path, MappedByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getShort(4) != VERSION) {
+            throw new IllegalArgumentException(path + " is not a cold ledger segment");
+        }
+        this.uuidIds = buffer.get(6) == IDS_UUID;
+        this.rowCount = buffer.getInt(8);
+        int userCount = buffer.getInt(12);
+        this.minDay = buffer.getInt(16);
+        this.maxDay = buffer.getInt(20);
+        this.minCents = buffer.getLong(24);
+        this.maxCents = buffer.getLong(32);
+        for (int i = 0; i < SECTIONS; i++) {
+            sectionOffsets[i] = Math.toIntExact(buffer.getLong(HEADER_BYTES + i * 8));
+        }
+
+        userIds = new String[userCount];
+        userFirstRow = new int[userCount];
+        userRows = new int[userCount];
+        userMinDay = new int[userCount];
+        userMaxDay = new int[userCount];
+        userDateOffset = new int[userCount];
+        userAmountOffset = new int[userCount];
+        ByteBuffer users = section(USERS);
+        for (int i = 0; i < userCount; i++) {
+            userIds[i] = readString(users);
+            userFirstRow[i] = users.getInt();
+            userRows[i] = users.getInt();
+            userMinDay[i] = users.getInt();
+            userMaxDay[i] = users.getInt();
+            userDateOffset[i] = users.getInt();
+            userAmountOffset[i] = users.getInt();
+        }
+        merchants = readStrings(section(MERCHANTS));
+        categories = readStrings(section(CATEGORIES));
+        currencies = readStrings(section(CURRENCIES));
+    }
+
+    public static ColdSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new ColdSegment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public int userCount() {
+        return userIds.length;
+    }
+
+    public int minEpochDay() {
+        return minDay;
+    }
+
+    public int maxEpochDay() {
+        return maxDay;
+    }
+
+    public long minAmountCents() {
+        return minCents;
+    }
+
+    public long maxAmountCents() {
+        return maxCents;
+    }
+
+    /**
+     * True if the file may hold rows for the user between the two epoch days (inclusive).
+     */
+    public boolean mayContain(String userId, int fromDay, int toDay) {
+        if (rowCount == 0 || toDay < minDay || fromDay > maxDay) {
+            return false;
+        }
+        int user = Arrays.binarySearch(userIds, userId);
+        return user >= 0 && toDay >= userMinDay[user] && fromDay <= userMaxDay[user];
+    }
+
+    /**
+     * Visits the user's rows between the two epoch days (inclusive), oldest first.
+     *
+     * @return the number of rows visited
+     */
+    public int scan(String userId, int fromDay, int toDay, RowVisitor visitor) {
+        if (!mayContain(userId, fromDay, toDay)) {
+            return 0;
+        }
+        int user = Arrays.binarySearch(userIds, userId);
+        ByteBuffer dates = section(DATES).position(userDateOffset[user]);
+        ByteBuffer amounts = section(AMOUNTS).position(userAmountOffset[user]);
+        int merchantRefs = sectionOffsets[MERCHANT_REFS];
+        int categoryRefs = sectionOffsets[CATEGORY_REFS];
+        int currencyRefs = sectionOffsets[CURRENCY_REFS];
+
+        int day = userMinDay[user];
+        long cents = 0;
+        int visited = 0;
+        int end = userFirstRow[user] + userRows[user];
+        for (int row = userFirstRow[user]; row < end; row++) {
+            day += (int) readVarint(dates);
+            cents += unZigZag(readVarint(amounts));
+            if (day > toDay) {
+                break;
+            }
+            if (day < fromDay) {
+                continue;
+            }
+            short category = buffer.getShort(categoryRefs + row * 2);
+            visitor.accept(id(row), merchants[buffer.getInt(merchantRefs + row * 4)], cents,
+                    currencies[buffer.get(currencyRefs + row) & 0xFF], day, category >= 0 ? categories[category] : null);
+            visited++;
+        }
+        return visited;
+    }
+
+    private String id(int row) {
+        int ids = sectionOffsets[IDS];
+        if (uuidIds) {
+            return new UUID(buffer.getLong(ids + row * 16), buffer.getLong(ids + row * 16 + 8)).toString();
+        }
+        int blob = ids + (rowCount + 1) * 4;
+        int start = buffer.getInt(ids + row * 4);
+        int end = buffer.getInt(ids + (row + 1) * 4);
+        byte[] bytes = new byte[end - start];
+        buffer.get(blob + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private ByteBuffer section(int section) {
+        int start = sectionOffsets[section];
+        int end = section + 1 < SECTIONS ? sectionOffsets[section + 1] : buffer.capacity();
+        return buffer.slice(start, end - start);
+    }
+
+    private static String[] readStrings(ByteBuffer section) {
+        List<String> values = new ArrayList<>();
+        while (section.hasRemaining()) {
+            values.add(readString(section));
+        }
+        return values.toArray(new String[0]);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = Short.toUnsignedInt(in.getShort());
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,263 @@
+package com.percap.services.coldstore;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Builds one {@link ColdSegment} file. Rows must be added ordered by user id, then date, then id.
+ * <p>
+ * Each column is encoded as it arrives, so memory is a few bytes per row plus the dictionaries:
+ * merchants (descriptions), categories and currencies become dictionary references, dates are
+ * unsigned deltas from the previous row of the same user, and amounts are zig-zag deltas in cents.
+ */
+public final class ColdSegmentWriter {
+    private final Map<String, Integer> merchants = new HashMap<>();
+    private final Map<String, Integer> categories = new HashMap<>();
+    private final Map<String, Integer> currencies = new HashMap<>();
+    private final List<String> merchantList = new ArrayList<>();
+    private final List<String> categoryList = new ArrayList<>();
+    private final List<String> currencyList = new ArrayList<>();
+    private final List<UserRange> users = new ArrayList<>();
+
+    private final ByteArrayOutputStream uuidIds = new ByteArrayOutputStream();
+    private final List<String> rawIds = new ArrayList<>();
+    private final ByteArrayOutputStream dates = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream amounts = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream merchantRefs = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream categoryRefs = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream currencyRefs = new ByteArrayOutputStream();
+
+    private boolean allUuids = true;
+    private int rows;
+    private UserRange currentUser;
+    private int previousDay;
+    private long previousCents;
+    private int minDay = Integer.MAX_VALUE;
+    private int maxDay = Integer.MIN_VALUE;
+    private long minCents = Long.MAX_VALUE;
+    private long maxCents = Long.MIN_VALUE;
+
+    public void add(String userId, String id, String description, long amountCents, String currency, int epochDay,
+                    String category) {
+        if (currentUser == null || !currentUser.userId.equals(userId)) {
+            if (currentUser != null && currentUser.userId.compareTo(userId) > 0) {
+                throw new IllegalArgumentException("Rows must be ordered by user id");
+            }
+            currentUser = new UserRange(userId, rows, epochDay, dates.size(), amounts.size());
+            users.add(currentUser);
+            previousDay = epochDay;
+            previousCents = 0;
+        }
+        if (epochDay < previousDay) {
+            throw new IllegalArgumentException("Rows must be ordered by date within a user");
+        }
+
+        if (allUuids && isCanonicalUuid(id)) {
+            UUID uuid = UUID.fromString(id);
+            writeLong(uuidIds, uuid.getMostSignificantBits());
+            writeLong(uuidIds, uuid.getLeastSignificantBits());
+        } else {
+            if (allUuids) {
+                switchToRawIds();
+            }
+            rawIds.add(id);
+        }
+        writeVarint(dates, epochDay - previousDay);
+        writeVarint(amounts, zigZag(amountCents - previousCents));
+        writeInt(merchantRefs, intern(merchants, merchantList, description));
+        int categoryRef = category != null ? intern(categories, categoryList, category) : -1;
+        categoryRefs.write(categoryRef >>> 8);
+        categoryRefs.write(categoryRef);
+        currencyRefs.write(intern(currencies, currencyList, currency));
+        if (categoryList.size() > Short.MAX_VALUE || currencyList.size() > 255) {
+            throw new IllegalStateException("Too many distinct categories or currencies for one segment");
+        }
+
+        previousDay = epochDay;
+        previousCents = amountCents;
+        currentUser.rows++;
+        currentUser.maxDay = epochDay;
+        minDay = Math.min(minDay, epochDay);
+        maxDay = Math.max(maxDay, epochDay);
+        minCents = Math.min(minCents, amountCents);
+        maxCents = Math.max(maxCents, amountCents);
+        rows++;
+    }
+
+    public int rowCount() {
+        return rows;
+    }
+
+    public void writeTo(Path target) throws IOException {
+        byte[][] sections = new byte[ColdSegment.SECTIONS][];
+        sections[ColdSegment.USERS] = encodeUsers();
+        sections[ColdSegment.MERCHANTS] = encodeStrings(merchantList);
+        sections[ColdSegment.CATEGORIES] = encodeStrings(categoryList);
+        sections[ColdSegment.CURRENCIES] = encodeStrings(currencyList);
+        sections[ColdSegment.IDS] = allUuids ? uuidIds.toByteArray() : encodeRawIds();
+        sections[ColdSegment.DATES] = dates.toByteArray();
+        sections[ColdSegment.AMOUNTS] = amounts.toByteArray();
+        sections[ColdSegment.MERCHANT_REFS] = merchantRefs.toByteArray();
+        sections[ColdSegment.CATEGORY_REFS] = categoryRefs.toByteArray();
+        sections[ColdSegment.CURRENCY_REFS] = currencyRefs.toByteArray();
+
+        ByteBuffer header = ByteBuffer.allocate(ColdSegment.HEADER_BYTES + ColdSegment.SECTIONS * 8);
+        header.putInt(ColdSegment.MAGIC);
+        header.putShort(ColdSegment.VERSION);
+        header.put(allUuids ? ColdSegment.IDS_UUID : ColdSegment.IDS_UTF8);
+        header.put((byte) 0);
+        header.putInt(rows);
+        header.putInt(users.size());
+        header.putInt(rows > 0 ? minDay : 0);
+        header.putInt(rows > 0 ? maxDay : -1);
+        header.putLong(rows > 0 ? minCents : 0);
+        header.putLong(rows > 0 ? maxCents : 0);
+        header.position(ColdSegment.HEADER_BYTES);
+        long offset = header.capacity();
+        for (byte[] section : sections) {
+            header.putLong(offset);
+            offset += section.length;
+        }
+        header.flip();
+
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(header);
+            for (byte[] section : sections) {
+                ByteBuffer buffer = ByteBuffer.wrap(section);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            channel.force(true);
+        }
+    }
+
+    private byte[] encodeUsers() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (UserRange user : users) {
+            writeString(out, user.userId);
+            writeInt(out, user.firstRow);
+            writeInt(out, user.rows);
+            writeInt(out, user.minDay);
+            writeInt(out, user.maxDay);
+            writeInt(out, user.dateOffset);
+            writeInt(out, user.amountOffset);
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] encodeRawIds() {
+        ByteArrayOutputStream offsets = new ByteArrayOutputStream();
+        ByteArrayOutputStream blob = new ByteArrayOutputStream();
+        for (String id : rawIds) {
+            writeInt(offsets, blob.size());
+            byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+            blob.write(bytes, 0, bytes.length);
+        }
+        writeInt(offsets, blob.size());
+        byte[] result = new byte[offsets.size() + blob.size()];
+        System.arraycopy(offsets.toByteArray(), 0, result, 0, offsets.size());
+        System.arraycopy(blob.toByteArray(), 0, result, offsets.size(), blob.size());
+        return result;
+    }
+
+    private static byte[] encodeStrings(List<String> values) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (String value : values) {
+            writeString(out, value);
+        }
+        return out.toByteArray();
+    }
+
+    private static int intern(Map<String, Integer> dictionary, List<String> values, String value) {
+        Integer ref = dictionary.get(value);
+        if (ref == null) {
+            ref = values.size();
+            dictionary.put(value, ref);
+            values.add(value);
+        }
+        return ref;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.write(bytes.length >>> 8);
+        out.write(bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private static boolean isCanonicalUuid(String id) {
+        try {
+            return UUID.fromString(id).toString().equals(id);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Rebuilds the ids written so far as strings; only canonical UUIDs were packed, so they
+     * format back to exactly the ids that were added.
+     */
+    private void switchToRawIds() {
+        ByteBuffer packed = ByteBuffer.wrap(uuidIds.toByteArray());
+        while (packed.hasRemaining()) {
+            rawIds.add(new UUID(packed.getLong(), packed.getLong()).toString());
+        }
+        uuidIds.reset();
+        allUuids = false;
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        writeInt(out, (int) (value >>> 32));
+        writeInt(out, (int) value);
+    }
+
+    private static final class UserRange {
+        final String userId;
+        final int firstRow;
+        final int minDay;
+        final int dateOffset;
+        final int amountOffset;
+        int rows;
+        int maxDay;
+
+        UserRange(String userId, int firstRow, int minDay, int dateOffset, int amountOffset) {
+            this.userId = userId;
+            this.firstRow = firstRow;
+            this.minDay = minDay;
+            this.dateOffset = dateOffset;
+            this.amountOffset = amountOffset;
+            this.maxDay = minDay;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.percap.services.dashboard;
+
+import com.percap.domain.user.User;
+import com.percap.dtos.account.LinkedAccountDTO;
+import com.percap.dtos.budget.BudgetStatusDTO;
+import com.percap.dtos.dashboard.DashboardDTO;
+import com.percap.dtos.streaming.BalanceUpdateDTO;
+import com.percap.dtos.transaction.TransactionDTO;
+import com.percap.services.TransactionService;
+import com.percap.services.budget.BudgetService;
+import com.percap.services.streaming.BalanceStreamService;
+import com.percap.services.sync.LinkedAccountService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Builds the home screen for one user by running its component queries side by side.
+ * <p>
+ * Each component runs on its own virtual thread and has its own deadline, measured from the
+ * start of the request, so the response takes as long as the slowest component that finishes in
+ * time. A component that fails or misses its deadline is cancelled and reported as unavailable
+ * instead of failing the whole dashboard.
+ * <p>
+ * Cancelling does not interrupt a running JDBC call, so each component also runs in a read-only
+ * transaction whose timeout, its deadline rounded up to whole seconds, is applied to every query
+ * it issues. A component that missed its deadline therefore stops within a second of it rather
+ * than holding a connection for as long as its query runs.
+ */
+@Service
+public class DashboardService implements DisposableBean {
+    static final String NET_WORTH = "netWorth";
+    static final String RECENT_TRANSACTIONS = "recentTransactions";
+    static final String BUDGETS = "budgets";
+    static final String ACCOUNTS = "accounts";
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    private final BalanceStreamService balanceStreamService;
+    private final TransactionService transactionService;
+    private final BudgetService budgetService;
+    private final LinkedAccountService linkedAccountService;
+    private final PlatformTransactionManager transactionManager;
+    private final int recentTransactions;
+    private final long netWorthTimeoutMs;
+    private final long transactionsTimeoutMs;
+    private final long budgetsTimeoutMs;
+    private final long accountsTimeoutMs;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public DashboardService(BalanceStreamService balanceStreamService,
+                            TransactionService transactionService,
+                            BudgetService budgetService,
+                            LinkedAccountService linkedAccountService,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${api.dashboard.recent-transactions:10}") int recentTransactions,
+                            @Value("${api.dashboard.net-worth-timeout-ms:800}") long netWorthTimeoutMs,
+                            @Value("${api.dashboard.transactions-timeout-ms:500}") long transactionsTimeoutMs,
+                            @Value("${api.dashboard.budgets-timeout-ms:500}") long budgetsTimeoutMs,
+                            @Value("${api.dashboard.accounts-timeout-ms:300}") long accountsTimeoutMs) {
+        this.balanceStreamService = balanceStreamService;
+        this.transactionService = transactionService;
+        this.budgetService = budgetService;
+        this.linkedAccountService = linkedAccountService;
+        this.transactionManager = transactionManager;
+        this.recentTransactions = recentTransactions;
+        this.netWorthTimeoutMs = netWorthTimeoutMs;
+        this.transactionsTimeoutMs = transactionsTimeoutMs;
+        this.budgetsTimeoutMs = budgetsTimeoutMs;
+        this.accountsTimeoutMs = accountsTimeoutMs;
+    }
+
+    public DashboardDTO load(User user) {
+        long start = System.nanoTime();
+        YearMonth month = YearMonth.now();
+        Future<BalanceUpdateDTO> netWorth = submit(netWorthTimeoutMs, () -> balanceStreamService.current(user.getId()));
+        Future<List<TransactionDTO>> transactions = submit(transactionsTimeoutMs,
+                () -> transactionService.list(user, null, null, 0, recentTransactions));
+        Future<List<BudgetStatusDTO>> budgets = submit(budgetsTimeoutMs, () -> budgetService.getStatus(user, month));
+        Future<List<LinkedAccountDTO>> accounts = submit(accountsTimeoutMs, () -> linkedAccountService.list(user));
+
+        List<String> unavailable = new ArrayList<>();
+        DashboardDTO dashboard = new DashboardDTO();
+        try {
+            dashboard.setNetWorth(await(NET_WORTH, netWorth, start, netWorthTimeoutMs, unavailable));
+            dashboard.setRecentTransactions(await(RECENT_TRANSACTIONS, transactions, start, transactionsTimeoutMs, unavailable));
+            dashboard.setBudgets(await(BUDGETS, budgets, start, budgetsTimeoutMs, unavailable));
+            dashboard.setAccounts(await(ACCOUNTS, accounts, start, accountsTimeoutMs, unavailable));
+        } finally {
+            // Only reached early by interruption; completed futures ignore the cancel.
+            for (Future<?> future : List.of(netWorth, transactions, budgets, accounts)) {
+                future.cancel(true);
+            }
+        }
+        dashboard.setUnavailable(unavailable);
+        return dashboard;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> Future<T> submit(long timeoutMs, Supplier<T> component) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setTimeout((int) Math.max(1, (timeoutMs + 999) / 1000));
+        return executor.submit(() -> transaction.execute(status -> component.get()));
+    }
+
+    private <T> T await(String component, Future<T> future, long startNanos, long timeoutMs, List<String> unavailable) {
+        long remaining = startNanos + TimeUnit.MILLISECONDS.toNanos(timeoutMs) - System.nanoTime();
+        try {
+            return future.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            logger.debug("Dashboard component {} missed its {} ms deadline", component, timeoutMs);
+        } catch (ExecutionException e) {
+            logger.warn("Dashboard component {} failed", component, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        unavailable.add(component);
+        return null;
+    }
+}
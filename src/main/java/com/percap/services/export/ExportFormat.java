@@ -0,0 +1,28 @@
+package com.percap.services.export;
+
+import java.io.OutputStream;
+
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public ExportRowWriter newWriter(OutputStream out) {
+        return this == CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+    }
+}
@@ -0,0 +1,16 @@
+package com.percap.services.export;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Serializes ledger rows one at a time into an underlying stream.
+ * Implementations buffer internally; call {@link #flush()} before reading what was written.
+ */
+public interface ExportRowWriter {
+    void writeHeader();
+
+    void writeRow(String id, LocalDate date, String description, BigDecimal amount, String currency, String category);
+
+    void flush();
+}
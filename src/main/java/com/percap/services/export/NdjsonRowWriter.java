@@ -0,0 +1,62 @@
+package com.percap.services.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonFactoryBuilder;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One JSON object per line, written with a streaming generator so no row objects are built.
+ */
+class NdjsonRowWriter implements ExportRowWriter {
+    private static final JsonFactory JSON_FACTORY = new JsonFactoryBuilder()
+            .rootValueSeparator((String) null)
+            .build();
+
+    private final JsonGenerator generator;
+
+    NdjsonRowWriter(OutputStream out) {
+        try {
+            this.generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void writeHeader() {
+    }
+
+    @Override
+    public void writeRow(String id, LocalDate date, String description, BigDecimal amount, String currency,
+                         String category) {
+        try {
+            generator.writeStartObject();
+            generator.writeStringField("id", id);
+            generator.writeStringField("date", date.toString());
+            generator.writeStringField("description", description);
+            generator.writeNumberField("amount", amount);
+            generator.writeStringField("currency", currency);
+            generator.writeStringField("category", category);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void flush() {
+        try {
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.percap.services.export;
+
+import com.percap.dtos.transaction.TransactionDTO;
+import com.percap.services.coldstore.ColdLedgerStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams a user's full ledger without materializing it.
+ * <p>
+ * Rows are read in keyset windows of {@code api.export.window-size} rows that never cross a month
+ * boundary, each in its own read-only transaction so the driver fetches {@code api.export.fetch-size}
+ * rows per round-trip instead of the whole window. Months archived to the {@link ColdLedgerStore}
+ * are merged into the windows, as report jobs do. A window is serialized into a reusable buffer
+ * while the connection is held and is only written to the client after the connection has been
+ * returned to the pool, so a slow or stalled client never pins a pooled connection and heap use
+ * is bounded by one window regardless of history length.
+ */
+@Service
+public class TransactionExportService {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionExportService.class);
+
+    private static final String BOUNDS_SQL =
+            "SELECT MIN(transaction_date), MAX(transaction_date) FROM transactions WHERE user_id = ?";
+    // Ids compare byte-wise, to match String.compareTo when cold rows are merged in.
+    private static final String MONTH_SQL =
+            "SELECT id, transaction_date, description, amount, currency, category FROM transactions " +
+            "WHERE user_id = ? AND transaction_date BETWEEN ? AND ? " +
+            "ORDER BY transaction_date, id COLLATE \"C\" LIMIT ?";
+    private static final String MONTH_AFTER_SQL =
+            "SELECT id, transaction_date, description, amount, currency, category FROM transactions " +
+            "WHERE user_id = ? AND transaction_date BETWEEN ? AND ? " +
+            "AND (transaction_date > ? OR id COLLATE \"C\" > ?) " +
+            "ORDER BY transaction_date, id COLLATE \"C\" LIMIT ?";
+    private static final Comparator<TransactionDTO> OLDEST_FIRST = ColdLedgerStore.NEWEST_FIRST.reversed();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ColdLedgerStore coldLedgerStore;
+    private final int windowSize;
+
+    public TransactionExportService(DataSource dataSource,
+                                    PlatformTransactionManager transactionManager,
+                                    ColdLedgerStore coldLedgerStore,
+                                    @Value("${api.export.fetch-size:500}") int fetchSize,
+                                    @Value("${api.export.window-size:5000}") int windowSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.coldLedgerStore = coldLedgerStore;
+        this.windowSize = windowSize;
+    }
+
+    public StreamingResponseBody export(String userId, ExportFormat format, boolean gzip) {
+        return responseStream -> {
+            WindowBuffer buffer = new WindowBuffer();
+            ExportRowWriter writer = format.newWriter(buffer);
+            LocalDate[] bounds = bounds(userId);
+            KeysetCursor cursor = new KeysetCursor(bounds[0].minusDays(1));
+            long exported = 0;
+
+            try {
+                OutputStream out = gzip ? new GZIPOutputStream(responseStream, 8192) : responseStream;
+                writer.writeHeader();
+                while ((cursor.id != null || cursor.date.isBefore(bounds[1])) && !Thread.currentThread().isInterrupted()) {
+                    exported += transactionTemplate.execute(status -> readWindow(userId, cursor, writer));
+                    writer.flush();
+                    buffer.drainTo(out);
+                }
+
+                if (out instanceof GZIPOutputStream gzipStream) {
+                    gzipStream.finish();
+                }
+                out.flush();
+            } catch (IOException e) {
+                // Writes to the response only fail once the client has gone away.
+                logger.debug("Export for user {} cancelled by client after {} rows", userId, exported);
+                return;
+            }
+            logger.debug("Exported {} rows for user {}", exported, userId);
+        };
+    }
+
+    /**
+     * First and last day the export walks: the user's hot rows plus every cold month. A user with
+     * no rows at all gets an empty range.
+     */
+    private LocalDate[] bounds(String userId) {
+        LocalDate[] bounds = jdbcTemplate.queryForObject(BOUNDS_SQL, (rs, rowNum) -> new LocalDate[]{
+                rs.getDate(1) != null ? rs.getDate(1).toLocalDate() : null,
+                rs.getDate(2) != null ? rs.getDate(2).toLocalDate() : null}, userId);
+        NavigableSet<YearMonth> coldMonths = coldLedgerStore.months();
+        if (!coldMonths.isEmpty()) {
+            LocalDate coldFirst = coldMonths.first().atDay(1);
+            LocalDate coldLast = coldMonths.last().atEndOfMonth();
+            bounds[0] = bounds[0] == null || coldFirst.isBefore(bounds[0]) ? coldFirst : bounds[0];
+            bounds[1] = bounds[1] == null || coldLast.isAfter(bounds[1]) ? coldLast : bounds[1];
+        }
+        if (bounds[0] == null) {
+            LocalDate today = LocalDate.now();
+            return new LocalDate[]{today, today.minusDays(1)};
+        }
+        return bounds;
+    }
+
+    /**
+     * Writes the next window, which never crosses a month boundary, and advances the cursor past
+     * it. A window shorter than the window size exhausts the month, so the cursor moves to its last day.
+     */
+    private int readWindow(String userId, KeysetCursor cursor, ExportRowWriter writer) {
+        LocalDate from = cursor.id == null ? cursor.date.plusDays(1) : cursor.date;
+        LocalDate monthEnd = YearMonth.from(from).atEndOfMonth();
+
+        List<TransactionDTO> window = new ArrayList<>(windowSize);
+        jdbcTemplate.query(cursor.id == null ? MONTH_SQL : MONTH_AFTER_SQL, rs -> {
+            window.add(new TransactionDTO(rs.getString(1), rs.getString(3), rs.getBigDecimal(4), rs.getString(5),
+                    rs.getDate(2).toLocalDate(), rs.getString(6)));
+        }, cursor.id == null
+                ? new Object[]{userId, Date.valueOf(from), Date.valueOf(monthEnd), windowSize}
+                : new Object[]{userId, Date.valueOf(from), Date.valueOf(monthEnd), Date.valueOf(from), cursor.id,
+                        windowSize});
+
+        List<TransactionDTO> rows = window;
+        if (coldLedgerStore.hasHistory(userId, from, monthEnd)) {
+            for (TransactionDTO row : coldLedgerStore.history(userId, from, monthEnd, Integer.MAX_VALUE)) {
+                if (cursor.isBefore(row)) {
+                    window.add(row);
+                }
+            }
+            window.sort(OLDEST_FIRST);
+            rows = window.subList(0, Math.min(window.size(), windowSize));
+        }
+
+        for (TransactionDTO row : rows) {
+            writer.writeRow(row.getId(), row.getDate(), row.getDescription(), row.getAmount(), row.getCurrency(),
+                    row.getCategory());
+            cursor.date = row.getDate();
+            cursor.id = row.getId();
+        }
+        if (rows.size() < windowSize) {
+            cursor.date = monthEnd;
+            cursor.id = null;
+        }
+        return rows.size();
+    }
+
+    private static final class KeysetCursor {
+        private LocalDate date;
+        private String id;
+
+        private KeysetCursor(LocalDate date) {
+            this.date = date;
+        }
+
+        private boolean isBefore(TransactionDTO row) {
+            int byDate = row.getDate().compareTo(date);
+            return byDate > 0 || (byDate == 0 && id != null && row.getId().compareTo(id) > 0);
+        }
+    }
+
+    private static final class WindowBuffer extends ByteArrayOutputStream {
+        private WindowBuffer() {
+            super(64 * 1024);
+        }
+
+        private void drainTo(OutputStream out) throws IOException {
+            out.write(buf, 0, count);
+            out.flush();
+            reset();
+        }
+    }
+}
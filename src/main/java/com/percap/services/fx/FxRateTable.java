@@ -0,0 +1,165 @@
+package com.percap.services.fx;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable, primitive-backed table of daily FX rates.
+ * <p>
+ * Currencies are packed into an {@code int} code ({@link #code(String)}) and a pair into a single
+ * {@code int} key. Keys are kept sorted in one array, and each pair's rates sit in a contiguous,
+ * date-sorted slice of shared {@code int[]} epoch-day and {@code double[]} rate arrays, so a lookup
+ * is two binary searches and no allocation. The rate for a date is the latest one on or before
+ * it. Pairs without a stored series are resolved through their inverse, then through the pivot
+ * currency.
+ */
+public final class FxRateTable {
+    private static final int CURRENCY_SPACE = 26 * 26 * 26;
+
+    private final int pivot;
+    private final int[] pairKeys;
+    private final int[] offsets;
+    private final int[] days;
+    private final double[] rates;
+
+    private FxRateTable(int pivot, int[] pairKeys, int[] offsets, int[] days, double[] rates) {
+        this.pivot = pivot;
+        this.pairKeys = pairKeys;
+        this.offsets = offsets;
+        this.days = days;
+        this.rates = rates;
+    }
+
+    public static FxRateTable empty(String pivotCurrency) {
+        return new FxRateTable(code(pivotCurrency), new int[0], new int[1], new int[0], new double[0]);
+    }
+
+    /**
+     * Packs a three-letter ISO 4217 code into {@code 0..17575}.
+     */
+    public static int code(String currency) {
+        if (currency == null || currency.length() != 3) {
+            throw new IllegalArgumentException("Invalid currency: " + currency);
+        }
+        int code = 0;
+        for (int i = 0; i < 3; i++) {
+            char c = currency.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                throw new IllegalArgumentException("Invalid currency: " + currency);
+            }
+            code = code * 26 + (c - 'A');
+        }
+        return code;
+    }
+
+    public int size() {
+        return days.length;
+    }
+
+    /**
+     * Units of {@code to} per unit of {@code from} on {@code epochDay}, or {@code NaN} when no rate
+     * on or before that day is known.
+     */
+    public double rate(int from, int to, int epochDay) {
+        if (from == to) {
+            return 1.0;
+        }
+        double rate = pairRate(from, to, epochDay);
+        if (!Double.isNaN(rate) || from == pivot || to == pivot) {
+            return rate;
+        }
+        return pairRate(from, pivot, epochDay) * pairRate(pivot, to, epochDay);
+    }
+
+    /**
+     * Whether the stored series for {@code base/quote} has exactly {@code rate} on {@code epochDay}.
+     */
+    public boolean contains(String base, String quote, int epochDay, double rate) {
+        int pair = Arrays.binarySearch(pairKeys, code(base) * CURRENCY_SPACE + code(quote));
+        if (pair < 0) {
+            return false;
+        }
+        int position = Arrays.binarySearch(days, offsets[pair], offsets[pair + 1], epochDay);
+        return position >= 0 && rates[position] == rate;
+    }
+
+    public Builder toBuilder() {
+        Builder builder = new Builder(pivot);
+        for (int pair = 0; pair < pairKeys.length; pair++) {
+            TreeMap<Integer, Double> series = builder.series(pairKeys[pair]);
+            for (int i = offsets[pair]; i < offsets[pair + 1]; i++) {
+                series.put(days[i], rates[i]);
+            }
+        }
+        return builder;
+    }
+
+    public static Builder builder(String pivotCurrency) {
+        return new Builder(code(pivotCurrency));
+    }
+
+    private double pairRate(int from, int to, int epochDay) {
+        double direct = seriesRate(from * CURRENCY_SPACE + to, epochDay);
+        if (!Double.isNaN(direct)) {
+            return direct;
+        }
+        return 1.0 / seriesRate(to * CURRENCY_SPACE + from, epochDay);
+    }
+
+    private double seriesRate(int pairKey, int epochDay) {
+        int pair = Arrays.binarySearch(pairKeys, pairKey);
+        if (pair < 0) {
+            return Double.NaN;
+        }
+        int start = offsets[pair];
+        int position = Arrays.binarySearch(days, start, offsets[pair + 1], epochDay);
+        if (position < 0) {
+            position = -position - 2;
+            if (position < start) {
+                return Double.NaN;
+            }
+        }
+        return rates[position];
+    }
+
+    public static final class Builder {
+        private final int pivot;
+        private final Map<Integer, TreeMap<Integer, Double>> pairs = new HashMap<>();
+
+        private Builder(int pivot) {
+            this.pivot = pivot;
+        }
+
+        public Builder put(String base, String quote, int epochDay, double rate) {
+            if (!(rate > 0)) {
+                throw new IllegalArgumentException("FX rate must be positive");
+            }
+            series(code(base) * CURRENCY_SPACE + code(quote)).put(epochDay, rate);
+            return this;
+        }
+
+        public FxRateTable build() {
+            int[] pairKeys = pairs.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+            int[] offsets = new int[pairKeys.length + 1];
+            for (int pair = 0; pair < pairKeys.length; pair++) {
+                offsets[pair + 1] = offsets[pair] + pairs.get(pairKeys[pair]).size();
+            }
+            int[] days = new int[offsets[pairKeys.length]];
+            double[] rates = new double[days.length];
+            for (int pair = 0; pair < pairKeys.length; pair++) {
+                int i = offsets[pair];
+                for (Map.Entry<Integer, Double> entry : pairs.get(pairKeys[pair]).entrySet()) {
+                    days[i] = entry.getKey();
+                    rates[i++] = entry.getValue();
+                }
+            }
+            return new FxRateTable(pivot, pairKeys, offsets, days, rates);
+        }
+
+        private TreeMap<Integer, Double> series(int pairKey) {
+            return pairs.computeIfAbsent(pairKey, key -> new TreeMap<>());
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.percap.services.fx;
+
+import com.percap.domain.fx.FxRate;
+import com.percap.domain.fx.FxRatesChangedEvent;
+import com.percap.dtos.fx.FxRateDTO;
+import com.percap.repositories.FxRateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Currency conversion for aggregates, served entirely from an in-memory {@link FxRateTable}.
+ * <p>
+ * The table is loaded once at startup and then refreshed every {@code api.fx.refresh-interval-ms}
+ * with only the rows updated since the last refresh; each refresh builds a new table and swaps it
+ * in through a volatile field, so readers never lock or see a partial update. Rows are stamped by
+ * the database clock but only become visible when they commit, so each refresh re-reads the last
+ * {@code api.fx.refresh-overlap-minutes} before its checkpoint and skips rows it already holds. A
+ * lookup that finds no rate refreshes early, at most once a second, to pick up rates saved on
+ * other nodes. Whenever the table changes a {@link FxRatesChangedEvent} is published so caches of
+ * converted totals are dropped. Amounts without an explicit currency are in
+ * {@code api.fx.base-currency}, which is also the currency aggregates are reported in and the
+ * pivot for cross rates.
+ */
+@Service
+public class FxService {
+    private static final Logger logger = LoggerFactory.getLogger(FxService.class);
+    private static final long MISSING_RATE_REFRESH_INTERVAL_MS = 1_000;
+
+    private final FxRateRepository fxRateRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String baseCurrency;
+    private final int baseCode;
+    private final Duration refreshOverlap;
+    private final AtomicLong lastMissingRateRefresh = new AtomicLong();
+    private volatile FxRateTable table;
+    private volatile Instant checkpoint;
+
+    public FxService(FxRateRepository fxRateRepository, ApplicationEventPublisher eventPublisher,
+                     @Value("${api.fx.base-currency:USD}") String baseCurrency,
+                     @Value("${api.fx.refresh-overlap-minutes:10}") long refreshOverlapMinutes) {
+        this.fxRateRepository = fxRateRepository;
+        this.eventPublisher = eventPublisher;
+        this.baseCurrency = baseCurrency;
+        this.baseCode = FxRateTable.code(baseCurrency);
+        this.refreshOverlap = Duration.ofMinutes(refreshOverlapMinutes);
+        this.table = FxRateTable.empty(baseCurrency);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void loadRates() {
+        Instant until = fxRateRepository.currentTimestamp();
+        FxRateTable.Builder builder = FxRateTable.builder(baseCurrency);
+        for (FxRate rate : fxRateRepository.findAll()) {
+            put(builder, rate);
+        }
+        table = builder.build();
+        checkpoint = until;
+        logger.info("Loaded {} FX rates", table.size());
+        eventPublisher.publishEvent(new FxRatesChangedEvent(table.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${api.fx.refresh-interval-ms:300000}", initialDelayString = "${api.fx.refresh-interval-ms:300000}")
+    public synchronized void refresh() {
+        Instant since = checkpoint;
+        if (since == null) {
+            loadRates();
+            return;
+        }
+        Instant until = fxRateRepository.currentTimestamp();
+        apply(fxRateRepository.findByUpdatedAtGreaterThanEqual(since.minus(refreshOverlap)));
+        checkpoint = until;
+    }
+
+    public String baseCurrency() {
+        return baseCurrency;
+    }
+
+    public int baseCode() {
+        return baseCode;
+    }
+
+    /**
+     * The currency to store an amount dated {@code date} in: {@code requested}, or the base
+     * currency when none was given. A currency with no rate to the base currency on or before the
+     * date is rejected, so conversions of stored amounts do not fail later.
+     */
+    public String currencyFor(String requested, LocalDate date) {
+        if (requested == null) {
+            return baseCurrency;
+        }
+        int code = FxRateTable.code(requested);
+        if (code != baseCode && Double.isNaN(lookup(code, baseCode, (int) date.toEpochDay()))) {
+            throw new IllegalArgumentException("No " + requested + " rate available on or before " + date);
+        }
+        return requested;
+    }
+
+    /**
+     * Units of {@code to} per unit of {@code from} on {@code epochDay}; see {@link FxRateTable#rate}.
+     */
+    public double rate(int from, int to, int epochDay) {
+        return lookup(from, to, epochDay);
+    }
+
+    /**
+     * Converts cents of {@code currency} on {@code date} to cents of the base currency.
+     */
+    public long toBaseCents(long cents, String currency, LocalDate date) {
+        int from = FxRateTable.code(currency);
+        if (from == baseCode) {
+            return cents;
+        }
+        return Math.round(cents * requireRate(from, baseCode, date));
+    }
+
+    public BigDecimal convert(BigDecimal amount, String from, String to, LocalDate date) {
+        int fromCode = FxRateTable.code(from);
+        int toCode = FxRateTable.code(to);
+        if (fromCode == toCode) {
+            return amount;
+        }
+        return amount.multiply(BigDecimal.valueOf(requireRate(fromCode, toCode, date))).setScale(2, RoundingMode.HALF_EVEN);
+    }
+
+    public BigDecimal toBase(BigDecimal amount, String currency, LocalDate date) {
+        return convert(amount, currency, baseCurrency, date);
+    }
+
+    @Transactional
+    public FxRateDTO saveRate(FxRateDTO request) {
+        FxRate rate = fxRateRepository.findByBaseCurrencyAndQuoteCurrencyAndDate(
+                        request.getBaseCurrency(), request.getQuoteCurrency(), request.getDate())
+                .orElseGet(() -> {
+                    FxRate created = new FxRate();
+                    created.setBaseCurrency(request.getBaseCurrency());
+                    created.setQuoteCurrency(request.getQuoteCurrency());
+                    created.setDate(request.getDate());
+                    return created;
+                });
+        rate.setRate(request.getRate());
+        FxRate saved = fxRateRepository.save(rate);
+        // Applied once committed, so a rollback never leaves a rate in memory that the database lacks.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(List.of(saved));
+                }
+            });
+        } else {
+            apply(List.of(saved));
+        }
+        return FxRateDTO.from(saved);
+    }
+
+    /**
+     * Adds the rates the table does not already hold and publishes the change, if any.
+     */
+    private synchronized void apply(List<FxRate> rates) {
+        FxRateTable.Builder builder = null;
+        int changed = 0;
+        for (FxRate rate : rates) {
+            if (table.contains(rate.getBaseCurrency(), rate.getQuoteCurrency(), (int) rate.getDate().toEpochDay(),
+                    rate.getRate().doubleValue())) {
+                continue;
+            }
+            if (builder == null) {
+                builder = table.toBuilder();
+            }
+            put(builder, rate);
+            changed++;
+        }
+        if (builder != null) {
+            table = builder.build();
+            eventPublisher.publishEvent(new FxRatesChangedEvent(changed));
+        }
+    }
+
+    private double requireRate(int from, int to, LocalDate date) {
+        double rate = lookup(from, to, (int) date.toEpochDay());
+        if (Double.isNaN(rate)) {
+            throw new IllegalStateException("No FX rate available for " + date);
+        }
+        return rate;
+    }
+
+    private double lookup(int from, int to, int epochDay) {
+        double rate = table.rate(from, to, epochDay);
+        if (Double.isNaN(rate) && refreshForMissingRate()) {
+            rate = table.rate(from, to, epochDay);
+        }
+        return rate;
+    }
+
+    private boolean refreshForMissingRate() {
+        long now = System.currentTimeMillis();
+        long last = lastMissingRateRefresh.get();
+        if (now - last < MISSING_RATE_REFRESH_INTERVAL_MS || !lastMissingRateRefresh.compareAndSet(last, now)) {
+            return false;
+        }
+        try {
+            refresh();
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("Could not refresh FX rates", e);
+            return false;
+        }
+    }
+
+    private static void put(FxRateTable.Builder builder, FxRate rate) {
+        builder.put(rate.getBaseCurrency(), rate.getQuoteCurrency(), (int) rate.getDate().toEpochDay(),
+                rate.getRate().doubleValue());
+    }
+}
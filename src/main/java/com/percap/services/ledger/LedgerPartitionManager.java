@@ -0,0 +1,141 @@
+package com.percap.services.ledger;
+
+import com.percap.domain.transaction.LedgerMonthArchivedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of {@code transactions} ahead of the calendar and moves expired
+ * months out of the live table.
+ * <p>
+ * Partition DDL lives in the {@code create_transactions_partition} function from the V2 migration.
+ * Archiving detaches a month and moves it to the {@code ledger_archive} schema, so it no longer
+ * slows down index maintenance, vacuum or planning on the live ledger but can still be read or dumped;
+ * a {@link LedgerMonthArchivedEvent} then hands it to the cold tier.
+ */
+@Component
+public class LedgerPartitionManager {
+    static final String ARCHIVE_SCHEMA = "ledger_archive";
+    private static final Logger logger = LoggerFactory.getLogger(LedgerPartitionManager.class);
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final String ATTACHED_SQL =
+            "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+            "WHERE p.relname = 'transactions' AND c.relname LIKE 'transactions\\_p%' ORDER BY c.relname";
+    private static final String DEFAULT_MONTHS_SQL =
+            "SELECT DISTINCT date_trunc('month', transaction_date)::date FROM transactions_default";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int partitionsAheadMonths;
+    private final int archiveAfterMonths;
+
+    public LedgerPartitionManager(DataSource dataSource,
+                                  PlatformTransactionManager transactionManager,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${api.ledger.partitions-ahead-months:3}") int partitionsAheadMonths,
+                                  @Value("${api.ledger.archive-after-months:0}") int archiveAfterMonths) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.partitionsAheadMonths = partitionsAheadMonths;
+        this.archiveAfterMonths = archiveAfterMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${api.ledger.maintenance-cron:0 15 1 * * *}")
+    public void maintain() {
+        try {
+            YearMonth current = YearMonth.now();
+            int created = 0;
+            for (int i = 0; i <= partitionsAheadMonths; i++) {
+                created += ensurePartition(current.plusMonths(i)) ? 1 : 0;
+            }
+            // Rows dated outside every partition (imports of old history) sit in the default partition.
+            for (LocalDate month : jdbcTemplate.queryForList(DEFAULT_MONTHS_SQL, LocalDate.class)) {
+                created += ensurePartition(YearMonth.from(month)) ? 1 : 0;
+            }
+            int archived = 0;
+            if (archiveAfterMonths > 0) {
+                YearMonth cutoff = current.minusMonths(archiveAfterMonths);
+                for (YearMonth month : attachedMonths()) {
+                    if (month.isBefore(cutoff) && archive(month)) {
+                        archived++;
+                    }
+                }
+            }
+            if (created > 0 || archived > 0) {
+                logger.info("Ledger partitions: {} created, {} archived", created, archived);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Ledger partition maintenance failed", e);
+        }
+    }
+
+    /**
+     * Creates the partition for {@code month} if it doesn't exist, adopting any of its rows from the
+     * default partition.
+     *
+     * @return true if a partition was created
+     */
+    public boolean ensurePartition(YearMonth month) {
+        Boolean created = jdbcTemplate.queryForObject("SELECT create_transactions_partition(?)", Boolean.class,
+                Date.valueOf(month.atDay(1)));
+        return Boolean.TRUE.equals(created);
+    }
+
+    public List<YearMonth> attachedMonths() {
+        return jdbcTemplate.queryForList(ATTACHED_SQL, String.class).stream()
+                .map(LedgerPartitionManager::monthOf)
+                .toList();
+    }
+
+    /**
+     * Detaches the partition for {@code month} from the live ledger and moves it to the archive
+     * schema.
+     *
+     * @return false if the month has no attached partition
+     */
+    public boolean archive(YearMonth month) {
+        String name = partitionName(month);
+        if (!attachedMonths().contains(month)) {
+            return false;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION " + name);
+            jdbcTemplate.execute("ALTER TABLE " + name + " SET SCHEMA " + ARCHIVE_SCHEMA);
+        });
+        logger.info("Archived ledger partition {} to {}", name, ARCHIVE_SCHEMA);
+        eventPublisher.publishEvent(new LedgerMonthArchivedEvent(month));
+        return true;
+    }
+
+    static String partitionName(YearMonth month) {
+        return "transactions_p" + month.format(PARTITION_SUFFIX);
+    }
+
+    static YearMonth monthOf(String partitionName) {
+        return YearMonth.parse(partitionName.substring("transactions_p".length()), PARTITION_SUFFIX);
+    }
+}
@@ -0,0 +1,195 @@
+package com.percap.services.ledger;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Per-user views derived from the ledger, built on first use and kept current from commit events.
+ * <p>
+ * A load reads the database while other transactions may be committing changes for the same
+ * user, and a commit's AFTER_COMMIT callback can run before or after that read. Installing such a
+ * load would lose the change or apply it twice. Listeners therefore report each ledger commit
+ * twice: {@link #committing(String)} from BEFORE_COMMIT, which keeps the user marked until the
+ * transaction completes, and {@link #committed(String, Consumer)} from AFTER_COMMIT. A load is
+ * only installed if no commit of the user was in flight when it started and none began while it
+ * ran; otherwise it is retried, and after {@value #MAX_LOAD_ATTEMPTS} attempts served without
+ * being cached.
+ * <p>
+ * Views idle for {@code idleTtlMs} are dropped by {@link #evictIdle()}. At most
+ * {@code maxEntries} are kept; beyond that the least recently used is evicted.
+ */
+public final class LedgerViewCache<V> {
+    static final int MAX_LOAD_ATTEMPTS = 3;
+    private static final int STRIPES = 64;
+
+    private final Function<String, V> loader;
+    private final long idleTtlMs;
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, Entry<V>> entries = new ConcurrentHashMap<>();
+    // Users with a ledger commit between BEFORE_COMMIT and completion, and how many.
+    private final ConcurrentHashMap<String, Integer> committing = new ConcurrentHashMap<>();
+    // Orders a load's start against commits of the same user, so one always sees the other.
+    private final Object[] stripes = new Object[STRIPES];
+
+    public LedgerViewCache(Function<String, V> loader, long idleTtlMs, int maxEntries) {
+        this.loader = loader;
+        this.idleTtlMs = idleTtlMs;
+        this.maxEntries = maxEntries;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    public V get(String userId) {
+        Entry<V> cached = entries.get(userId);
+        if (cached != null && cached.value != null) {
+            cached.lastAccess = System.currentTimeMillis();
+            return cached.value;
+        }
+
+        V loaded = null;
+        for (int attempt = 0; attempt < MAX_LOAD_ATTEMPTS; attempt++) {
+            Entry<V> entry;
+            boolean quiet;
+            synchronized (stripe(userId)) {
+                entry = entries.compute(userId, (key, existing) ->
+                        existing != null && !existing.stale ? existing : new Entry<>());
+                quiet = !committing.containsKey(userId);
+            }
+            if (entry.value != null) {
+                entry.lastAccess = System.currentTimeMillis();
+                return entry.value;
+            }
+            try {
+                loaded = loader.apply(userId);
+            } catch (RuntimeException e) {
+                entries.computeIfPresent(userId, (key, existing) -> existing == entry && existing.value == null ? null : existing);
+                throw e;
+            }
+            if (quiet && entry.install(loaded)) {
+                if (entries.size() > maxEntries) {
+                    evictLeastRecentlyUsed(userId);
+                }
+                return entry.value;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Called from BEFORE_COMMIT of a transaction that changes the user's ledger. Outside a
+     * transaction there is nothing to track.
+     */
+    public void committing(String userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        synchronized (stripe(userId)) {
+            committing.merge(userId, 1, Integer::sum);
+            Entry<V> entry = entries.get(userId);
+            if (entry != null) {
+                entry.markStaleIfLoading();
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                committing.computeIfPresent(userId, (key, count) -> count == 1 ? null : count - 1);
+            }
+        });
+    }
+
+    /**
+     * Called once the change has committed. A loaded view is updated by {@code delta}, or dropped
+     * if {@code delta} is null; a load still in progress is discarded.
+     */
+    public void committed(String userId, Consumer<V> delta) {
+        Entry<V> entry = entries.get(userId);
+        if (entry == null) {
+            // Not loaded; the next load reads the committed change from the database.
+            return;
+        }
+        synchronized (entry) {
+            if (entry.value == null) {
+                entry.stale = true;
+            } else if (delta != null) {
+                delta.accept(entry.value);
+            } else {
+                entries.remove(userId, entry);
+            }
+        }
+    }
+
+    public void evict(String userId) {
+        Entry<V> entry = entries.remove(userId);
+        if (entry != null) {
+            entry.markStaleIfLoading();
+        }
+    }
+
+    public void evictAll() {
+        for (String userId : entries.keySet()) {
+            evict(userId);
+        }
+    }
+
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTtlMs;
+        entries.values().removeIf(entry -> entry.lastAccess < cutoff);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private Object stripe(String userId) {
+        return stripes[(userId.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    private void evictLeastRecentlyUsed(String keep) {
+        String oldest = null;
+        long oldestAccess = Long.MAX_VALUE;
+        for (Map.Entry<String, Entry<V>> entry : entries.entrySet()) {
+            if (!entry.getKey().equals(keep) && entry.getValue().lastAccess < oldestAccess) {
+                oldest = entry.getKey();
+                oldestAccess = entry.getValue().lastAccess;
+            }
+        }
+        if (oldest != null) {
+            evict(oldest);
+        }
+    }
+
+    private static final class Entry<V> {
+        // Null while loading.
+        private volatile V value;
+        private volatile boolean stale;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        /**
+         * Publishes {@code loaded} unless a commit made the load stale; a value another loader
+         * installed first is kept.
+         */
+        private synchronized boolean install(V loaded) {
+            if (stale) {
+                return false;
+            }
+            if (value == null) {
+                value = loaded;
+            }
+            lastAccess = System.currentTimeMillis();
+            return true;
+        }
+
+        private synchronized void markStaleIfLoading() {
+            if (value == null) {
+                stale = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.percap.services.outbox;
+
+import com.percap.domain.outbox.OutboxEvent;
+import com.percap.repositories.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drains the outbox in batches and hands each batch to every {@link OutboxSubscriber}.
+ * <p>
+ * A batch is locked with {@code SKIP LOCKED}, delivered and deleted in one transaction: two
+ * statements per batch however many events it holds, and several nodes can publish concurrently
+ * without handing out the same rows. If a subscriber throws, the transaction rolls back and the
+ * batch is retried on the next poll.
+ */
+@Component
+public class OutboxPublisher {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxPublisher.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxSubscriber> subscribers;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Counter delivered;
+    private final Counter failed;
+    private final Timer batchTimer;
+    private final Timer deliveryLag;
+    private volatile double backlogAgeSeconds;
+
+    public OutboxPublisher(OutboxEventRepository outboxEventRepository,
+                           List<OutboxSubscriber> subscribers,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${api.outbox.batch-size:500}") int batchSize,
+                           @Value("${api.outbox.max-batches-per-poll:20}") int maxBatchesPerPoll) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.subscribers = subscribers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+
+        this.delivered = Counter.builder("outbox.events").tag("outcome", "delivered").register(meterRegistry);
+        this.failed = Counter.builder("outbox.events").tag("outcome", "failed").register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.batch").register(meterRegistry);
+        this.deliveryLag = Timer.builder("outbox.delivery.lag").register(meterRegistry);
+        meterRegistry.gauge("outbox.backlog.age", this, publisher -> publisher.backlogAgeSeconds);
+    }
+
+    @Scheduled(fixedDelayString = "${api.outbox.poll-interval-ms:500}")
+    public void poll() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            for (int i = 0; i < maxBatchesPerPoll; i++) {
+                if (publishBatch() < batchSize) {
+                    break;
+                }
+            }
+            Instant oldest = outboxEventRepository.findOldestCreatedAt();
+            backlogAgeSeconds = oldest != null ? Duration.between(oldest, Instant.now()).toMillis() / 1000.0 : 0;
+        } catch (RuntimeException e) {
+            logger.warn("Outbox publishing failed, will retry: {}", e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Delivers and deletes one batch.
+     *
+     * @return the number of events in the batch
+     */
+    int publishBatch() {
+        Timer.Sample sample = Timer.start();
+        Integer count = transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = outboxEventRepository.lockNextBatch(PageRequest.of(0, batchSize));
+            if (events.isEmpty()) {
+                return 0;
+            }
+            for (OutboxSubscriber subscriber : subscribers) {
+                try {
+                    subscriber.onEvents(events);
+                } catch (RuntimeException e) {
+                    failed.increment(events.size());
+                    logger.error("Outbox subscriber {} failed on {} events; batch will be redelivered",
+                            subscriber.name(), events.size(), e);
+                    throw e;
+                }
+            }
+            outboxEventRepository.deleteAllInBatch(events);
+
+            Instant now = Instant.now();
+            for (OutboxEvent event : events) {
+                deliveryLag.record(Duration.between(event.getCreatedAt(), now));
+            }
+            return events.size();
+        });
+        int published = count != null ? count : 0;
+        if (published > 0) {
+            delivered.increment(published);
+            sample.stop(batchTimer);
+        }
+        return published;
+    }
+}
@@ -0,0 +1,79 @@
+package com.percap.services.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.percap.domain.budget.BudgetChangedEvent;
+import com.percap.domain.outbox.OutboxEvent;
+import com.percap.domain.outbox.OutboxEventType;
+import com.percap.domain.portfolio.PortfolioChangedEvent;
+import com.percap.domain.transaction.LedgerRecategorizedEvent;
+import com.percap.domain.transaction.TransactionChangedEvent;
+import com.percap.domain.user.UserChangedEvent;
+import com.percap.repositories.OutboxEventRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes an outbox row for each domain event just before the publishing transaction commits,
+ * so the row and the change it describes commit or roll back together. Events published outside
+ * a transaction are not recorded, except bulk recategorizations, which commit page by page before
+ * their event is published and are recorded in a transaction of their own.
+ */
+@Component
+public class OutboxRecorder {
+    /**
+     * Identifies this process in the rows it records.
+     */
+    public static final String ORIGIN = UUID.randomUUID().toString();
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxRecorder(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("previous", event.getPrevious());
+        payload.put("current", event.getCurrent());
+        record(OutboxEventType.TRANSACTION_CHANGED, event.getUserId(), payload);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        record(OutboxEventType.PORTFOLIO_CHANGED, event.getUserId(), null);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onLedgerRecategorized(LedgerRecategorizedEvent event) {
+        record(OutboxEventType.LEDGER_RECATEGORIZED, event.getUserId(), null);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onBudgetChanged(BudgetChangedEvent event) {
+        record(OutboxEventType.BUDGET_CHANGED, event.getUserId(), null);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onUserChanged(UserChangedEvent event) {
+        record(OutboxEventType.USER_CHANGED, event.getUserId(), Map.of("login", event.getLogin()));
+    }
+
+    private void record(OutboxEventType type, String userId, Object payload) {
+        try {
+            String json = payload != null ? objectMapper.writeValueAsString(payload) : null;
+            outboxEventRepository.save(new OutboxEvent(null, type, userId, json, Instant.now(), ORIGIN));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type + " outbox payload", e);
+        }
+    }
+}
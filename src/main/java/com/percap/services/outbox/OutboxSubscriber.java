@@ -0,0 +1,20 @@
+package com.percap.services.outbox;
+
+import com.percap.domain.outbox.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Receives outbox events in batches. Delivery is at-least-once: if any subscriber throws, the
+ * whole batch is redelivered to every subscriber, so handlers must be idempotent.
+ */
+public interface OutboxSubscriber {
+
+    String name();
+
+    /**
+     * Called with events in id order, inside the publisher's transaction. Implementations should
+     * ignore event types they don't handle.
+     */
+    void onEvents(List<OutboxEvent> events);
+}
@@ -0,0 +1,343 @@
+package com.percap.services.portfolio;
+
+import com.percap.domain.portfolio.LotMethod;
+import com.percap.domain.portfolio.Trade;
+import com.percap.domain.portfolio.TradeSide;
+import com.percap.domain.user.User;
+import com.percap.dtos.portfolio.OpenLotDTO;
+import com.percap.dtos.portfolio.RealizedGainsDTO;
+import com.percap.dtos.portfolio.RealizedLotDTO;
+import com.percap.dtos.portfolio.RealizedTotalsDTO;
+import com.percap.dtos.portfolio.TradeDTO;
+import com.percap.dtos.portfolio.TradeRequestDTO;
+import com.percap.repositories.TradeRepository;
+import com.percap.services.fx.FxService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Records trades and serves open lots and realized gains from a {@link TaxLotBook}.
+ * <p>
+ * The book is never rebuilt per request. Every read first takes a per-user advisory lock, restores
+ * the user's last snapshot and applies only the trades recorded after it, in windows of
+ * {@code api.cost-basis.replay-window}. Matches are inserted into {@code realized_lots} as they are
+ * produced. A new snapshot is written once {@code api.cost-basis.snapshot-interval} trades have
+ * been applied past the last one. Matches re-derived from trades after the snapshot already exist
+ * and are skipped on conflict.
+ * <p>
+ * A backdated trade, one ordered before trades already applied, drops the snapshot and the
+ * matches of later sells. The next replay then starts from the first trade.
+ * <p>
+ * Lots carry no currency of their own, so every trade of a symbol must be in the currency of the
+ * symbol's first trade; one in another currency is rejected. Realized gains are totalled per
+ * currency.
+ */
+@Service
+public class CostBasisService {
+    private static final Logger logger = LoggerFactory.getLogger(CostBasisService.class);
+    private static final int QUANTITY_SCALE = 6;
+    private static final int REALIZED_BATCH_SIZE = 500;
+
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(hashtext(?))";
+    private static final String SNAPSHOT_SQL =
+            "SELECT through_date, through_trade_id, trades_applied, lots FROM cost_basis_snapshots WHERE user_id = ?";
+    private static final String UPSERT_SNAPSHOT_SQL =
+            "INSERT INTO cost_basis_snapshots (user_id, through_date, through_trade_id, trades_applied, lots, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT (user_id) DO UPDATE SET through_date = EXCLUDED.through_date, " +
+            "through_trade_id = EXCLUDED.through_trade_id, trades_applied = EXCLUDED.trades_applied, " +
+            "lots = EXCLUDED.lots, updated_at = EXCLUDED.updated_at";
+    private static final String SYMBOL_CURRENCY_SQL =
+            "SELECT currency FROM trades WHERE user_id = ? AND symbol = ? LIMIT 1";
+    private static final String DELETE_SNAPSHOT_SQL = "DELETE FROM cost_basis_snapshots WHERE user_id = ?";
+    private static final String TRADE_COLUMNS =
+            "SELECT t.id, t.symbol, t.trade_date, t.side, t.quantity, t.amount, t.lot_method, t.lot_trade_id, " +
+            "l.trade_date FROM trades t LEFT JOIN trades l ON l.id = t.lot_trade_id WHERE t.user_id = ? ";
+    private static final String FIRST_TRADES_SQL = TRADE_COLUMNS + "ORDER BY t.trade_date, t.id LIMIT ?";
+    private static final String NEXT_TRADES_SQL =
+            TRADE_COLUMNS + "AND (t.trade_date, t.id) > (?, ?) ORDER BY t.trade_date, t.id LIMIT ?";
+    private static final String INSERT_REALIZED_SQL =
+            "INSERT INTO realized_lots (user_id, sell_trade_id, lot_trade_id, symbol, acquired_on, sold_on, " +
+            "quantity, cost, proceeds) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+    private static final String DELETE_REALIZED_AFTER_SQL =
+            "DELETE FROM realized_lots WHERE user_id = ? AND (sold_on, sell_trade_id) > (?, ?)";
+    private static final String REALIZED_SQL =
+            "SELECT r.symbol, s.currency, r.sell_trade_id, r.lot_trade_id, r.acquired_on, r.sold_on, r.quantity, " +
+            "r.cost, r.proceeds FROM realized_lots r JOIN trades s ON s.id = r.sell_trade_id " +
+            "WHERE r.user_id = ? AND r.sold_on BETWEEN ? AND ? " +
+            "ORDER BY r.sold_on, r.sell_trade_id, r.acquired_on, r.lot_trade_id";
+
+    private final TradeRepository tradeRepository;
+    private final FxService fxService;
+    private final JdbcTemplate jdbcTemplate;
+    private final int snapshotInterval;
+    private final int replayWindow;
+
+    public CostBasisService(TradeRepository tradeRepository,
+                            FxService fxService,
+                            DataSource dataSource,
+                            @Value("${api.cost-basis.snapshot-interval:1000}") int snapshotInterval,
+                            @Value("${api.cost-basis.replay-window:5000}") int replayWindow) {
+        this.tradeRepository = tradeRepository;
+        this.fxService = fxService;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(replayWindow);
+        this.snapshotInterval = snapshotInterval;
+        this.replayWindow = replayWindow;
+    }
+
+    /**
+     * Records a trade and applies it. A sell the position (or its named lot) cannot cover, or a
+     * trade in a different currency from the symbol's earlier trades, is rejected, and nothing is
+     * recorded. Without a currency, a trade takes the symbol's, or the base currency for a new symbol.
+     */
+    @Transactional
+    public TradeDTO recordTrade(User user, TradeRequestDTO request) {
+        if (request.getQuantity().stripTrailingZeros().scale() > QUANTITY_SCALE) {
+            throw new IllegalArgumentException("Quantity supports at most " + QUANTITY_SCALE + " decimals");
+        }
+        LotMethod lotMethod = null;
+        Long lotTradeId = null;
+        if (request.getSide() == TradeSide.SELL) {
+            lotMethod = request.getLotMethod() != null ? request.getLotMethod() : LotMethod.FIFO;
+            if (lotMethod == LotMethod.SPECIFIC) {
+                lotTradeId = specificLot(user.getId(), request);
+            }
+        } else if (request.getLotMethod() != null || request.getLotTradeId() != null) {
+            throw new IllegalArgumentException("Only sells choose lots");
+        }
+
+        // Taken before the currency check so a concurrent first trade of the symbol cannot differ.
+        lock(user.getId());
+        String currency = symbolCurrency(user.getId(), request.getSymbol());
+        if (currency == null) {
+            currency = request.getCurrency() != null ? request.getCurrency() : fxService.baseCurrency();
+        } else if (request.getCurrency() != null && !request.getCurrency().equals(currency)) {
+            throw new IllegalArgumentException("Trades of " + request.getSymbol() + " are in " + currency);
+        }
+
+        BigDecimal gross = request.getQuantity().multiply(request.getPrice());
+        BigDecimal fees = request.getFees() != null ? request.getFees() : BigDecimal.ZERO;
+        Trade trade = new Trade();
+        trade.setUser(user);
+        trade.setSymbol(request.getSymbol());
+        trade.setDate(request.getDate());
+        trade.setSide(request.getSide());
+        trade.setQuantity(request.getQuantity().setScale(QUANTITY_SCALE, RoundingMode.UNNECESSARY));
+        trade.setAmount((request.getSide() == TradeSide.BUY ? gross.add(fees) : gross.subtract(fees))
+                .setScale(2, RoundingMode.HALF_EVEN));
+        trade.setCurrency(currency);
+        trade.setLotMethod(lotMethod);
+        trade.setLotTradeId(lotTradeId);
+        if (trade.getAmount().signum() < 0) {
+            throw new IllegalArgumentException("Fees exceed the proceeds of the sell");
+        }
+        // Flushed so the replay below, which reads through JDBC on the same connection, sees it.
+        tradeRepository.saveAndFlush(trade);
+
+        Snapshot snapshot = loadSnapshot(user.getId());
+        if (snapshot != null && isBefore(trade.getDate(), trade.getId(), snapshot.throughDate, snapshot.throughTradeId)) {
+            jdbcTemplate.update(DELETE_SNAPSHOT_SQL, user.getId());
+            snapshot = null;
+            logger.debug("Backdated trade {} for user {}; tax lots will be replayed from the first trade",
+                    trade.getId(), user.getId());
+        }
+        jdbcTemplate.update(DELETE_REALIZED_AFTER_SQL, user.getId(), Date.valueOf(trade.getDate()), trade.getId());
+        replay(user.getId(), snapshot);
+        return TradeDTO.from(trade);
+    }
+
+    @Transactional
+    public List<OpenLotDTO> openLots(String userId) {
+        TaxLotBook book = catchUp(userId);
+        List<OpenLotDTO> lots = new ArrayList<>(book.openLots());
+        book.forEachOpenLot((symbol, lotId, acquiredDay, quantity, cost) -> lots.add(new OpenLotDTO(symbol, lotId,
+                LocalDate.ofEpochDay(acquiredDay), BigDecimal.valueOf(quantity, QUANTITY_SCALE), BigDecimal.valueOf(cost, 2))));
+        lots.sort(Comparator.comparing(OpenLotDTO::getSymbol)
+                .thenComparing(OpenLotDTO::getAcquiredOn)
+                .thenComparingLong(OpenLotDTO::getLotTradeId));
+        return lots;
+    }
+
+    /**
+     * Sells closed in {@code year}, lot by lot, with totals per trading currency. A lot held for
+     * more than a year is long-term.
+     */
+    @Transactional
+    public RealizedGainsDTO realizedGains(String userId, int year) {
+        catchUp(userId);
+        List<RealizedLotDTO> lots = jdbcTemplate.query(REALIZED_SQL, (rs, rowNum) -> {
+            LocalDate acquiredOn = rs.getDate(5).toLocalDate();
+            LocalDate soldOn = rs.getDate(6).toLocalDate();
+            BigDecimal cost = rs.getBigDecimal(8);
+            BigDecimal proceeds = rs.getBigDecimal(9);
+            return new RealizedLotDTO(rs.getString(1), rs.getString(2), rs.getLong(3), rs.getLong(4), acquiredOn,
+                    soldOn, rs.getBigDecimal(7), cost, proceeds, proceeds.subtract(cost),
+                    soldOn.isAfter(acquiredOn.plusYears(1)));
+        }, userId, Date.valueOf(LocalDate.of(year, 1, 1)), Date.valueOf(LocalDate.of(year, 12, 31)));
+
+        Map<String, RealizedTotalsDTO> totals = new TreeMap<>();
+        for (RealizedLotDTO lot : lots) {
+            RealizedTotalsDTO total = totals.computeIfAbsent(lot.getCurrency(), currency ->
+                    new RealizedTotalsDTO(currency, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO));
+            total.setProceeds(total.getProceeds().add(lot.getProceeds()));
+            total.setCost(total.getCost().add(lot.getCost()));
+            if (lot.isLongTerm()) {
+                total.setLongTermGain(total.getLongTermGain().add(lot.getGain()));
+            } else {
+                total.setShortTermGain(total.getShortTermGain().add(lot.getGain()));
+            }
+        }
+        return new RealizedGainsDTO(year, new ArrayList<>(totals.values()), lots);
+    }
+
+    private TaxLotBook catchUp(String userId) {
+        lock(userId);
+        return replay(userId, loadSnapshot(userId));
+    }
+
+    /**
+     * Applies every trade after the snapshot (all trades without one) and writes a new snapshot
+     * if enough trades were applied. Must run under the user's lock.
+     */
+    private TaxLotBook replay(String userId, Snapshot snapshot) {
+        TaxLotBook book = snapshot != null ? snapshot.book : new TaxLotBook();
+        Replay replay = snapshot != null
+                ? new Replay(userId, book, snapshot.throughDate, snapshot.throughTradeId)
+                : new Replay(userId, book, null, 0);
+        int rows;
+        do {
+            rows = replay.nextWindow();
+        } while (rows == replayWindow);
+
+        long sinceSnapshot = replay.applied;
+        long total = (snapshot != null ? snapshot.tradesApplied : 0) + sinceSnapshot;
+        if (sinceSnapshot >= snapshotInterval) {
+            jdbcTemplate.update(UPSERT_SNAPSHOT_SQL, userId, Date.valueOf(replay.lastDate), replay.lastTradeId, total,
+                    book.toBytes(), Timestamp.from(Instant.now()));
+            logger.debug("Tax lot snapshot for user {} at trade {} ({} trades, {} open lots)",
+                    userId, replay.lastTradeId, total, book.openLots());
+        }
+        return book;
+    }
+
+    private Long specificLot(String userId, TradeRequestDTO request) {
+        if (request.getLotTradeId() == null) {
+            throw new IllegalArgumentException("A SPECIFIC sell must name the lot's buy trade");
+        }
+        Trade lot = tradeRepository.findByIdAndUserId(request.getLotTradeId(), userId)
+                .orElseThrow(() -> new IllegalArgumentException("Lot trade not found"));
+        if (lot.getSide() != TradeSide.BUY || !lot.getSymbol().equals(request.getSymbol())
+                || lot.getDate().isAfter(request.getDate())) {
+            throw new IllegalArgumentException("Lot trade must be an earlier buy of the same symbol");
+        }
+        return lot.getId();
+    }
+
+    private String symbolCurrency(String userId, String symbol) {
+        List<String> currencies = jdbcTemplate.queryForList(SYMBOL_CURRENCY_SQL, String.class, userId, symbol);
+        return currencies.isEmpty() ? null : currencies.get(0);
+    }
+
+    private void lock(String userId) {
+        jdbcTemplate.queryForList(LOCK_SQL, "cost-basis:" + userId);
+    }
+
+    private Snapshot loadSnapshot(String userId) {
+        List<Snapshot> snapshots = jdbcTemplate.query(SNAPSHOT_SQL, (rs, rowNum) -> {
+            try {
+                return new Snapshot(rs.getDate(1).toLocalDate(), rs.getLong(2), rs.getLong(3),
+                        TaxLotBook.fromBytes(rs.getBytes(4)));
+            } catch (IllegalStateException e) {
+                logger.warn("Ignoring unreadable tax lot snapshot for user {}: {}", userId, e.getMessage());
+                return null;
+            }
+        }, userId);
+        return snapshots.isEmpty() ? null : snapshots.get(0);
+    }
+
+    private static boolean isBefore(LocalDate date, long tradeId, LocalDate otherDate, long otherTradeId) {
+        return date.isBefore(otherDate) || (date.equals(otherDate) && tradeId < otherTradeId);
+    }
+
+    private record Snapshot(LocalDate throughDate, long throughTradeId, long tradesApplied, TaxLotBook book) {
+    }
+
+    /**
+     * Keyset walk over the user's trades, feeding the book and flushing matches between windows
+     * so neither trades nor matches accumulate in memory.
+     */
+    private final class Replay {
+        private final String userId;
+        private final TaxLotBook book;
+        private final List<Object[]> realized = new ArrayList<>();
+        private LocalDate lastDate;
+        private long lastTradeId;
+        private long applied;
+
+        private Replay(String userId, TaxLotBook book, LocalDate lastDate, long lastTradeId) {
+            this.userId = userId;
+            this.book = book;
+            this.lastDate = lastDate;
+            this.lastTradeId = lastTradeId;
+        }
+
+        private int nextWindow() {
+            int[] rows = new int[1];
+            Object[] args = lastDate == null
+                    ? new Object[]{userId, replayWindow}
+                    : new Object[]{userId, Date.valueOf(lastDate), lastTradeId, replayWindow};
+            jdbcTemplate.query(lastDate == null ? FIRST_TRADES_SQL : NEXT_TRADES_SQL, rs -> {
+                long tradeId = rs.getLong(1);
+                String symbol = rs.getString(2);
+                LocalDate date = rs.getDate(3).toLocalDate();
+                long quantity = rs.getBigDecimal(5).movePointRight(QUANTITY_SCALE).longValueExact();
+                long amount = rs.getBigDecimal(6).movePointRight(2).longValueExact();
+                int day = (int) date.toEpochDay();
+                if (TradeSide.valueOf(rs.getString(4)) == TradeSide.BUY) {
+                    book.buy(symbol, tradeId, day, quantity, amount);
+                } else {
+                    Date lotDate = rs.getDate(9);
+                    book.sell(symbol, tradeId, day, quantity, amount, LotMethod.valueOf(rs.getString(7)),
+                            lotDate != null ? (int) lotDate.toLocalDate().toEpochDay() : 0, rs.getLong(8), this::matched);
+                }
+                lastDate = date;
+                lastTradeId = tradeId;
+                applied++;
+                rows[0]++;
+            }, args);
+
+            if (!realized.isEmpty()) {
+                for (int from = 0; from < realized.size(); from += REALIZED_BATCH_SIZE) {
+                    jdbcTemplate.batchUpdate(INSERT_REALIZED_SQL,
+                            realized.subList(from, Math.min(realized.size(), from + REALIZED_BATCH_SIZE)));
+                }
+                realized.clear();
+            }
+            return rows[0];
+        }
+
+        private void matched(String symbol, long sellId, long lotId, int acquiredDay, int soldDay,
+                             long quantity, long cost, long proceeds) {
+            realized.add(new Object[]{userId, sellId, lotId, symbol, Date.valueOf(LocalDate.ofEpochDay(acquiredDay)),
+                    Date.valueOf(LocalDate.ofEpochDay(soldDay)), BigDecimal.valueOf(quantity, QUANTITY_SCALE),
+                    BigDecimal.valueOf(cost, 2), BigDecimal.valueOf(proceeds, 2)});
+        }
+    }
+}
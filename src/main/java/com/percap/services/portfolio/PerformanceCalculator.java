@@ -0,0 +1,111 @@
+package com.percap.services.portfolio;
+
+/**
+ * Portfolio return calculations over dense daily series.
+ * <p>
+ * Both methods take the same two arrays, indexed by day: {@code values[i]} is the end-of-day
+ * market value including any cash flow made that day, and {@code flows[i]} is the external cash
+ * flow of that day (positive for contributions). Nothing is allocated, including inside the IRR
+ * solver, so callers can run these over multi-decade series on every chart request.
+ */
+public final class PerformanceCalculator {
+    private static final double DAYS_PER_YEAR = 365.0;
+    private static final int MAX_NEWTON_ITERATIONS = 50;
+    private static final int MAX_BISECTION_ITERATIONS = 200;
+    private static final double RATE_TOLERANCE = 1e-10;
+    private static final double MIN_RATE = -0.9999;
+    private static final double MAX_RATE = 1000;
+
+    private PerformanceCalculator() {
+    }
+
+    /**
+     * Cumulative time-weighted return over days {@code from..to}: the daily sub-period returns,
+     * net of that day's flow, chained together. Days following a zero value are skipped.
+     */
+    public static double timeWeightedReturn(double[] values, double[] flows, int from, int to) {
+        double growth = 1;
+        for (int i = from + 1; i <= to; i++) {
+            double previous = values[i - 1];
+            if (previous > 0) {
+                growth *= (values[i] - flows[i]) / previous;
+            }
+        }
+        return growth - 1;
+    }
+
+    public static double annualize(double cumulativeReturn, int days) {
+        if (days <= 0) {
+            return 0;
+        }
+        return Math.pow(1 + cumulativeReturn, DAYS_PER_YEAR / days) - 1;
+    }
+
+    /**
+     * Annualized money-weighted return (IRR) over days {@code from..to}: the starting value is
+     * treated as invested on day {@code from}, every later flow as invested on its day, and the
+     * ending value as withdrawn on day {@code to}. Solved with Newton's method, falling back to
+     * bisection when Newton leaves the valid range. Returns NaN when no rate exists.
+     */
+    public static double internalRateOfReturn(double[] values, double[] flows, int from, int to) {
+        double rate = 0.1;
+        for (int iteration = 0; iteration < MAX_NEWTON_ITERATIONS; iteration++) {
+            double step = Math.pow(1 + rate, -1 / DAYS_PER_YEAR);
+            double discount = 1;
+            double npv = -values[from];
+            double derivative = 0;
+            for (int i = from + 1; i <= to; i++) {
+                discount *= step;
+                double cashFlow = i == to ? values[to] - flows[to] : -flows[i];
+                double years = (i - from) / DAYS_PER_YEAR;
+                npv += cashFlow * discount;
+                derivative -= years * cashFlow * discount;
+            }
+            derivative /= 1 + rate;
+            if (derivative == 0) {
+                break;
+            }
+            double next = rate - npv / derivative;
+            if (!Double.isFinite(next) || next <= MIN_RATE || next > MAX_RATE) {
+                break;
+            }
+            if (Math.abs(next - rate) < RATE_TOLERANCE) {
+                return next;
+            }
+            rate = next;
+        }
+        return bisect(values, flows, from, to);
+    }
+
+    private static double bisect(double[] values, double[] flows, int from, int to) {
+        double low = MIN_RATE;
+        double high = MAX_RATE;
+        double npvLow = netPresentValue(values, flows, from, to, low);
+        double npvHigh = netPresentValue(values, flows, from, to, high);
+        if (Double.isNaN(npvLow) || Double.isNaN(npvHigh) || Math.signum(npvLow) == Math.signum(npvHigh)) {
+            return Double.NaN;
+        }
+        for (int iteration = 0; iteration < MAX_BISECTION_ITERATIONS && high - low > RATE_TOLERANCE; iteration++) {
+            double mid = (low + high) / 2;
+            double npvMid = netPresentValue(values, flows, from, to, mid);
+            if (Math.signum(npvMid) == Math.signum(npvLow)) {
+                low = mid;
+                npvLow = npvMid;
+            } else {
+                high = mid;
+            }
+        }
+        return (low + high) / 2;
+    }
+
+    private static double netPresentValue(double[] values, double[] flows, int from, int to, double rate) {
+        double step = Math.pow(1 + rate, -1 / DAYS_PER_YEAR);
+        double discount = 1;
+        double npv = -values[from];
+        for (int i = from + 1; i <= to; i++) {
+            discount *= step;
+            npv += (i == to ? values[to] - flows[to] : -flows[i]) * discount;
+        }
+        return npv;
+    }
+}
@@ -0,0 +1,136 @@
+package com.percap.services.portfolio;
+
+import com.percap.domain.fx.FxRatesChangedEvent;
+import com.percap.domain.outbox.OutboxEventType;
+import com.percap.domain.outbox.RemoteChangeEvent;
+import com.percap.domain.portfolio.CashFlow;
+import com.percap.domain.portfolio.PortfolioChangedEvent;
+import com.percap.domain.portfolio.PortfolioValuation;
+import com.percap.dtos.portfolio.PerformanceDTO;
+import com.percap.repositories.CashFlowRepository;
+import com.percap.repositories.PortfolioValuationRepository;
+import com.percap.services.fx.FxRateTable;
+import com.percap.services.fx.FxService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves time- and money-weighted returns for arbitrary periods.
+ * <p>
+ * Valuations and cash flows are laid out as dense daily {@code double[]} series (valuations are
+ * carried forward over days without one), converted to the base currency at each day's rate
+ * and handed to {@link PerformanceCalculator}. Results
+ * are cached per user and period until that user's portfolio (in any process) or the FX table
+ * changes.
+ * <p>
+ * The series cost 16 bytes per day of the period, so periods are capped at
+ * {@code api.performance.max-period-years}.
+ */
+@Service
+public class PerformanceService {
+    private static final int MAX_CACHED_PERIODS_PER_USER = 64;
+
+    private final PortfolioValuationRepository portfolioValuationRepository;
+    private final CashFlowRepository cashFlowRepository;
+    private final FxService fxService;
+    private final long maxPeriodDays;
+    private final ConcurrentHashMap<String, Map<String, PerformanceDTO>> cache = new ConcurrentHashMap<>();
+
+    public PerformanceService(PortfolioValuationRepository portfolioValuationRepository, CashFlowRepository cashFlowRepository,
+                              FxService fxService,
+                              @Value("${api.performance.max-period-years:100}") int maxPeriodYears) {
+        this.portfolioValuationRepository = portfolioValuationRepository;
+        this.cashFlowRepository = cashFlowRepository;
+        this.fxService = fxService;
+        this.maxPeriodDays = maxPeriodYears * 366L;
+    }
+
+    @Transactional(readOnly = true)
+    public PerformanceDTO getPerformance(String userId, LocalDate from, LocalDate to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Period start must be before its end");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > maxPeriodDays) {
+            throw new IllegalArgumentException("Period must not exceed " + maxPeriodDays / 366 + " years");
+        }
+        String period = from + "/" + to;
+        Map<String, PerformanceDTO> userCache = cache.computeIfAbsent(userId, key -> new ConcurrentHashMap<>());
+        PerformanceDTO cached = userCache.get(period);
+        if (cached != null) {
+            return cached;
+        }
+
+        PerformanceDTO computed = compute(userId, from, to);
+        if (userCache.size() >= MAX_CACHED_PERIODS_PER_USER) {
+            userCache.clear();
+        }
+        userCache.put(period, computed);
+        return computed;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        cache.remove(event.getUserId());
+    }
+
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        if (event.getType() == OutboxEventType.PORTFOLIO_CHANGED) {
+            cache.remove(event.getUserId());
+        }
+    }
+
+    @EventListener
+    public void onFxRatesChanged(FxRatesChangedEvent event) {
+        cache.clear();
+    }
+
+    private PerformanceDTO compute(String userId, LocalDate from, LocalDate to) {
+        int days = (int) ChronoUnit.DAYS.between(from, to);
+        double[] values = new double[days + 1];
+        double[] flows = new double[days + 1];
+
+        int base = fxService.baseCode();
+        int firstDay = (int) from.toEpochDay();
+        PortfolioValuation opening = portfolioValuationRepository.findTopByUserIdAndDateLessThanOrderByDateDesc(userId, from)
+                .orElse(null);
+        double carried = opening != null ? opening.getMarketValue().doubleValue() : 0.0;
+        int carriedCurrency = opening != null ? FxRateTable.code(opening.getCurrency()) : base;
+        List<PortfolioValuation> valuations = portfolioValuationRepository.findByUserIdAndDateBetweenOrderByDateAsc(userId, from, to);
+        int next = 0;
+        for (int day = 0; day <= days; day++) {
+            LocalDate date = from.plusDays(day);
+            while (next < valuations.size() && !valuations.get(next).getDate().isAfter(date)) {
+                PortfolioValuation valuation = valuations.get(next++);
+                carried = valuation.getMarketValue().doubleValue();
+                carriedCurrency = FxRateTable.code(valuation.getCurrency());
+            }
+            values[day] = carried * rate(carriedCurrency, base, firstDay + day);
+        }
+        for (CashFlow cashFlow : cashFlowRepository.findByUserIdAndDateBetweenOrderByDateAsc(userId, from, to)) {
+            int day = (int) ChronoUnit.DAYS.between(from, cashFlow.getDate());
+            flows[day] += cashFlow.getAmount().doubleValue() * rate(FxRateTable.code(cashFlow.getCurrency()), base, firstDay + day);
+        }
+
+        double twr = PerformanceCalculator.timeWeightedReturn(values, flows, 0, days);
+        double irr = PerformanceCalculator.internalRateOfReturn(values, flows, 0, days);
+        return new PerformanceDTO(from, to, twr, PerformanceCalculator.annualize(twr, days), Double.isNaN(irr) ? null : irr);
+    }
+
+    private double rate(int from, int to, int epochDay) {
+        double rate = fxService.rate(from, to, epochDay);
+        if (Double.isNaN(rate)) {
+            throw new IllegalStateException("No FX rate available for " + LocalDate.ofEpochDay(epochDay));
+        }
+        return rate;
+    }
+}
@@ -0,0 +1,56 @@
+package com.percap.services.portfolio;
+
+import com.percap.domain.portfolio.CashFlow;
+import com.percap.domain.portfolio.PortfolioChangedEvent;
+import com.percap.domain.portfolio.PortfolioValuation;
+import com.percap.domain.user.User;
+import com.percap.dtos.portfolio.CashFlowRequestDTO;
+import com.percap.dtos.portfolio.ValuationRequestDTO;
+import com.percap.repositories.CashFlowRepository;
+import com.percap.repositories.PortfolioValuationRepository;
+import com.percap.services.fx.FxService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class PortfolioService {
+    private final PortfolioValuationRepository portfolioValuationRepository;
+    private final CashFlowRepository cashFlowRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FxService fxService;
+
+    public PortfolioService(PortfolioValuationRepository portfolioValuationRepository, CashFlowRepository cashFlowRepository,
+                            ApplicationEventPublisher eventPublisher, FxService fxService) {
+        this.portfolioValuationRepository = portfolioValuationRepository;
+        this.cashFlowRepository = cashFlowRepository;
+        this.eventPublisher = eventPublisher;
+        this.fxService = fxService;
+    }
+
+    @Transactional
+    public void recordValuation(User user, ValuationRequestDTO request) {
+        PortfolioValuation valuation = portfolioValuationRepository.findByUserIdAndDate(user.getId(), request.getDate())
+                .orElseGet(() -> {
+                    PortfolioValuation created = new PortfolioValuation();
+                    created.setUser(user);
+                    created.setDate(request.getDate());
+                    return created;
+                });
+        valuation.setMarketValue(request.getMarketValue());
+        valuation.setCurrency(fxService.currencyFor(request.getCurrency(), request.getDate()));
+        portfolioValuationRepository.save(valuation);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(user.getId()));
+    }
+
+    @Transactional
+    public void recordCashFlow(User user, CashFlowRequestDTO request) {
+        CashFlow cashFlow = new CashFlow();
+        cashFlow.setUser(user);
+        cashFlow.setDate(request.getDate());
+        cashFlow.setAmount(request.getAmount());
+        cashFlow.setCurrency(fxService.currencyFor(request.getCurrency(), request.getDate()));
+        cashFlowRepository.save(cashFlow);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(user.getId()));
+    }
+}
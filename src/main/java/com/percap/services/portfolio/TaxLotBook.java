@@ -0,0 +1,317 @@
+package com.percap.services.portfolio;
+
+import com.percap.domain.portfolio.LotMethod;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Open tax lots of one user, per security, with sells matched FIFO, LIFO or by specific lot.
+ * <p>
+ * Quantities are whole micro-units (six decimals) and money whole cents, so matching is exact.
+ * Each security's lots sit in parallel primitive arrays in (acquired day, trade id) order, which
+ * is the order trades are applied in: FIFO consumes from the head, LIFO from the tail, and a
+ * specific lot is found by binary search. A lot emptied in the middle stays as a zero-quantity
+ * hole until the arrays are next compacted.
+ * <p>
+ * A partly sold lot keeps its cost pro rata, and a sell spread over several lots splits its
+ * proceeds the same way; the last piece takes the remainder, so cents are never lost.
+ * <p>
+ * {@link #toBytes()} and {@link #fromBytes(byte[])} save and restore the book, so a replay can
+ * start from a snapshot instead of the first trade. Not thread-safe.
+ */
+public final class TaxLotBook {
+    private static final int MAGIC = 0x50544c42;
+    private static final int VERSION = 1;
+    private static final int LOT_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES + Long.BYTES;
+
+    /** Receives every (sell, lot) pair a sell is matched against. */
+    @FunctionalInterface
+    public interface MatchSink {
+        void matched(String symbol, long sellId, long lotId, int acquiredDay, int soldDay,
+                     long quantity, long cost, long proceeds);
+    }
+
+    @FunctionalInterface
+    public interface LotVisitor {
+        void lot(String symbol, long lotId, int acquiredDay, long quantity, long cost);
+    }
+
+    private final HashMap<String, LotQueue> queues = new HashMap<>();
+
+    /**
+     * Opens a lot. Lots of a security must be added in (day, trade id) order.
+     */
+    public void buy(String symbol, long tradeId, int day, long quantity, long cost) {
+        if (quantity <= 0 || cost < 0) {
+            throw new IllegalArgumentException("Buy " + tradeId + " must have a positive quantity and no negative cost");
+        }
+        queues.computeIfAbsent(symbol, key -> new LotQueue()).append(tradeId, day, quantity, cost);
+    }
+
+    /**
+     * Closes {@code quantity} of the security's open lots. For {@link LotMethod#SPECIFIC} the lot is
+     * the one opened by trade {@code lotId} on {@code lotDay}; both are ignored otherwise.
+     *
+     * @throws IllegalArgumentException if the position, or the named lot, holds less than {@code quantity}
+     */
+    public void sell(String symbol, long tradeId, int day, long quantity, long proceeds,
+                     LotMethod method, int lotDay, long lotId, MatchSink sink) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Sell " + tradeId + " must have a positive quantity");
+        }
+        LotQueue queue = queues.get(symbol);
+        if (queue == null || queue.open < quantity) {
+            throw new IllegalArgumentException("Sell " + tradeId + " of " + symbol + " exceeds the open position");
+        }
+
+        long quantityLeft = quantity;
+        long proceedsLeft = proceeds;
+        while (quantityLeft > 0) {
+            int lot = switch (method) {
+                case FIFO -> queue.first();
+                case LIFO -> queue.last();
+                case SPECIFIC -> {
+                    int found = queue.find(lotDay, lotId);
+                    if (found < 0 || queue.quantities[found] < quantity) {
+                        throw new IllegalArgumentException("Lot " + lotId + " of " + symbol + " holds less than sell " + tradeId);
+                    }
+                    yield found;
+                }
+            };
+            long lotQuantity = queue.quantities[lot];
+            long taken = Math.min(quantityLeft, lotQuantity);
+            long cost = taken == lotQuantity ? queue.costs[lot] : mulDiv(queue.costs[lot], taken, lotQuantity);
+            long share = taken == quantityLeft ? proceedsLeft : mulDiv(proceedsLeft, taken, quantityLeft);
+
+            queue.quantities[lot] -= taken;
+            queue.costs[lot] -= cost;
+            queue.open -= taken;
+            quantityLeft -= taken;
+            proceedsLeft -= share;
+            sink.matched(symbol, tradeId, queue.ids[lot], queue.days[lot], day, taken, cost, share);
+        }
+        if (queue.open == 0) {
+            queues.remove(symbol);
+        }
+    }
+
+    public long openQuantity(String symbol) {
+        LotQueue queue = queues.get(symbol);
+        return queue != null ? queue.open : 0;
+    }
+
+    public int openLots() {
+        int lots = 0;
+        for (LotQueue queue : queues.values()) {
+            lots += queue.liveLots();
+        }
+        return lots;
+    }
+
+    public void forEachOpenLot(LotVisitor visitor) {
+        for (Map.Entry<String, LotQueue> entry : queues.entrySet()) {
+            LotQueue queue = entry.getValue();
+            for (int i = queue.head; i < queue.tail; i++) {
+                if (queue.quantities[i] > 0) {
+                    visitor.lot(entry.getKey(), queue.ids[i], queue.days[i], queue.quantities[i], queue.costs[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Serializes the open lots; holes are dropped.
+     */
+    public byte[] toBytes() {
+        int size = Integer.BYTES * 3;
+        for (Map.Entry<String, LotQueue> entry : queues.entrySet()) {
+            size += Short.BYTES + entry.getKey().getBytes(StandardCharsets.UTF_8).length + Integer.BYTES
+                    + entry.getValue().liveLots() * LOT_BYTES;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(queues.size());
+        for (Map.Entry<String, LotQueue> entry : queues.entrySet()) {
+            byte[] symbol = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            LotQueue queue = entry.getValue();
+            buffer.putShort((short) symbol.length).put(symbol).putInt(queue.liveLots());
+            for (int i = queue.head; i < queue.tail; i++) {
+                if (queue.quantities[i] > 0) {
+                    buffer.putLong(queue.ids[i]).putInt(queue.days[i]).putLong(queue.quantities[i]).putLong(queue.costs[i]);
+                }
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * @throws IllegalStateException if the bytes are not a snapshot this version can read
+     */
+    public static TaxLotBook fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        TaxLotBook book = new TaxLotBook();
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IllegalStateException("Unsupported tax lot snapshot");
+            }
+            int securities = buffer.getInt();
+            for (int s = 0; s < securities; s++) {
+                byte[] symbol = new byte[buffer.getShort()];
+                buffer.get(symbol);
+                int lots = buffer.getInt();
+                LotQueue queue = new LotQueue(Math.max(lots, 8));
+                for (int i = 0; i < lots; i++) {
+                    queue.append(buffer.getLong(), buffer.getInt(), buffer.getLong(), buffer.getLong());
+                }
+                book.queues.put(new String(symbol, StandardCharsets.UTF_8), queue);
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+            throw new IllegalStateException("Truncated or corrupt tax lot snapshot", e);
+        }
+        return book;
+    }
+
+    /**
+     * {@code value * numerator / denominator} rounded half-even, without overflow for any
+     * quantities and amounts that fit the database columns.
+     */
+    static long mulDiv(long value, long numerator, long denominator) {
+        long product = value * numerator;
+        if (Math.multiplyHigh(value, numerator) != (product >> 63)) {
+            return BigDecimal.valueOf(value).multiply(BigDecimal.valueOf(numerator))
+                    .divide(BigDecimal.valueOf(denominator), 0, RoundingMode.HALF_EVEN)
+                    .longValueExact();
+        }
+        long quotient = Math.floorDiv(product, denominator);
+        long remainder = Math.floorMod(product, denominator);
+        long rest = denominator - remainder;
+        if (remainder > rest || (remainder == rest && (quotient & 1) != 0)) {
+            quotient++;
+        }
+        return quotient;
+    }
+
+    private static final class LotQueue {
+        private long[] ids;
+        private int[] days;
+        private long[] quantities;
+        private long[] costs;
+        // Lots live in [head, tail); emptied lots inside that range have quantity 0.
+        private int head;
+        private int tail;
+        private long open;
+
+        private LotQueue() {
+            this(8);
+        }
+
+        private LotQueue(int capacity) {
+            ids = new long[capacity];
+            days = new int[capacity];
+            quantities = new long[capacity];
+            costs = new long[capacity];
+        }
+
+        private void append(long id, int day, long quantity, long cost) {
+            if (quantity <= 0) {
+                throw new IllegalArgumentException("Lot " + id + " has no quantity");
+            }
+            if (tail > head && compare(day, id, days[tail - 1], ids[tail - 1]) <= 0) {
+                throw new IllegalArgumentException("Lot " + id + " is out of (day, id) order");
+            }
+            if (tail == ids.length) {
+                resize();
+            }
+            ids[tail] = id;
+            days[tail] = day;
+            quantities[tail] = quantity;
+            costs[tail] = cost;
+            tail++;
+            open += quantity;
+        }
+
+        private int first() {
+            while (quantities[head] == 0) {
+                head++;
+            }
+            return head;
+        }
+
+        private int last() {
+            while (quantities[tail - 1] == 0) {
+                tail--;
+            }
+            return tail - 1;
+        }
+
+        private int find(int day, long id) {
+            int low = head;
+            int high = tail - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int order = compare(days[mid], ids[mid], day, id);
+                if (order < 0) {
+                    low = mid + 1;
+                } else if (order > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+
+        private int liveLots() {
+            int live = 0;
+            for (int i = head; i < tail; i++) {
+                if (quantities[i] > 0) {
+                    live++;
+                }
+            }
+            return live;
+        }
+
+        /**
+         * Drops holes and moves live lots to the front, doubling the arrays if they stay over
+         * half full.
+         */
+        private void resize() {
+            int live = liveLots();
+            int capacity = live * 2 > ids.length ? ids.length * 2 : ids.length;
+            long[] newIds = capacity == ids.length ? ids : new long[capacity];
+            int[] newDays = capacity == ids.length ? days : new int[capacity];
+            long[] newQuantities = capacity == ids.length ? quantities : new long[capacity];
+            long[] newCosts = capacity == ids.length ? costs : new long[capacity];
+            int next = 0;
+            for (int i = head; i < tail; i++) {
+                if (quantities[i] > 0) {
+                    newIds[next] = ids[i];
+                    newDays[next] = days[i];
+                    newQuantities[next] = quantities[i];
+                    newCosts[next] = costs[i];
+                    next++;
+                }
+            }
+            if (capacity == ids.length) {
+                // Compacted in place: clear the tail so stale lots are never read as live.
+                Arrays.fill(quantities, next, tail, 0);
+            }
+            ids = newIds;
+            days = newDays;
+            quantities = newQuantities;
+            costs = newCosts;
+            head = 0;
+            tail = next;
+        }
+
+        private static int compare(int day, long id, int otherDay, long otherId) {
+            return day != otherDay ? Integer.compare(day, otherDay) : Long.compare(id, otherId);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.percap.services.pricing;
+
+import com.percap.dtos.pricing.PriceDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * Owns the live price table and the feed thread that fills it.
+ * <p>
+ * Until a real vendor feed is wired in, the feed is a {@link ReplayQuoteSource} reading either
+ * {@code api.prices.replay-file} or {@code api.prices.replay-socket} ({@code host:port}); with
+ * neither set the table is only written through {@link #sink()}. Valuation code reads prices via
+ * {@link #table()} and {@link #symbols()} without going through this service's allocation-heavy
+ * DTO path.
+ */
+@Service
+public class PriceService implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(PriceService.class);
+
+    private final SymbolIndex symbols;
+    private final PriceTable table;
+    private final String replayFile;
+    private final String replaySocket;
+    private volatile Thread feedThread;
+
+    public PriceService(@Value("${api.prices.capacity:16384}") int capacity,
+                        @Value("${api.prices.replay-file:}") String replayFile,
+                        @Value("${api.prices.replay-socket:}") String replaySocket) {
+        this.symbols = new SymbolIndex(capacity);
+        this.table = new PriceTable(capacity);
+        this.replayFile = replayFile;
+        this.replaySocket = replaySocket;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startFeed() {
+        ReplayQuoteSource source = replaySource();
+        if (source == null) {
+            return;
+        }
+        Thread thread = new Thread(() -> runFeed(source), "price-feed");
+        thread.setDaemon(true);
+        feedThread = thread;
+        thread.start();
+    }
+
+    public SymbolIndex symbols() {
+        return symbols;
+    }
+
+    public PriceTable table() {
+        return table;
+    }
+
+    public QuoteSink sink() {
+        return table;
+    }
+
+    public PriceDTO latest(String symbol) {
+        int index = symbols.indexOf(symbol.toUpperCase());
+        PriceTable.Quote quote = new PriceTable.Quote();
+        if (index == SymbolIndex.NOT_FOUND || !table.read(index, quote)) {
+            throw new IllegalArgumentException("No price for symbol: " + symbol);
+        }
+        return new PriceDTO(symbols.symbol(index), BigDecimal.valueOf(quote.priceMicros(), 6),
+                Instant.ofEpochMilli(quote.epochMillis()), quote.updates());
+    }
+
+    @Override
+    public void destroy() {
+        Thread thread = feedThread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private ReplayQuoteSource replaySource() {
+        if (!replayFile.isBlank()) {
+            return ReplayQuoteSource.ofFile(Path.of(replayFile));
+        }
+        if (!replaySocket.isBlank()) {
+            int colon = replaySocket.lastIndexOf(':');
+            return ReplayQuoteSource.ofSocket(replaySocket.substring(0, colon),
+                    Integer.parseInt(replaySocket.substring(colon + 1)));
+        }
+        return null;
+    }
+
+    private void runFeed(ReplayQuoteSource source) {
+        try {
+            long delivered = source.replay(symbols, table);
+            logger.info("Price replay finished: {} quotes applied, {} dropped", delivered, source.dropped());
+        } catch (IOException e) {
+            logger.error("Price replay failed", e);
+        }
+    }
+}
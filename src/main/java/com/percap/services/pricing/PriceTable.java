@@ -0,0 +1,153 @@
+package com.percap.services.pricing;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Fixed-capacity table of the latest price per symbol index.
+ * <p>
+ * Each symbol owns one 64-byte stripe of an {@link AtomicLongArray} guarded by a sequence
+ * counter: a writer moves the counter to odd, stores price and timestamp, then moves it back to
+ * even, and readers retry while the counter is odd or has changed. The data cells are plain
+ * accesses, so a store-store fence keeps the writer's stores after the odd counter and an acquire
+ * fence keeps the reader's loads before its second counter read. Writers claim the counter with
+ * a CAS, so the rare case of two feeds quoting the same symbol at once spins briefly instead of
+ * tearing the entry. Later quotes simply overwrite
+ * earlier ones, so a burst for the same symbol conflates into its last value, and quotes older
+ * than the stored one are dropped. Neither path allocates. Symbols updated since the last
+ * {@link #drainChanged(IntConsumer)} are tracked in a bitset so consumers only revisit what moved.
+ */
+public final class PriceTable implements QuoteSink {
+    // One cache line per symbol so writers on neighbouring symbols do not contend.
+    private static final int STRIDE = 8;
+    private static final int SEQUENCE = 0;
+    private static final int PRICE = 1;
+    private static final int TIMESTAMP = 2;
+    private static final int UPDATES = 3;
+
+    private final int capacity;
+    private final AtomicLongArray cells;
+    private final AtomicLongArray changed;
+
+    public PriceTable(int capacity) {
+        this.capacity = capacity;
+        this.cells = new AtomicLongArray(capacity * STRIDE);
+        this.changed = new AtomicLongArray((capacity + 63) >>> 6);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public void onQuote(int symbol, long priceMicros, long epochMillis) {
+        int base = symbol * STRIDE;
+        long sequence = acquire(base);
+        VarHandle.storeStoreFence();
+        if (epochMillis < cells.get(base + TIMESTAMP)) {
+            cells.setRelease(base + SEQUENCE, sequence);
+            return;
+        }
+        cells.setPlain(base + PRICE, priceMicros);
+        cells.setPlain(base + TIMESTAMP, epochMillis);
+        cells.setPlain(base + UPDATES, cells.getPlain(base + UPDATES) + 1);
+        cells.setRelease(base + SEQUENCE, sequence + 2);
+        markChanged(symbol);
+    }
+
+    /**
+     * Copies a consistent price/timestamp pair into {@code into}; returns {@code false} if the
+     * symbol has never been quoted.
+     */
+    public boolean read(int symbol, Quote into) {
+        int base = symbol * STRIDE;
+        while (true) {
+            long before = cells.getAcquire(base + SEQUENCE);
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            long price = cells.getPlain(base + PRICE);
+            long timestamp = cells.getPlain(base + TIMESTAMP);
+            long updates = cells.getPlain(base + UPDATES);
+            VarHandle.acquireFence();
+            if (cells.getAcquire(base + SEQUENCE) == before) {
+                if (updates == 0) {
+                    return false;
+                }
+                into.set(symbol, price, timestamp, updates);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Passes every symbol written since the previous call to {@code consumer} and clears its flag.
+     */
+    public void drainChanged(IntConsumer consumer) {
+        for (int word = 0; word < changed.length(); word++) {
+            long bits = changed.get(word) == 0 ? 0 : changed.getAndSet(word, 0);
+            while (bits != 0) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                consumer.accept((word << 6) + bit);
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    private long acquire(int base) {
+        while (true) {
+            long sequence = cells.get(base + SEQUENCE);
+            if ((sequence & 1) == 0 && cells.compareAndSet(base + SEQUENCE, sequence, sequence + 1)) {
+                return sequence;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private void markChanged(int symbol) {
+        int word = symbol >>> 6;
+        long bit = 1L << symbol;
+        long current;
+        while (((current = changed.get(word)) & bit) == 0) {
+            if (changed.compareAndSet(word, current, current | bit)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reusable holder for a price read, so readers do not allocate either.
+     */
+    public static final class Quote {
+        private int symbol;
+        private long priceMicros;
+        private long epochMillis;
+        private long updates;
+
+        void set(int symbol, long priceMicros, long epochMillis, long updates) {
+            this.symbol = symbol;
+            this.priceMicros = priceMicros;
+            this.epochMillis = epochMillis;
+            this.updates = updates;
+        }
+
+        public int symbol() {
+            return symbol;
+        }
+
+        public long priceMicros() {
+            return priceMicros;
+        }
+
+        public long epochMillis() {
+            return epochMillis;
+        }
+
+        /** Number of quotes applied to this symbol, including ones conflated away by later writes. */
+        public long updates() {
+            return updates;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.percap.services.pricing;
+
+/**
+ * Receives quotes already resolved to a dense symbol index.
+ */
+@FunctionalInterface
+public interface QuoteSink {
+    void onQuote(int symbol, long priceMicros, long epochMillis);
+}
@@ -0,0 +1,173 @@
+package com.percap.services.pricing;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Replays quotes from a recorded file or a socket, standing in for the live feed.
+ * <p>
+ * The wire format is one {@code SYMBOL,price,epochMillis} line per quote; blank lines and lines
+ * starting with {@code #} are ignored. Lines are parsed in place in a fixed buffer and symbols are
+ * resolved through {@link SymbolIndex#indexOf(byte[], int, int)}, so steady-state replay does not
+ * allocate. A symbol seen for the first time is registered, and dropped if the index is full.
+ */
+public final class ReplayQuoteSource {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int PRICE_SCALE_DIGITS = 6;
+
+    private final StreamOpener opener;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private long dropped;
+
+    private ReplayQuoteSource(StreamOpener opener) {
+        this.opener = opener;
+    }
+
+    public static ReplayQuoteSource ofFile(Path file) {
+        return new ReplayQuoteSource(() -> Files.newInputStream(file));
+    }
+
+    public static ReplayQuoteSource ofSocket(String host, int port) {
+        return new ReplayQuoteSource(() -> {
+            Socket socket = new Socket();
+            socket.connect(new InetSocketAddress(host, port));
+            return socket.getInputStream();
+        });
+    }
+
+    /**
+     * Quotes skipped because they were malformed or their symbol did not fit in the index.
+     */
+    public long dropped() {
+        return dropped;
+    }
+
+    /**
+     * Reads the source to its end (or until the thread is interrupted) and returns the number of
+     * quotes passed to {@code sink}.
+     */
+    public long replay(SymbolIndex symbols, QuoteSink sink) throws IOException {
+        long delivered = 0;
+        try (InputStream in = opener.open()) {
+            int length = 0;
+            int read;
+            while ((read = in.read(buffer, length, buffer.length - length)) != -1) {
+                length += read;
+                int lineStart = 0;
+                for (int i = 0; i < length; i++) {
+                    if (buffer[i] == '\n') {
+                        if (parseLine(lineStart, i, symbols, sink)) {
+                            delivered++;
+                        }
+                        lineStart = i + 1;
+                    }
+                }
+                if (lineStart == 0 && length == buffer.length) {
+                    throw new IOException("Quote line longer than " + BUFFER_SIZE + " bytes");
+                }
+                System.arraycopy(buffer, lineStart, buffer, 0, length - lineStart);
+                length -= lineStart;
+                if (Thread.currentThread().isInterrupted()) {
+                    return delivered;
+                }
+            }
+            if (length > 0 && parseLine(0, length, symbols, sink)) {
+                delivered++;
+            }
+        }
+        return delivered;
+    }
+
+    private boolean parseLine(int start, int end, SymbolIndex symbols, QuoteSink sink) {
+        if (end > start && buffer[end - 1] == '\r') {
+            end--;
+        }
+        if (end == start || buffer[start] == '#') {
+            return false;
+        }
+        int firstComma = indexOf(',', start, end);
+        int secondComma = firstComma < 0 ? -1 : indexOf(',', firstComma + 1, end);
+        if (secondComma < 0) {
+            dropped++;
+            return false;
+        }
+        long price = parsePriceMicros(firstComma + 1, secondComma);
+        long timestamp = parseLong(secondComma + 1, end);
+        if (price < 0 || timestamp < 0) {
+            dropped++;
+            return false;
+        }
+        int symbol = symbols.indexOf(buffer, start, firstComma - start);
+        if (symbol == SymbolIndex.NOT_FOUND) {
+            symbol = symbols.register(new String(buffer, start, firstComma - start, StandardCharsets.US_ASCII));
+        }
+        if (symbol == SymbolIndex.NOT_FOUND) {
+            dropped++;
+            return false;
+        }
+        sink.onQuote(symbol, price, timestamp);
+        return true;
+    }
+
+    private int indexOf(char c, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (buffer[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private long parsePriceMicros(int start, int end) {
+        long value = 0;
+        int fractionDigits = -1;
+        for (int i = start; i < end; i++) {
+            byte b = buffer[i];
+            if (b == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else if (b >= '0' && b <= '9') {
+                if (fractionDigits >= PRICE_SCALE_DIGITS) {
+                    continue;
+                }
+                value = value * 10 + (b - '0');
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else {
+                return -1;
+            }
+        }
+        if (end == start) {
+            return -1;
+        }
+        for (int i = Math.max(fractionDigits, 0); i < PRICE_SCALE_DIGITS; i++) {
+            value *= 10;
+        }
+        return value;
+    }
+
+    private long parseLong(int start, int end) {
+        if (end == start) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            byte b = buffer[i];
+            if (b < '0' || b > '9') {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    @FunctionalInterface
+    private interface StreamOpener {
+        InputStream open() throws IOException;
+    }
+}
@@ -0,0 +1,112 @@
+package com.percap.services.pricing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Assigns dense indexes {@code 0..capacity-1} to ticker symbols.
+ * <p>
+ * Lookups are lock-free and can be done straight from a feed's byte buffer, so resolving a quote
+ * does not allocate. Registration is rare (first sight of a symbol) and synchronized; a slot is
+ * published only after its symbol bytes are written, so concurrent readers never see a
+ * half-registered entry.
+ */
+public final class SymbolIndex {
+    public static final int NOT_FOUND = -1;
+
+    private final int capacity;
+    private final byte[][] symbolBytes;
+    private final String[] symbols;
+    // Open-addressed hash table holding index + 1, 0 meaning empty.
+    private final AtomicIntegerArray slots;
+    private final int mask;
+    private int size;
+
+    public SymbolIndex(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.symbolBytes = new byte[capacity][];
+        this.symbols = new String[capacity];
+        int tableSize = Integer.highestOneBit(capacity * 2 - 1) << 1;
+        this.slots = new AtomicIntegerArray(tableSize);
+        this.mask = tableSize - 1;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns the index of {@code symbol}, registering it if needed, or {@link #NOT_FOUND} when
+     * the index is full.
+     */
+    public synchronized int register(String symbol) {
+        byte[] bytes = symbol.getBytes(StandardCharsets.US_ASCII);
+        int existing = indexOf(bytes, 0, bytes.length);
+        if (existing != NOT_FOUND) {
+            return existing;
+        }
+        if (size == capacity) {
+            return NOT_FOUND;
+        }
+        int index = size;
+        symbolBytes[index] = bytes;
+        symbols[index] = symbol;
+        int slot = hash(bytes, 0, bytes.length) & mask;
+        while (slots.get(slot) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots.set(slot, index + 1);
+        size++;
+        return index;
+    }
+
+    public int indexOf(String symbol) {
+        byte[] bytes = symbol.getBytes(StandardCharsets.US_ASCII);
+        return indexOf(bytes, 0, bytes.length);
+    }
+
+    public int indexOf(byte[] buffer, int offset, int length) {
+        int slot = hash(buffer, offset, length) & mask;
+        while (true) {
+            int entry = slots.get(slot);
+            if (entry == 0) {
+                return NOT_FOUND;
+            }
+            if (matches(symbolBytes[entry - 1], buffer, offset, length)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    public String symbol(int index) {
+        return symbols[index];
+    }
+
+    private static boolean matches(byte[] symbol, byte[] buffer, int offset, int length) {
+        if (symbol.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (symbol[i] != buffer[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(byte[] buffer, int offset, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + buffer[offset + i];
+        }
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,40 @@
+package com.percap.services.recurring;
+
+/**
+ * Reduces a raw bank description to a stable merchant key by dropping digits, punctuation and
+ * trailing noise such as store numbers, so "NETFLIX.COM 866-579" and "Netflix.com 4431" group
+ * together.
+ */
+public final class MerchantNormalizer {
+    private static final int MAX_WORDS = 3;
+
+    private MerchantNormalizer() {
+    }
+
+    public static String normalize(String description) {
+        if (description == null) {
+            return "";
+        }
+        StringBuilder merchant = new StringBuilder(description.length());
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0; i < description.length() && words <= MAX_WORDS; i++) {
+            char c = description.charAt(i);
+            if (Character.isLetter(c)) {
+                if (!inWord) {
+                    if (++words > MAX_WORDS) {
+                        break;
+                    }
+                    if (merchant.length() > 0) {
+                        merchant.append(' ');
+                    }
+                    inWord = true;
+                }
+                merchant.append(Character.toLowerCase(c));
+            } else if (c != '\'') {
+                inWord = false;
+            }
+        }
+        return merchant.toString();
+    }
+}
@@ -0,0 +1,125 @@
+package com.percap.services.recurring;
+
+import java.util.Arrays;
+
+/**
+ * Decides whether one merchant's outflows form a recurring series.
+ * <p>
+ * A series is recurring when it has at least {@value #MIN_OCCURRENCES} charges, its median
+ * interval matches a known billing period, at least three quarters of the intervals fall within
+ * that period's tolerance, and at least three quarters of the amounts lie within 15% of the
+ * median amount.
+ */
+public final class RecurringPaymentDetector {
+    static final int MIN_OCCURRENCES = 3;
+
+    private static final int[] PERIODS = {7, 14, 30, 91, 365};
+    private static final int[] TOLERANCES = {1, 2, 3, 7, 10};
+    private static final double REQUIRED_FRACTION = 0.75;
+    private static final double AMOUNT_TOLERANCE = 0.15;
+    private static final long MIN_AMOUNT_TOLERANCE_CENTS = 100;
+
+    private RecurringPaymentDetector() {
+    }
+
+    /**
+     * @param epochDays   charge dates as epoch days, ascending
+     * @param amountCents charge amounts in cents (sign ignored)
+     * @param count       number of valid entries in both arrays
+     * @return the detected series, or null if the charges are not recurring
+     */
+    public static Detection detect(int[] epochDays, long[] amountCents, int count) {
+        if (count < MIN_OCCURRENCES) {
+            return null;
+        }
+
+        int[] intervals = new int[count - 1];
+        for (int i = 1; i < count; i++) {
+            intervals[i - 1] = epochDays[i] - epochDays[i - 1];
+        }
+        int[] sortedIntervals = intervals.clone();
+        Arrays.sort(sortedIntervals);
+        int medianInterval = sortedIntervals[sortedIntervals.length / 2];
+
+        int period = -1;
+        int tolerance = 0;
+        for (int p = 0; p < PERIODS.length; p++) {
+            if (Math.abs(medianInterval - PERIODS[p]) <= TOLERANCES[p]) {
+                period = PERIODS[p];
+                tolerance = TOLERANCES[p];
+                break;
+            }
+        }
+        if (period < 0) {
+            return null;
+        }
+
+        int regular = 0;
+        for (int interval : intervals) {
+            if (Math.abs(interval - period) <= tolerance) {
+                regular++;
+            }
+        }
+        if (regular < REQUIRED_FRACTION * intervals.length) {
+            return null;
+        }
+
+        long[] sortedAmounts = new long[count];
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            sortedAmounts[i] = Math.abs(amountCents[i]);
+            total += sortedAmounts[i];
+        }
+        Arrays.sort(sortedAmounts);
+        long medianAmount = sortedAmounts[count / 2];
+        long amountTolerance = Math.max(MIN_AMOUNT_TOLERANCE_CENTS, Math.round(medianAmount * AMOUNT_TOLERANCE));
+        int stable = 0;
+        for (long amount : sortedAmounts) {
+            if (Math.abs(amount - medianAmount) <= amountTolerance) {
+                stable++;
+            }
+        }
+        if (stable < REQUIRED_FRACTION * count) {
+            return null;
+        }
+
+        int lastDay = epochDays[count - 1];
+        return new Detection(period, Math.round((double) total / count), count, lastDay, lastDay + medianInterval);
+    }
+
+    public static final class Detection {
+        private final int periodDays;
+        private final long averageAmountCents;
+        private final int occurrences;
+        private final int lastEpochDay;
+        private final int nextExpectedEpochDay;
+
+        Detection(int periodDays, long averageAmountCents, int occurrences, int lastEpochDay, int nextExpectedEpochDay) {
+            this.periodDays = periodDays;
+            this.averageAmountCents = averageAmountCents;
+            this.occurrences = occurrences;
+            this.lastEpochDay = lastEpochDay;
+            this.nextExpectedEpochDay = nextExpectedEpochDay;
+        }
+
+        public int getPeriodDays() {
+            return periodDays;
+        }
+
+        public long getAverageAmountCents() {
+            return averageAmountCents;
+        }
+
+        public int getOccurrences() {
+            return occurrences;
+        }
+
+        public int getLastEpochDay() {
+            return lastEpochDay;
+        }
+
+        public int getNextExpectedEpochDay() {
+            return nextExpectedEpochDay;
+        }
+    }
+}
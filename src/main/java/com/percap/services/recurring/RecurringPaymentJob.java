@@ -0,0 +1,171 @@
+package com.percap.services.recurring;
+
+import com.percap.domain.job.JobCheckpoint;
+import com.percap.repositories.JobCheckpointRepository;
+import com.percap.repositories.TransactionRepository;
+import com.percap.repositories.TransactionRepository.TouchedDescription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Nightly, incremental recurring-payment detection.
+ * <p>
+ * Each run only re-examines the (user, merchant) pairs whose transactions were inserted or
+ * updated since the previous successful run. Touched users are read in pages of
+ * {@value #USER_PAGE_SIZE} by user id, and only one page of (user, merchant) pairs is held at a
+ * time. Users are processed in parallel on a fixed pool of {@code api.recurring.workers} threads
+ * fed through a bounded queue, so memory stays flat however many users are touched, including on
+ * the first run, which scans the whole ledger.
+ * <p>
+ * The checkpoint is the database clock at the start of the run, not the clock of whichever node
+ * ran it. {@code updated_at} is stamped before the row commits, so a row stamped just before the
+ * checkpoint may only become visible after the scan. Each run therefore starts
+ * {@code api.recurring.overlap-minutes} before the previous checkpoint; re-examining a merchant is
+ * idempotent. The overlap must exceed the longest ledger transaction and the clock skew between
+ * application nodes and the database.
+ * <p>
+ * The checkpoint only advances when every user succeeded within
+ * {@code api.recurring.max-duration-minutes}; otherwise the next run retries the same window.
+ * Deleted transactions are not tracked and are reconciled the next time the merchant is touched.
+ */
+@Component
+public class RecurringPaymentJob {
+    static final String JOB_NAME = "recurring-payment-detection";
+    static final int USER_PAGE_SIZE = 500;
+    private static final String FIRST_USER_ID = "";
+
+    private static final Logger logger = LoggerFactory.getLogger(RecurringPaymentJob.class);
+
+    private final RecurringPaymentService recurringPaymentService;
+    private final TransactionRepository transactionRepository;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final int workers;
+    private final long maxDurationMinutes;
+    private final Duration overlap;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public RecurringPaymentJob(RecurringPaymentService recurringPaymentService,
+                               TransactionRepository transactionRepository,
+                               JobCheckpointRepository jobCheckpointRepository,
+                               @Value("${api.recurring.workers:8}") int workers,
+                               @Value("${api.recurring.max-duration-minutes:120}") long maxDurationMinutes,
+                               @Value("${api.recurring.overlap-minutes:60}") long overlapMinutes) {
+        this.recurringPaymentService = recurringPaymentService;
+        this.transactionRepository = transactionRepository;
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.workers = workers;
+        this.maxDurationMinutes = maxDurationMinutes;
+        this.overlap = Duration.ofMinutes(overlapMinutes);
+    }
+
+    @Scheduled(cron = "${api.recurring.cron:0 30 2 * * *}")
+    public void runScheduled() {
+        run();
+    }
+
+    /**
+     * @return true if the run completed and advanced the checkpoint
+     */
+    public boolean run() {
+        if (!running.compareAndSet(false, true)) {
+            logger.warn("Recurring payment detection is already running; skipping");
+            return false;
+        }
+        try {
+            return runOnce();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private boolean runOnce() {
+        Instant startedAt = Instant.now();
+        Instant until = jobCheckpointRepository.currentTimestamp();
+        Instant since = jobCheckpointRepository.findById(JOB_NAME)
+                .map(checkpoint -> checkpoint.getLastRunAt().minus(overlap))
+                .orElse(Instant.EPOCH);
+
+        AtomicInteger failures = new AtomicInteger();
+        AtomicInteger detected = new AtomicInteger();
+        int users = 0;
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers * 4), workerThreads(), new ThreadPoolExecutor.CallerRunsPolicy());
+        try {
+            String afterUserId = FIRST_USER_ID;
+            List<String> userIds;
+            do {
+                userIds = transactionRepository.findUserIdsTouchedBetween(since, until, afterUserId,
+                        PageRequest.of(0, USER_PAGE_SIZE));
+                if (userIds.isEmpty()) {
+                    break;
+                }
+                Map<String, Set<String>> merchantsByUser = new HashMap<>();
+                for (TouchedDescription touched : transactionRepository.findDescriptionsTouchedBetween(userIds, since, until)) {
+                    merchantsByUser.computeIfAbsent(touched.getUserId(), key -> new HashSet<>())
+                            .add(MerchantNormalizer.normalize(touched.getDescription()));
+                }
+                merchantsByUser.forEach((userId, merchants) -> pool.execute(() -> {
+                    try {
+                        detected.addAndGet(recurringPaymentService.refresh(userId, merchants));
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                        logger.error("Recurring payment detection failed for user {}", userId, e);
+                    }
+                }));
+                users += userIds.size();
+                afterUserId = userIds.get(userIds.size() - 1);
+            } while (userIds.size() == USER_PAGE_SIZE);
+
+            pool.shutdown();
+            if (!pool.awaitTermination(maxDurationMinutes, TimeUnit.MINUTES)) {
+                pool.shutdownNow();
+                logger.error("Recurring payment detection exceeded {} minutes; checkpoint not advanced", maxDurationMinutes);
+                return false;
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (RuntimeException e) {
+            pool.shutdownNow();
+            throw e;
+        }
+
+        long elapsedMs = Math.max(1, Instant.now().toEpochMilli() - startedAt.toEpochMilli());
+        logger.info("Recurring payment detection: {} users, {} recurring merchants, {} failures in {} ms ({} users/s)",
+                users, detected.get(), failures.get(), elapsedMs, users * 1000L / elapsedMs);
+
+        if (failures.get() > 0) {
+            return false;
+        }
+        jobCheckpointRepository.save(new JobCheckpoint(JOB_NAME, until));
+        return true;
+    }
+
+    private static ThreadFactory workerThreads() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "recurring-detector-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
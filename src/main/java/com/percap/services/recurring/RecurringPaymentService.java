@@ -0,0 +1,121 @@
+package com.percap.services.recurring;
+
+import com.percap.domain.recurring.RecurringPayment;
+import com.percap.dtos.recurring.RecurringPaymentDTO;
+import com.percap.repositories.RecurringPaymentRepository;
+import com.percap.repositories.TransactionRepository;
+import com.percap.repositories.TransactionRepository.DatedAmount;
+import com.percap.repositories.UserRepository;
+import com.percap.services.recurring.RecurringPaymentDetector.Detection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class RecurringPaymentService {
+    private final RecurringPaymentRepository recurringPaymentRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final int lookbackMonths;
+
+    public RecurringPaymentService(RecurringPaymentRepository recurringPaymentRepository,
+                                   TransactionRepository transactionRepository,
+                                   UserRepository userRepository,
+                                   @Value("${api.recurring.lookback-months:18}") int lookbackMonths) {
+        this.recurringPaymentRepository = recurringPaymentRepository;
+        this.transactionRepository = transactionRepository;
+        this.userRepository = userRepository;
+        this.lookbackMonths = lookbackMonths;
+    }
+
+    @Transactional(readOnly = true)
+    public List<RecurringPaymentDTO> list(String userId) {
+        return recurringPaymentRepository.findByUserIdOrderByNextExpectedDateAsc(userId).stream()
+                .map(RecurringPaymentDTO::from)
+                .toList();
+    }
+
+    /**
+     * Re-runs detection for the given merchants of one user and replaces their stored results.
+     *
+     * @return the number of merchants detected as recurring
+     */
+    @Transactional
+    public int refresh(String userId, Set<String> merchants) {
+        List<DatedAmount> charges = transactionRepository.findByUserIdAndDateGreaterThanEqualAndAmountLessThanOrderByDateAsc(
+                userId, LocalDate.now().minusMonths(lookbackMonths), BigDecimal.ZERO);
+        Map<String, ChargeSeries> seriesByMerchant = new HashMap<>();
+        for (DatedAmount charge : charges) {
+            String merchant = MerchantNormalizer.normalize(charge.getDescription());
+            if (merchants.contains(merchant)) {
+                seriesByMerchant.computeIfAbsent(merchant, key -> new ChargeSeries()).add(charge);
+            }
+        }
+
+        Map<String, RecurringPayment> existing = new HashMap<>();
+        for (RecurringPayment payment : recurringPaymentRepository.findByUserIdAndMerchantIn(userId, merchants)) {
+            existing.put(payment.getMerchant(), payment);
+        }
+
+        List<RecurringPayment> toSave = new ArrayList<>();
+        List<RecurringPayment> toDelete = new ArrayList<>();
+        Instant now = Instant.now();
+        for (String merchant : merchants) {
+            ChargeSeries series = seriesByMerchant.get(merchant);
+            Detection detection = series == null ? null
+                    : RecurringPaymentDetector.detect(series.epochDays, series.amountCents, series.count);
+            RecurringPayment payment = existing.get(merchant);
+            if (detection == null) {
+                if (payment != null) {
+                    toDelete.add(payment);
+                }
+                continue;
+            }
+            if (payment == null) {
+                payment = new RecurringPayment();
+                payment.setUser(userRepository.getReferenceById(userId));
+                payment.setMerchant(merchant);
+            }
+            payment.setDescription(series.lastDescription);
+            payment.setAverageAmount(BigDecimal.valueOf(-detection.getAverageAmountCents(), 2));
+            payment.setPeriodDays(detection.getPeriodDays());
+            payment.setOccurrences(detection.getOccurrences());
+            payment.setLastDate(LocalDate.ofEpochDay(detection.getLastEpochDay()));
+            payment.setNextExpectedDate(LocalDate.ofEpochDay(detection.getNextExpectedEpochDay()));
+            payment.setDetectedAt(now);
+            toSave.add(payment);
+        }
+
+        recurringPaymentRepository.deleteAll(toDelete);
+        recurringPaymentRepository.saveAll(toSave);
+        return toSave.size();
+    }
+
+    private static final class ChargeSeries {
+        private int[] epochDays = new int[16];
+        private long[] amountCents = new long[16];
+        private int count;
+        private String lastDescription;
+
+        private void add(DatedAmount charge) {
+            if (count == epochDays.length) {
+                epochDays = Arrays.copyOf(epochDays, count * 2);
+                amountCents = Arrays.copyOf(amountCents, count * 2);
+            }
+            epochDays[count] = (int) charge.getDate().toEpochDay();
+            amountCents[count] = charge.getAmount().movePointRight(2).longValue();
+            count++;
+            lastDescription = charge.getDescription();
+        }
+    }
+}
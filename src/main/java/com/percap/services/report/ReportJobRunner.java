@@ -0,0 +1,413 @@
+package com.percap.services.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.percap.domain.report.ReportJob;
+import com.percap.domain.report.ReportType;
+import com.percap.dtos.transaction.TransactionDTO;
+import com.percap.repositories.ReportJobRepository;
+import com.percap.services.coldstore.ColdLedgerStore;
+import com.percap.services.export.ExportFormat;
+import com.percap.services.export.ExportRowWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Claims queued report jobs and works through them one chunk at a time.
+ * <p>
+ * Claims run under a transaction-scoped advisory lock, so the running-job counts behind
+ * {@code api.reports.max-running} and {@code api.reports.max-running-per-user} are exact across
+ * nodes; {@code SKIP LOCKED} steps over rows another node is checkpointing. A claim is a lease that
+ * every checkpoint extends. A job whose lease lapses (its node died) is claimed again and resumes
+ * from its last checkpoint.
+ * <p>
+ * A chunk reads up to {@code api.reports.chunk-size} rows of one month in (date, id) order from
+ * the hot table, merged with the month's cold segment rows when the month has been archived.
+ * Rows are appended to the job's file, the file is forced to disk, and only then are the cursor,
+ * totals and file length checkpointed. A resumed job first truncates the file to the checkpointed
+ * length, dropping anything written after it, so each row appears exactly once. If the file is
+ * shorter than the checkpoint (it was written on another node's disk, or lost), the job starts
+ * over from the first row instead.
+ * <p>
+ * Output files live in {@code api.reports.directory}, which must be storage shared by every node
+ * running the application: jobs resume, are downloaded and are purged on whichever node gets to
+ * them. On node-local disks a job that moves nodes is redone from scratch and its download only
+ * works on the node that finished it.
+ */
+@Component
+public class ReportJobRunner implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobRunner.class);
+
+    /** Arbitrary application-wide key serializing claims; see the class comment. */
+    private static final long CLAIM_LOCK_KEY = 0x7065726361702e72L;
+    private static final String CLAIM_LOCK_SQL = "SELECT pg_advisory_xact_lock(" + CLAIM_LOCK_KEY + ")";
+    private static final String CLAIM_SQL =
+            "UPDATE report_jobs SET status = 'RUNNING', locked_by = ?, locked_until = ?, attempts = attempts + 1, " +
+            "started_at = COALESCE(started_at, ?) " +
+            "WHERE id = (" +
+            "SELECT j.id FROM report_jobs j " +
+            "WHERE (j.status = 'QUEUED' OR (j.status = 'RUNNING' AND j.locked_until < ?)) " +
+            "AND (SELECT COUNT(*) FROM report_jobs r WHERE r.status = 'RUNNING' AND r.locked_until >= ?) < ? " +
+            "AND (SELECT COUNT(*) FROM report_jobs r " +
+            "WHERE r.status = 'RUNNING' AND r.locked_until >= ? AND r.user_id = j.user_id) < ? " +
+            "ORDER BY j.created_at LIMIT 1 FOR UPDATE OF j SKIP LOCKED) " +
+            "RETURNING id";
+    // Every statement below is fenced on locked_by: a node that lost its lease cannot overwrite the new owner.
+    private static final String CHECKPOINT_SQL =
+            "UPDATE report_jobs SET rows_processed = ?, cursor_date = ?, cursor_id = ?, output_bytes = ?, " +
+            "totals = ?, locked_until = ? WHERE id = ? AND locked_by = ? AND status = 'RUNNING'";
+    private static final String COMPLETE_SQL =
+            "UPDATE report_jobs SET status = 'SUCCEEDED', output_bytes = ?, finished_at = ?, " +
+            "locked_by = NULL, locked_until = NULL WHERE id = ? AND locked_by = ?";
+    private static final String FAIL_SQL =
+            "UPDATE report_jobs SET status = 'FAILED', error = ?, finished_at = ?, " +
+            "locked_by = NULL, locked_until = NULL WHERE id = ? AND locked_by = ?";
+    // A job handed back on shutdown does not count as a failed attempt.
+    private static final String RELEASE_SQL =
+            "UPDATE report_jobs SET status = 'QUEUED', attempts = attempts - 1, " +
+            "locked_by = NULL, locked_until = NULL WHERE id = ? AND locked_by = ?";
+    // Ids compare byte-wise so the order matches String.compareTo on cold segment rows.
+    private static final String MONTH_SQL =
+            "SELECT id, transaction_date, description, amount, currency, category FROM transactions " +
+            "WHERE user_id = ? AND transaction_date BETWEEN ? AND ? " +
+            "ORDER BY transaction_date, id COLLATE \"C\" LIMIT ?";
+    private static final String MONTH_AFTER_SQL =
+            "SELECT id, transaction_date, description, amount, currency, category FROM transactions " +
+            "WHERE user_id = ? AND transaction_date BETWEEN ? AND ? " +
+            "AND (transaction_date > ? OR id COLLATE \"C\" > ?) " +
+            "ORDER BY transaction_date, id COLLATE \"C\" LIMIT ?";
+    private static final Comparator<TransactionDTO> OLDEST_FIRST = ColdLedgerStore.NEWEST_FIRST.reversed();
+
+    private final ReportJobService reportJobService;
+    private final ReportJobRepository reportJobRepository;
+    private final ColdLedgerStore coldLedgerStore;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String workerId;
+    private final int workers;
+    private final int maxRunning;
+    private final int maxRunningPerUser;
+    private final int chunkSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final AtomicInteger active = new AtomicInteger();
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("report-job-", 0).factory());
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter rows;
+    private final Timer chunkTimer;
+    private volatile boolean stopping;
+
+    public ReportJobRunner(ReportJobService reportJobService,
+                           ReportJobRepository reportJobRepository,
+                           ColdLedgerStore coldLedgerStore,
+                           ObjectMapper objectMapper,
+                           DataSource dataSource,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${api.reports.workers:2}") int workers,
+                           @Value("${api.reports.max-running:8}") int maxRunning,
+                           @Value("${api.reports.max-running-per-user:1}") int maxRunningPerUser,
+                           @Value("${api.reports.chunk-size:2000}") int chunkSize,
+                           @Value("${api.reports.max-attempts:3}") int maxAttempts,
+                           @Value("${api.reports.lease-seconds:60}") long leaseSeconds) {
+        this.reportJobService = reportJobService;
+        this.reportJobRepository = reportJobRepository;
+        this.coldLedgerStore = coldLedgerStore;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(chunkSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workerId = hostName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+        this.workers = workers;
+        this.maxRunning = maxRunning;
+        this.maxRunningPerUser = maxRunningPerUser;
+        this.chunkSize = chunkSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+
+        this.succeeded = Counter.builder("reports.jobs").tag("outcome", "succeeded").register(meterRegistry);
+        this.failed = Counter.builder("reports.jobs").tag("outcome", "failed").register(meterRegistry);
+        this.rows = Counter.builder("reports.rows").register(meterRegistry);
+        this.chunkTimer = Timer.builder("reports.chunk").register(meterRegistry);
+        meterRegistry.gauge("reports.active", active);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createDirectory() throws IOException {
+        Files.createDirectories(reportJobService.directory());
+    }
+
+    @Scheduled(fixedDelayString = "${api.reports.poll-interval-ms:1000}")
+    public void poll() {
+        try {
+            while (!stopping && active.get() < workers) {
+                String jobId = claim();
+                if (jobId == null) {
+                    return;
+                }
+                active.incrementAndGet();
+                executor.execute(() -> {
+                    try {
+                        run(jobId);
+                    } finally {
+                        active.decrementAndGet();
+                    }
+                });
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Claiming report jobs failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Leases the oldest runnable job that fits under both concurrency caps.
+     *
+     * @return the job id, or null if there is none
+     */
+    String claim() {
+        Timestamp now = Timestamp.from(Instant.now());
+        Timestamp until = Timestamp.from(now.toInstant().plus(lease));
+        List<String> claimed = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute(CLAIM_LOCK_SQL);
+            return jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> rs.getString(1),
+                    workerId, until, now, now, now, maxRunning, now, maxRunningPerUser);
+        });
+        return claimed == null || claimed.isEmpty() ? null : claimed.get(0);
+    }
+
+    void run(String jobId) {
+        ReportJob job = reportJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        if (job.getAttempts() > maxAttempts) {
+            fail(job, "Gave up after " + maxAttempts + " attempts");
+            return;
+        }
+        try {
+            if (process(job)) {
+                succeeded.increment();
+            }
+        } catch (Exception e) {
+            logger.error("Report job {} for user {} failed", jobId, job.getUserId(), e);
+            fail(job, e.getMessage());
+        }
+    }
+
+    /**
+     * Processes the job from its checkpoint to the end, or until shutdown or a lost lease.
+     *
+     * @return true if the job completed
+     */
+    private boolean process(ReportJob job) throws IOException {
+        ReportTotals totals = ReportTotals.fromJson(objectMapper, job.getTotals());
+        Cursor cursor = new Cursor(job.getCursorDate(), job.getCursorId());
+        LocalDate lastDay = LocalDate.of(job.getYear(), 12, 31);
+        long processed = job.getRowsProcessed();
+        long bytes = job.getOutputBytes();
+        ChunkBuffer buffer = new ChunkBuffer();
+        ExportRowWriter writer = ExportFormat.CSV.newWriter(buffer);
+
+        try (FileChannel file = FileChannel.open(reportJobService.outputFile(job.getId()),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (file.size() < bytes) {
+                logger.warn("Report job {} output has {} of {} checkpointed bytes; starting over",
+                        job.getId(), file.size(), bytes);
+                totals = new ReportTotals();
+                cursor = new Cursor(LocalDate.of(job.getYear(), 1, 1).minusDays(1), null);
+                processed = 0;
+                bytes = 0;
+            }
+            file.truncate(bytes);
+            if (bytes == 0 && job.getType() == ReportType.STATEMENT) {
+                writer.writeHeader();
+            }
+            while (cursor.id != null || cursor.date.isBefore(lastDay)) {
+                if (stopping) {
+                    release(job, processed);
+                    return false;
+                }
+                Timer.Sample sample = Timer.start();
+                int count = readChunk(job, cursor, totals, writer);
+                writer.flush();
+                bytes += buffer.appendTo(file, bytes);
+                processed += count;
+                if (!checkpoint(job, processed, cursor, bytes, totals)) {
+                    logger.warn("Report job {} lost its lease; leaving it to the new owner", job.getId());
+                    return false;
+                }
+                rows.increment(count);
+                sample.stop(chunkTimer);
+            }
+
+            Writer footer = new OutputStreamWriter(buffer, StandardCharsets.UTF_8);
+            if (job.getType() == ReportType.STATEMENT) {
+                footer.write("\r\n");
+            }
+            totals.writeCsv(footer);
+            bytes += buffer.appendTo(file, bytes);
+        }
+
+        int updated = jdbcTemplate.update(COMPLETE_SQL, bytes, Timestamp.from(Instant.now()), job.getId(), workerId);
+        logger.debug("Report job {} finished: {} rows, {} bytes", job.getId(), processed, bytes);
+        return updated == 1;
+    }
+
+    /**
+     * Reads the next chunk, which never crosses a month boundary, and advances the cursor past it.
+     * A chunk shorter than the chunk size exhausts the month, so the cursor moves to its last day.
+     */
+    private int readChunk(ReportJob job, Cursor cursor, ReportTotals totals, ExportRowWriter writer) {
+        LocalDate from = cursor.id == null ? cursor.date.plusDays(1) : cursor.date;
+        LocalDate monthEnd = YearMonth.from(from).atEndOfMonth();
+
+        List<TransactionDTO> chunk = new ArrayList<>(chunkSize);
+        jdbcTemplate.query(cursor.id == null ? MONTH_SQL : MONTH_AFTER_SQL, rs -> {
+            chunk.add(new TransactionDTO(rs.getString(1), rs.getString(3), rs.getBigDecimal(4), rs.getString(5),
+                    rs.getDate(2).toLocalDate(), rs.getString(6)));
+        }, cursor.id == null
+                ? new Object[]{job.getUserId(), Date.valueOf(from), Date.valueOf(monthEnd), chunkSize}
+                : new Object[]{job.getUserId(), Date.valueOf(from), Date.valueOf(monthEnd), Date.valueOf(from),
+                        cursor.id, chunkSize});
+
+        List<TransactionDTO> rows = chunk;
+        if (coldLedgerStore.hasHistory(job.getUserId(), from, monthEnd)) {
+            for (TransactionDTO row : coldLedgerStore.history(job.getUserId(), from, monthEnd, Integer.MAX_VALUE)) {
+                if (cursor.isBefore(row)) {
+                    chunk.add(row);
+                }
+            }
+            chunk.sort(OLDEST_FIRST);
+            rows = chunk.subList(0, Math.min(chunk.size(), chunkSize));
+        }
+
+        for (TransactionDTO row : rows) {
+            totals.add(row.getCurrency(), row.getCategory(), row.getAmount());
+            if (job.getType() == ReportType.STATEMENT) {
+                writer.writeRow(row.getId(), row.getDate(), row.getDescription(), row.getAmount(), row.getCurrency(),
+                        row.getCategory());
+            }
+            cursor.date = row.getDate();
+            cursor.id = row.getId();
+        }
+        if (rows.size() < chunkSize) {
+            cursor.date = monthEnd;
+            cursor.id = null;
+        }
+        return rows.size();
+    }
+
+    private boolean checkpoint(ReportJob job, long processed, Cursor cursor, long bytes, ReportTotals totals) {
+        return jdbcTemplate.update(CHECKPOINT_SQL, processed, Date.valueOf(cursor.date), cursor.id, bytes,
+                totals.toJson(objectMapper), Timestamp.from(Instant.now().plus(lease)), job.getId(), workerId) == 1;
+    }
+
+    private void fail(ReportJob job, String error) {
+        failed.increment();
+        String message = error != null && error.length() > 1024 ? error.substring(0, 1024) : error;
+        jdbcTemplate.update(FAIL_SQL, message, Timestamp.from(Instant.now()), job.getId(), workerId);
+    }
+
+    private void release(ReportJob job, long processed) {
+        jdbcTemplate.update(RELEASE_SQL, job.getId(), workerId);
+        logger.info("Report job {} handed back at shutdown after {} rows", job.getId(), processed);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        // Workers hand their jobs back at the next chunk boundary; anything still running after the
+        // grace period is picked up elsewhere once its lease lapses.
+        stopping = true;
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "local";
+        }
+    }
+
+    private static final class Cursor {
+        private LocalDate date;
+        private String id;
+
+        private Cursor(LocalDate date, String id) {
+            this.date = date;
+            this.id = id;
+        }
+
+        private boolean isBefore(TransactionDTO row) {
+            int byDate = row.getDate().compareTo(date);
+            return byDate > 0 || (byDate == 0 && id != null && row.getId().compareTo(id) > 0);
+        }
+    }
+
+    private static final class ChunkBuffer extends ByteArrayOutputStream {
+        private ChunkBuffer() {
+            super(256 * 1024);
+        }
+
+        /**
+         * Writes the buffered bytes at {@code position}, forces them to disk and empties the buffer.
+         *
+         * @return the number of bytes written
+         */
+        private int appendTo(FileChannel file, long position) throws IOException {
+            ByteBuffer bytes = ByteBuffer.wrap(buf, 0, count);
+            long offset = position;
+            while (bytes.hasRemaining()) {
+                offset += file.write(bytes, offset);
+            }
+            file.force(false);
+            int written = count;
+            reset();
+            return written;
+        }
+    }
+}
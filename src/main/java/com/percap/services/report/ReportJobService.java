@@ -0,0 +1,129 @@
+package com.percap.services.report;
+
+import com.percap.domain.report.ReportJob;
+import com.percap.domain.report.ReportJobStatus;
+import com.percap.dtos.report.ReportJobDTO;
+import com.percap.dtos.report.ReportJobRequestDTO;
+import com.percap.repositories.ReportJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.List;
+
+/**
+ * Submission, polling and download of report jobs; {@link ReportJobRunner} does the work.
+ * <p>
+ * Each user may have at most {@code api.reports.max-pending-per-user} jobs queued or running.
+ * Finished jobs and their files are deleted after {@code api.reports.retention-hours}. Downloads
+ * and purges read {@code api.reports.directory} on whichever node serves them, so with more than
+ * one node it must be shared storage.
+ */
+@Service
+public class ReportJobService {
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobService.class);
+    private static final List<ReportJobStatus> PENDING = List.of(ReportJobStatus.QUEUED, ReportJobStatus.RUNNING);
+
+    private final ReportJobRepository reportJobRepository;
+    private final Path directory;
+    private final int maxPendingPerUser;
+    private final Duration retention;
+
+    public ReportJobService(ReportJobRepository reportJobRepository,
+                            @Value("${api.reports.directory:data/reports}") String directory,
+                            @Value("${api.reports.max-pending-per-user:3}") int maxPendingPerUser,
+                            @Value("${api.reports.retention-hours:72}") long retentionHours) {
+        this.reportJobRepository = reportJobRepository;
+        this.directory = Paths.get(directory);
+        this.maxPendingPerUser = maxPendingPerUser;
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    public ReportJobDTO submit(String userId, ReportJobRequestDTO request) {
+        if (request.getYear() > Year.now().getValue()) {
+            throw new IllegalArgumentException("Reports can only be generated for past or current years");
+        }
+        if (reportJobRepository.countByUserIdAndStatusIn(userId, PENDING) >= maxPendingPerUser) {
+            throw new IllegalStateException("Too many reports in progress");
+        }
+
+        ReportJob job = new ReportJob();
+        job.setUserId(userId);
+        job.setType(request.getType());
+        job.setYear(request.getYear());
+        job.setStatus(ReportJobStatus.QUEUED);
+        // Nothing processed yet: every row up to the last day of the previous year counts as done.
+        job.setCursorDate(LocalDate.of(request.getYear(), 1, 1).minusDays(1));
+        job.setCreatedAt(Instant.now());
+        return ReportJobDTO.from(reportJobRepository.save(job));
+    }
+
+    public ReportJobDTO get(String userId, String jobId) {
+        return ReportJobDTO.from(find(userId, jobId));
+    }
+
+    public List<ReportJobDTO> list(String userId) {
+        return reportJobRepository.findTop50ByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(ReportJobDTO::from)
+                .toList();
+    }
+
+    /**
+     * Returns the finished report's file.
+     *
+     * @throws IllegalArgumentException if the user has no such job or its file is gone
+     * @throws IllegalStateException    if the job has not succeeded (yet)
+     */
+    public Path result(String userId, String jobId) {
+        ReportJob job = find(userId, jobId);
+        if (job.getStatus() != ReportJobStatus.SUCCEEDED) {
+            throw new IllegalStateException("Report " + jobId + " is " + job.getStatus());
+        }
+        Path file = outputFile(jobId);
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Report file no longer available");
+        }
+        return file;
+    }
+
+    @Scheduled(cron = "${api.reports.purge-cron:0 15 * * * *}")
+    public void purgeExpired() {
+        Instant cutoff = Instant.now().minus(retention);
+        List<ReportJob> expired = reportJobRepository.findByFinishedAtBefore(cutoff);
+        for (ReportJob job : expired) {
+            try {
+                Files.deleteIfExists(outputFile(job.getId()));
+            } catch (IOException e) {
+                logger.warn("Could not delete report file for job {}: {}", job.getId(), e.getMessage());
+                continue;
+            }
+            reportJobRepository.delete(job);
+        }
+        if (!expired.isEmpty()) {
+            logger.info("Purged {} report jobs finished before {}", expired.size(), cutoff);
+        }
+    }
+
+    Path outputFile(String jobId) {
+        return directory.resolve(jobId + ".csv");
+    }
+
+    Path directory() {
+        return directory;
+    }
+
+    private ReportJob find(String userId, String jobId) {
+        return reportJobRepository.findByIdAndUserId(jobId, userId)
+                .orElseThrow(() -> new IllegalArgumentException("Report job not found"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.percap.services.report;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Running inflow/outflow totals per currency and category. Small enough to be checkpointed as JSON
+ * with every chunk, so a resumed job carries on from the totals of the rows it already wrote.
+ */
+final class ReportTotals {
+    private static final TypeReference<List<Line>> LINES = new TypeReference<>() {
+    };
+
+    record Line(String currency, String category, BigDecimal inflow, BigDecimal outflow, long count) {
+        Line plus(BigDecimal amount) {
+            return amount.signum() >= 0
+                    ? new Line(currency, category, inflow.add(amount), outflow, count + 1)
+                    : new Line(currency, category, inflow, outflow.add(amount), count + 1);
+        }
+    }
+
+    // Keyed by currency, then category, so the report lists them in a stable order.
+    private final TreeMap<String, Line> lines = new TreeMap<>();
+
+    static ReportTotals fromJson(ObjectMapper objectMapper, String json) {
+        ReportTotals totals = new ReportTotals();
+        if (json == null || json.isEmpty()) {
+            return totals;
+        }
+        try {
+            for (Line line : objectMapper.readValue(json, LINES)) {
+                totals.lines.put(key(line.currency(), line.category()), line);
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt report checkpoint", e);
+        }
+        return totals;
+    }
+
+    void add(String currency, String category, BigDecimal amount) {
+        String normalized = category != null ? category : "";
+        lines.compute(key(currency, normalized), (key, line) ->
+                (line != null ? line : new Line(currency, normalized, BigDecimal.ZERO, BigDecimal.ZERO, 0)).plus(amount));
+    }
+
+    String toJson(ObjectMapper objectMapper) {
+        try {
+            return objectMapper.writeValueAsString(lines.values());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize report totals", e);
+        }
+    }
+
+    /**
+     * Writes the totals as a CSV table with its own header row.
+     */
+    void writeCsv(Writer writer) {
+        try {
+            writer.write("currency,category,inflow,outflow,count\r\n");
+            for (Line line : lines.values()) {
+                writer.write(line.currency());
+                writer.write(',');
+                writeField(writer, line.category());
+                writer.write(',');
+                writer.write(line.inflow().toPlainString());
+                writer.write(',');
+                writer.write(line.outflow().toPlainString());
+                writer.write(',');
+                writer.write(Long.toString(line.count()));
+                writer.write("\r\n");
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String key(String currency, String category) {
+        return currency + '\u0000' + category;
+    }
+
+    private static void writeField(Writer writer, String value) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,80 @@
+package com.percap.services.retirement;
+
+/**
+ * Mergeable streaming quantile sketch of simulated balances, one histogram per simulated year.
+ * <p>
+ * Buckets are log-spaced with a growth factor of {@value #GROWTH}, so any quantile is reported
+ * within about 2% of the true value while memory stays fixed at {@code years * BUCKETS} counters,
+ * independent of the number of paths. Balances at or below one unit (depleted portfolios) share
+ * bucket 0 and are reported as 0.
+ */
+final class BalanceSketch {
+    static final double GROWTH = 1.04;
+    static final int BUCKETS = 660;
+
+    private static final double LOG_GROWTH = Math.log(GROWTH);
+
+    private final int years;
+    private final long[] counts;
+    private long paths;
+
+    BalanceSketch(int years) {
+        this.years = years;
+        this.counts = new long[years * BUCKETS];
+    }
+
+    void record(int year, double balance) {
+        counts[year * BUCKETS + bucket(balance)]++;
+    }
+
+    void completePaths(int completed) {
+        paths += completed;
+    }
+
+    long paths() {
+        return paths;
+    }
+
+    void merge(BalanceSketch other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        paths += other.paths;
+    }
+
+    double quantile(int year, double quantile) {
+        long total = 0;
+        int offset = year * BUCKETS;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            total += counts[offset + bucket];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[offset + bucket];
+            if (seen >= Math.max(rank, 1)) {
+                return representative(bucket);
+            }
+        }
+        return representative(BUCKETS - 1);
+    }
+
+    int years() {
+        return years;
+    }
+
+    static int bucket(double balance) {
+        if (!(balance > 1)) {
+            return 0;
+        }
+        int bucket = 1 + (int) (Math.log(balance) / LOG_GROWTH);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    static double representative(int bucket) {
+        return bucket == 0 ? 0 : Math.exp((bucket - 0.5) * LOG_GROWTH);
+    }
+}
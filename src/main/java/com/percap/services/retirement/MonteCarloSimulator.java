@@ -0,0 +1,143 @@
+package com.percap.services.retirement;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Simulates retirement balances under lognormal annual returns.
+ * <p>
+ * Paths are split across a fork/join pool, and every split hands the child its own
+ * {@link SplittableRandom#split()}, so the result for a seed does not depend on pool size or
+ * scheduling. A leaf keeps the balances of its paths in one {@code double[]}, advances them a
+ * year at a time and records each year into a {@link BalanceSketch}, so memory does not grow with
+ * the number of paths. Leaves that start after the deadline are skipped; the result then reports
+ * how many paths actually completed.
+ */
+public final class MonteCarloSimulator {
+    private static final int MIN_LEAF_PATHS = 1000;
+    // Fixed so the split tree, and therefore the result for a seed, does not depend on the pool size.
+    private static final int MAX_LEAVES = 32;
+
+    private MonteCarloSimulator() {
+    }
+
+    public static SimulationResult simulate(SimulationParameters parameters, int paths, long seed,
+                                            ForkJoinPool pool, long deadlineNanos) {
+        int leafPaths = Math.max(MIN_LEAF_PATHS, (paths + MAX_LEAVES - 1) / MAX_LEAVES);
+        PathTask root = new PathTask(parameters, 0, paths, leafPaths, new SplittableRandom(seed), deadlineNanos);
+        BalanceSketch sketch = pool.invoke(root);
+        return new SimulationResult(sketch, root.survivors(), paths);
+    }
+
+    private static final class PathTask extends RecursiveTask<BalanceSketch> {
+        private final SimulationParameters parameters;
+        private final int start;
+        private final int end;
+        private final int leafPaths;
+        private final SplittableRandom random;
+        private final long deadlineNanos;
+        private long survivors;
+
+        private PathTask(SimulationParameters parameters, int start, int end, int leafPaths,
+                         SplittableRandom random, long deadlineNanos) {
+            this.parameters = parameters;
+            this.start = start;
+            this.end = end;
+            this.leafPaths = leafPaths;
+            this.random = random;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        private long survivors() {
+            return survivors;
+        }
+
+        @Override
+        protected BalanceSketch compute() {
+            if (end - start <= leafPaths) {
+                return simulateLeaf();
+            }
+            int mid = (start + end) >>> 1;
+            PathTask left = new PathTask(parameters, start, mid, leafPaths, random.split(), deadlineNanos);
+            PathTask right = new PathTask(parameters, mid, end, leafPaths, random, deadlineNanos);
+            left.fork();
+            BalanceSketch sketch = right.compute();
+            sketch.merge(left.join());
+            survivors = left.survivors + right.survivors;
+            return sketch;
+        }
+
+        private BalanceSketch simulateLeaf() {
+            int years = parameters.getHorizonYears();
+            BalanceSketch sketch = new BalanceSketch(years + 1);
+            if (System.nanoTime() - deadlineNanos > 0) {
+                return sketch;
+            }
+
+            int count = end - start;
+            double[] balances = new double[count];
+            Arrays.fill(balances, parameters.getInitialBalance());
+            for (int i = 0; i < count; i++) {
+                sketch.record(0, balances[i]);
+            }
+
+            double sigma = parameters.getVolatility();
+            double drift = Math.log(1 + parameters.getExpectedReturn()) - sigma * sigma / 2;
+            for (int year = 1; year <= years; year++) {
+                double cashFlow = year <= parameters.getYearsToRetirement()
+                        ? parameters.getAnnualContribution()
+                        : -parameters.getAnnualWithdrawal();
+                for (int i = 0; i < count; i++) {
+                    double balance = balances[i];
+                    if (balance > 0) {
+                        balance = balance * Math.exp(drift + sigma * random.nextGaussian()) + cashFlow;
+                        balances[i] = balance > 0 ? balance : 0;
+                    }
+                    sketch.record(year, balances[i]);
+                }
+            }
+
+            for (double balance : balances) {
+                if (balance > 0) {
+                    survivors++;
+                }
+            }
+            sketch.completePaths(count);
+            return sketch;
+        }
+    }
+
+    public static final class SimulationResult {
+        private final BalanceSketch sketch;
+        private final long survivors;
+        private final int requestedPaths;
+
+        private SimulationResult(BalanceSketch sketch, long survivors, int requestedPaths) {
+            this.sketch = sketch;
+            this.survivors = survivors;
+            this.requestedPaths = requestedPaths;
+        }
+
+        public long completedPaths() {
+            return sketch.paths();
+        }
+
+        public boolean isTruncated() {
+            return sketch.paths() < requestedPaths;
+        }
+
+        public double successProbability() {
+            return sketch.paths() == 0 ? 0 : (double) survivors / sketch.paths();
+        }
+
+        public int years() {
+            return sketch.years();
+        }
+
+        public double percentile(int year, double quantile) {
+            return sketch.quantile(year, quantile);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.percap.services.retirement;
+
+import com.percap.dtos.retirement.RetirementSimulationRequestDTO;
+import com.percap.dtos.retirement.RetirementSimulationResultDTO;
+import com.percap.dtos.retirement.YearBandDTO;
+import com.percap.services.retirement.MonteCarloSimulator.SimulationResult;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs retirement simulations on a dedicated fork/join pool with per-request and per-node limits.
+ * <p>
+ * Each request gets {@code api.retirement.cpu-budget-ms} of wall time on a pool of
+ * {@code api.retirement.parallelism} workers, which bounds the CPU it can consume; paths not
+ * started by then are dropped and the response is marked as truncated. A user may only run one
+ * simulation at a time, and at most {@code api.retirement.max-concurrent} run on the node.
+ */
+@Service
+public class RetirementSimulationService implements DisposableBean {
+    private static final double[] BAND_QUANTILES = {0.10, 0.25, 0.50, 0.75, 0.90};
+
+    private final ForkJoinPool pool;
+    private final Semaphore slots;
+    private final long cpuBudgetMs;
+    private final long queueWaitMs;
+    private final Set<String> activeUsers = ConcurrentHashMap.newKeySet();
+
+    public RetirementSimulationService(@Value("${api.retirement.parallelism:0}") int parallelism,
+                                       @Value("${api.retirement.max-concurrent:2}") int maxConcurrent,
+                                       @Value("${api.retirement.cpu-budget-ms:2000}") long cpuBudgetMs,
+                                       @Value("${api.retirement.queue-wait-ms:500}") long queueWaitMs) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.slots = new Semaphore(maxConcurrent);
+        this.cpuBudgetMs = cpuBudgetMs;
+        this.queueWaitMs = queueWaitMs;
+    }
+
+    public RetirementSimulationResultDTO simulate(String userId, RetirementSimulationRequestDTO request) {
+        if (!activeUsers.add(userId)) {
+            throw new IllegalStateException("A simulation is already running for this user");
+        }
+        try {
+            if (!slots.tryAcquire(queueWaitMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Too many simulations in progress");
+            }
+            try {
+                return run(request);
+            } finally {
+                slots.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a simulation slot", e);
+        } finally {
+            activeUsers.remove(userId);
+        }
+    }
+
+    private RetirementSimulationResultDTO run(RetirementSimulationRequestDTO request) {
+        SimulationParameters parameters = new SimulationParameters(request.getCurrentBalance(),
+                request.getAnnualContribution(), request.getAnnualWithdrawal(), request.getYearsToRetirement(),
+                request.getYearsInRetirement(), request.getExpectedReturn(), request.getVolatility());
+        long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(cpuBudgetMs);
+
+        SimulationResult result = MonteCarloSimulator.simulate(parameters, request.getPaths(), seed, pool, deadline);
+
+        List<YearBandDTO> bands = new ArrayList<>(result.years());
+        double[] values = new double[BAND_QUANTILES.length];
+        for (int year = 0; year < result.years(); year++) {
+            for (int q = 0; q < BAND_QUANTILES.length; q++) {
+                values[q] = result.percentile(year, BAND_QUANTILES[q]);
+            }
+            bands.add(new YearBandDTO(year, values[0], values[1], values[2], values[3], values[4]));
+        }
+        return new RetirementSimulationResultDTO(request.getPaths(), result.completedPaths(), result.isTruncated(),
+                result.successProbability(), bands);
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+}
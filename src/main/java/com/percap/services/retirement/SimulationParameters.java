@@ -0,0 +1,57 @@
+package com.percap.services.retirement;
+
+/**
+ * Inputs of one retirement simulation. Amounts are in the user's currency, rates are annual.
+ */
+public final class SimulationParameters {
+    private final double initialBalance;
+    private final double annualContribution;
+    private final double annualWithdrawal;
+    private final int yearsToRetirement;
+    private final int yearsInRetirement;
+    private final double expectedReturn;
+    private final double volatility;
+
+    public SimulationParameters(double initialBalance, double annualContribution, double annualWithdrawal,
+                                int yearsToRetirement, int yearsInRetirement, double expectedReturn, double volatility) {
+        this.initialBalance = initialBalance;
+        this.annualContribution = annualContribution;
+        this.annualWithdrawal = annualWithdrawal;
+        this.yearsToRetirement = yearsToRetirement;
+        this.yearsInRetirement = yearsInRetirement;
+        this.expectedReturn = expectedReturn;
+        this.volatility = volatility;
+    }
+
+    public double getInitialBalance() {
+        return initialBalance;
+    }
+
+    public double getAnnualContribution() {
+        return annualContribution;
+    }
+
+    public double getAnnualWithdrawal() {
+        return annualWithdrawal;
+    }
+
+    public int getYearsToRetirement() {
+        return yearsToRetirement;
+    }
+
+    public int getYearsInRetirement() {
+        return yearsInRetirement;
+    }
+
+    public double getExpectedReturn() {
+        return expectedReturn;
+    }
+
+    public double getVolatility() {
+        return volatility;
+    }
+
+    public int getHorizonYears() {
+        return yearsToRetirement + yearsInRetirement;
+    }
+}
@@ -0,0 +1,330 @@
+package com.percap.services.search;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable inverted index over one user's transaction descriptions and categories.
+ * <p>
+ * Term ids are assigned in lexicographic order, so every prefix query maps to a contiguous
+ * range of term ids. A query is evaluated by walking the postings of its most selective term
+ * and checking the remaining terms against each candidate's forward term list; results are
+ * ranked with BM25, newest first on ties.
+ */
+public final class TransactionSearchIndex {
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private final String[] terms;
+    private final int[][] postings;
+    private final int[][] docTerms;
+    private final float averageDocLength;
+
+    private final String[] ids;
+    private final String[] descriptions;
+    private final String[] categories;
+    private final int[] epochDays;
+    private final BigDecimal[] amounts;
+    private final String[] currencies;
+
+    private TransactionSearchIndex(Builder builder, String[] terms, int[][] postings, int[][] docTerms) {
+        int size = builder.ids.size();
+        this.terms = terms;
+        this.postings = postings;
+        this.docTerms = docTerms;
+        long totalLength = 0;
+        for (int[] doc : docTerms) {
+            totalLength += doc.length;
+        }
+        this.averageDocLength = size == 0 ? 1 : Math.max(1f, (float) totalLength / size);
+        this.ids = builder.ids.toArray(new String[0]);
+        this.descriptions = builder.descriptions.toArray(new String[0]);
+        this.categories = builder.categories.toArray(new String[0]);
+        this.epochDays = Arrays.copyOf(builder.epochDays, size);
+        this.amounts = builder.amounts.toArray(new BigDecimal[0]);
+        this.currencies = builder.currencies.toArray(new String[0]);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public String id(int doc) {
+        return ids[doc];
+    }
+
+    public String description(int doc) {
+        return descriptions[doc];
+    }
+
+    public String category(int doc) {
+        return categories[doc];
+    }
+
+    public LocalDate date(int doc) {
+        return LocalDate.ofEpochDay(epochDays[doc]);
+    }
+
+    public BigDecimal amount(int doc) {
+        return amounts[doc];
+    }
+
+    public String currency(int doc) {
+        return currencies[doc];
+    }
+
+    /**
+     * Returns up to {@code limit} matching documents, best first. Every query token must match;
+     * the last token and any token ending in {@code *} match as prefixes.
+     */
+    public int[] search(String query, int limit) {
+        List<String> tokens = tokenize(query == null ? "" : query.replace("*", "* "));
+        if (tokens.isEmpty() || limit <= 0) {
+            return new int[0];
+        }
+
+        int termCount = tokens.size();
+        int[] rangeStart = new int[termCount];
+        int[] rangeEnd = new int[termCount];
+        int driver = -1;
+        long driverCost = Long.MAX_VALUE;
+        for (int i = 0; i < termCount; i++) {
+            String token = tokens.get(i);
+            boolean prefix = i == termCount - 1 || token.endsWith("*");
+            String term = token.endsWith("*") ? token.substring(0, token.length() - 1) : token;
+            if (term.isEmpty()) {
+                rangeStart[i] = 0;
+                rangeEnd[i] = terms.length;
+            } else {
+                rangeStart[i] = lowerBound(term);
+                rangeEnd[i] = prefix ? lowerBound(term + Character.MAX_VALUE) : exactEnd(term, rangeStart[i]);
+            }
+            if (rangeStart[i] >= rangeEnd[i]) {
+                return new int[0];
+            }
+            long cost = 0;
+            for (int t = rangeStart[i]; t < rangeEnd[i]; t++) {
+                cost += postings[t].length;
+            }
+            if (cost < driverCost) {
+                driverCost = cost;
+                driver = i;
+            }
+        }
+
+        int[] topDocs = new int[limit];
+        float[] topScores = new float[limit];
+        int found = 0;
+        for (int doc : candidates(rangeStart[driver], rangeEnd[driver])) {
+            float score = 0;
+            for (int i = 0; i < termCount && score >= 0; i++) {
+                float termScore = score(doc, rangeStart[i], rangeEnd[i]);
+                score = termScore == 0 ? -1 : score + termScore;
+            }
+            if (score > 0) {
+                found = offer(topDocs, topScores, found, doc, score);
+            }
+        }
+        return Arrays.copyOf(topDocs, found);
+    }
+
+    private int[] candidates(int start, int end) {
+        if (end - start == 1) {
+            return postings[start];
+        }
+        int total = 0;
+        for (int t = start; t < end; t++) {
+            total += postings[t].length;
+        }
+        int[] merged = new int[total];
+        int offset = 0;
+        for (int t = start; t < end; t++) {
+            System.arraycopy(postings[t], 0, merged, offset, postings[t].length);
+            offset += postings[t].length;
+        }
+        Arrays.sort(merged);
+        int unique = 0;
+        for (int i = 0; i < merged.length; i++) {
+            if (i == 0 || merged[i] != merged[i - 1]) {
+                merged[unique++] = merged[i];
+            }
+        }
+        return Arrays.copyOf(merged, unique);
+    }
+
+    /**
+     * BM25 contribution of every term of {@code doc} in the term id range, or 0 if none occur.
+     */
+    private float score(int doc, int start, int end) {
+        int[] docTermIds = docTerms[doc];
+        float lengthNorm = K1 * (1 - B + B * docTermIds.length / averageDocLength);
+        float score = 0;
+        int i = 0;
+        while (i < docTermIds.length) {
+            int term = docTermIds[i];
+            int tf = 1;
+            while (i + tf < docTermIds.length && docTermIds[i + tf] == term) {
+                tf++;
+            }
+            if (term >= start && term < end) {
+                score += idf(term) * (tf * (K1 + 1)) / (tf + lengthNorm);
+            } else if (term >= end) {
+                break;
+            }
+            i += tf;
+        }
+        return score;
+    }
+
+    private float idf(int term) {
+        int df = postings[term].length;
+        return (float) Math.log(1 + (ids.length - df + 0.5) / (df + 0.5));
+    }
+
+    private int offer(int[] topDocs, float[] topScores, int found, int doc, float score) {
+        int limit = topDocs.length;
+        int position = found;
+        while (position > 0 && ranksBefore(doc, score, topDocs[position - 1], topScores[position - 1])) {
+            position--;
+        }
+        if (position >= limit) {
+            return found;
+        }
+        int moved = Math.min(found, limit - 1) - position;
+        System.arraycopy(topDocs, position, topDocs, position + 1, moved);
+        System.arraycopy(topScores, position, topScores, position + 1, moved);
+        topDocs[position] = doc;
+        topScores[position] = score;
+        return Math.min(found + 1, limit);
+    }
+
+    private boolean ranksBefore(int doc, float score, int otherDoc, float otherScore) {
+        if (score != otherScore) {
+            return score > otherScore;
+        }
+        return epochDays[doc] > epochDays[otherDoc];
+    }
+
+    private int lowerBound(String term) {
+        int low = 0;
+        int high = terms.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (terms[mid].compareTo(term) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int exactEnd(String term, int start) {
+        return start < terms.length && terms[start].equals(term) ? start + 1 : start;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && (Character.isLetterOrDigit(text.charAt(i)) || text.charAt(i) == '*');
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    public static final class Builder {
+        private final List<String> ids = new ArrayList<>();
+        private final List<String> descriptions = new ArrayList<>();
+        private final List<String> categories = new ArrayList<>();
+        private final List<BigDecimal> amounts = new ArrayList<>();
+        private final List<String> currencies = new ArrayList<>();
+        private int[] epochDays = new int[64];
+
+        private Builder() {
+        }
+
+        public Builder add(String id, String description, String category, LocalDate date, BigDecimal amount,
+                           String currency) {
+            if (ids.size() == epochDays.length) {
+                epochDays = Arrays.copyOf(epochDays, epochDays.length * 2);
+            }
+            epochDays[ids.size()] = (int) date.toEpochDay();
+            ids.add(id);
+            descriptions.add(description);
+            categories.add(category);
+            amounts.add(amount);
+            currencies.add(currency);
+            return this;
+        }
+
+        public TransactionSearchIndex build() {
+            int size = ids.size();
+            Map<String, Integer> provisional = new HashMap<>();
+            List<String> vocabulary = new ArrayList<>();
+            int[][] docTerms = new int[size][];
+            for (int doc = 0; doc < size; doc++) {
+                String text = descriptions.get(doc) + (categories.get(doc) != null ? " " + categories.get(doc) : "");
+                List<String> tokens = tokenize(text.replace("*", " "));
+                int[] termIds = new int[tokens.size()];
+                for (int i = 0; i < termIds.length; i++) {
+                    termIds[i] = provisional.computeIfAbsent(tokens.get(i), term -> {
+                        vocabulary.add(term);
+                        return vocabulary.size() - 1;
+                    });
+                }
+                docTerms[doc] = termIds;
+            }
+
+            String[] terms = vocabulary.toArray(new String[0]);
+            Arrays.sort(terms);
+            int[] remap = new int[terms.length];
+            for (int sorted = 0; sorted < terms.length; sorted++) {
+                remap[provisional.get(terms[sorted])] = sorted;
+            }
+
+            int[] documentFrequency = new int[terms.length];
+            for (int[] termIds : docTerms) {
+                for (int i = 0; i < termIds.length; i++) {
+                    termIds[i] = remap[termIds[i]];
+                }
+                Arrays.sort(termIds);
+                for (int i = 0; i < termIds.length; i++) {
+                    if (i == 0 || termIds[i] != termIds[i - 1]) {
+                        documentFrequency[termIds[i]]++;
+                    }
+                }
+            }
+
+            int[][] postings = new int[terms.length][];
+            for (int term = 0; term < terms.length; term++) {
+                postings[term] = new int[documentFrequency[term]];
+            }
+            int[] filled = new int[terms.length];
+            for (int doc = 0; doc < size; doc++) {
+                int[] termIds = docTerms[doc];
+                for (int i = 0; i < termIds.length; i++) {
+                    if (i == 0 || termIds[i] != termIds[i - 1]) {
+                        postings[termIds[i]][filled[termIds[i]]++] = doc;
+                    }
+                }
+            }
+            return new TransactionSearchIndex(this, terms, postings, docTerms);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.percap.services.search;
+
+import com.percap.domain.outbox.OutboxEventType;
+import com.percap.domain.outbox.RemoteChangeEvent;
+import com.percap.domain.transaction.LedgerRecategorizedEvent;
+import com.percap.domain.transaction.TransactionChangedEvent;
+import com.percap.dtos.transaction.TransactionDTO;
+import com.percap.repositories.TransactionRepository;
+import com.percap.repositories.TransactionRepository.SearchDocument;
+import com.percap.services.ledger.LedgerViewCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Full-text search over a user's ledger backed by per-user {@link TransactionSearchIndex}es.
+ * <p>
+ * An index is built on the user's first search, dropped when the user's ledger changes or is
+ * recategorized, here or in another process, and evicted after {@code api.search.idle-ttl-ms} without searches. At most
+ * {@code api.search.max-indexes} indexes are kept; beyond that the least recently used is evicted.
+ * Indexes live in a {@link LedgerViewCache}, so a build racing a commit is never installed.
+ */
+@Service
+public class TransactionSearchService {
+    private static final int MAX_LIMIT = 100;
+
+    private final TransactionRepository transactionRepository;
+    private final LedgerViewCache<TransactionSearchIndex> indexes;
+
+    public TransactionSearchService(TransactionRepository transactionRepository,
+                                    @Value("${api.search.idle-ttl-ms:900000}") long idleTtlMs,
+                                    @Value("${api.search.max-indexes:10000}") int maxIndexes) {
+        this.transactionRepository = transactionRepository;
+        this.indexes = new LedgerViewCache<>(this::build, idleTtlMs, maxIndexes);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TransactionDTO> search(String userId, String query, int limit) {
+        TransactionSearchIndex index = indexes.get(userId);
+        int[] docs = index.search(query, Math.min(Math.max(limit, 1), MAX_LIMIT));
+        List<TransactionDTO> results = new ArrayList<>(docs.length);
+        for (int doc : docs) {
+            results.add(new TransactionDTO(index.id(doc), index.description(doc), index.amount(doc),
+                    index.currency(doc), index.date(doc), index.category(doc)));
+        }
+        return results;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTransactionCommitting(TransactionChangedEvent event) {
+        indexes.committing(event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        indexes.committed(event.getUserId(), null);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLedgerRecategorized(LedgerRecategorizedEvent event) {
+        indexes.evict(event.getUserId());
+    }
+
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        if (event.getType() == OutboxEventType.TRANSACTION_CHANGED || event.getType() == OutboxEventType.LEDGER_RECATEGORIZED) {
+            indexes.evict(event.getUserId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${api.search.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        indexes.evictIdle();
+    }
+
+    int cachedIndexCount() {
+        return indexes.size();
+    }
+
+    private TransactionSearchIndex build(String userId) {
+        TransactionSearchIndex.Builder builder = TransactionSearchIndex.builder();
+        for (SearchDocument document : transactionRepository.findByUserId(userId)) {
+            builder.add(document.getId(), document.getDescription(), document.getCategory(),
+                    document.getDate(), document.getAmount(), document.getCurrency());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,288 @@
+package com.percap.services.streaming;
+
+import com.percap.domain.fx.FxRatesChangedEvent;
+import com.percap.domain.outbox.OutboxEventType;
+import com.percap.domain.outbox.RemoteChangeEvent;
+import com.percap.domain.portfolio.PortfolioChangedEvent;
+import com.percap.domain.transaction.TransactionChangedEvent;
+import com.percap.dtos.streaming.BalanceUpdateDTO;
+import com.percap.repositories.PortfolioValuationRepository;
+import com.percap.repositories.TransactionRepository;
+import com.percap.repositories.TransactionRepository.CurrencyTotal;
+import com.percap.services.fx.FxService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes balance and net-worth updates to users over Server-Sent Events.
+ * <p>
+ * Ledger and portfolio events, local or reported by another process, only flag the user as
+ * dirty; every {@code api.streams.flush-interval-ms} the flagged users are recomputed once and the
+ * result is sent to all of their streams, so a burst of writes becomes a single event and
+ * unchanged totals are not sent at all. Totals are in the base currency at today's FX rates, and
+ * every stream is flagged when those rates change. Idle streams hold no thread: the request
+ * completes asynchronously and the connection is parked in the servlet container until there is
+ * something to send. Recomputes and sends run on virtual threads, with at most
+ * {@code api.streams.max-concurrent-loads} database reads in flight.
+ */
+@Service
+public class BalanceStreamService implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(BalanceStreamService.class);
+    static final String EVENT_NAME = "balance";
+
+    private final TransactionRepository transactionRepository;
+    private final PortfolioValuationRepository portfolioValuationRepository;
+    private final FxService fxService;
+    private final long timeoutMs;
+    private final int maxPerUser;
+    private final int maxSubscribers;
+    private final Semaphore loadPermits;
+    private final ConcurrentHashMap<String, UserStreams> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService pushExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public BalanceStreamService(TransactionRepository transactionRepository,
+                                PortfolioValuationRepository portfolioValuationRepository,
+                                FxService fxService,
+                                @Value("${api.streams.timeout-ms:3600000}") long timeoutMs,
+                                @Value("${api.streams.max-per-user:5}") int maxPerUser,
+                                @Value("${api.streams.max-subscribers:50000}") int maxSubscribers,
+                                @Value("${api.streams.max-concurrent-loads:8}") int maxConcurrentLoads) {
+        this.transactionRepository = transactionRepository;
+        this.portfolioValuationRepository = portfolioValuationRepository;
+        this.fxService = fxService;
+        this.timeoutMs = timeoutMs;
+        this.maxPerUser = maxPerUser;
+        this.maxSubscribers = maxSubscribers;
+        this.loadPermits = new Semaphore(maxConcurrentLoads);
+    }
+
+    public SseEmitter subscribe(String userId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("Too many open streams");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        UserStreams[] added = new UserStreams[1];
+        streams.compute(userId, (id, group) -> {
+            UserStreams target = group != null ? group : new UserStreams();
+            if (target.emitters.size() < maxPerUser) {
+                target.emitters.add(emitter);
+                added[0] = target;
+            }
+            return target.emitters.isEmpty() ? null : target;
+        });
+        if (added[0] == null) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("Too many open streams for this user");
+        }
+
+        Runnable remove = () -> unsubscribe(userId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+
+        BalanceUpdateDTO last = added[0].last;
+        if (last != null) {
+            pushExecutor.execute(() -> send(userId, emitter, last));
+        } else {
+            added[0].awaitingInitial.add(emitter);
+            added[0].dirty.set(true);
+            pushExecutor.execute(() -> push(userId));
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        markDirty(event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        markDirty(event.getUserId());
+    }
+
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        if (event.getType() == OutboxEventType.TRANSACTION_CHANGED || event.getType() == OutboxEventType.PORTFOLIO_CHANGED) {
+            markDirty(event.getUserId());
+        }
+    }
+
+    @EventListener
+    public void onFxRatesChanged(FxRatesChangedEvent event) {
+        streams.values().forEach(group -> group.dirty.set(true));
+    }
+
+    @Scheduled(fixedDelayString = "${api.streams.flush-interval-ms:1000}")
+    public void flush() {
+        streams.forEach((userId, group) -> {
+            if (group.dirty.get()) {
+                pushExecutor.execute(() -> push(userId));
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${api.streams.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        streams.forEach((userId, group) -> pushExecutor.execute(() -> {
+            for (SseEmitter emitter : group.emitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                } catch (IOException | IllegalStateException e) {
+                    emitter.completeWithError(e);
+                }
+            }
+        }));
+    }
+
+    /**
+     * Current totals for the user, reusing the last pushed value when the user has an open stream
+     * and nothing changed since.
+     */
+    public BalanceUpdateDTO current(String userId) {
+        UserStreams group = streams.get(userId);
+        if (group != null && group.last != null && !group.dirty.get()) {
+            return group.last;
+        }
+        return load(userId);
+    }
+
+    int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @Override
+    public void destroy() {
+        streams.values().forEach(group -> group.emitters.forEach(SseEmitter::complete));
+        pushExecutor.shutdownNow();
+    }
+
+    private void markDirty(String userId) {
+        UserStreams group = streams.get(userId);
+        if (group != null) {
+            group.dirty.set(true);
+        }
+    }
+
+    /**
+     * Recomputes the user's totals if they are flagged. A call that finds another push running
+     * leaves the flag set, and the running push checks it again once it is done, so a change or a
+     * new subscriber arriving mid-push is not left waiting for the next flush.
+     */
+    void push(String userId) {
+        UserStreams group = streams.get(userId);
+        if (group == null) {
+            return;
+        }
+        while (group.dirty.get() && group.pushing.compareAndSet(false, true)) {
+            try {
+                if (!group.dirty.getAndSet(false)) {
+                    continue;
+                }
+                BalanceUpdateDTO update;
+                try {
+                    update = load(userId);
+                } catch (RuntimeException e) {
+                    group.dirty.set(true);
+                    logger.warn("Could not load balances for user {}", userId, e);
+                    return;
+                }
+                BalanceUpdateDTO previous = group.last;
+                group.last = update;
+                if (previous == null || !sameTotals(previous, update)) {
+                    for (SseEmitter emitter : group.emitters) {
+                        group.awaitingInitial.remove(emitter);
+                        send(userId, emitter, update);
+                    }
+                }
+                // Streams that subscribed before any totals were loaded still need their first event.
+                for (SseEmitter emitter : group.awaitingInitial) {
+                    if (group.awaitingInitial.remove(emitter)) {
+                        send(userId, emitter, update);
+                    }
+                }
+            } finally {
+                group.pushing.set(false);
+            }
+        }
+    }
+
+    boolean settled(String userId) {
+        UserStreams group = streams.get(userId);
+        return group != null && group.last != null && !group.pushing.get() && !group.dirty.get();
+    }
+
+    private BalanceUpdateDTO load(String userId) {
+        loadPermits.acquireUninterruptibly();
+        try {
+            LocalDate today = LocalDate.now();
+            BigDecimal balance = BigDecimal.ZERO;
+            for (CurrencyTotal total : transactionRepository.sumByCurrency(userId)) {
+                balance = balance.add(fxService.toBase(total.getTotal(), total.getCurrency(), today));
+            }
+            BigDecimal portfolioValue = portfolioValuationRepository.findTopByUserIdOrderByDateDesc(userId)
+                    .map(valuation -> fxService.toBase(valuation.getMarketValue(), valuation.getCurrency(), today))
+                    .orElse(BigDecimal.ZERO);
+            return new BalanceUpdateDTO(balance, portfolioValue, balance.add(portfolioValue), Instant.now());
+        } finally {
+            loadPermits.release();
+        }
+    }
+
+    private void send(String userId, SseEmitter emitter, BalanceUpdateDTO update) {
+        try {
+            emitter.send(SseEmitter.event().name(EVENT_NAME).data(update));
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Dropping balance stream for user {}", userId);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void unsubscribe(String userId, SseEmitter emitter) {
+        boolean[] removed = new boolean[1];
+        streams.computeIfPresent(userId, (id, group) -> {
+            removed[0] = group.emitters.remove(emitter);
+            group.awaitingInitial.remove(emitter);
+            return group.emitters.isEmpty() ? null : group;
+        });
+        if (removed[0]) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    private static boolean sameTotals(BalanceUpdateDTO a, BalanceUpdateDTO b) {
+        return a.getBalance().compareTo(b.getBalance()) == 0
+                && a.getPortfolioValue().compareTo(b.getPortfolioValue()) == 0;
+    }
+
+    private static final class UserStreams {
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        private final Set<SseEmitter> awaitingInitial = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        private final AtomicBoolean pushing = new AtomicBoolean();
+        private volatile BalanceUpdateDTO last;
+    }
+}
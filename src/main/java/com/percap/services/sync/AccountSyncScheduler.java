@@ -0,0 +1,343 @@
+package com.percap.services.sync;
+
+import com.percap.domain.institution.Institution;
+import com.percap.repositories.InstitutionRepository;
+import com.percap.repositories.LinkedAccountRepository;
+import com.percap.repositories.LinkedAccountRepository.DueAccount;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Refreshes linked accounts from their institutions.
+ * <p>
+ * Every {@code api.sync.poll-interval-ms} accounts whose {@code nextSyncAt} has passed are put on
+ * a priority queue ordered by how recently their owner used the app, then by how long they have
+ * been due. A dispatcher thread drains the queue, starting an account on a virtual thread only
+ * when its institution's {@link InstitutionLimiter} has a free slot; otherwise the account is
+ * parked in that institution's own queue and goes back on the main queue when one of the
+ * institution's syncs finishes. A started sync waits out the institution's rate and then for one
+ * of the {@code api.sync.max-in-flight} global slots, so a slow institution holds at most its own
+ * concurrency limit of them and never blocks accounts at other institutions. Successful accounts are rescheduled
+ * one sync interval out, failed ones after an exponential, jittered backoff.
+ * <p>
+ * Exposed metrics: {@code sync.accounts} (by outcome), {@code sync.fetch} (aggregator latency by
+ * institution), {@code sync.queue.wait} (due-to-start delay), and the gauges
+ * {@code sync.queue.size}, {@code sync.queue.lag} (seconds the head of the queue has been due)
+ * and {@code sync.in_flight}.
+ */
+@Component
+public class AccountSyncScheduler implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(AccountSyncScheduler.class);
+    private static final int DEFAULT_MAX_CONCURRENT = 1;
+    private static final int DEFAULT_REQUESTS_PER_MINUTE = 60;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final LinkedAccountRepository linkedAccountRepository;
+    private final InstitutionRepository institutionRepository;
+    private final AggregatorClient aggregatorClient;
+    private final UserActivityTracker activityTracker;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final Duration syncInterval;
+    private final Duration backoffBase;
+    private final Duration backoffMax;
+
+    private final PriorityBlockingQueue<SyncTask> queue = new PriorityBlockingQueue<>(1024, SyncTask.ORDER);
+    // Accounts queued or running, so a slow sync is not queued twice.
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final Semaphore inFlight;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService workers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("account-sync-", 0).factory());
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Timer queueWait;
+    private volatile Thread dispatcher;
+
+    public AccountSyncScheduler(LinkedAccountRepository linkedAccountRepository,
+                                InstitutionRepository institutionRepository,
+                                AggregatorClient aggregatorClient,
+                                UserActivityTracker activityTracker,
+                                MeterRegistry meterRegistry,
+                                @Value("${api.sync.batch-size:5000}") int batchSize,
+                                @Value("${api.sync.max-in-flight:500}") int maxInFlight,
+                                @Value("${api.sync.interval-minutes:240}") long intervalMinutes,
+                                @Value("${api.sync.backoff-base-seconds:60}") long backoffBaseSeconds,
+                                @Value("${api.sync.backoff-max-minutes:360}") long backoffMaxMinutes) {
+        this.linkedAccountRepository = linkedAccountRepository;
+        this.institutionRepository = institutionRepository;
+        this.aggregatorClient = aggregatorClient;
+        this.activityTracker = activityTracker;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+        this.syncInterval = Duration.ofMinutes(intervalMinutes);
+        this.backoffBase = Duration.ofSeconds(backoffBaseSeconds);
+        this.backoffMax = Duration.ofMinutes(backoffMaxMinutes);
+        this.inFlight = new Semaphore(maxInFlight, true);
+
+        this.succeeded = Counter.builder("sync.accounts").tag("outcome", "success").register(meterRegistry);
+        this.failed = Counter.builder("sync.accounts").tag("outcome", "failure").register(meterRegistry);
+        this.queueWait = Timer.builder("sync.queue.wait").register(meterRegistry);
+        meterRegistry.gauge("sync.queue.size", queue, PriorityBlockingQueue::size);
+        meterRegistry.gauge("sync.queue.lag", this, AccountSyncScheduler::queueLagSeconds);
+        meterRegistry.gauge("sync.in_flight", inFlight, permits -> maxInFlight - permits.availablePermits());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread thread = new Thread(this::dispatchLoop, "account-sync-dispatcher");
+        thread.setDaemon(true);
+        dispatcher = thread;
+        thread.start();
+    }
+
+    @Scheduled(fixedDelayString = "${api.sync.poll-interval-ms:30000}")
+    public void enqueueDue() {
+        refreshLimiters();
+        int added = 0;
+        for (DueAccount account : linkedAccountRepository.findDue(Instant.now(), PageRequest.of(0, batchSize))) {
+            if (enqueue(account.getId(), account.getInstitutionId(), account.getExternalAccountId(),
+                    account.getConsecutiveFailures(), account.getNextSyncAt(), activityTracker.lastActive(account.getUserId()))) {
+                added++;
+            }
+        }
+        if (added > 0) {
+            logger.debug("Queued {} accounts for sync ({} waiting)", added, queue.size());
+        }
+    }
+
+    /**
+     * Queues an account ahead of scheduled work, e.g. when the user asks for a refresh. Returns
+     * {@code false} if the account is already queued or syncing.
+     */
+    public boolean requestSync(String accountId, String institutionId, String externalAccountId, int consecutiveFailures) {
+        return enqueue(accountId, institutionId, externalAccountId, consecutiveFailures, Instant.now(), Long.MAX_VALUE);
+    }
+
+    int queuedCount() {
+        return queue.size();
+    }
+
+    @Override
+    public void destroy() {
+        Thread thread = dispatcher;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        workers.shutdownNow();
+    }
+
+    /**
+     * Delay before retrying after {@code failures} consecutive failures: {@code base * 2^(failures-1)}
+     * capped at {@code max}, scaled by a random factor in [0.5, 1.5) so retries from an outage
+     * do not arrive together.
+     */
+    static Duration backoff(int failures, Duration base, Duration max, double jitter) {
+        int exponent = Math.min(Math.max(failures - 1, 0), 30);
+        long millis = Math.min(max.toMillis(), base.toMillis() << exponent);
+        return Duration.ofMillis((long) (millis * (0.5 + jitter)));
+    }
+
+    private boolean enqueue(String accountId, String institutionId, String externalAccountId,
+                            int failures, Instant dueAt, long lastActive) {
+        if (!pending.add(accountId)) {
+            return false;
+        }
+        queue.add(new SyncTask(accountId, institutionId, externalAccountId, failures, dueAt.toEpochMilli(),
+                lastActive, sequence.incrementAndGet()));
+        return true;
+    }
+
+    private void dispatchLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Lane lane = null;
+            InstitutionLimiter limiter = null;
+            try {
+                SyncTask task = queue.take();
+                try {
+                    lane = lane(task.institutionId);
+                } catch (RuntimeException e) {
+                    // The account is still due, so the next poll queues it again.
+                    pending.remove(task.accountId);
+                    logger.warn("Could not load the limits of institution {}", task.institutionId, e);
+                    continue;
+                }
+                limiter = lane.tryStart(task);
+                if (limiter == null) {
+                    // Parked until one of the institution's syncs finishes.
+                    continue;
+                }
+                Lane started = lane;
+                InstitutionLimiter acquired = limiter;
+                workers.execute(() -> run(started, acquired, task));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                // Executor rejected the task during shutdown.
+                if (limiter != null) {
+                    lane.finish(limiter);
+                }
+                logger.warn("Account sync dispatcher stopping", e);
+                return;
+            }
+        }
+    }
+
+    private void run(Lane lane, InstitutionLimiter limiter, SyncTask task) {
+        try {
+            limiter.awaitStart();
+            inFlight.acquire();
+            try {
+                queueWait.record(Math.max(0, System.currentTimeMillis() - task.dueAtMillis), TimeUnit.MILLISECONDS);
+                sync(task);
+            } finally {
+                inFlight.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pending.remove(task.accountId);
+            SyncTask next = lane.finish(limiter);
+            if (next != null) {
+                queue.add(next);
+            }
+        }
+    }
+
+    private void sync(SyncTask task) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            AggregatedBalance balance = aggregatorClient.fetchBalance(task.institutionId, task.externalAccountId);
+            sample.stop(fetchTimer(task.institutionId));
+            Instant now = Instant.now();
+            double spread = 0.9 + 0.2 * ThreadLocalRandom.current().nextDouble();
+            linkedAccountRepository.recordSuccess(task.accountId, balance.getBalance(), balance.getCurrency(), now,
+                    now.plusMillis((long) (syncInterval.toMillis() * spread)));
+            succeeded.increment();
+        } catch (RuntimeException e) {
+            sample.stop(fetchTimer(task.institutionId));
+            Duration delay = backoff(task.failures + 1, backoffBase, backoffMax, ThreadLocalRandom.current().nextDouble());
+            String message = String.valueOf(e.getMessage());
+            linkedAccountRepository.recordFailure(task.accountId, Instant.now().plus(delay),
+                    message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+            failed.increment();
+            logger.debug("Sync of account {} failed, retrying in {}", task.accountId, delay, e);
+        }
+    }
+
+    private Timer fetchTimer(String institutionId) {
+        return Timer.builder("sync.fetch").tag("institution", institutionId).register(meterRegistry);
+    }
+
+    private Lane lane(String institutionId) {
+        return lanes.computeIfAbsent(institutionId, id -> new Lane(institutionRepository.findById(id)
+                .map(institution -> new InstitutionLimiter(institution.getMaxConcurrentSyncs(), institution.getRequestsPerMinute()))
+                .orElseGet(() -> new InstitutionLimiter(DEFAULT_MAX_CONCURRENT, DEFAULT_REQUESTS_PER_MINUTE))));
+    }
+
+    private void refreshLimiters() {
+        for (Institution institution : institutionRepository.findAll()) {
+            Lane lane = lanes.computeIfAbsent(institution.getId(), id -> new Lane(
+                    new InstitutionLimiter(institution.getMaxConcurrentSyncs(), institution.getRequestsPerMinute())));
+            lane.reconfigure(institution.getMaxConcurrentSyncs(), institution.getRequestsPerMinute());
+        }
+    }
+
+    private double queueLagSeconds() {
+        SyncTask head = queue.peek();
+        return head == null ? 0 : Math.max(0, System.currentTimeMillis() - head.dueAtMillis) / 1000.0;
+    }
+
+    /**
+     * An institution's limiter and the accounts waiting for one of its slots, most urgent first.
+     */
+    private static final class Lane {
+        private final PriorityQueue<SyncTask> parked = new PriorityQueue<>(SyncTask.ORDER);
+        private InstitutionLimiter limiter;
+
+        private Lane(InstitutionLimiter limiter) {
+            this.limiter = limiter;
+        }
+
+        /**
+         * Returns the limiter whose slot the task now holds, or null if the task was parked.
+         */
+        private synchronized InstitutionLimiter tryStart(SyncTask task) {
+            if (limiter.tryAcquire()) {
+                return limiter;
+            }
+            parked.add(task);
+            return null;
+        }
+
+        /**
+         * Frees the slot taken from {@code used} and returns the next parked account, if any.
+         */
+        private synchronized SyncTask finish(InstitutionLimiter used) {
+            used.release();
+            return parked.poll();
+        }
+
+        /**
+         * Syncs already running keep releasing the limiter they started under.
+         */
+        private synchronized void reconfigure(int maxConcurrent, int requestsPerMinute) {
+            if (!limiter.matches(maxConcurrent, requestsPerMinute)) {
+                limiter = new InstitutionLimiter(maxConcurrent, requestsPerMinute);
+            }
+        }
+    }
+
+    private static final class SyncTask {
+        // Most recently active owner first, then longest overdue, then arrival order.
+        static final Comparator<SyncTask> ORDER = Comparator.<SyncTask>comparingLong(task -> -task.lastActiveMillis)
+                .thenComparingLong(task -> task.dueAtMillis)
+                .thenComparingLong(task -> task.sequence);
+
+        private final String accountId;
+        private final String institutionId;
+        private final String externalAccountId;
+        private final int failures;
+        private final long dueAtMillis;
+        private final long lastActiveMillis;
+        private final long sequence;
+
+        private SyncTask(String accountId, String institutionId, String externalAccountId, int failures,
+                         long dueAtMillis, long lastActiveMillis, long sequence) {
+            this.accountId = accountId;
+            this.institutionId = institutionId;
+            this.externalAccountId = externalAccountId;
+            this.failures = failures;
+            this.dueAtMillis = dueAtMillis;
+            this.lastActiveMillis = lastActiveMillis;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.percap.services.sync;
+
+import java.math.BigDecimal;
+
+public final class AggregatedBalance {
+    private final BigDecimal balance;
+    private final String currency;
+
+    public AggregatedBalance(BigDecimal balance, String currency) {
+        this.balance = balance;
+        this.currency = currency;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+}
@@ -0,0 +1,11 @@
+package com.percap.services.sync;
+
+/**
+ * Fetches account data from an institution through an aggregation provider.
+ * <p>
+ * Implementations block for the duration of the remote call; the scheduler runs them on virtual
+ * threads and applies per-institution limits before calling.
+ */
+public interface AggregatorClient {
+    AggregatedBalance fetchBalance(String institutionId, String externalAccountId);
+}
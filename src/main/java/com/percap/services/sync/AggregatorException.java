@@ -0,0 +1,14 @@
+package com.percap.services.sync;
+
+/**
+ * Raised when an institution could not be reached or rejected the request.
+ */
+public class AggregatorException extends RuntimeException {
+    public AggregatorException(String message) {
+        super(message);
+    }
+
+    public AggregatorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,70 @@
+package com.percap.services.sync;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps concurrent requests to one institution and spaces their starts to its per-minute rate.
+ * <p>
+ * The scheduler only ever takes a slot with {@link #tryAcquire()} and keeps accounts that find the
+ * institution busy in its own queue, so waiting on one institution never holds capacity another
+ * could use. {@link #acquire()} waits fairly for a slot instead. Callers are virtual threads, so
+ * waiting out the rate here costs no platform thread.
+ */
+final class InstitutionLimiter {
+    private final int maxConcurrent;
+    private final int requestsPerMinute;
+    private final Semaphore permits;
+    private final long intervalNanos;
+    private long nextStartNanos;
+
+    InstitutionLimiter(int maxConcurrent, int requestsPerMinute) {
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.requestsPerMinute = Math.max(1, requestsPerMinute);
+        this.permits = new Semaphore(this.maxConcurrent, true);
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / this.requestsPerMinute;
+        this.nextStartNanos = System.nanoTime();
+    }
+
+    boolean matches(int maxConcurrent, int requestsPerMinute) {
+        return this.maxConcurrent == Math.max(1, maxConcurrent) && this.requestsPerMinute == Math.max(1, requestsPerMinute);
+    }
+
+    void acquire() throws InterruptedException {
+        permits.acquire();
+        try {
+            awaitStart();
+        } catch (InterruptedException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Takes a slot if one is free; the caller then waits out the rate with {@link #awaitStart()}.
+     */
+    boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    void awaitStart() throws InterruptedException {
+        long waitNanos = reserveStart() - System.nanoTime();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    void release() {
+        permits.release();
+    }
+
+    int inFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    private synchronized long reserveStart() {
+        long start = Math.max(System.nanoTime(), nextStartNanos);
+        nextStartNanos = start + intervalNanos;
+        return start;
+    }
+}
@@ -0,0 +1,72 @@
+package com.percap.services.sync;
+
+import com.percap.domain.account.LinkedAccount;
+import com.percap.domain.institution.Institution;
+import com.percap.domain.user.User;
+import com.percap.dtos.account.LinkAccountRequestDTO;
+import com.percap.dtos.account.LinkedAccountDTO;
+import com.percap.dtos.institution.InstitutionDTO;
+import com.percap.repositories.InstitutionRepository;
+import com.percap.repositories.LinkedAccountRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Service
+public class LinkedAccountService {
+    private final LinkedAccountRepository linkedAccountRepository;
+    private final InstitutionRepository institutionRepository;
+    private final AccountSyncScheduler accountSyncScheduler;
+
+    public LinkedAccountService(LinkedAccountRepository linkedAccountRepository, InstitutionRepository institutionRepository,
+                                AccountSyncScheduler accountSyncScheduler) {
+        this.linkedAccountRepository = linkedAccountRepository;
+        this.institutionRepository = institutionRepository;
+        this.accountSyncScheduler = accountSyncScheduler;
+    }
+
+    public List<InstitutionDTO> listInstitutions() {
+        return institutionRepository.findAll().stream().map(InstitutionDTO::from).toList();
+    }
+
+    @Transactional
+    public InstitutionDTO createInstitution(InstitutionDTO request) {
+        if (institutionRepository.findByName(request.getName().trim()).isPresent()) {
+            throw new IllegalArgumentException("Institution " + request.getName() + " already exists");
+        }
+        Institution institution = new Institution();
+        institution.setName(request.getName().trim());
+        institution.setMaxConcurrentSyncs(request.getMaxConcurrentSyncs());
+        institution.setRequestsPerMinute(request.getRequestsPerMinute());
+        return InstitutionDTO.from(institutionRepository.save(institution));
+    }
+
+    @Transactional(readOnly = true)
+    public List<LinkedAccountDTO> list(User user) {
+        return linkedAccountRepository.findByUserId(user.getId()).stream().map(LinkedAccountDTO::from).toList();
+    }
+
+    @Transactional
+    public LinkedAccountDTO link(User user, LinkAccountRequestDTO request) {
+        Institution institution = institutionRepository.findById(request.getInstitutionId())
+                .orElseThrow(() -> new IllegalArgumentException("Institution " + request.getInstitutionId() + " does not exist"));
+        LinkedAccount account = new LinkedAccount();
+        account.setUser(user);
+        account.setInstitution(institution);
+        account.setExternalAccountId(request.getExternalAccountId());
+        account.setName(request.getName().trim());
+        // Due immediately, so the first sync happens on the scheduler's next poll.
+        account.setNextSyncAt(Instant.now());
+        return LinkedAccountDTO.from(linkedAccountRepository.save(account));
+    }
+
+    @Transactional(readOnly = true)
+    public boolean requestSync(User user, String accountId) {
+        LinkedAccount account = linkedAccountRepository.findByIdAndUserId(accountId, user.getId())
+                .orElseThrow(() -> new IllegalArgumentException("Account " + accountId + " does not exist"));
+        return accountSyncScheduler.requestSync(account.getId(), account.getInstitution().getId(),
+                account.getExternalAccountId(), account.getConsecutiveFailures());
+    }
+}
@@ -0,0 +1,50 @@
+package com.percap.services.sync;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for the aggregation provider, used until real institutions are connected and in
+ * load tests.
+ * <p>
+ * Each call sleeps for {@code api.sync.stub.latency-ms} plus up to
+ * {@code api.sync.stub.latency-jitter-ms}, then fails with probability
+ * {@code api.sync.stub.error-rate}. Balances are derived from the account id so repeated syncs
+ * return stable values with a small drift.
+ */
+@Component
+@ConditionalOnProperty(name = "api.sync.aggregator", havingValue = "stub", matchIfMissing = true)
+public class StubAggregatorClient implements AggregatorClient {
+    private final long latencyMs;
+    private final long latencyJitterMs;
+    private final double errorRate;
+
+    public StubAggregatorClient(@Value("${api.sync.stub.latency-ms:200}") long latencyMs,
+                                @Value("${api.sync.stub.latency-jitter-ms:150}") long latencyJitterMs,
+                                @Value("${api.sync.stub.error-rate:0.05}") double errorRate) {
+        this.latencyMs = latencyMs;
+        this.latencyJitterMs = latencyJitterMs;
+        this.errorRate = errorRate;
+    }
+
+    @Override
+    public AggregatedBalance fetchBalance(String institutionId, String externalAccountId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try {
+            Thread.sleep(latencyMs + (latencyJitterMs > 0 ? random.nextLong(latencyJitterMs + 1) : 0));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AggregatorException("Interrupted while fetching " + externalAccountId, e);
+        }
+        if (random.nextDouble() < errorRate) {
+            throw new AggregatorException("Institution " + institutionId + " returned a simulated error");
+        }
+        long baseCents = Math.floorMod(externalAccountId.hashCode(), 5_000_000);
+        long driftCents = random.nextLong(-5_000, 5_001);
+        return new AggregatedBalance(BigDecimal.valueOf(baseCents + driftCents, 2), "USD");
+    }
+}
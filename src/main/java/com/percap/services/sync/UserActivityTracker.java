@@ -0,0 +1,39 @@
+package com.percap.services.sync;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when each user last made an authenticated request on this node, so background work
+ * can favour people who are actually using the app. Entries older than
+ * {@code api.sync.activity-retention-ms} are dropped.
+ */
+@Component
+public class UserActivityTracker {
+    private final long retentionMs;
+    private final ConcurrentHashMap<String, Long> lastSeen = new ConcurrentHashMap<>();
+
+    public UserActivityTracker(@Value("${api.sync.activity-retention-ms:604800000}") long retentionMs) {
+        this.retentionMs = retentionMs;
+    }
+
+    public void touch(String userId) {
+        lastSeen.put(userId, System.currentTimeMillis());
+    }
+
+    /**
+     * Epoch millis of the user's last request, or 0 if none is remembered.
+     */
+    public long lastActive(String userId) {
+        return lastSeen.getOrDefault(userId, 0L);
+    }
+
+    @Scheduled(fixedDelayString = "${api.sync.activity-sweep-interval-ms:3600000}")
+    public void evictStale() {
+        long cutoff = System.currentTimeMillis() - retentionMs;
+        lastSeen.values().removeIf(seen -> seen < cutoff);
+    }
+}
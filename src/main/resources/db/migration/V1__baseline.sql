@@ -0,0 +1,131 @@
+-- Schema as previously generated by spring.jpa.hibernate.ddl-auto=update.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate) and skip it.
+
+CREATE TABLE users (
+    id       VARCHAR(255) PRIMARY KEY,
+    login    VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    role     VARCHAR(255) CHECK (role IN ('USER', 'ADMIN'))
+);
+
+CREATE TABLE transactions (
+    id               VARCHAR(255) PRIMARY KEY,
+    user_id          VARCHAR(255)   NOT NULL REFERENCES users (id),
+    description      VARCHAR(255)   NOT NULL,
+    amount           NUMERIC(19, 2) NOT NULL,
+    currency         VARCHAR(3)     NOT NULL DEFAULT 'USD',
+    transaction_date DATE           NOT NULL,
+    category         VARCHAR(255),
+    updated_at       TIMESTAMP(6) WITH TIME ZONE
+);
+CREATE INDEX idx_transactions_user_date ON transactions (user_id, transaction_date);
+CREATE INDEX idx_transactions_updated_at ON transactions (updated_at);
+
+CREATE TABLE category_rules (
+    id       VARCHAR(255) PRIMARY KEY,
+    keyword  VARCHAR(255) NOT NULL,
+    category VARCHAR(255) NOT NULL,
+    priority INTEGER      NOT NULL
+);
+
+CREATE TABLE budgets (
+    id           VARCHAR(255) PRIMARY KEY,
+    user_id      VARCHAR(255)   NOT NULL REFERENCES users (id),
+    category     VARCHAR(255)   NOT NULL,
+    budget_month DATE           NOT NULL,
+    limit_amount NUMERIC(19, 2) NOT NULL,
+    CONSTRAINT uk_budgets_user_category_month UNIQUE (user_id, category, budget_month)
+);
+
+CREATE TABLE portfolio_valuations (
+    id             VARCHAR(255) PRIMARY KEY,
+    user_id        VARCHAR(255)   NOT NULL REFERENCES users (id),
+    valuation_date DATE           NOT NULL,
+    market_value   NUMERIC(19, 2) NOT NULL,
+    currency       VARCHAR(3)     NOT NULL DEFAULT 'USD',
+    CONSTRAINT uk_portfolio_valuations_user_date UNIQUE (user_id, valuation_date)
+);
+
+CREATE TABLE cash_flows (
+    id        VARCHAR(255) PRIMARY KEY,
+    user_id   VARCHAR(255)   NOT NULL REFERENCES users (id),
+    flow_date DATE           NOT NULL,
+    amount    NUMERIC(19, 2) NOT NULL,
+    currency  VARCHAR(3)     NOT NULL DEFAULT 'USD'
+);
+CREATE INDEX idx_cash_flows_user_date ON cash_flows (user_id, flow_date);
+
+CREATE TABLE recurring_payments (
+    id                 VARCHAR(255) PRIMARY KEY,
+    user_id            VARCHAR(255)             NOT NULL REFERENCES users (id),
+    merchant           VARCHAR(255)             NOT NULL,
+    description        VARCHAR(255)             NOT NULL,
+    average_amount     NUMERIC(19, 2)           NOT NULL,
+    period_days        INTEGER                  NOT NULL,
+    occurrences        INTEGER                  NOT NULL,
+    last_date          DATE                     NOT NULL,
+    next_expected_date DATE                     NOT NULL,
+    detected_at        TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_recurring_payments_user_merchant UNIQUE (user_id, merchant)
+);
+
+CREATE TABLE job_checkpoints (
+    name        VARCHAR(255) PRIMARY KEY,
+    last_run_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE fx_rates (
+    id             VARCHAR(255) PRIMARY KEY,
+    base_currency  VARCHAR(3)      NOT NULL,
+    quote_currency VARCHAR(3)      NOT NULL,
+    rate_date      DATE            NOT NULL,
+    rate           NUMERIC(19, 10) NOT NULL,
+    updated_at     TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT uk_fx_rates_pair_date UNIQUE (base_currency, quote_currency, rate_date)
+);
+CREATE INDEX idx_fx_rates_updated_at ON fx_rates (updated_at);
+
+CREATE TABLE institutions (
+    id                   VARCHAR(255) PRIMARY KEY,
+    name                 VARCHAR(255) NOT NULL UNIQUE,
+    max_concurrent_syncs INTEGER      NOT NULL,
+    requests_per_minute  INTEGER      NOT NULL
+);
+
+CREATE TABLE linked_accounts (
+    id                   VARCHAR(255) PRIMARY KEY,
+    user_id              VARCHAR(255) NOT NULL REFERENCES users (id),
+    institution_id       VARCHAR(255) NOT NULL REFERENCES institutions (id),
+    external_account_id  VARCHAR(255) NOT NULL,
+    name                 VARCHAR(255) NOT NULL,
+    balance              NUMERIC(19, 2),
+    currency             VARCHAR(3),
+    last_synced_at       TIMESTAMP(6) WITH TIME ZONE,
+    next_sync_at         TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    consecutive_failures INTEGER      NOT NULL,
+    last_error           VARCHAR(500),
+    CONSTRAINT uk_linked_accounts_institution_external UNIQUE (institution_id, external_account_id)
+);
+CREATE INDEX idx_linked_accounts_next_sync_at ON linked_accounts (next_sync_at);
+CREATE INDEX idx_linked_accounts_user ON linked_accounts (user_id);
+
+CREATE TABLE auth_events (
+    id          VARCHAR(255) PRIMARY KEY,
+    node_id     VARCHAR(255) NOT NULL,
+    sequence    BIGINT       NOT NULL,
+    occurred_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    event_type  VARCHAR(255) NOT NULL CHECK (event_type IN ('LOGIN_SUCCESS', 'LOGIN_FAILURE', 'REGISTRATION')),
+    login       VARCHAR(255) NOT NULL,
+    user_id     VARCHAR(255)
+);
+CREATE INDEX idx_auth_events_node_sequence ON auth_events (node_id, sequence);
+CREATE INDEX idx_auth_events_login_occurred_at ON auth_events (login, occurred_at);
+
+CREATE SEQUENCE outbox_events_seq START WITH 1 INCREMENT BY 50;
+CREATE TABLE outbox_events (
+    id         BIGINT PRIMARY KEY,
+    event_type VARCHAR(32) NOT NULL CHECK (event_type IN ('TRANSACTION_CHANGED', 'PORTFOLIO_CHANGED', 'USER_CHANGED')),
+    user_id    VARCHAR(255) NOT NULL,
+    payload    TEXT,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
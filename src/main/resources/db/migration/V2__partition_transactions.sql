@@ -0,0 +1,70 @@
+-- Range-partition the ledger by calendar month.
+--
+-- The primary key has to include the partition key, so it becomes (id, transaction_date); ids are
+-- still UUIDs and unique in practice. Rows outside every monthly partition land in
+-- transactions_default and are moved into their own partition by create_transactions_partition().
+
+CREATE SCHEMA IF NOT EXISTS ledger_archive;
+
+ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+ALTER TABLE transactions_unpartitioned RENAME CONSTRAINT transactions_pkey TO transactions_unpartitioned_pkey;
+ALTER INDEX idx_transactions_user_date RENAME TO idx_transactions_unpartitioned_user_date;
+ALTER INDEX idx_transactions_updated_at RENAME TO idx_transactions_unpartitioned_updated_at;
+
+CREATE TABLE transactions (
+    id               VARCHAR(255)   NOT NULL,
+    user_id          VARCHAR(255)   NOT NULL REFERENCES users (id),
+    description      VARCHAR(255)   NOT NULL,
+    amount           NUMERIC(19, 2) NOT NULL,
+    currency         VARCHAR(3)     NOT NULL DEFAULT 'USD',
+    transaction_date DATE           NOT NULL,
+    category         VARCHAR(255),
+    updated_at       TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT transactions_pkey PRIMARY KEY (id, transaction_date)
+) PARTITION BY RANGE (transaction_date);
+
+CREATE INDEX idx_transactions_user_date ON transactions (user_id, transaction_date);
+CREATE INDEX idx_transactions_updated_at ON transactions (updated_at);
+-- Lookups by id alone cannot prune; this keeps them to one index probe per partition.
+CREATE INDEX idx_transactions_id ON transactions (id);
+
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+-- Creates the partition for the month containing month_start, moving any rows for that month out of
+-- the default partition first. Returns false if the partition already exists.
+CREATE OR REPLACE FUNCTION create_transactions_partition(month_start DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    from_date DATE := date_trunc('month', month_start)::DATE;
+    to_date   DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::DATE;
+    part_name TEXT := 'transactions_p' || to_char(from_date, 'YYYY_MM');
+BEGIN
+    IF to_regclass('public.' || part_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM transactions_default WHERE transaction_date >= from_date AND transaction_date < to_date) THEN
+        EXECUTE format('CREATE TABLE %I (LIKE transactions INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', part_name);
+        EXECUTE format('WITH moved AS (DELETE FROM transactions_default WHERE transaction_date >= %L AND transaction_date < %L RETURNING *) '
+                       'INSERT INTO %I SELECT * FROM moved', from_date, to_date, part_name);
+        EXECUTE format('ALTER TABLE transactions ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)', part_name, from_date, to_date);
+    ELSE
+        EXECUTE format('CREATE TABLE %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)', part_name, from_date, to_date);
+    END IF;
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+-- One partition per month that has data, plus the current and next three months.
+SELECT create_transactions_partition(month::DATE)
+FROM (SELECT DISTINCT date_trunc('month', transaction_date) AS month FROM transactions_unpartitioned
+      UNION
+      SELECT generate_series(date_trunc('month', CURRENT_DATE),
+                             date_trunc('month', CURRENT_DATE) + INTERVAL '3 months',
+                             INTERVAL '1 month')) AS months
+ORDER BY month;
+
+INSERT INTO transactions (id, user_id, description, amount, currency, transaction_date, category, updated_at)
+SELECT id, user_id, description, amount, currency, transaction_date, category, updated_at
+FROM transactions_unpartitioned;
+
+DROP TABLE transactions_unpartitioned;
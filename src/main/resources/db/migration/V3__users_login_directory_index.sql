@@ -0,0 +1,6 @@
+-- The admin directory filters by login prefix and pages by login in byte order. A C-collated
+-- btree serves LIKE 'prefix%', the keyset comparison and the ORDER BY from a single index.
+-- Built concurrently so writes to users are not blocked for the whole build; CONCURRENTLY cannot
+-- run in a transaction (see the .conf file). A failed build leaves an invalid index behind, which
+-- IF NOT EXISTS would then skip: drop it before retrying the migration.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_login_c ON users (login COLLATE "C");
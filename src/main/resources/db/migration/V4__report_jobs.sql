@@ -0,0 +1,25 @@
+-- Asynchronous report jobs. Workers claim rows with FOR UPDATE SKIP LOCKED and, after every chunk,
+-- checkpoint the keyset cursor, the running totals and the length of the output file written so far.
+CREATE TABLE report_jobs (
+    id             VARCHAR(255) PRIMARY KEY,
+    user_id        VARCHAR(255) NOT NULL REFERENCES users (id),
+    report_type    VARCHAR(32)  NOT NULL CHECK (report_type IN ('STATEMENT', 'TAX_SUMMARY')),
+    report_year    INTEGER      NOT NULL,
+    status         VARCHAR(16)  NOT NULL CHECK (status IN ('QUEUED', 'RUNNING', 'SUCCEEDED', 'FAILED')),
+    attempts       INTEGER      NOT NULL DEFAULT 0,
+    rows_processed BIGINT       NOT NULL DEFAULT 0,
+    cursor_date    DATE         NOT NULL,
+    cursor_id      VARCHAR(255),
+    output_bytes   BIGINT       NOT NULL DEFAULT 0,
+    totals         TEXT,
+    error          VARCHAR(1024),
+    locked_by      VARCHAR(255),
+    locked_until   TIMESTAMP(6) WITH TIME ZONE,
+    created_at     TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    started_at     TIMESTAMP(6) WITH TIME ZONE,
+    finished_at    TIMESTAMP(6) WITH TIME ZONE
+);
+CREATE INDEX idx_report_jobs_user_created_at ON report_jobs (user_id, created_at);
+-- Claim order and the running-job counts behind the concurrency caps only touch unfinished jobs.
+CREATE INDEX idx_report_jobs_unfinished ON report_jobs (created_at) WHERE status IN ('QUEUED', 'RUNNING');
+CREATE INDEX idx_report_jobs_finished_at ON report_jobs (finished_at) WHERE finished_at IS NOT NULL;
@@ -0,0 +1,42 @@
+-- Trades and the tax-lot state derived from them. Trades are replayed in (trade_date, id) order;
+-- the unpooled sequence keeps same-day trades in the order they were recorded.
+CREATE SEQUENCE trades_seq START WITH 1 INCREMENT BY 1;
+CREATE TABLE trades (
+    id           BIGINT PRIMARY KEY,
+    user_id      VARCHAR(255)   NOT NULL REFERENCES users (id),
+    symbol       VARCHAR(16)    NOT NULL,
+    trade_date   DATE           NOT NULL,
+    side         VARCHAR(4)     NOT NULL CHECK (side IN ('BUY', 'SELL')),
+    quantity     NUMERIC(19, 6) NOT NULL,
+    amount       NUMERIC(19, 2) NOT NULL,
+    currency     VARCHAR(3)     NOT NULL DEFAULT 'USD',
+    lot_method   VARCHAR(16) CHECK (lot_method IN ('FIFO', 'LIFO', 'SPECIFIC')),
+    lot_trade_id BIGINT REFERENCES trades (id)
+);
+CREATE INDEX idx_trades_user_date_id ON trades (user_id, trade_date, id);
+
+-- One row per (sell, lot) match. Replays insert with ON CONFLICT DO NOTHING, so re-deriving
+-- matches after the last snapshot is idempotent.
+CREATE TABLE realized_lots (
+    user_id       VARCHAR(255)   NOT NULL REFERENCES users (id),
+    sell_trade_id BIGINT         NOT NULL REFERENCES trades (id),
+    lot_trade_id  BIGINT         NOT NULL REFERENCES trades (id),
+    symbol        VARCHAR(16)    NOT NULL,
+    acquired_on   DATE           NOT NULL,
+    sold_on       DATE           NOT NULL,
+    quantity      NUMERIC(19, 6) NOT NULL,
+    cost          NUMERIC(19, 2) NOT NULL,
+    proceeds      NUMERIC(19, 2) NOT NULL,
+    PRIMARY KEY (user_id, sell_trade_id, lot_trade_id)
+);
+CREATE INDEX idx_realized_lots_user_sold_on ON realized_lots (user_id, sold_on, sell_trade_id);
+
+-- Open lots as of the last applied trade, serialized by TaxLotBook.
+CREATE TABLE cost_basis_snapshots (
+    user_id          VARCHAR(255) PRIMARY KEY REFERENCES users (id),
+    through_date     DATE         NOT NULL,
+    through_trade_id BIGINT       NOT NULL,
+    trades_applied   BIGINT       NOT NULL,
+    lots             BYTEA        NOT NULL,
+    updated_at       TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,17 @@
+-- Outbox rows name the process that recorded them, so processes tailing the fan-out below can
+-- skip changes they already applied in-process.
+ALTER TABLE outbox_events ADD COLUMN origin VARCHAR(64);
+ALTER TABLE outbox_events DROP CONSTRAINT outbox_events_event_type_check;
+ALTER TABLE outbox_events ADD CONSTRAINT outbox_events_event_type_check CHECK (event_type IN
+    ('TRANSACTION_CHANGED', 'PORTFOLIO_CHANGED', 'USER_CHANGED', 'LEDGER_RECATEGORIZED', 'BUDGET_CHANGED'));
+
+-- Per-user cache invalidations copied from the outbox. Every process tails this table by
+-- created_at; rows are purged once no process can still be reading them.
+CREATE TABLE cache_invalidations (
+    id         BIGSERIAL PRIMARY KEY,
+    user_id    VARCHAR(255) NOT NULL,
+    event_type VARCHAR(32)  NOT NULL,
+    origin     VARCHAR(64),
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX idx_cache_invalidations_created_at ON cache_invalidations (created_at);
@@ -28,6 +28,9 @@ class SecurityFilterTest {
     @Mock
     private TokenService tokenService;
 
+    @Mock
+    private SessionStore sessionStore;
+
     @Mock
     private UserRepository userRepository;
 
@@ -73,6 +76,24 @@ class SecurityFilterTest {
         verify(filterChain).doFilter(request, response);
     }
 
+    @Test
+    void testDoFilterInternal_OpaqueSessionToken() throws ServletException, IOException {
+        // Arrange
+        String token = "pcs_AbCdEfGhIjKlMnOpQrStUvWxYz012345";
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(sessionStore.resolve(token)).thenReturn("testuser");
+        when(userRepository.findByLogin("testuser")).thenReturn(Optional.of(testUser));
+
+        // Act
+        securityFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals("testuser", SecurityContextHolder.getContext().getAuthentication().getName());
+        verify(tokenService, never()).validateToken(anyString());
+        verify(filterChain).doFilter(request, response);
+    }
+
     @Test
     void testDoFilterInternal_NoAuthorizationHeader() throws ServletException, IOException {
         // Arrange
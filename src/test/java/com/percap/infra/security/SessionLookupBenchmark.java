@@ -0,0 +1,69 @@
+package com.percap.infra.security;
+
+import com.percap.domain.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token check: HMAC-SHA256 JWT verification versus an opaque-session lookup in a
+ * store holding one million sessions. Run with {@code -t 8} (or more) to see stripe contention.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SessionLookupBenchmark {
+    private static final int SESSIONS = 1_000_000;
+    private static final int TOKENS = 1024;
+
+    private TokenService tokenService;
+    private SessionStore sessionStore;
+    private String[] jwts;
+    private String[] opaqueTokens;
+
+    @Setup
+    public void setUp() throws IOException {
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", "benchmark-secret-key-for-jwt-token-generation-of-256-bits");
+        sessionStore = new SessionStore(64, 1800, 43200, "", Long.MAX_VALUE, new SimpleMeterRegistry());
+        jwts = new String[TOKENS];
+        opaqueTokens = new String[TOKENS];
+        for (int i = 0; i < SESSIONS; i++) {
+            String token = sessionStore.create("user-" + i);
+            if (i < TOKENS) {
+                User user = new User();
+                user.setLogin("user-" + i);
+                jwts[i] = tokenService.generateToken(user);
+                opaqueTokens[i] = token;
+            }
+        }
+    }
+
+    @Benchmark
+    public String verifyJwt() {
+        return tokenService.validateToken(jwts[ThreadLocalRandom.current().nextInt(TOKENS)]);
+    }
+
+    @Benchmark
+    public String resolveOpaqueSession() {
+        return sessionStore.resolve(opaqueTokens[ThreadLocalRandom.current().nextInt(TOKENS)]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SessionLookupBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
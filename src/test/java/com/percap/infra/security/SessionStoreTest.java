@@ -0,0 +1,85 @@
+package com.percap.infra.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testResolve_SlidesExpiryUntilMaxLifetime() throws IOException {
+        // Arrange
+        SessionStore store = new SessionStore(8, 60, 150, "", 1 << 20, new SimpleMeterRegistry());
+        long now = 1_000_000L;
+        String token = store.create("alice", now);
+
+        // Act & Assert
+        assertTrue(SessionStore.isOpaque(token));
+        assertEquals("alice", store.resolve(token, now + 50_000));
+        assertEquals("alice", store.resolve(token, now + 100_000));
+        assertNull(store.resolve(token, now + 150_000));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testResolve_IdleRevokedAndForeignTokens() throws IOException {
+        // Arrange
+        SessionStore store = new SessionStore(8, 60, 3600, "", 1 << 20, new SimpleMeterRegistry());
+        long now = 1_000_000L;
+        String idle = store.create("alice", now);
+        String revoked = store.create("bob", now);
+
+        // Act
+        store.revoke(revoked);
+
+        // Assert
+        assertNull(store.resolve(idle, now + 61_000));
+        assertNull(store.resolve(revoked, now + 1_000));
+        assertNull(store.resolve(idle + "x", now + 1_000));
+        assertNull(store.resolve("header.payload.signature", now));
+    }
+
+    @Test
+    void testSweep_DropsExpiredSessions() throws IOException {
+        // Arrange
+        SessionStore store = new SessionStore(8, 60, 3600, "", 1 << 20, new SimpleMeterRegistry());
+        long now = 1_000_000L;
+        store.create("alice", now);
+        store.create("bob", now + 30_000);
+
+        // Act
+        int removed = store.sweep(now + 70_000);
+
+        // Assert
+        assertEquals(1, removed);
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void testJournal_RestoresLiveSessionsAfterRestart() throws IOException {
+        // Arrange
+        String journal = directory.resolve("sessions.journal").toString();
+        SessionStore store = new SessionStore(8, 600, 3600, journal, 1 << 20, new SimpleMeterRegistry());
+        String kept = store.create("alice");
+        String revoked = store.create("bob");
+        store.revoke(revoked);
+        store.destroy();
+
+        // Act
+        SessionStore restarted = new SessionStore(8, 600, 3600, journal, 1 << 20, new SimpleMeterRegistry());
+
+        // Assert
+        assertEquals("alice", restarted.resolve(kept));
+        assertNull(restarted.resolve(revoked));
+        assertEquals(1, restarted.size());
+        restarted.destroy();
+    }
+}
@@ -0,0 +1,42 @@
+package com.percap.infra.sql;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+/**
+ * Counts the SQL statements a test runs through a {@link StatementCountingDataSource}.
+ * <p>
+ * A test method declares a {@link SqlStatementTally} parameter, calls {@code reset()} once its
+ * fixtures are in place and asserts on {@code statements()} after the call under test. The
+ * application context must wrap its data source, e.g. by importing
+ * {@link SqlStatementCountingConfig}.
+ */
+public class SqlStatementCountExtension implements BeforeEachCallback, AfterEachCallback, ParameterResolver {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SqlStatementCountExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(SqlStatementTally.class, SqlStatementTally.begin());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        SqlStatementTally tally = context.getStore(NAMESPACE).remove(SqlStatementTally.class, SqlStatementTally.class);
+        if (tally != null) {
+            tally.end();
+        }
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == SqlStatementTally.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return extensionContext.getStore(NAMESPACE).get(SqlStatementTally.class, SqlStatementTally.class);
+    }
+}
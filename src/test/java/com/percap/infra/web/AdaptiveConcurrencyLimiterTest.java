@@ -0,0 +1,87 @@
+package com.percap.infra.web;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = 10_000_000L;
+    private static final long SLOW = 80_000_000L;
+
+    @Test
+    void testTryAcquire_ShedsLowPriorityBeforeHighPriority() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100, 0.5, 10, 1.5);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(false));
+        }
+
+        // Act
+        boolean low = limiter.tryAcquire(true);
+        boolean high = limiter.tryAcquire(false);
+
+        // Assert
+        assertFalse(low);
+        assertTrue(high);
+        assertEquals(6, limiter.inFlight());
+    }
+
+    @Test
+    void testRelease_ShrinksOnLatencyRiseAndRecovers() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(40, 4, 200, 0.5, 10, 1.5);
+        runWindows(limiter, 5, FAST, 40);
+        int steady = limiter.limit();
+
+        // Act
+        runWindows(limiter, 20, SLOW, limiter.limit());
+        int congested = limiter.limit();
+        runWindows(limiter, 200, FAST, limiter.limit());
+        int recovered = limiter.limit();
+
+        // Assert
+        assertTrue(congested < steady, "limit should fall while latency is high");
+        assertTrue(recovered > congested, "limit should grow again once latency recovers");
+    }
+
+    @Test
+    void testRelease_UnusedLimitDoesNotGrow() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(40, 4, 200, 0.5, 10, 1.5);
+
+        // Act
+        runWindows(limiter, 50, FAST, 1);
+
+        // Assert
+        assertEquals(40, limiter.limit());
+    }
+
+    @Test
+    void testRelease_CutsLimitOnFailure() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(40, 4, 200, 0.5, 10, 1.5);
+        assertTrue(limiter.tryAcquire(false));
+
+        // Act
+        limiter.release(FAST, true);
+
+        // Assert
+        assertEquals(36, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    // Completes windows of ten requests each, with `concurrency` requests in flight at a time.
+    private static void runWindows(AdaptiveConcurrencyLimiter limiter, int windows, long rttNanos, int concurrency) {
+        for (int i = 0; i < windows * 10; i++) {
+            int acquired = 0;
+            while (acquired < Math.max(1, concurrency) && limiter.tryAcquire(false)) {
+                acquired++;
+            }
+            for (int j = 0; j < acquired; j++) {
+                limiter.release(rttNanos, false);
+            }
+            i += Math.max(0, acquired - 1);
+        }
+    }
+}
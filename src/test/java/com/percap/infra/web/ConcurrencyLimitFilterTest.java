@@ -0,0 +1,84 @@
+package com.percap.infra.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // A limit of 2, of which low-priority requests may take 1.
+        filter = new ConcurrencyLimitFilter(meterRegistry, true, 2, 1, 4, 0.5, 50, 1.5);
+    }
+
+    private static MockHttpServletRequest request(String path, String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        return request;
+    }
+
+    private MockHttpServletResponse whileOneRequestInFlight(MockHttpServletRequest request) throws Exception {
+        List<MockHttpServletResponse> inner = new ArrayList<>();
+        FilterChain holdsSlot = (req, res) -> {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, (innerReq, innerRes) -> ((MockHttpServletResponse) innerRes).setStatus(200));
+            inner.add(response);
+        };
+        filter.doFilter(request("/accounts", "Bearer token-1"), new MockHttpServletResponse(), holdsSlot);
+        return inner.get(0);
+    }
+
+    @Test
+    void testDoFilter_ShedsLoginAndAnonymousRequestsFirst() throws Exception {
+        // Act
+        MockHttpServletResponse login = whileOneRequestInFlight(request("/auth/login", null));
+        MockHttpServletResponse anonymous = whileOneRequestInFlight(request("/accounts", null));
+        MockHttpServletResponse basic = whileOneRequestInFlight(request("/accounts", "Basic YWxpY2U6cHc="));
+        MockHttpServletResponse authenticated = whileOneRequestInFlight(request("/accounts", "Bearer token-2"));
+
+        // Assert
+        assertEquals(503, login.getStatus());
+        assertEquals(503, anonymous.getStatus());
+        assertEquals(503, basic.getStatus());
+        assertEquals(200, authenticated.getStatus());
+        assertEquals(3.0, meterRegistry.get("http.server.concurrency.rejected").tag("priority", "low").counter().count());
+    }
+
+    @Test
+    void testDoFilter_ShedResponseIsWrittenWithoutErrorDispatch() throws Exception {
+        // Act
+        MockHttpServletResponse response = whileOneRequestInFlight(request("/auth/register", null));
+
+        // Assert
+        assertEquals(503, response.getStatus());
+        assertNull(response.getErrorMessage());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertTrue(response.getContentType().startsWith("application/json"));
+        assertTrue(response.getContentAsString().contains("\"error\""));
+    }
+
+    @Test
+    void testDoFilter_HealthCheckNeverLimited() throws Exception {
+        // Act
+        MockHttpServletResponse response = whileOneRequestInFlight(request("/actuator/health", null));
+
+        // Assert
+        assertEquals(200, response.getStatus());
+    }
+}
@@ -2,17 +2,32 @@ package com.percap.repositories;
 
 import com.percap.domain.user.User;
 import com.percap.domain.user.UserRole;
+import com.percap.infra.config.SecondLevelCacheConfig;
+import com.github.benmanes.caffeine.cache.Policy;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
-
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.CacheManager;
+import javax.sql.DataSource;
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
+// The Flyway migrations are Postgres-specific; the embedded database gets its schema from the entities.
+@DataJpaTest(properties = {"spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=create-drop"})
+@Import(SecondLevelCacheConfig.class)
 class UserRepositoryTest {
 
     @Autowired
@@ -21,6 +36,18 @@ class UserRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager secondLevelCacheManager;
+
     private User testUser;
 
     @BeforeEach
@@ -134,5 +161,46 @@ class UserRepositoryTest {
         assertEquals(UserRole.USER, found1.get().getRole());
         assertEquals(UserRole.ADMIN, found2.get().getRole());
     }
-}
 
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testFindByLogin_DemotionOnAnotherNodeVisibleOnceCachedUserExpires() throws InterruptedException {
+        // Arrange
+        // Each step commits on its own, as requests do; the test transaction would keep the
+        // entity out of the second-level cache.
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        testUser.setRole(UserRole.ADMIN);
+        String id = transaction.execute(status -> userRepository.save(testUser).getId());
+        Policy.FixedExpiration<?, ?> expiry = usersRegion().policy().expireAfterWrite().orElseThrow();
+        Duration ttl = expiry.getExpiresAfter();
+        try {
+            transaction.execute(status -> userRepository.findByLogin("testuser"));
+            Cache cache = entityManagerFactory.getCache();
+            assertTrue(cache.contains(User.class, id));
+            // Demoted through another node: this node's database changes, its cache does not.
+            jdbcTemplate.update("UPDATE users SET role = 'USER' WHERE id = ?", id);
+
+            // Act
+            UserRole cached = transaction.execute(status -> userRepository.findByLogin("testuser").orElseThrow().getRole());
+            // Ages the entry past the region's TTL instead of waiting out the 30 seconds.
+            expiry.setExpiresAfter(Duration.ofMillis(1));
+            Thread.sleep(20);
+            UserRole expired = transaction.execute(status -> userRepository.findByLogin("testuser").orElseThrow().getRole());
+
+            // Assert
+            assertEquals(Duration.ofSeconds(30), ttl);
+            assertEquals(UserRole.ADMIN, cached);
+            assertEquals(UserRole.USER, expired);
+        } finally {
+            expiry.setExpiresAfter(ttl);
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", id);
+            entityManagerFactory.getCache().evictAll();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> usersRegion() {
+        return secondLevelCacheManager.getCache("users").unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+    }
+}
@@ -0,0 +1,151 @@
+package com.percap.services;
+
+import com.percap.controllers.AuthenticationController;
+import com.percap.domain.user.User;
+import com.percap.domain.user.UserRole;
+import com.percap.infra.config.SecondLevelCacheConfig;
+import com.percap.infra.security.SessionStore;
+import com.percap.infra.security.TokenService;
+import com.percap.infra.sql.SqlStatementCountExtension;
+import com.percap.infra.sql.SqlStatementCountingConfig;
+import com.percap.infra.sql.SqlStatementTally;
+import com.percap.infra.web.SqlBudgetFilter;
+import com.percap.services.audit.AuthEventLog;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement counts for the authentication paths, against the real mappings. A change that adds
+ * a query per login (an eager association, a lookup that bypasses the caches) fails here. The
+ * {@code /auth/login} tests go through the {@link SqlBudgetFilter}, where production requests are
+ * tallied and checked against the budget.
+ */
+@DataJpaTest(properties = {"spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=create-drop"})
+@Import({AuthorizationService.class, SqlStatementCountingConfig.class, SecondLevelCacheConfig.class})
+@ExtendWith(SqlStatementCountExtension.class)
+class AuthorizationServiceSqlTest {
+
+    private static final String LOGIN = "{\"login\":\"testuser\",\"password\":\"password123\"}";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AuthorizationService authorizationService;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockBean
+    private TokenService tokenService;
+
+    @MockBean
+    private SessionStore sessionStore;
+
+    @MockBean
+    private AuthEventLog authEventLog;
+
+    @Test
+    void testAuthenticate_RunsOneStatement(SqlStatementTally statements) {
+        // Arrange
+        User user = new User();
+        user.setLogin("testuser");
+        user.setPassword("encoded-password");
+        user.setRole(UserRole.USER);
+        entityManager.persistAndFlush(user);
+        entityManager.clear();
+        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+        statements.reset();
+
+        // Act
+        authorizationService.authenticate("testuser", "password123");
+
+        // Assert
+        assertEquals(1, statements.statements());
+    }
+
+    @Test
+    void testAuthenticate_UnknownLoginRunsOneStatement(SqlStatementTally statements) {
+        // Arrange
+        statements.reset();
+
+        // Act
+        assertThrows(RuntimeException.class, () -> authorizationService.authenticate("nobody", "password123"));
+
+        // Assert
+        assertEquals(1, statements.statements());
+    }
+
+    @Test
+    void testLogin_RunsOneStatementWithinBudget(SqlStatementTally statements) throws Exception {
+        // Arrange
+        persistUser();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MockMvc mockMvc = mockMvc(meterRegistry, 1);
+        statements.reset();
+
+        // Act
+        mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN))
+                .andExpect(status().isOk());
+
+        // Assert
+        assertEquals(1, statements.statements());
+        DistributionSummary perRequest = meterRegistry.get("http.server.sql.statements")
+                .tag("method", "POST").tag("uri", "/auth/login").summary();
+        assertEquals(1, perRequest.count());
+        assertEquals(1.0, perRequest.totalAmount());
+        assertEquals(0.0, meterRegistry.get("http.server.sql.budget.exceeded").counter().count());
+    }
+
+    @Test
+    void testLogin_OverStatementBudgetIsCounted(SqlStatementTally statements) throws Exception {
+        // Arrange
+        persistUser();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MockMvc mockMvc = mockMvc(meterRegistry, 0);
+        statements.reset();
+
+        // Act
+        mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN))
+                .andExpect(status().isOk());
+
+        // Assert
+        assertEquals(1, statements.statements());
+        assertEquals(1.0, meterRegistry.get("http.server.sql.budget.exceeded").counter().count());
+    }
+
+    private void persistUser() {
+        User user = new User();
+        user.setLogin("testuser");
+        user.setPassword("encoded-password");
+        user.setRole(UserRole.USER);
+        entityManager.persistAndFlush(user);
+        entityManager.clear();
+        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+        when(tokenService.generateToken(any(User.class))).thenReturn("jwt-token");
+    }
+
+    private MockMvc mockMvc(SimpleMeterRegistry meterRegistry, int maxStatements) {
+        return MockMvcBuilders.standaloneSetup(new AuthenticationController(authorizationService))
+                .addFilters(new SqlBudgetFilter(meterRegistry, maxStatements, 60_000))
+                .build();
+    }
+}
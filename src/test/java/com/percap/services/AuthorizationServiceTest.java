@@ -1,17 +1,23 @@
 package com.percap.services;
 
+import com.percap.domain.audit.AuthEventType;
 import com.percap.domain.user.User;
+import com.percap.domain.user.UserChangedEvent;
 import com.percap.domain.user.UserRole;
 import com.percap.dtos.auth.LoginResponseDTO;
 import com.percap.dtos.auth.RegisterDTO;
+import com.percap.infra.security.SessionStore;
 import com.percap.infra.security.TokenService;
 import com.percap.repositories.UserRepository;
+import com.percap.services.audit.AuthEventLog;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -20,6 +26,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +41,15 @@ class AuthorizationServiceTest {
     @Mock
     private TokenService tokenService;
 
+    @Mock
+    private SessionStore sessionStore;
+
+    @Mock
+    private AuthEventLog authEventLog;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AuthorizationService authorizationService;
 
@@ -72,6 +88,37 @@ class AuthorizationServiceTest {
         verify(userRepository).findByLogin(login);
         verify(passwordEncoder).matches(password, encodedPassword);
         verify(tokenService).generateToken(testUser);
+        verify(authEventLog).append(AuthEventType.LOGIN_SUCCESS, login, "user-id-123");
+    }
+
+    @Test
+    void testAuthenticate_OpaqueSession() {
+        // Arrange
+        String login = "testuser";
+        String password = "password123";
+
+        when(userRepository.findByLogin(login)).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches(password, encodedPassword)).thenReturn(true);
+        when(sessionStore.create(login)).thenReturn("pcs_session-token");
+
+        // Act
+        LoginResponseDTO result = authorizationService.authenticate(login, password, true);
+
+        // Assert
+        assertEquals("pcs_session-token", result.getToken());
+        verify(tokenService, never()).generateToken(any(User.class));
+        verify(authEventLog).append(AuthEventType.LOGIN_SUCCESS, login, "user-id-123");
+    }
+
+    @Test
+    void testLogout_RevokesOpaqueSessionOnly() {
+        // Act
+        authorizationService.logout("pcs_session-token");
+        authorizationService.logout("header.payload.signature");
+
+        // Assert
+        verify(sessionStore).revoke("pcs_session-token");
+        verifyNoMoreInteractions(sessionStore);
     }
 
     @Test
@@ -90,6 +137,7 @@ class AuthorizationServiceTest {
         verify(userRepository).findByLogin(login);
         verify(passwordEncoder, never()).matches(anyString(), anyString());
         verify(tokenService, never()).generateToken(any(User.class));
+        verify(authEventLog).append(eq(AuthEventType.LOGIN_FAILURE), eq(login), isNull());
     }
 
     @Test
@@ -109,6 +157,7 @@ class AuthorizationServiceTest {
         verify(userRepository).findByLogin(login);
         verify(passwordEncoder).matches(password, encodedPassword);
         verify(tokenService, never()).generateToken(any(User.class));
+        verify(authEventLog).append(AuthEventType.LOGIN_FAILURE, login, "user-id-123");
     }
 
     @Test
@@ -139,6 +188,10 @@ class AuthorizationServiceTest {
         verify(passwordEncoder).encode("password123");
         verify(userRepository).save(any(User.class));
         verify(tokenService).generateToken(savedUser);
+        verify(authEventLog).append(AuthEventType.REGISTRATION, "newuser", "new-user-id");
+        ArgumentCaptor<UserChangedEvent> event = ArgumentCaptor.forClass(UserChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals("new-user-id", event.getValue().getUserId());
     }
 
     @Test
@@ -157,6 +210,7 @@ class AuthorizationServiceTest {
         verify(passwordEncoder, never()).encode(anyString());
         verify(userRepository, never()).save(any(User.class));
         verify(tokenService, never()).generateToken(any(User.class));
+        verifyNoInteractions(authEventLog, eventPublisher);
     }
 
     @Test
@@ -0,0 +1,191 @@
+package com.percap.services;
+
+import com.percap.domain.transaction.Transaction;
+import com.percap.domain.transaction.TransactionChangedEvent;
+import com.percap.domain.user.User;
+import com.percap.dtos.transaction.TransactionDTO;
+import com.percap.dtos.transaction.TransactionRequestDTO;
+import com.percap.repositories.TransactionRepository;
+import com.percap.services.categorization.CategorizationService;
+import com.percap.services.coldstore.ColdLedgerStore;
+import com.percap.services.fx.FxService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private CategorizationService categorizationService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private FxService fxService;
+
+    @Mock
+    private ColdLedgerStore coldLedgerStore;
+
+    @InjectMocks
+    private TransactionService transactionService;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setId("user-id-123");
+        testUser.setLogin("testuser");
+    }
+
+    private Transaction existingTransaction() {
+        Transaction transaction = new Transaction();
+        transaction.setId("tx-1");
+        transaction.setUser(testUser);
+        transaction.setDescription("SAFEWAY #12");
+        transaction.setAmount(new BigDecimal("-42.10"));
+        transaction.setCurrency("USD");
+        transaction.setDate(LocalDate.of(2026, 10, 2));
+        transaction.setCategory("groceries");
+        return transaction;
+    }
+
+    @Test
+    void testCreate_CategorizesAndPublishesEvent() {
+        // Arrange
+        TransactionRequestDTO request = new TransactionRequestDTO("DELTA AIR 006", new BigDecimal("-310.00"),
+                LocalDate.of(2026, 10, 5), null);
+        when(categorizationService.categorize("DELTA AIR 006")).thenReturn("travel");
+        when(fxService.currencyFor(null, LocalDate.of(2026, 10, 5))).thenReturn("USD");
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        TransactionDTO result = transactionService.create(testUser, request);
+
+        // Assert
+        assertEquals("travel", result.getCategory());
+        assertEquals("USD", result.getCurrency());
+        ArgumentCaptor<TransactionChangedEvent> event = ArgumentCaptor.forClass(TransactionChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals("user-id-123", event.getValue().getUserId());
+        assertNull(event.getValue().getPrevious());
+        assertEquals(new BigDecimal("-310.00"), event.getValue().getCurrent().getAmount());
+    }
+
+    @Test
+    void testCreate_ExplicitCategorySkipsRules() {
+        // Arrange
+        TransactionRequestDTO request = new TransactionRequestDTO("VENMO", new BigDecimal("-20.00"),
+                LocalDate.of(2026, 10, 5), "gifts");
+        request.setCurrency("EUR");
+        when(fxService.currencyFor("EUR", LocalDate.of(2026, 10, 5))).thenReturn("EUR");
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        TransactionDTO result = transactionService.create(testUser, request);
+
+        // Assert
+        assertEquals("gifts", result.getCategory());
+        assertEquals("EUR", result.getCurrency());
+        verify(categorizationService, never()).categorize(any());
+    }
+
+    @Test
+    void testUpdate_PublishesPreviousAndCurrent() {
+        // Arrange
+        Transaction transaction = existingTransaction();
+        when(transactionRepository.findByIdAndUserId("tx-1", "user-id-123")).thenReturn(Optional.of(transaction));
+        when(transactionRepository.save(transaction)).thenReturn(transaction);
+        when(fxService.currencyFor(null, LocalDate.of(2026, 10, 2))).thenReturn("USD");
+        TransactionRequestDTO request = new TransactionRequestDTO("SAFEWAY #12", new BigDecimal("-50.00"),
+                LocalDate.of(2026, 10, 2), "groceries");
+
+        // Act
+        transactionService.update(testUser, "tx-1", request);
+
+        // Assert
+        ArgumentCaptor<TransactionChangedEvent> event = ArgumentCaptor.forClass(TransactionChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(new BigDecimal("-42.10"), event.getValue().getPrevious().getAmount());
+        assertEquals(new BigDecimal("-50.00"), event.getValue().getCurrent().getAmount());
+    }
+
+    @Test
+    void testDelete_NotOwned() {
+        // Arrange
+        when(transactionRepository.findByIdAndUserId("tx-9", "user-id-123")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> transactionService.delete(testUser, "tx-9"));
+        verify(transactionRepository, never()).delete(any(Transaction.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testDelete_PublishesPrevious() {
+        // Arrange
+        Transaction transaction = existingTransaction();
+        when(transactionRepository.findByIdAndUserId("tx-1", "user-id-123")).thenReturn(Optional.of(transaction));
+
+        // Act
+        transactionService.delete(testUser, "tx-1");
+
+        // Assert
+        verify(transactionRepository).delete(transaction);
+        ArgumentCaptor<TransactionChangedEvent> event = ArgumentCaptor.forClass(TransactionChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertNull(event.getValue().getCurrent());
+        assertEquals("groceries", event.getValue().getPrevious().getCategory());
+    }
+
+    @Test
+    void testList_MergesColdHistoryNewestFirst() {
+        // Arrange
+        LocalDate from = LocalDate.of(2018, 1, 1);
+        LocalDate to = LocalDate.of(2026, 12, 31);
+        when(coldLedgerStore.hasHistory("user-id-123", from, to)).thenReturn(true);
+        when(transactionRepository.findByUserIdAndDateBetweenOrderByDateDescIdDesc(eq("user-id-123"), eq(from), eq(to),
+                any(Pageable.class))).thenReturn(List.of(existingTransaction()));
+        when(coldLedgerStore.history("user-id-123", from, to, 2)).thenReturn(List.of(
+                new TransactionDTO("cold-2", "RENT", new BigDecimal("-1500.00"), "USD", LocalDate.of(2019, 6, 1), "housing"),
+                new TransactionDTO("cold-1", "RENT", new BigDecimal("-1500.00"), "USD", LocalDate.of(2019, 5, 1), "housing")));
+
+        // Act
+        List<TransactionDTO> firstPage = transactionService.list(testUser, from, to, 0, 2);
+        List<TransactionDTO> secondPage = transactionService.list(testUser, from, to, 1, 1);
+
+        // Assert
+        assertEquals(List.of("tx-1", "cold-2"), firstPage.stream().map(TransactionDTO::getId).toList());
+        assertEquals(List.of("cold-2"), secondPage.stream().map(TransactionDTO::getId).toList());
+    }
+
+    @Test
+    void testList_RejectsPagesTooDeepToMergeWithColdHistory() {
+        // Arrange
+        when(coldLedgerStore.hasHistory("user-id-123", null, null)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> transactionService.list(testUser, null, null, 50, 200));
+        verify(coldLedgerStore, never()).history(any(), any(), any(), anyInt());
+    }
+}
@@ -0,0 +1,87 @@
+package com.percap.services.admin;
+
+import com.percap.domain.user.UserSummary;
+import com.percap.dtos.admin.UserDirectoryPageDTO;
+import com.percap.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDirectoryServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserDirectoryService userDirectoryService;
+
+    @BeforeEach
+    void setUp() {
+        userDirectoryService = new UserDirectoryService(userRepository, 100);
+    }
+
+    @Test
+    void testPage_ReturnsCursorWhenMoreRowsFollow() {
+        // Arrange
+        when(userRepository.findDirectoryPage("%", "", 3)).thenReturn(List.of(
+                summary("1", "alice"), summary("2", "bob"), summary("3", "carol")));
+        when(userRepository.estimateCount()).thenReturn(2_500_000L);
+
+        // Act
+        UserDirectoryPageDTO page = userDirectoryService.page(null, null, 2);
+
+        // Assert
+        assertEquals(2, page.getUsers().size());
+        assertEquals("bob", page.getNextCursor());
+        assertEquals(2_500_000L, page.getEstimatedTotal());
+    }
+
+    @Test
+    void testPage_EscapesPrefixAndSkipsEstimateWhenFiltering() {
+        // Arrange
+        when(userRepository.findDirectoryPage("a\\_b\\%%", "a_b%1", 11)).thenReturn(List.of(summary("1", "a_b%2")));
+
+        // Act
+        UserDirectoryPageDTO page = userDirectoryService.page("a_b%", "a_b%1", 10);
+
+        // Assert
+        assertEquals(1, page.getUsers().size());
+        assertNull(page.getNextCursor());
+        assertNull(page.getEstimatedTotal());
+        verify(userRepository, never()).estimateCount();
+    }
+
+    @Test
+    void testPage_PageSizeAboveLimit() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> userDirectoryService.page(null, null, 101));
+        verify(userRepository, never()).findDirectoryPage(anyString(), anyString(), anyInt());
+    }
+
+    private static UserSummary summary(String id, String login) {
+        return new UserSummary() {
+            @Override
+            public String getId() {
+                return id;
+            }
+
+            @Override
+            public String getLogin() {
+                return login;
+            }
+
+            @Override
+            public String getRole() {
+                return "USER";
+            }
+        };
+    }
+}
@@ -0,0 +1,168 @@
+package com.percap.services.audit;
+
+import com.percap.domain.audit.AuthEventType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthEventLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testAppend_ReopenReplaysEventsInOrder() throws IOException {
+        // Arrange
+        AuthEventLog log = open(1 << 20);
+        log.append(AuthEventType.REGISTRATION, "alice", "user-1");
+        log.append(AuthEventType.LOGIN_FAILURE, "mallory", null);
+        log.append(AuthEventType.LOGIN_SUCCESS, "alice", "user-1");
+        log.close();
+
+        // Act
+        AuthEventLog reopened = open(1 << 20);
+        List<AuthEvent> events = new ArrayList<>();
+        long last = reopened.scan(0, events::add);
+        reopened.close();
+
+        // Assert
+        assertEquals(3, last);
+        assertEquals(3, events.size());
+        assertEquals(AuthEventType.REGISTRATION, events.get(0).getType());
+        assertEquals("mallory", events.get(1).getLogin());
+        assertNull(events.get(1).getUserId());
+        assertEquals("user-1", events.get(2).getUserId());
+        assertEquals(List.of(1L, 2L, 3L), events.stream().map(AuthEvent::getSequence).toList());
+    }
+
+    @Test
+    void testAppend_RotatesAndScansAcrossSegments() throws IOException {
+        // Arrange
+        AuthEventLog log = open(1024);
+        for (int i = 0; i < 100; i++) {
+            log.append(AuthEventType.LOGIN_SUCCESS, "user" + i, "id-" + i);
+        }
+        log.close();
+
+        // Act
+        AuthEventLog reopened = open(1024);
+        List<AuthEvent> afterFifty = new ArrayList<>();
+        reopened.scan(50, afterFifty::add);
+        int deleted = reopened.deleteSegmentsThrough(50);
+        List<AuthEvent> remaining = new ArrayList<>();
+        reopened.scan(50, remaining::add);
+        reopened.close();
+
+        // Assert
+        assertTrue(segmentCount() > 1);
+        assertEquals(50, afterFifty.size());
+        assertEquals(51, afterFifty.get(0).getSequence());
+        assertEquals("user99", afterFifty.get(49).getLogin());
+        assertTrue(deleted > 0);
+        assertEquals(50, remaining.size());
+    }
+
+    @Test
+    void testReopen_CorruptRecordStopsScanAndContinuesSequence() throws IOException {
+        // Arrange
+        AuthEventLog log = open(1 << 20);
+        log.append(AuthEventType.LOGIN_SUCCESS, "alice", "user-1");
+        log.append(AuthEventType.LOGIN_SUCCESS, "bob", "user-2");
+        log.close();
+        corruptSecondRecord();
+
+        // Act
+        AuthEventLog reopened = open(1 << 20);
+        reopened.append(AuthEventType.LOGIN_FAILURE, "carol", null);
+        reopened.close();
+        AuthEventLog replay = open(1 << 20);
+        List<AuthEvent> events = new ArrayList<>();
+        replay.scan(0, events::add);
+        replay.close();
+
+        // Assert
+        assertEquals(2, events.size());
+        assertEquals("alice", events.get(0).getLogin());
+        assertEquals(2, events.get(1).getSequence());
+        assertEquals("carol", events.get(1).getLogin());
+    }
+
+    @Test
+    void testAppend_CutsLoginToColumnLength() throws IOException {
+        // Arrange
+        AuthEventLog log = open(1 << 20);
+        log.append(AuthEventType.LOGIN_FAILURE, "\u0000" + "\uD83D\uDE00".repeat(300), null);
+        log.close();
+
+        // Act
+        AuthEventLog reopened = open(1 << 20);
+        List<AuthEvent> events = new ArrayList<>();
+        reopened.scan(0, events::add);
+        reopened.close();
+
+        // Assert
+        String login = events.get(0).getLogin();
+        assertEquals(255, login.codePointCount(0, login.length()));
+        assertEquals("\uD83D\uDE00".repeat(255), login);
+    }
+
+    @Test
+    void testEpoch_SurvivesReopenButNotAWipedDirectory() throws IOException {
+        // Arrange
+        AuthEventLog log = open(1 << 20);
+        String epoch = log.epoch();
+        log.close();
+
+        // Act
+        AuthEventLog reopened = open(1 << 20);
+        String reopenedEpoch = reopened.epoch();
+        reopened.close();
+        try (Stream<Path> files = Files.list(tempDir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        AuthEventLog wiped = open(1 << 20);
+        String wipedEpoch = wiped.epoch();
+        wiped.close();
+
+        // Assert
+        assertEquals(epoch, reopenedEpoch);
+        assertNotEquals(epoch, wipedEpoch);
+    }
+
+    private AuthEventLog open(int segmentSize) throws IOException {
+        return new AuthEventLog(tempDir.toString(), segmentSize, 1024, 10);
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.filter(LogSegment::isSegment).count();
+        }
+    }
+
+    private void corruptSecondRecord() throws IOException {
+        try (FileChannel channel = FileChannel.open(LogSegment.pathFor(tempDir, 1), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer length = ByteBuffer.allocate(4);
+            channel.read(length, 0);
+            int secondRecord = 8 + length.flip().getInt();
+            // Flip a byte of the second record's login.
+            ByteBuffer b = ByteBuffer.allocate(1);
+            channel.read(b, secondRecord + 8 + 19);
+            b.flip();
+            byte flipped = (byte) (b.get() ^ 0x5A);
+            channel.write(ByteBuffer.wrap(new byte[] {flipped}), secondRecord + 8 + 19);
+        }
+    }
+}
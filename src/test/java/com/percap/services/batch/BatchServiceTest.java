@@ -0,0 +1,212 @@
+package com.percap.services.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.percap.dtos.batch.BatchOperationDTO;
+import com.percap.dtos.batch.BatchRequestDTO;
+import com.percap.infra.web.ConcurrencyLimitFilter;
+import com.percap.infra.web.SqlBudgetFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BatchServiceTest {
+
+    @Mock
+    private DispatcherServlet dispatcherServlet;
+
+    @Mock
+    private WebInvocationPrivilegeEvaluator privilegeEvaluator;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SimpleMeterRegistry meterRegistry;
+    private BatchService batchService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        batchService = batchService(2000);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+        when(privilegeEvaluator.isAllowed(anyString(), anyString(), eq("GET"), any())).thenReturn(true);
+        doAnswer(invocation -> {
+            HttpServletRequest request = invocation.getArgument(0);
+            HttpServletResponse response = invocation.getArgument(1);
+            if (request.getServletPath().equals("/budgets")) {
+                Thread.sleep(100);
+            }
+            response.setStatus(200);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"path\":\"" + request.getServletPath()
+                    + "\",\"month\":\"" + request.getParameter("month") + "\"}");
+            return null;
+        }).when(dispatcherServlet).service(any(), any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private BatchService batchService(long timeoutMs) {
+        return new BatchService(dispatcherServlet,
+                new SqlBudgetFilter(meterRegistry, 20, 250),
+                new ConcurrencyLimitFilter(meterRegistry, true, 50, 8, 400, 0.5, 50, 1.5),
+                privilegeEvaluator, objectMapper, meterRegistry, 3, 2, 1024, 4096, timeoutMs, List.of("/batch", "/streams"));
+    }
+
+    @Test
+    void testExecute_ReturnsResultsInRequestOrder() throws Exception {
+        // Arrange
+        BatchRequestDTO batch = new BatchRequestDTO(List.of(
+                new BatchOperationDTO("a", "GET", "/budgets?month=2024-05"),
+                new BatchOperationDTO("b", "GET", "/accounts")));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        batchService.execute(batch, new MockHttpServletRequest("POST", "/batch"), response);
+
+        // Assert
+        JsonNode results = objectMapper.readTree(response.getContentAsString());
+        assertEquals(2, results.size());
+        assertEquals("a", results.get(0).get("id").asText());
+        assertEquals(200, results.get(0).get("status").asInt());
+        assertEquals("/budgets", results.get(0).get("body").get("path").asText());
+        assertEquals("2024-05", results.get(0).get("body").get("month").asText());
+        assertEquals("b", results.get(1).get("id").asText());
+        assertEquals("/accounts", results.get(1).get("body").get("path").asText());
+        assertEquals(1.0, meterRegistry.counter("batch.roundtrips.saved").count());
+    }
+
+    @Test
+    void testExecute_RejectsForbiddenExcludedAndNonGetOperationsIndividually() throws Exception {
+        // Arrange
+        when(privilegeEvaluator.isAllowed(anyString(), eq("/institutions"), eq("GET"), any())).thenReturn(false);
+        BatchRequestDTO batch = new BatchRequestDTO(List.of(
+                new BatchOperationDTO("a", "GET", "/institutions"),
+                new BatchOperationDTO("b", "POST", "/budgets"),
+                new BatchOperationDTO("c", "GET", "/streams/balances")));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        batchService.execute(batch, new MockHttpServletRequest("POST", "/batch"), response);
+
+        // Assert
+        JsonNode results = objectMapper.readTree(response.getContentAsString());
+        assertEquals(403, results.get(0).get("status").asInt());
+        assertEquals(405, results.get(1).get("status").asInt());
+        assertEquals(400, results.get(2).get("status").asInt());
+        verify(dispatcherServlet, never()).service(any(), any());
+    }
+
+    @Test
+    void testExecute_RejectsUnnormalizedPaths() throws Exception {
+        // Arrange
+        BatchRequestDTO batch = new BatchRequestDTO(List.of(
+                new BatchOperationDTO("a", "GET", "/accounts/../institutions")));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        batchService.execute(batch, new MockHttpServletRequest("POST", "/batch"), response);
+
+        // Assert
+        JsonNode results = objectMapper.readTree(response.getContentAsString());
+        assertEquals(400, results.get(0).get("status").asInt());
+        verify(dispatcherServlet, never()).service(any(), any());
+    }
+
+    @Test
+    void testExecute_ReportsOversizedOperationAsOverLimit() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            HttpServletResponse response = invocation.getArgument(1);
+            response.getOutputStream().write(new byte[2048]);
+            return null;
+        }).when(dispatcherServlet).service(any(), any());
+        BatchRequestDTO batch = new BatchRequestDTO(List.of(new BatchOperationDTO("a", "GET", "/transactions")));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        batchService.execute(batch, new MockHttpServletRequest("POST", "/batch"), response);
+
+        // Assert
+        JsonNode results = objectMapper.readTree(response.getContentAsString());
+        assertEquals(507, results.get(0).get("status").asInt());
+    }
+
+    @Test
+    void testValidate_BatchOverLimit() {
+        // Arrange
+        BatchRequestDTO batch = new BatchRequestDTO(List.of(
+                new BatchOperationDTO("a", "GET", "/accounts"),
+                new BatchOperationDTO("b", "GET", "/accounts"),
+                new BatchOperationDTO("c", "GET", "/accounts"),
+                new BatchOperationDTO("d", "GET", "/accounts")));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> batchService.validate(batch));
+    }
+
+    @Test
+    void testExecute_RunsOperationsThroughSqlBudgetAndLimiter() throws Exception {
+        // Arrange
+        BatchRequestDTO batch = new BatchRequestDTO(List.of(
+                new BatchOperationDTO("a", "GET", "/budgets"),
+                new BatchOperationDTO("b", "GET", "/accounts")));
+
+        // Act
+        batchService.execute(batch, new MockHttpServletRequest("POST", "/batch"), new MockHttpServletResponse());
+
+        // Assert
+        assertEquals(2, meterRegistry.get("http.server.sql.statements").summary().count());
+        assertEquals(0.0, meterRegistry.get("http.server.concurrency.in.flight").gauge().value());
+    }
+
+    @Test
+    void testExecute_WaitsForOperationsCancelledAtDeadline() throws Exception {
+        // Arrange
+        AtomicBoolean finished = new AtomicBoolean();
+        doAnswer(invocation -> {
+            // Like a JDBC call, ignores the interrupt.
+            long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300);
+            while (System.nanoTime() < until) {
+                Thread.onSpinWait();
+            }
+            finished.set(true);
+            return null;
+        }).when(dispatcherServlet).service(any(), any());
+        BatchRequestDTO batch = new BatchRequestDTO(List.of(new BatchOperationDTO("a", "GET", "/transactions")));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        batchService(50).execute(batch, new MockHttpServletRequest("POST", "/batch"), response);
+
+        // Assert
+        assertTrue(finished.get());
+        assertEquals(504, objectMapper.readTree(response.getContentAsString()).get(0).get("status").asInt());
+    }
+}
@@ -0,0 +1,208 @@
+package com.percap.services.budget;
+
+import com.percap.domain.transaction.LedgerRecategorizedEvent;
+import com.percap.domain.transaction.TransactionChangedEvent;
+import com.percap.domain.transaction.TransactionSnapshot;
+import com.percap.repositories.TransactionRepository;
+import com.percap.domain.fx.FxRate;
+import com.percap.repositories.FxRateRepository;
+import com.percap.repositories.TransactionRepository.CategoryDayTotal;
+import com.percap.services.fx.FxService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetRollupServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private FxRateRepository fxRateRepository;
+
+    private CategoryIndex categoryIndex;
+    private BudgetRollupService budgetRollupService;
+
+    private final YearMonth october = YearMonth.of(2026, 10);
+
+    @BeforeEach
+    void setUp() {
+        categoryIndex = new CategoryIndex();
+        budgetRollupService = new BudgetRollupService(transactionRepository, categoryIndex,
+                new FxService(fxRateRepository, event -> { }, "USD", 10), 1_800_000, 100);
+    }
+
+    private static CategoryDayTotal row(String category, LocalDate date, String currency, String total) {
+        return new CategoryDayTotal() {
+            @Override
+            public String getCategory() {
+                return category;
+            }
+
+            @Override
+            public LocalDate getDate() {
+                return date;
+            }
+
+            @Override
+            public String getCurrency() {
+                return currency;
+            }
+
+            @Override
+            public BigDecimal getTotal() {
+                return new BigDecimal(total);
+            }
+        };
+    }
+
+    @Test
+    void testTotal_UnknownCategoryIsZeroAndNotRegistered() {
+        // Arrange
+        when(transactionRepository.sumByCategoryDateAndCurrency("user-1")).thenReturn(List.of(
+                row("groceries", LocalDate.of(2026, 10, 4), "USD", "-120.50")));
+        BigDecimal groceries = budgetRollupService.total("user-1", "groceries", october);
+        int categories = categoryIndex.size();
+
+        // Act
+        BigDecimal unknown = budgetRollupService.total("user-1", "no-such-category", october);
+
+        // Assert
+        assertEquals(new BigDecimal("-120.50"), groceries);
+        assertEquals(new BigDecimal("0.00"), unknown);
+        assertEquals(categories, categoryIndex.size());
+        assertEquals(CategoryIndex.NOT_FOUND, categoryIndex.indexOf("no-such-category"));
+    }
+
+    @Test
+    void testTotalsByCategory_LoadsLazilyOnce() {
+        // Arrange
+        when(transactionRepository.sumByCategoryDateAndCurrency("user-1")).thenReturn(List.of(
+                row("groceries", LocalDate.of(2026, 10, 4), "USD", "-120.50"),
+                row("rent", LocalDate.of(2026, 10, 1), "USD", "-1800.00"),
+                row("groceries", LocalDate.of(2026, 9, 12), "USD", "-80.00")));
+
+        // Act
+        Map<String, BigDecimal> totals = budgetRollupService.totalsByCategory("user-1", october);
+        budgetRollupService.totalsByCategory("user-1", october.minusMonths(1));
+
+        // Assert
+        assertEquals(new BigDecimal("-120.50"), totals.get("groceries"));
+        assertEquals(new BigDecimal("-1800.00"), totals.get("rent"));
+        verify(transactionRepository, times(1)).sumByCategoryDateAndCurrency("user-1");
+    }
+
+    @Test
+    void testOnTransactionChanged_AppliesDeltaToLoadedCube() {
+        // Arrange
+        when(transactionRepository.sumByCategoryDateAndCurrency("user-1"))
+                .thenReturn(List.of(row("groceries", LocalDate.of(2026, 10, 2), "USD", "-100.00")));
+        budgetRollupService.totalsByCategory("user-1", october);
+        TransactionSnapshot before = new TransactionSnapshot("groceries", LocalDate.of(2026, 10, 3), new BigDecimal("-40.00"), "USD");
+        TransactionSnapshot after = new TransactionSnapshot("dining", LocalDate.of(2026, 10, 3), new BigDecimal("-45.00"), "USD");
+
+        // Act
+        budgetRollupService.onTransactionChanged(new TransactionChangedEvent("user-1", before, after));
+
+        // Assert
+        assertEquals(new BigDecimal("-60.00"), budgetRollupService.total("user-1", "groceries", october));
+        assertEquals(new BigDecimal("-45.00"), budgetRollupService.total("user-1", "dining", october));
+    }
+
+    @Test
+    void testOnTransactionChanged_IgnoresUnloadedUser() {
+        // Arrange
+        TransactionSnapshot created = new TransactionSnapshot("travel", LocalDate.of(2026, 10, 1), new BigDecimal("-300.00"), "USD");
+
+        // Act
+        budgetRollupService.onTransactionChanged(new TransactionChangedEvent("user-2", null, created));
+
+        // Assert
+        verify(transactionRepository, never()).sumByCategoryDateAndCurrency(anyString());
+    }
+
+    @Test
+    void testEvict_ForcesReload() {
+        // Arrange
+        when(transactionRepository.sumByCategoryDateAndCurrency("user-1")).thenReturn(List.of());
+        budgetRollupService.totalsByCategory("user-1", october);
+
+        // Act
+        budgetRollupService.evict("user-1");
+        budgetRollupService.totalsByCategory("user-1", october);
+
+        // Assert
+        verify(transactionRepository, times(2)).sumByCategoryDateAndCurrency("user-1");
+    }
+
+    @Test
+    void testOnLedgerRecategorized_ForcesReload() {
+        // Arrange
+        when(transactionRepository.sumByCategoryDateAndCurrency("user-1"))
+                .thenReturn(List.of(row("groceries", LocalDate.of(2026, 10, 2), "USD", "-100.00")))
+                .thenReturn(List.of(row("dining", LocalDate.of(2026, 10, 2), "USD", "-100.00")));
+        budgetRollupService.totalsByCategory("user-1", october);
+
+        // Act
+        budgetRollupService.onLedgerRecategorized(new LedgerRecategorizedEvent("user-1"));
+        Map<String, BigDecimal> totals = budgetRollupService.totalsByCategory("user-1", october);
+
+        // Assert
+        assertEquals(Map.of("dining", new BigDecimal("-100.00")), totals);
+    }
+
+    @Test
+    void testOnTransactionChanged_CommitDuringLoadIsNotLost() {
+        // Arrange
+        TransactionSnapshot created = new TransactionSnapshot("travel", LocalDate.of(2026, 10, 1), new BigDecimal("-300.00"), "USD");
+        when(transactionRepository.sumByCategoryDateAndCurrency("user-1"))
+                .thenAnswer(invocation -> {
+                    // The change commits after this read, so the first load must not be kept.
+                    budgetRollupService.onTransactionChanged(new TransactionChangedEvent("user-1", null, created));
+                    return List.of();
+                })
+                .thenReturn(List.of(row("travel", LocalDate.of(2026, 10, 1), "USD", "-300.00")));
+
+        // Act
+        budgetRollupService.totalsByCategory("user-1", october);
+        BigDecimal total = budgetRollupService.total("user-1", "travel", october);
+
+        // Assert
+        assertEquals(new BigDecimal("-300.00"), total);
+        verify(transactionRepository, times(2)).sumByCategoryDateAndCurrency("user-1");
+    }
+
+    @Test
+    void testTotalsByCategory_ConvertsForeignCurrencyAtTransactionDate() {
+        // Arrange
+        when(fxRateRepository.findAll()).thenReturn(List.of(
+                new FxRate(null, "EUR", "USD", LocalDate.of(2026, 10, 1), new BigDecimal("1.10"), null),
+                new FxRate(null, "EUR", "USD", LocalDate.of(2026, 10, 15), new BigDecimal("1.20"), null)));
+        FxService fxService = new FxService(fxRateRepository, event -> { }, "USD", 10);
+        fxService.loadRates();
+        budgetRollupService = new BudgetRollupService(transactionRepository, new CategoryIndex(), fxService, 1_800_000, 100);
+        when(transactionRepository.sumByCategoryDateAndCurrency("user-1")).thenReturn(List.of(
+                row("travel", LocalDate.of(2026, 10, 10), "EUR", "-100.00"),
+                row("travel", LocalDate.of(2026, 10, 20), "EUR", "-100.00"),
+                row("travel", LocalDate.of(2026, 10, 20), "USD", "-5.00")));
+
+        // Act
+        BigDecimal total = budgetRollupService.total("user-1", "travel", october);
+
+        // Assert
+        assertEquals(new BigDecimal("-235.00"), total);
+    }
+}
@@ -0,0 +1,71 @@
+package com.percap.services.budget;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpendingCubeTest {
+
+    private static final int OCT_2026 = SpendingCube.epochMonth(2026, 10);
+
+    @Test
+    void testAdd_AccumulatesPerCategoryAndMonth() {
+        // Arrange
+        SpendingCube cube = new SpendingCube();
+
+        // Act
+        cube.add(1, OCT_2026, -1500);
+        cube.add(1, OCT_2026, -250);
+        cube.add(2, OCT_2026, -99);
+
+        // Assert
+        assertEquals(-1750, cube.get(1, OCT_2026));
+        assertEquals(-99, cube.get(2, OCT_2026));
+        assertEquals(0, cube.get(1, OCT_2026 + 1));
+    }
+
+    @Test
+    void testAdd_GrowsAcrossMonthsAndCategories() {
+        // Arrange
+        SpendingCube cube = new SpendingCube();
+        cube.add(1, OCT_2026, -100);
+
+        // Act
+        cube.add(1, OCT_2026 - 240, -200);
+        cube.add(1, OCT_2026 + 120, -300);
+        cube.add(40, OCT_2026, -400);
+
+        // Assert
+        assertEquals(-100, cube.get(1, OCT_2026));
+        assertEquals(-200, cube.get(1, OCT_2026 - 240));
+        assertEquals(-300, cube.get(1, OCT_2026 + 120));
+        assertEquals(-400, cube.get(40, OCT_2026));
+    }
+
+    @Test
+    void testMonth_ReturnsAllCategories() {
+        // Arrange
+        SpendingCube cube = new SpendingCube();
+        cube.add(0, OCT_2026, 500);
+        cube.add(3, OCT_2026, -700);
+        cube.add(3, OCT_2026 - 1, -800);
+
+        // Act
+        long[] totals = cube.month(OCT_2026);
+
+        // Assert
+        assertEquals(500, totals[0]);
+        assertEquals(-700, totals[3]);
+        assertEquals(0, totals[1]);
+    }
+
+    @Test
+    void testGet_EmptyCube() {
+        // Arrange
+        SpendingCube cube = new SpendingCube();
+
+        // Act & Assert
+        assertEquals(0, cube.get(5, OCT_2026));
+        assertEquals(0, cube.month(OCT_2026).length);
+    }
+}
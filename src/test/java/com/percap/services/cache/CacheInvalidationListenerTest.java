@@ -0,0 +1,66 @@
+package com.percap.services.cache;
+
+import com.percap.domain.outbox.OutboxEventType;
+import com.percap.domain.outbox.RemoteChangeEvent;
+import com.percap.services.cache.CacheInvalidationListener.Invalidation;
+import com.percap.services.outbox.OutboxRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationListenerTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-19T12:00:00Z");
+
+    @Mock
+    private DataSource dataSource;
+
+    private final List<Object> events = new ArrayList<>();
+    private CacheInvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new CacheInvalidationListener(dataSource, events::add, 60, 60);
+    }
+
+    @Test
+    void testApply_PublishesOtherProcessesChangesOnce() {
+        // Arrange
+        Invalidation remote = new Invalidation(1, "user-1", OutboxEventType.TRANSACTION_CHANGED, "other-process", NOW);
+        Invalidation local = new Invalidation(2, "user-2", OutboxEventType.PORTFOLIO_CHANGED, OutboxRecorder.ORIGIN, NOW);
+
+        // Act
+        listener.apply(List.of(remote, local), NOW.minusSeconds(60));
+        listener.apply(List.of(remote), NOW.minusSeconds(60));
+
+        // Assert
+        assertEquals(1, events.size());
+        RemoteChangeEvent event = (RemoteChangeEvent) events.get(0);
+        assertEquals("user-1", event.getUserId());
+        assertEquals(OutboxEventType.TRANSACTION_CHANGED, event.getType());
+    }
+
+    @Test
+    void testApply_ForgetsIdsOnceOutsideTheOverlapWindow() {
+        // Arrange
+        Invalidation old = new Invalidation(1, "user-1", OutboxEventType.BUDGET_CHANGED, "other-process", NOW);
+        listener.apply(List.of(old), NOW.minusSeconds(60));
+
+        // Act
+        listener.apply(List.of(), NOW.plusSeconds(1));
+        listener.apply(List.of(old), NOW.plusSeconds(1));
+
+        // Assert
+        assertEquals(2, events.size());
+    }
+}
@@ -0,0 +1,133 @@
+package com.percap.services.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.percap.domain.transaction.LedgerRecategorizedEvent;
+import com.percap.domain.transaction.TransactionChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+
+    private ResponseCache responseCache;
+    private AtomicInteger computations;
+    private Supplier<Object> report;
+
+    @BeforeEach
+    void setUp() {
+        responseCache = new ResponseCache(new ObjectMapper(), new SimpleMeterRegistry(), 4096, 4);
+        computations = new AtomicInteger();
+        report = () -> Map.of("call", computations.incrementAndGet());
+    }
+
+    @Test
+    void testGet_ServesCachedBodyUntilUserChanges() {
+        // Arrange
+        ResponseEntity<byte[]> first = responseCache.get("user-1", "budgets", "2024-05", null, report);
+
+        // Act
+        ResponseEntity<byte[]> second = responseCache.get("user-1", "budgets", "2024-05", null, report);
+        responseCache.onTransactionChanged(new TransactionChangedEvent("user-1", null, null));
+        ResponseEntity<byte[]> third = responseCache.get("user-1", "budgets", "2024-05", null, report);
+
+        // Assert
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertArrayEquals(first.getBody(), second.getBody());
+        assertEquals(first.getHeaders().getETag(), second.getHeaders().getETag());
+        assertNotEquals(first.getHeaders().getETag(), third.getHeaders().getETag());
+        assertEquals("{\"call\":2}", new String(third.getBody()));
+        assertEquals(2, computations.get());
+    }
+
+    @Test
+    void testGet_EtagMatchReturnsNotModifiedWithoutComputing() {
+        // Arrange
+        String etag = responseCache.get("user-1", "budgets", "2024-05", null, report).getHeaders().getETag();
+
+        // Act
+        ResponseEntity<byte[]> response = responseCache.get("user-1", "budgets", "2024-05", "W/\"other\", " + etag, report);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(1, computations.get());
+    }
+
+    @Test
+    void testGet_KeepsUsersAndParametersSeparate() {
+        // Arrange
+        String etag = responseCache.get("user-1", "budgets", "2024-05", null, report).getHeaders().getETag();
+
+        // Act
+        responseCache.onTransactionChanged(new TransactionChangedEvent("user-2", null, null));
+        ResponseEntity<byte[]> sameUser = responseCache.get("user-1", "budgets", "2024-05", etag, report);
+        ResponseEntity<byte[]> otherMonth = responseCache.get("user-1", "budgets", "2024-06", etag, report);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, sameUser.getStatusCode());
+        assertEquals(HttpStatus.OK, otherMonth.getStatusCode());
+        assertEquals(2, computations.get());
+    }
+
+    @Test
+    void testGet_EvictsLeastRecentlyUsedOverWeightLimit() {
+        // Arrange
+        Supplier<Object> large = () -> {
+            computations.incrementAndGet();
+            return List.of("x".repeat(1500));
+        };
+        responseCache.get("user-1", "budgets", "2024-01", null, large);
+        responseCache.get("user-1", "budgets", "2024-02", null, large);
+        responseCache.get("user-1", "budgets", "2024-01", null, large);
+
+        // Act
+        responseCache.get("user-1", "budgets", "2024-03", null, large);
+        responseCache.get("user-1", "budgets", "2024-01", null, large);
+        responseCache.get("user-1", "budgets", "2024-02", null, large);
+
+        // Assert
+        assertEquals(4, computations.get());
+        assertTrue(responseCache.weight() <= 4096);
+    }
+
+    @Test
+    void testGet_RecategorizationMakesUserStale() {
+        // Arrange
+        String etag = responseCache.get("user-1", "budgets", "2024-05", null, report).getHeaders().getETag();
+
+        // Act
+        responseCache.onLedgerRecategorized(new LedgerRecategorizedEvent("user-1"));
+        ResponseEntity<byte[]> response = responseCache.get("user-1", "budgets", "2024-05", etag, report);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, computations.get());
+    }
+
+    @Test
+    void testInvalidate_BoundsTrackedUsersWithoutReusingEtags() {
+        // Arrange
+        responseCache.invalidate("user-1");
+        String etag = responseCache.get("user-1", "budgets", "2024-05", null, report).getHeaders().getETag();
+
+        // Act
+        for (int i = 2; i <= 10; i++) {
+            responseCache.invalidate("user-" + i);
+        }
+        ResponseEntity<byte[]> response = responseCache.get("user-1", "budgets", "2024-05", etag, report);
+
+        // Assert
+        assertTrue(responseCache.trackedUsers() <= 4);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotEquals(etag, response.getHeaders().getETag());
+    }
+}
@@ -0,0 +1,92 @@
+package com.percap.services.categorization;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AhoCorasickMatcherTest {
+
+    @Test
+    void testMatch_SingleKeyword() {
+        // Arrange
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.build(List.of("starbucks"));
+
+        // Act & Assert
+        assertEquals(0, matcher.match("POS STARBUCKS #1234 SEATTLE"));
+        assertEquals(AhoCorasickMatcher.NO_MATCH, matcher.match("WHOLE FOODS MARKET"));
+    }
+
+    @Test
+    void testMatch_LowestIndexWins() {
+        // Arrange
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.build(List.of("uber eats", "uber", "eats"));
+
+        // Act & Assert
+        assertEquals(0, matcher.match("UBER EATS 8005928996"));
+        assertEquals(1, matcher.match("UBER TRIP HELP.UBER.COM"));
+        assertEquals(2, matcher.match("GOOD EATS DINER"));
+    }
+
+    @Test
+    void testMatch_KeywordFoundThroughFailureLink() {
+        // Arrange
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.build(List.of("abcd", "bc"));
+
+        // Act & Assert
+        assertEquals(1, matcher.match("xabcx"));
+        assertEquals(0, matcher.match("xabcd"));
+    }
+
+    @Test
+    void testMatch_OverlappingPrefixes() {
+        // Arrange
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.build(List.of("shell", "he", "hers"));
+
+        // Act & Assert
+        assertEquals(1, matcher.match("ushers"));
+        assertEquals(0, matcher.match("SHELL OIL 5744"));
+    }
+
+    @Test
+    void testMatch_NullAndEmpty() {
+        // Arrange
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.build(List.of("rent"));
+
+        // Act & Assert
+        assertEquals(AhoCorasickMatcher.NO_MATCH, matcher.match(null));
+        assertEquals(AhoCorasickMatcher.NO_MATCH, matcher.match(""));
+    }
+
+    @Test
+    void testBuild_IgnoresBlankKeywords() {
+        // Arrange
+        List<String> keywords = new ArrayList<>();
+        keywords.add(null);
+        keywords.add(" ");
+        keywords.add("netflix");
+
+        // Act
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.build(keywords);
+
+        // Assert
+        assertEquals(2, matcher.match("NETFLIX.COM"));
+        assertEquals(AhoCorasickMatcher.NO_MATCH, matcher.match("   "));
+    }
+
+    @Test
+    void testMatch_ManyKeywords() {
+        // Arrange
+        List<String> keywords = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            keywords.add("merchant" + i + "x");
+        }
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.build(keywords);
+
+        // Act & Assert
+        assertEquals(4321, matcher.match("CARD PURCHASE MERCHANT4321X"));
+        assertEquals(AhoCorasickMatcher.NO_MATCH, matcher.match("CARD PURCHASE MERCHANT99999X"));
+    }
+}
@@ -0,0 +1,166 @@
+package com.percap.services.categorization;
+
+import com.percap.domain.category.CategoryRule;
+import com.percap.domain.transaction.LedgerRecategorizedEvent;
+import com.percap.domain.user.User;
+import com.percap.dtos.category.CategoryRuleDTO;
+import com.percap.dtos.transaction.RecategorizeResponseDTO;
+import com.percap.repositories.CategoryRuleRepository;
+import com.percap.repositories.TransactionRepository;
+import com.percap.repositories.TransactionRepository.TransactionDescription;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategorizationServiceTest {
+
+    @Mock
+    private CategoryRuleRepository categoryRuleRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private CategorizationService categorizationService;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setId("user-id-123");
+        testUser.setLogin("testuser");
+    }
+
+    private static CategoryRule rule(String keyword, String category, int priority) {
+        CategoryRule rule = new CategoryRule();
+        rule.setKeyword(keyword);
+        rule.setCategory(category);
+        rule.setPriority(priority);
+        return rule;
+    }
+
+    private static TransactionDescription description(String id, String description) {
+        return new TransactionDescription() {
+            @Override
+            public String getId() {
+                return id;
+            }
+
+            @Override
+            public String getDescription() {
+                return description;
+            }
+        };
+    }
+
+    @Test
+    void testCategorize_NoRulesLoaded() {
+        // Act & Assert
+        assertNull(categorizationService.categorize("WHOLE FOODS MARKET"));
+    }
+
+    @Test
+    void testCategorize_HigherPriorityWins() {
+        // Arrange
+        when(categoryRuleRepository.findAll()).thenReturn(List.of(
+                rule("amazon", "shopping", 0),
+                rule("amazon prime video", "entertainment", 0),
+                rule("whole foods", "groceries", 10)));
+        categorizationService.reloadRules();
+
+        // Act & Assert
+        assertEquals("groceries", categorizationService.categorize("AMAZON WHOLE FOODS #10"));
+        assertEquals("entertainment", categorizationService.categorize("Amazon Prime Video"));
+        assertEquals("shopping", categorizationService.categorize("AMAZON MKTPLACE"));
+        assertNull(categorizationService.categorize("LANDLORD LLC"));
+    }
+
+    @Test
+    void testAddRule_ReloadsRuleSet() {
+        // Arrange
+        CategoryRule saved = rule("landlord", "rent", 0);
+        saved.setId("rule-id");
+        when(categoryRuleRepository.save(any(CategoryRule.class))).thenReturn(saved);
+        when(categoryRuleRepository.findAll()).thenReturn(List.of(saved));
+
+        // Act
+        CategoryRuleDTO result = categorizationService.addRule(new CategoryRuleDTO(null, " landlord ", "rent", 0));
+
+        // Assert
+        assertEquals("rule-id", result.getId());
+        assertEquals("rent", categorizationService.categorize("LANDLORD LLC ACH"));
+        verify(categoryRuleRepository).save(argThat(r -> r.getKeyword().equals("landlord")));
+    }
+
+    @Test
+    void testDeleteRule_NotFound() {
+        // Arrange
+        when(categoryRuleRepository.existsById("missing")).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> categorizationService.deleteRule("missing"));
+        verify(categoryRuleRepository, never()).deleteById(anyString());
+    }
+
+    @Test
+    void testRecategorizeHistory_GroupsUpdatesByCategory() {
+        // Arrange
+        when(categoryRuleRepository.findAll()).thenReturn(List.of(
+                rule("delta air", "travel", 0),
+                rule("safeway", "groceries", 0)));
+        categorizationService.reloadRules();
+        when(transactionRepository.findTop1000ByUserIdAndIdGreaterThanOrderByIdAsc("user-id-123", ""))
+                .thenReturn(List.of(
+                        description("t1", "DELTA AIR 0062"),
+                        description("t2", "SAFEWAY #123"),
+                        description("t3", "SAFEWAY FUEL"),
+                        description("t4", "ATM WITHDRAWAL")));
+
+        // Act
+        RecategorizeResponseDTO result = categorizationService.recategorizeHistory(testUser);
+
+        // Assert
+        assertEquals(4, result.getProcessed());
+        assertEquals(3, result.getCategorized());
+        verify(transactionRepository).updateCategory(eq("travel"), eq(List.of("t1")), any(Instant.class));
+        verify(transactionRepository).updateCategory(eq("groceries"), eq(List.of("t2", "t3")), any(Instant.class));
+        verify(transactionRepository).updateCategory(isNull(), eq(List.of("t4")), any(Instant.class));
+        verify(transactionRepository, times(1))
+                .findTop1000ByUserIdAndIdGreaterThanOrderByIdAsc(anyString(), anyString());
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof LedgerRecategorizedEvent
+                && ((LedgerRecategorizedEvent) event).getUserId().equals("user-id-123")));
+    }
+
+    @Test
+    void testRecategorizeHistory_EmptyHistoryPublishesNothing() {
+        // Arrange
+        when(transactionRepository.findTop1000ByUserIdAndIdGreaterThanOrderByIdAsc("user-id-123", ""))
+                .thenReturn(List.of());
+
+        // Act
+        RecategorizeResponseDTO result = categorizationService.recategorizeHistory(testUser);
+
+        // Assert
+        assertEquals(0, result.getProcessed());
+        verifyNoInteractions(eventPublisher);
+    }
+}
@@ -0,0 +1,132 @@
+package com.percap.services.coldstore;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColdSegmentTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static int day(String date) {
+        return (int) LocalDate.parse(date).toEpochDay();
+    }
+
+    @Test
+    void testWriteThenScan_RoundTripsRowsForEachUser() throws IOException {
+        // Arrange
+        String first = UUID.randomUUID().toString();
+        String second = UUID.randomUUID().toString();
+        String third = UUID.randomUUID().toString();
+        ColdSegmentWriter writer = new ColdSegmentWriter();
+        writer.add("user-a", first, "SAFEWAY #12", -4210, "USD", day("2019-03-02"), "groceries");
+        writer.add("user-a", second, "PAYROLL", 350000, "USD", day("2019-03-15"), null);
+        writer.add("user-b", third, "SAFEWAY #12", -1999, "EUR", day("2019-03-01"), "groceries");
+        Path file = tempDir.resolve("ledger_2019_03.pcol");
+        writer.writeTo(file);
+
+        // Act
+        ColdSegment segment = ColdSegment.open(file);
+        List<String> rows = new ArrayList<>();
+        int visited = segment.scan("user-a", Integer.MIN_VALUE, Integer.MAX_VALUE,
+                (id, description, cents, currency, epochDay, category) ->
+                        rows.add(id + "|" + description + "|" + cents + "|" + currency + "|" + LocalDate.ofEpochDay(epochDay) + "|" + category));
+
+        // Assert
+        assertEquals(2, visited);
+        assertEquals(first + "|SAFEWAY #12|-4210|USD|2019-03-02|groceries", rows.get(0));
+        assertEquals(second + "|PAYROLL|350000|USD|2019-03-15|null", rows.get(1));
+        assertEquals(3, segment.rowCount());
+        assertEquals(2, segment.userCount());
+        assertEquals(day("2019-03-01"), segment.minEpochDay());
+        assertEquals(day("2019-03-15"), segment.maxEpochDay());
+        assertEquals(-4210, segment.minAmountCents());
+        assertEquals(350000, segment.maxAmountCents());
+    }
+
+    @Test
+    void testScan_AppliesDateBoundsAndMinMaxIndexes() throws IOException {
+        // Arrange
+        ColdSegmentWriter writer = new ColdSegmentWriter();
+        for (int i = 0; i < 30; i++) {
+            writer.add("user-a", "t-" + i, "Coffee " + (i % 3), -450 - i, "USD", day("2019-04-01") + i, "dining");
+        }
+        Path file = tempDir.resolve("ledger_2019_04.pcol");
+        writer.writeTo(file);
+        ColdSegment segment = ColdSegment.open(file);
+        List<String> ids = new ArrayList<>();
+
+        // Act
+        int visited = segment.scan("user-a", day("2019-04-10"), day("2019-04-12"),
+                (id, description, cents, currency, epochDay, category) -> ids.add(id));
+
+        // Assert
+        assertEquals(3, visited);
+        assertEquals(List.of("t-9", "t-10", "t-11"), ids);
+        assertFalse(segment.mayContain("user-a", day("2019-05-01"), day("2019-05-31")));
+        assertFalse(segment.mayContain("user-z", Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertEquals(0, segment.scan("user-z", Integer.MIN_VALUE, Integer.MAX_VALUE,
+                (id, description, cents, currency, epochDay, category) -> fail("unexpected row")));
+    }
+
+    @Test
+    void testWriteThenScan_KeepsUuidIdsWrittenBeforeARawOne() throws IOException {
+        // Arrange
+        String first = UUID.randomUUID().toString();
+        String second = UUID.randomUUID().toString();
+        ColdSegmentWriter writer = new ColdSegmentWriter();
+        writer.add("user-a", first, "RENT", -150000, "USD", day("2019-05-01"), "housing");
+        writer.add("user-a", second, "RENT", -150000, "USD", day("2019-06-01"), "housing");
+        writer.add("user-a", "legacy-7", "RENT", -150000, "USD", day("2019-07-01"), "housing");
+        Path file = tempDir.resolve("ledger_2019_05.pcol");
+        writer.writeTo(file);
+        List<String> ids = new ArrayList<>();
+
+        // Act
+        ColdSegment.open(file).scan("user-a", Integer.MIN_VALUE, Integer.MAX_VALUE,
+                (id, description, cents, currency, epochDay, category) -> ids.add(id));
+
+        // Assert
+        assertEquals(List.of(first, second, "legacy-7"), ids);
+    }
+
+    @Test
+    void testWriteTo_SmallerThanRowStrings() throws IOException {
+        // Arrange
+        ColdSegmentWriter writer = new ColdSegmentWriter();
+        long rawBytes = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String id = UUID.randomUUID().toString();
+            String merchant = "MERCHANT " + (i % 50);
+            writer.add("user-" + (i / 1000), id, merchant, -(i % 9000), "USD", day("2018-01-01") + (i % 1000) / 35, "shopping");
+            rawBytes += id.length() + merchant.length() + 8 + 3 + 10 + 8;
+        }
+        Path file = tempDir.resolve("ledger_2018_01.pcol");
+
+        // Act
+        writer.writeTo(file);
+
+        // Assert
+        assertTrue(Files.size(file) * 2 < rawBytes, "segment is " + Files.size(file) + " bytes vs " + rawBytes);
+    }
+
+    @Test
+    void testAdd_OutOfOrderUsersRejected() {
+        // Arrange
+        ColdSegmentWriter writer = new ColdSegmentWriter();
+        writer.add("user-b", "t-1", "A", 1, "USD", 100, null);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> writer.add("user-a", "t-2", "A", 1, "USD", 100, null));
+    }
+}
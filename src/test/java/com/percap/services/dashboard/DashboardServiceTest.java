@@ -0,0 +1,143 @@
+package com.percap.services.dashboard;
+
+import com.percap.domain.user.User;
+import com.percap.dtos.dashboard.DashboardDTO;
+import com.percap.dtos.streaming.BalanceUpdateDTO;
+import com.percap.dtos.transaction.TransactionDTO;
+import com.percap.services.TransactionService;
+import com.percap.services.budget.BudgetService;
+import com.percap.services.streaming.BalanceStreamService;
+import com.percap.services.sync.LinkedAccountService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.mockito.stubbing.Answer;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DashboardServiceTest {
+
+    @Mock
+    private BalanceStreamService balanceStreamService;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private BudgetService budgetService;
+
+    @Mock
+    private LinkedAccountService linkedAccountService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DashboardService dashboardService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        dashboardService = new DashboardService(balanceStreamService, transactionService, budgetService,
+                linkedAccountService, transactionManager, 10, 1000, 1000, 1000, 200);
+        user = new User();
+        user.setId("user-1");
+        when(balanceStreamService.current("user-1")).thenReturn(
+                new BalanceUpdateDTO(BigDecimal.TEN, BigDecimal.ONE, new BigDecimal("11"), Instant.now()));
+        when(transactionService.list(eq(user), isNull(), isNull(), eq(0), eq(10))).thenReturn(List.of(
+                new TransactionDTO("tx-1", "Coffee", new BigDecimal("-4.50"), "USD", LocalDate.now(), "dining")));
+        when(budgetService.getStatus(eq(user), any())).thenReturn(List.of());
+        when(linkedAccountService.list(user)).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        dashboardService.destroy();
+    }
+
+    private static <T> Answer<T> after(long millis, T value) {
+        return invocation -> {
+            Thread.sleep(millis);
+            return value;
+        };
+    }
+
+    @Test
+    void testLoad_TakesAsLongAsSlowestComponent() {
+        // Arrange
+        when(budgetService.getStatus(eq(user), any())).thenAnswer(after(300, List.of()));
+        when(transactionService.list(eq(user), isNull(), isNull(), eq(0), eq(10))).thenAnswer(after(300, List.of()));
+        when(balanceStreamService.current("user-1")).thenAnswer(after(300, null));
+
+        // Act
+        long start = System.nanoTime();
+        DashboardDTO dashboard = dashboardService.load(user);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertTrue(elapsedMs < 800, "took " + elapsedMs + " ms");
+        assertEquals(List.of(), dashboard.getUnavailable());
+    }
+
+    @Test
+    void testLoad_SlowComponentReturnsPartialResult() {
+        // Arrange
+        when(linkedAccountService.list(user)).thenAnswer(after(5_000, List.of()));
+
+        // Act
+        long start = System.nanoTime();
+        DashboardDTO dashboard = dashboardService.load(user);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertTrue(elapsedMs < 2_000, "took " + elapsedMs + " ms");
+        assertNull(dashboard.getAccounts());
+        assertEquals(List.of(DashboardService.ACCOUNTS), dashboard.getUnavailable());
+        assertEquals(new BigDecimal("11"), dashboard.getNetWorth().getNetWorth());
+        assertEquals("tx-1", dashboard.getRecentTransactions().get(0).getId());
+    }
+
+    @Test
+    void testLoad_FailingComponentReportedUnavailable() {
+        // Arrange
+        when(budgetService.getStatus(eq(user), any())).thenThrow(new IllegalStateException("rollup unavailable"));
+
+        // Act
+        DashboardDTO dashboard = dashboardService.load(user);
+
+        // Assert
+        assertNull(dashboard.getBudgets());
+        assertEquals(List.of(DashboardService.BUDGETS), dashboard.getUnavailable());
+        assertNotNull(dashboard.getAccounts());
+    }
+
+    @Test
+    void testLoad_RunsComponentsInReadOnlyTransactionsTimedToTheirDeadlines() {
+        // Arrange
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+
+        // Act
+        dashboardService.load(user);
+
+        // Assert
+        verify(transactionManager, times(4)).getTransaction(definitions.capture());
+        assertTrue(definitions.getAllValues().stream().allMatch(TransactionDefinition::isReadOnly));
+        assertEquals(List.of(1, 1, 1, 1), definitions.getAllValues().stream().map(TransactionDefinition::getTimeout).toList());
+    }
+}
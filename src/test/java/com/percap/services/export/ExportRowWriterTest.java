@@ -0,0 +1,58 @@
+package com.percap.services.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportRowWriterTest {
+
+    private static String write(ExportFormat format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportRowWriter writer = format.newWriter(out);
+        writer.writeHeader();
+        writer.writeRow("tx-1", LocalDate.of(2026, 10, 2), "SAFEWAY #12", new BigDecimal("-42.10"), "USD", "groceries");
+        writer.writeRow("tx-2", LocalDate.of(2026, 10, 3), "JOE'S \"BEST\" PIZZA, INC", new BigDecimal("-18.00"), "EUR", null);
+        writer.flush();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testCsv_HeaderAndRows() {
+        // Act
+        String csv = write(ExportFormat.CSV);
+
+        // Assert
+        String[] lines = csv.split("\r\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,date,description,amount,currency,category", lines[0]);
+        assertEquals("tx-1,2026-10-02,SAFEWAY #12,-42.10,USD,groceries", lines[1]);
+    }
+
+    @Test
+    void testCsv_QuotesSpecialCharacters() {
+        // Act
+        String csv = write(ExportFormat.CSV);
+
+        // Assert
+        assertTrue(csv.contains("tx-2,2026-10-03,\"JOE'S \"\"BEST\"\" PIZZA, INC\",-18.00,EUR,\r\n"));
+    }
+
+    @Test
+    void testNdjson_OneObjectPerLine() {
+        // Act
+        String ndjson = write(ExportFormat.NDJSON);
+
+        // Assert
+        String[] lines = ndjson.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(ndjson.endsWith("\n"));
+        assertEquals("{\"id\":\"tx-1\",\"date\":\"2026-10-02\",\"description\":\"SAFEWAY #12\",\"amount\":-42.10,\"currency\":\"USD\",\"category\":\"groceries\"}", lines[0]);
+        assertTrue(lines[1].contains("\"description\":\"JOE'S \\\"BEST\\\" PIZZA, INC\""));
+        assertTrue(lines[1].endsWith("\"category\":null}"));
+    }
+}
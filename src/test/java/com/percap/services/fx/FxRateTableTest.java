@@ -0,0 +1,66 @@
+package com.percap.services.fx;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FxRateTableTest {
+
+    private static final int EUR = FxRateTable.code("EUR");
+    private static final int USD = FxRateTable.code("USD");
+    private static final int GBP = FxRateTable.code("GBP");
+    private static final int JPY = FxRateTable.code("JPY");
+
+    private static int day(int month, int dayOfMonth) {
+        return (int) LocalDate.of(2026, month, dayOfMonth).toEpochDay();
+    }
+
+    private final FxRateTable table = FxRateTable.builder("USD")
+            .put("EUR", "USD", day(10, 1), 1.10)
+            .put("EUR", "USD", day(10, 8), 1.12)
+            .put("EUR", "USD", day(10, 15), 1.15)
+            .put("GBP", "USD", day(10, 1), 1.30)
+            .build();
+
+    @Test
+    void testRate_UsesLatestRateOnOrBeforeDate() {
+        // Act & Assert
+        assertEquals(1.10, table.rate(EUR, USD, day(10, 1)));
+        assertEquals(1.12, table.rate(EUR, USD, day(10, 14)));
+        assertEquals(1.15, table.rate(EUR, USD, day(12, 31)));
+        assertTrue(Double.isNaN(table.rate(EUR, USD, day(9, 30))));
+    }
+
+    @Test
+    void testRate_ResolvesInverseAndCrossPairs() {
+        // Act & Assert
+        assertEquals(1 / 1.10, table.rate(USD, EUR, day(10, 2)), 1e-12);
+        assertEquals(1.10 / 1.30, table.rate(EUR, GBP, day(10, 2)), 1e-12);
+        assertEquals(1.0, table.rate(JPY, JPY, day(10, 2)));
+        assertTrue(Double.isNaN(table.rate(JPY, USD, day(10, 2))));
+    }
+
+    @Test
+    void testToBuilder_OverwritesAndExtendsSeries() {
+        // Act
+        FxRateTable updated = table.toBuilder()
+                .put("EUR", "USD", day(10, 8), 1.13)
+                .put("JPY", "USD", day(10, 1), 0.0067)
+                .build();
+
+        // Assert
+        assertEquals(5, updated.size());
+        assertEquals(1.13, updated.rate(EUR, USD, day(10, 9)));
+        assertEquals(0.0067, updated.rate(JPY, USD, day(10, 2)));
+        assertEquals(1.12, table.rate(EUR, USD, day(10, 9)));
+    }
+
+    @Test
+    void testCode_InvalidCurrency() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> FxRateTable.code("usd"));
+        assertThrows(IllegalArgumentException.class, () -> FxRateTable.code("EURO"));
+    }
+}
@@ -0,0 +1,103 @@
+package com.percap.services.fx;
+
+import com.percap.domain.fx.FxRate;
+import com.percap.domain.fx.FxRatesChangedEvent;
+import com.percap.dtos.fx.FxRateDTO;
+import com.percap.repositories.FxRateRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FxServiceTest {
+
+    private static final LocalDate OCTOBER_1 = LocalDate.of(2026, 10, 1);
+
+    @Mock
+    private FxRateRepository fxRateRepository;
+
+    private final List<Object> events = new ArrayList<>();
+    private FxService fxService;
+
+    @BeforeEach
+    void setUp() {
+        fxService = new FxService(fxRateRepository, events::add, "USD", 10);
+        when(fxRateRepository.currentTimestamp()).thenReturn(Instant.parse("2026-10-19T12:00:00Z"));
+        when(fxRateRepository.findAll()).thenReturn(List.of(eurUsd(OCTOBER_1, "1.10")));
+        fxService.loadRates();
+        events.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static FxRate eurUsd(LocalDate date, String rate) {
+        return new FxRate(null, "EUR", "USD", date, new BigDecimal(rate), null);
+    }
+
+    @Test
+    void testCurrencyFor_RejectsCurrencyWithoutRateOnDate() {
+        // Act & Assert
+        assertEquals("USD", fxService.currencyFor(null, OCTOBER_1));
+        assertEquals("EUR", fxService.currencyFor("EUR", OCTOBER_1.plusDays(4)));
+        assertThrows(IllegalArgumentException.class, () -> fxService.currencyFor("EUR", OCTOBER_1.minusDays(1)));
+        assertThrows(IllegalArgumentException.class, () -> fxService.currencyFor("GBP", OCTOBER_1));
+    }
+
+    @Test
+    void testSaveRate_AppliesAndPublishesOnlyAfterCommit() {
+        // Arrange
+        FxRateDTO request = new FxRateDTO("EUR", "USD", OCTOBER_1, new BigDecimal("1.25"));
+        when(fxRateRepository.findByBaseCurrencyAndQuoteCurrencyAndDate("EUR", "USD", OCTOBER_1))
+                .thenReturn(Optional.of(eurUsd(OCTOBER_1, "1.10")));
+        when(fxRateRepository.save(any(FxRate.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        fxService.saveRate(request);
+        double beforeCommit = fxService.rate(FxRateTable.code("EUR"), fxService.baseCode(), (int) OCTOBER_1.toEpochDay());
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        double afterCommit = fxService.rate(FxRateTable.code("EUR"), fxService.baseCode(), (int) OCTOBER_1.toEpochDay());
+
+        // Assert
+        assertEquals(1.10, beforeCommit);
+        assertEquals(1.25, afterCommit);
+        assertEquals(1, events.size());
+        assertInstanceOf(FxRatesChangedEvent.class, events.get(0));
+    }
+
+    @Test
+    void testRefresh_RereadsOverlapWindowButSkipsRatesAlreadyHeld() {
+        // Arrange
+        when(fxRateRepository.findByUpdatedAtGreaterThanEqual(Instant.parse("2026-10-19T11:50:00Z")))
+                .thenReturn(List.of(eurUsd(OCTOBER_1, "1.10")));
+
+        // Act
+        fxService.refresh();
+
+        // Assert
+        assertTrue(events.isEmpty());
+    }
+}
@@ -0,0 +1,115 @@
+package com.percap.services.ledger;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers(disabledWithoutDocker = true)
+class LedgerPartitionManagerTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static DriverManagerDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private LedgerPartitionManager manager;
+
+    @BeforeAll
+    static void migrate() {
+        dataSource = new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        Flyway.configure().dataSource(dataSource).load().migrate();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO users (id, login, password, role) VALUES ('user-1', 'alice', 'x', 'USER') " +
+                "ON CONFLICT DO NOTHING");
+        manager = new LedgerPartitionManager(dataSource, new DataSourceTransactionManager(dataSource), event -> { }, 3, 0);
+    }
+
+    @Test
+    void testMigrate_CreatesCurrentAndUpcomingPartitions() {
+        // Act
+        List<YearMonth> months = manager.attachedMonths();
+
+        // Assert
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= 3; i++) {
+            assertTrue(months.contains(current.plusMonths(i)), "missing partition for " + current.plusMonths(i));
+        }
+        assertFalse(manager.ensurePartition(current));
+    }
+
+    @Test
+    void testMaintain_RowInDefaultPartitionMovesToItsMonth() {
+        // Arrange
+        insert("t-old", "2001-05-17");
+        assertEquals("transactions_default", partitionOf("t-old"));
+
+        // Act
+        manager.maintain();
+
+        // Assert
+        assertEquals("transactions_p2001_05", partitionOf("t-old"));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions_default", Integer.class));
+    }
+
+    @Test
+    void testDateBoundedQuery_ScansOnlyPartitionsInRange() {
+        // Arrange
+        manager.ensurePartition(YearMonth.of(2020, 3));
+        manager.ensurePartition(YearMonth.of(2020, 4));
+
+        // Act
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT * FROM transactions WHERE user_id = 'user-1' " +
+                "AND transaction_date BETWEEN DATE '2020-03-01' AND DATE '2020-03-31'", String.class));
+
+        // Assert
+        assertTrue(plan.contains("transactions_p2020_03"), plan);
+        assertFalse(plan.contains("transactions_p2020_04"), plan);
+        assertFalse(plan.contains("transactions_default"), plan);
+    }
+
+    @Test
+    void testArchive_DetachesPartitionIntoArchiveSchema() {
+        // Arrange
+        insert("t-archived", "2010-01-05");
+        manager.ensurePartition(YearMonth.of(2010, 1));
+
+        // Act
+        boolean archived = manager.archive(YearMonth.of(2010, 1));
+
+        // Assert
+        assertTrue(archived);
+        assertFalse(manager.attachedMonths().contains(YearMonth.of(2010, 1)));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE id = 't-archived'", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM ledger_archive.transactions_p2010_01", Integer.class));
+        assertFalse(manager.archive(YearMonth.of(2010, 1)));
+    }
+
+    private void insert(String id, String date) {
+        jdbcTemplate.update("INSERT INTO transactions (id, user_id, description, amount, currency, transaction_date) " +
+                "VALUES (?, 'user-1', 'Coffee', -4.50, 'USD', ?::date)", id, date);
+    }
+
+    private String partitionOf(String id) {
+        return jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM transactions WHERE id = ?", String.class, id);
+    }
+}
@@ -0,0 +1,142 @@
+package com.percap.services.ledger;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One-month history query and single-row insert latency on a flat ledger table versus one
+ * range-partitioned by month, both holding {@code ledger.bench.rows} rows (100M by default) spread
+ * over ten years and 100k users.
+ * <p>
+ * Needs a scratch Postgres: {@code -Dledger.bench.url=jdbc:postgresql://host/db -Dledger.bench.user=...
+ * -Dledger.bench.password=...}. Tables are loaded once and reused by later runs while they hold at
+ * least that many rows.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LedgerPartitioningBenchmark {
+    private static final int USERS = 100_000;
+    private static final int MONTHS = 120;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2015, 1, 1);
+
+    @Param({"flat", "partitioned"})
+    public String layout;
+
+    private Connection connection;
+    private PreparedStatement monthQuery;
+    private PreparedStatement insert;
+    private final SplittableRandom random = new SplittableRandom(11);
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        long rows = Long.getLong("ledger.bench.rows", 100_000_000L);
+        connection = DriverManager.getConnection(
+                System.getProperty("ledger.bench.url", "jdbc:postgresql://localhost:5432/ledger_bench"),
+                System.getProperty("ledger.bench.user", "postgres"),
+                System.getProperty("ledger.bench.password", "postgres"));
+        String table = "bench_ledger_" + layout;
+        if (rowCount(table) < rows) {
+            load(table, rows);
+        }
+        monthQuery = connection.prepareStatement("SELECT id, transaction_date, amount FROM " + table +
+                " WHERE user_id = ? AND transaction_date BETWEEN ? AND ? ORDER BY transaction_date DESC");
+        insert = connection.prepareStatement("INSERT INTO " + table +
+                " (id, user_id, description, amount, transaction_date) VALUES (?, ?, 'Bench', -9.99, ?)");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public int queryOneMonth() throws SQLException {
+        LocalDate month = FIRST_DAY.plusMonths(random.nextInt(MONTHS));
+        monthQuery.setString(1, "user-" + random.nextInt(USERS));
+        monthQuery.setDate(2, Date.valueOf(month));
+        monthQuery.setDate(3, Date.valueOf(month.plusMonths(1).minusDays(1)));
+        int count = 0;
+        try (ResultSet resultSet = monthQuery.executeQuery()) {
+            while (resultSet.next()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int insertOne() throws SQLException {
+        insert.setString(1, UUID.randomUUID().toString());
+        insert.setString(2, "user-" + random.nextInt(USERS));
+        insert.setDate(3, Date.valueOf(FIRST_DAY.plusDays(random.nextInt(MONTHS * 30))));
+        return insert.executeUpdate();
+    }
+
+    private long rowCount(String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet exists = statement.executeQuery("SELECT to_regclass('" + table + "') IS NOT NULL")) {
+            exists.next();
+            if (!exists.getBoolean(1)) {
+                return -1;
+            }
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private void load(String table, long rows) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table + " CASCADE");
+            String columns = "(id VARCHAR(255) NOT NULL, user_id VARCHAR(255) NOT NULL, description VARCHAR(255) NOT NULL, " +
+                    "amount NUMERIC(19, 2) NOT NULL, currency VARCHAR(3) NOT NULL DEFAULT 'USD', " +
+                    "transaction_date DATE NOT NULL, category VARCHAR(255), updated_at TIMESTAMP(6) WITH TIME ZONE, " +
+                    "PRIMARY KEY (id, transaction_date))";
+            if (layout.equals("partitioned")) {
+                statement.execute("CREATE TABLE " + table + " " + columns + " PARTITION BY RANGE (transaction_date)");
+                for (int m = 0; m < MONTHS; m++) {
+                    LocalDate from = FIRST_DAY.plusMonths(m);
+                    statement.execute("CREATE TABLE " + table + "_" + m + " PARTITION OF " + table +
+                            " FOR VALUES FROM ('" + from + "') TO ('" + from.plusMonths(1) + "')");
+                }
+            } else {
+                statement.execute("CREATE TABLE " + table + " " + columns);
+            }
+            statement.execute("INSERT INTO " + table + " (id, user_id, description, amount, transaction_date) " +
+                    "SELECT 't-' || g, 'user-' || (g % " + USERS + "), 'Merchant ' || (g % 5000), " +
+                    "((g % 20000) - 10000) / 100.0, DATE '" + FIRST_DAY + "' + ((g * 7919) % " + (MONTHS * 30) + ")::int " +
+                    "FROM generate_series(1, " + rows + ") AS g");
+            statement.execute("CREATE INDEX ON " + table + " (user_id, transaction_date)");
+            statement.execute("CREATE INDEX ON " + table + " (updated_at)");
+            statement.execute("VACUUM ANALYZE " + table);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(LedgerPartitioningBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,99 @@
+package com.percap.services.ledger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LedgerViewCacheTest {
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testGet_LoadsOnceAndCaches() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        LedgerViewCache<Integer> cache = new LedgerViewCache<>(userId -> loads.incrementAndGet(), 60_000, 10);
+
+        // Act
+        cache.get("user-1");
+        int value = cache.get("user-1");
+
+        // Assert
+        assertEquals(1, value);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testGet_CommitInFlightIsNotCachedUntilItCompletes() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        LedgerViewCache<Integer> cache = new LedgerViewCache<>(userId -> loads.incrementAndGet(), 60_000, 10);
+        TransactionSynchronizationManager.initSynchronization();
+        cache.committing("user-1");
+
+        // Act
+        int whileCommitting = cache.get("user-1");
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        int afterCommit = cache.get("user-1");
+        int cached = cache.get("user-1");
+
+        // Assert
+        assertEquals(LedgerViewCache.MAX_LOAD_ATTEMPTS, whileCommitting);
+        assertEquals(LedgerViewCache.MAX_LOAD_ATTEMPTS + 1, afterCommit);
+        assertEquals(afterCommit, cached);
+    }
+
+    @Test
+    void testCommitted_NullDeltaDropsView() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        LedgerViewCache<Integer> cache = new LedgerViewCache<>(userId -> loads.incrementAndGet(), 60_000, 10);
+        cache.get("user-1");
+
+        // Act
+        cache.committed("user-1", null);
+        int reloaded = cache.get("user-1");
+
+        // Assert
+        assertEquals(2, reloaded);
+    }
+
+    @Test
+    void testGet_EvictsLeastRecentlyUsedBeyondMaxEntries() {
+        // Arrange
+        LedgerViewCache<String> cache = new LedgerViewCache<>(userId -> userId, 60_000, 2);
+
+        // Act
+        cache.get("user-1");
+        cache.get("user-2");
+        cache.get("user-3");
+
+        // Assert
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testEvictIdle_DropsViewsPastTtl() {
+        // Arrange
+        LedgerViewCache<String> cache = new LedgerViewCache<>(userId -> userId, -1, 10);
+        cache.get("user-1");
+
+        // Act
+        cache.evictIdle();
+
+        // Assert
+        assertEquals(0, cache.size());
+    }
+}
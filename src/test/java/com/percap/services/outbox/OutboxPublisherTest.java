@@ -0,0 +1,103 @@
+package com.percap.services.outbox;
+
+import com.percap.domain.outbox.OutboxEvent;
+import com.percap.domain.outbox.OutboxEventType;
+import com.percap.repositories.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OutboxPublisherTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RecordingSubscriber subscriber;
+    private OutboxPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        subscriber = new RecordingSubscriber();
+        publisher = new OutboxPublisher(outboxEventRepository, List.of(subscriber), transactionManager, meterRegistry, 2, 10);
+    }
+
+    @Test
+    void testPoll_DeliversBatchesUntilOutboxIsDrained() {
+        // Arrange
+        List<OutboxEvent> first = List.of(event(1), event(2));
+        List<OutboxEvent> second = List.of(event(3));
+        when(outboxEventRepository.lockNextBatch(any(Pageable.class))).thenReturn(first, second, List.of());
+
+        // Act
+        publisher.poll();
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L), subscriber.received);
+        verify(outboxEventRepository).deleteAllInBatch(first);
+        verify(outboxEventRepository).deleteAllInBatch(second);
+        verify(outboxEventRepository, times(2)).lockNextBatch(any(Pageable.class));
+        verify(transactionManager, times(2)).commit(any());
+        assertEquals(3.0, meterRegistry.counter("outbox.events", "outcome", "delivered").count());
+    }
+
+    @Test
+    void testPoll_SubscriberFailureRollsBackAndKeepsEvents() {
+        // Arrange
+        subscriber.failing = true;
+        when(outboxEventRepository.lockNextBatch(any(Pageable.class))).thenReturn(List.of(event(1)));
+
+        // Act
+        publisher.poll();
+
+        // Assert
+        verify(outboxEventRepository, never()).deleteAllInBatch(any());
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        assertEquals(1.0, meterRegistry.counter("outbox.events", "outcome", "failed").count());
+        assertEquals(0.0, meterRegistry.counter("outbox.events", "outcome", "delivered").count());
+    }
+
+    private static OutboxEvent event(long id) {
+        return new OutboxEvent(id, OutboxEventType.TRANSACTION_CHANGED, "user-1", "{}", Instant.now(), "origin-1");
+    }
+
+    private static class RecordingSubscriber implements OutboxSubscriber {
+        private final List<Long> received = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public void onEvents(List<OutboxEvent> events) {
+            if (failing) {
+                throw new IllegalStateException("subscriber down");
+            }
+            events.forEach(event -> received.add(event.getId()));
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.percap.services.portfolio;
+
+import com.percap.domain.portfolio.Trade;
+import com.percap.domain.portfolio.TradeSide;
+import com.percap.domain.user.User;
+import com.percap.dtos.portfolio.RealizedGainsDTO;
+import com.percap.dtos.portfolio.RealizedLotDTO;
+import com.percap.dtos.portfolio.RealizedTotalsDTO;
+import com.percap.dtos.portfolio.TradeDTO;
+import com.percap.dtos.portfolio.TradeRequestDTO;
+import com.percap.repositories.TradeRepository;
+import com.percap.services.fx.FxService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@Testcontainers(disabledWithoutDocker = true)
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CostBasisServiceTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static DriverManagerDataSource dataSource;
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    @Mock
+    private FxService fxService;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private CostBasisService costBasisService;
+    private User user;
+
+    @BeforeAll
+    static void migrate() {
+        dataSource = new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        Flyway.configure().dataSource(dataSource).load().migrate();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM realized_lots");
+        jdbcTemplate.update("DELETE FROM cost_basis_snapshots");
+        jdbcTemplate.update("DELETE FROM trades");
+        jdbcTemplate.update("INSERT INTO users (id, login, password, role) VALUES ('user-1', 'alice', 'x', 'USER') " +
+                "ON CONFLICT DO NOTHING");
+        user = new User();
+        user.setId("user-1");
+
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        // A snapshot every 2 applied trades, replayed in windows of 2.
+        costBasisService = new CostBasisService(tradeRepository, fxService, dataSource, 2, 2);
+        when(fxService.baseCurrency()).thenReturn("USD");
+        when(tradeRepository.saveAndFlush(any(Trade.class))).thenAnswer(invocation -> insert(invocation.getArgument(0)));
+    }
+
+    private Trade insert(Trade trade) {
+        trade.setId(jdbcTemplate.queryForObject("SELECT nextval('trades_seq')", Long.class));
+        jdbcTemplate.update("INSERT INTO trades (id, user_id, symbol, trade_date, side, quantity, amount, currency, " +
+                        "lot_method, lot_trade_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                trade.getId(), trade.getUser().getId(), trade.getSymbol(), Date.valueOf(trade.getDate()),
+                trade.getSide().name(), trade.getQuantity(), trade.getAmount(), trade.getCurrency(),
+                trade.getLotMethod() != null ? trade.getLotMethod().name() : null, trade.getLotTradeId());
+        return trade;
+    }
+
+    private TradeDTO record(String symbol, TradeSide side, String date, String quantity, String price, String currency) {
+        TradeRequestDTO request = new TradeRequestDTO(symbol, side, LocalDate.parse(date), new BigDecimal(quantity),
+                new BigDecimal(price));
+        request.setCurrency(currency);
+        return transactionTemplate.execute(status -> costBasisService.recordTrade(user, request));
+    }
+
+    private TradeDTO record(TradeSide side, String date, String quantity, String price) {
+        return record("VTI", side, date, quantity, price, null);
+    }
+
+    private RealizedGainsDTO realizedGains(int year) {
+        return transactionTemplate.execute(status -> costBasisService.realizedGains("user-1", year));
+    }
+
+    private Map<String, Object> snapshot() {
+        return jdbcTemplate.queryForMap("SELECT through_trade_id, trades_applied FROM cost_basis_snapshots " +
+                "WHERE user_id = 'user-1'");
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    @Test
+    void testRecordTrade_RejectsCurrencyDifferentFromSymbolsTrades() {
+        // Arrange
+        record("SAP", TradeSide.BUY, "2024-01-10", "10", "100", "EUR");
+
+        // Act
+        TradeDTO defaulted = record("SAP", TradeSide.BUY, "2024-01-11", "10", "110", null);
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> record("SAP", TradeSide.SELL, "2024-02-10", "5", "120", "USD"));
+
+        // Assert
+        assertEquals("EUR", defaulted.getCurrency());
+        assertTrue(exception.getMessage().contains("EUR"));
+        assertEquals(2, count("trades"));
+        assertEquals(0, count("realized_lots"));
+    }
+
+    @Test
+    void testRealizedGains_TotalsEachCurrencySeparately() {
+        // Arrange
+        record("VTI", TradeSide.BUY, "2024-01-10", "10", "100", null);
+        record("SAP", TradeSide.BUY, "2024-01-10", "10", "100", "EUR");
+        record("VTI", TradeSide.SELL, "2024-03-10", "10", "120", null);
+        record("SAP", TradeSide.SELL, "2024-03-10", "10", "90", "EUR");
+
+        // Act
+        RealizedGainsDTO gains = realizedGains(2024);
+
+        // Assert
+        assertEquals(List.of("EUR", "USD"), gains.getTotals().stream().map(RealizedTotalsDTO::getCurrency).toList());
+        RealizedTotalsDTO eur = gains.getTotals().get(0);
+        RealizedTotalsDTO usd = gains.getTotals().get(1);
+        assertEquals(new BigDecimal("-100.00"), eur.getShortTermGain());
+        assertEquals(new BigDecimal("1200.00"), usd.getProceeds());
+        assertEquals(new BigDecimal("200.00"), usd.getShortTermGain());
+        assertEquals(List.of("USD", "EUR"), gains.getLots().stream().map(RealizedLotDTO::getCurrency).toList());
+    }
+
+    @Test
+    void testRecordTrade_ResumesFromSnapshot() {
+        // Arrange
+        TradeDTO first = record(TradeSide.BUY, "2024-01-10", "10", "100");
+        TradeDTO second = record(TradeSide.BUY, "2024-02-10", "10", "200");
+        assertEquals(second.getId(), snapshot().get("through_trade_id"));
+        // Only a replay from the first trade would see this.
+        jdbcTemplate.update("UPDATE trades SET amount = 1 WHERE id = ?", first.getId());
+
+        // Act
+        record(TradeSide.SELL, "2024-03-10", "10", "150");
+
+        // Assert
+        RealizedLotDTO lot = realizedGains(2024).getLots().get(0);
+        assertEquals(first.getId(), lot.getLotTradeId());
+        assertEquals(new BigDecimal("1000.00"), lot.getCost());
+        assertEquals(2L, snapshot().get("trades_applied"));
+    }
+
+    @Test
+    void testRecordTrade_ReappliedSellsAfterSnapshotKeepTheirMatches() {
+        // Arrange
+        record(TradeSide.BUY, "2024-01-10", "10", "100");
+        record(TradeSide.BUY, "2024-02-10", "10", "200");
+        TradeDTO sell = record(TradeSide.SELL, "2024-03-10", "5", "150");
+
+        // Act
+        transactionTemplate.execute(status -> costBasisService.openLots("user-1"));
+        TradeDTO later = record(TradeSide.BUY, "2024-04-10", "10", "300");
+
+        // Assert
+        List<RealizedLotDTO> lots = realizedGains(2024).getLots();
+        assertEquals(1, lots.size());
+        assertEquals(sell.getId(), lots.get(0).getSellTradeId());
+        assertEquals(new BigDecimal("500.00"), lots.get(0).getCost());
+        assertEquals(later.getId(), snapshot().get("through_trade_id"));
+        assertEquals(4L, snapshot().get("trades_applied"));
+    }
+
+    @Test
+    void testRecordTrade_BackdatedTradeRederivesLaterSells() {
+        // Arrange
+        record(TradeSide.BUY, "2024-01-10", "10", "100");
+        record(TradeSide.BUY, "2024-02-10", "10", "200");
+        TradeDTO sell = record(TradeSide.SELL, "2024-03-10", "10", "150");
+
+        // Act
+        TradeDTO backdated = record(TradeSide.BUY, "2024-01-01", "10", "50");
+
+        // Assert
+        List<RealizedLotDTO> lots = realizedGains(2024).getLots();
+        assertEquals(1, lots.size());
+        assertEquals(backdated.getId(), lots.get(0).getLotTradeId());
+        assertEquals(new BigDecimal("500.00"), lots.get(0).getCost());
+        assertEquals(sell.getId(), snapshot().get("through_trade_id"));
+        assertEquals(4L, snapshot().get("trades_applied"));
+    }
+
+    @Test
+    void testRecordTrade_UncoverableSellRollsBack() {
+        // Arrange
+        record(TradeSide.BUY, "2024-01-10", "10", "100");
+        TradeDTO sell = record(TradeSide.SELL, "2024-03-10", "10", "150");
+
+        // Act
+        assertThrows(IllegalArgumentException.class, () -> record(TradeSide.SELL, "2024-04-10", "1", "150"));
+        // Backdated before the earlier sell, which it would leave uncovered.
+        assertThrows(IllegalArgumentException.class, () -> record(TradeSide.SELL, "2024-02-10", "5", "150"));
+
+        // Assert
+        assertEquals(2, count("trades"));
+        List<RealizedLotDTO> lots = realizedGains(2024).getLots();
+        assertEquals(1, lots.size());
+        assertEquals(sell.getId(), lots.get(0).getSellTradeId());
+        assertEquals(sell.getId(), snapshot().get("through_trade_id"));
+    }
+}
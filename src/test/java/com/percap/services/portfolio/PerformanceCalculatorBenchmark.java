@@ -0,0 +1,59 @@
+package com.percap.services.portfolio;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TWR and IRR cost over daily series of 1 and 30 years with a monthly contribution.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PerformanceCalculatorBenchmark {
+
+    @Param({"1", "30"})
+    public int years;
+
+    private double[] values;
+    private double[] flows;
+    private int days;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(11);
+        days = years * 365;
+        values = new double[days + 1];
+        flows = new double[days + 1];
+        values[0] = 10_000;
+        for (int i = 1; i <= days; i++) {
+            flows[i] = i % 30 == 0 ? 500 : 0;
+            values[i] = values[i - 1] * (1 + 0.0003 + 0.02 * (random.nextDouble() - 0.5)) + flows[i];
+        }
+    }
+
+    @Benchmark
+    public double timeWeightedReturn() {
+        return PerformanceCalculator.timeWeightedReturn(values, flows, 0, days);
+    }
+
+    @Benchmark
+    public double internalRateOfReturn() {
+        return PerformanceCalculator.internalRateOfReturn(values, flows, 0, days);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PerformanceCalculatorBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
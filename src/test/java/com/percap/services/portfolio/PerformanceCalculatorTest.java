@@ -0,0 +1,94 @@
+package com.percap.services.portfolio;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerformanceCalculatorTest {
+
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    void testSteadyGrowth_TwrAndIrrAgree() {
+        // Arrange
+        int days = 365;
+        double[] values = new double[days + 1];
+        double[] flows = new double[days + 1];
+        for (int i = 0; i <= days; i++) {
+            values[i] = 100 * Math.pow(1.1, i / 365.0);
+        }
+
+        // Act
+        double twr = PerformanceCalculator.timeWeightedReturn(values, flows, 0, days);
+        double irr = PerformanceCalculator.internalRateOfReturn(values, flows, 0, days);
+
+        // Assert
+        assertEquals(0.10, twr, EPSILON);
+        assertEquals(0.10, irr, EPSILON);
+    }
+
+    @Test
+    void testContributionIsNotReturn() {
+        // Arrange
+        int days = 365;
+        double[] values = new double[days + 1];
+        double[] flows = new double[days + 1];
+        for (int i = 0; i <= days; i++) {
+            values[i] = i >= 182 ? 200 : 100;
+        }
+        flows[182] = 100;
+
+        // Act & Assert
+        assertEquals(0, PerformanceCalculator.timeWeightedReturn(values, flows, 0, days), EPSILON);
+        assertEquals(0, PerformanceCalculator.internalRateOfReturn(values, flows, 0, days), EPSILON);
+    }
+
+    @Test
+    void testTimingOfFlowsSeparatesTwrFromIrr() {
+        // Arrange: the portfolio halves before a large deposit, then stays flat
+        int days = 365;
+        double[] values = new double[days + 1];
+        double[] flows = new double[days + 1];
+        for (int i = 0; i <= days; i++) {
+            values[i] = i < 181 ? 100 : 1050;
+        }
+        values[181] = 50;
+        flows[182] = 1000;
+
+        // Act
+        double twr = PerformanceCalculator.timeWeightedReturn(values, flows, 0, days);
+        double irr = PerformanceCalculator.internalRateOfReturn(values, flows, 0, days);
+
+        // Assert
+        assertEquals(-0.5, twr, EPSILON);
+        assertTrue(irr > -0.5 && irr < 0, "IRR weights the loss by the small balance it hit: " + irr);
+    }
+
+    @Test
+    void testSubRange() {
+        // Arrange
+        double[] values = {100, 110, 121, 60};
+        double[] flows = new double[4];
+
+        // Act & Assert
+        assertEquals(0.21, PerformanceCalculator.timeWeightedReturn(values, flows, 0, 2), EPSILON);
+        assertEquals(0.10, PerformanceCalculator.timeWeightedReturn(values, flows, 1, 2), EPSILON);
+    }
+
+    @Test
+    void testIrr_NoSolution() {
+        // Arrange: nothing invested, nothing returned
+        double[] values = new double[10];
+        double[] flows = new double[10];
+
+        // Act & Assert
+        assertTrue(Double.isNaN(PerformanceCalculator.internalRateOfReturn(values, flows, 0, 9)));
+    }
+
+    @Test
+    void testAnnualize() {
+        // Act & Assert
+        assertEquals(0.21, PerformanceCalculator.annualize(0.4641, 730), 1e-4);
+        assertEquals(0, PerformanceCalculator.annualize(0.5, 0));
+    }
+}
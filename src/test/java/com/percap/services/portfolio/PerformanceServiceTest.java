@@ -0,0 +1,50 @@
+package com.percap.services.portfolio;
+
+import com.percap.repositories.CashFlowRepository;
+import com.percap.repositories.PortfolioValuationRepository;
+import com.percap.services.fx.FxService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PerformanceServiceTest {
+
+    @Mock
+    private PortfolioValuationRepository portfolioValuationRepository;
+
+    @Mock
+    private CashFlowRepository cashFlowRepository;
+
+    @Mock
+    private FxService fxService;
+
+    private PerformanceService performanceService;
+
+    @BeforeEach
+    void setUp() {
+        performanceService = new PerformanceService(portfolioValuationRepository, cashFlowRepository, fxService, 100);
+    }
+
+    @Test
+    void testGetPerformance_RejectsPeriodOverMaximum() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () ->
+                performanceService.getPerformance("user-1", LocalDate.of(1, 1, 1), LocalDate.of(9999, 12, 31)));
+        verifyNoInteractions(portfolioValuationRepository, cashFlowRepository);
+    }
+
+    @Test
+    void testGetPerformance_RejectsEmptyPeriod() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () ->
+                performanceService.getPerformance("user-1", LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 1)));
+    }
+}
@@ -0,0 +1,155 @@
+package com.percap.services.portfolio;
+
+import com.percap.domain.portfolio.LotMethod;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lot matching over accounts of 100k and 1M trades across 50 securities: a replay from the first
+ * trade, against a resume that restores a snapshot and applies only the last 1,000 trades.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaxLotBookBenchmark {
+    private static final int SECURITIES = 50;
+    private static final int RECENT_TRADES = 1_000;
+
+    @Param({"100000", "1000000"})
+    public int trades;
+
+    @Param({"FIFO", "LIFO", "SPECIFIC"})
+    public LotMethod method;
+
+    private String[] symbols;
+    private int[] symbolOf;
+    private int[] days;
+    private boolean[] buys;
+    private long[] quantities;
+    private long[] amounts;
+    private int[] lotDays;
+    private long[] lotIds;
+    private byte[] snapshot;
+    private long matched;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(17);
+        symbols = new String[SECURITIES];
+        for (int s = 0; s < SECURITIES; s++) {
+            symbols[s] = "SYM" + s;
+        }
+        symbolOf = new int[trades];
+        days = new int[trades];
+        buys = new boolean[trades];
+        quantities = new long[trades];
+        amounts = new long[trades];
+        lotDays = new int[trades];
+        lotIds = new long[trades];
+
+        // Open lots per security as {id, day, quantity}, to pick sells the book can always cover.
+        List<List<long[]>> open = new ArrayList<>();
+        long[] position = new long[SECURITIES];
+        for (int s = 0; s < SECURITIES; s++) {
+            open.add(new ArrayList<>());
+        }
+        for (int i = 0; i < trades; i++) {
+            int s = random.nextInt(SECURITIES);
+            List<long[]> lots = open.get(s);
+            symbolOf[i] = s;
+            days[i] = 15_000 + i / 40;
+            buys[i] = lots.isEmpty() || random.nextInt(10) < 6;
+            if (buys[i]) {
+                quantities[i] = 1_000_000 + random.nextLong(99_000_000);
+                amounts[i] = quantities[i] / 10_000 * (50 + random.nextInt(100));
+                lots.add(new long[]{i, days[i], quantities[i]});
+                position[s] += quantities[i];
+                continue;
+            }
+            int pick = switch (method) {
+                case FIFO -> 0;
+                case LIFO -> lots.size() - 1;
+                case SPECIFIC -> random.nextInt(lots.size());
+            };
+            long[] lot = lots.get(pick);
+            long available = method == LotMethod.SPECIFIC ? lot[2] : Math.min(position[s], 150_000_000);
+            quantities[i] = 1 + random.nextLong(available);
+            amounts[i] = quantities[i] / 10_000 * (50 + random.nextInt(100));
+            lotDays[i] = (int) lot[1];
+            lotIds[i] = lot[0];
+            position[s] -= quantities[i];
+            consume(lots, pick, quantities[i], method);
+        }
+
+        TaxLotBook book = new TaxLotBook();
+        apply(book, 0, trades - RECENT_TRADES);
+        snapshot = book.toBytes();
+    }
+
+    @Benchmark
+    public int replayFromFirstTrade() {
+        TaxLotBook book = new TaxLotBook();
+        apply(book, 0, trades);
+        return book.openLots();
+    }
+
+    @Benchmark
+    public int resumeFromSnapshot() {
+        TaxLotBook book = TaxLotBook.fromBytes(snapshot);
+        apply(book, trades - RECENT_TRADES, trades);
+        return book.openLots();
+    }
+
+    @Benchmark
+    public int snapshotRoundTrip() {
+        TaxLotBook book = TaxLotBook.fromBytes(snapshot);
+        return book.toBytes().length;
+    }
+
+    private void apply(TaxLotBook book, int from, int to) {
+        for (int i = from; i < to; i++) {
+            String symbol = symbols[symbolOf[i]];
+            if (buys[i]) {
+                book.buy(symbol, i, days[i], quantities[i], amounts[i]);
+            } else {
+                book.sell(symbol, i, days[i], quantities[i], amounts[i], method, lotDays[i], lotIds[i],
+                        (s, sellId, lotId, acquiredDay, soldDay, quantity, cost, proceeds) -> matched += cost);
+            }
+        }
+    }
+
+    private static void consume(List<long[]> lots, int pick, long quantity, LotMethod method) {
+        long left = quantity;
+        int index = pick;
+        while (left > 0) {
+            long[] lot = lots.get(index);
+            long taken = Math.min(left, lot[2]);
+            lot[2] -= taken;
+            left -= taken;
+            if (lot[2] == 0) {
+                lots.remove(index);
+                if (method == LotMethod.LIFO) {
+                    index--;
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TaxLotBookBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,134 @@
+package com.percap.services.portfolio;
+
+import com.percap.domain.portfolio.LotMethod;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaxLotBookTest {
+
+    private static final long SHARE = 1_000_000;
+
+    @Test
+    void testFifoSellSpansLotsAndSplitsProceeds() {
+        // Arrange
+        TaxLotBook book = new TaxLotBook();
+        book.buy("VTI", 1, 100, 10 * SHARE, 100_000);
+        book.buy("VTI", 2, 200, 10 * SHARE, 150_000);
+        List<long[]> matches = new ArrayList<>();
+
+        // Act
+        book.sell("VTI", 3, 300, 15 * SHARE, 300_000, LotMethod.FIFO, 0, 0, recordInto(matches));
+
+        // Assert
+        assertEquals(2, matches.size());
+        assertArrayEquals(new long[]{1, 10 * SHARE, 100_000, 200_000}, matches.get(0));
+        assertArrayEquals(new long[]{2, 5 * SHARE, 75_000, 100_000}, matches.get(1));
+        assertEquals(5 * SHARE, book.openQuantity("VTI"));
+        assertEquals(1, book.openLots());
+    }
+
+    @Test
+    void testLifoSellTakesNewestLotFirst() {
+        // Arrange
+        TaxLotBook book = new TaxLotBook();
+        book.buy("VTI", 1, 100, 10 * SHARE, 100_000);
+        book.buy("VTI", 2, 200, 10 * SHARE, 150_000);
+        List<long[]> matches = new ArrayList<>();
+
+        // Act
+        book.sell("VTI", 3, 300, 4 * SHARE, 80_000, LotMethod.LIFO, 0, 0, recordInto(matches));
+
+        // Assert
+        assertEquals(1, matches.size());
+        assertArrayEquals(new long[]{2, 4 * SHARE, 60_000, 80_000}, matches.get(0));
+    }
+
+    @Test
+    void testSpecificSellLeavesOtherLotsInOrder() {
+        // Arrange
+        TaxLotBook book = new TaxLotBook();
+        book.buy("VTI", 1, 100, SHARE, 10_000);
+        book.buy("VTI", 2, 150, SHARE, 20_000);
+        book.buy("VTI", 3, 200, SHARE, 30_000);
+        List<long[]> matches = new ArrayList<>();
+
+        // Act
+        book.sell("VTI", 4, 300, SHARE, 25_000, LotMethod.SPECIFIC, 150, 2, recordInto(matches));
+        book.sell("VTI", 5, 300, SHARE, 25_000, LotMethod.FIFO, 0, 0, recordInto(matches));
+
+        // Assert
+        assertEquals(2, matches.get(0)[0]);
+        assertEquals(1, matches.get(1)[0]);
+        assertEquals(1, book.openLots());
+    }
+
+    @Test
+    void testPartialSellsNeverLoseCents() {
+        // Arrange
+        TaxLotBook book = new TaxLotBook();
+        book.buy("VTI", 1, 100, 3 * SHARE, 100);
+        long[] cost = new long[1];
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            book.sell("VTI", 2 + i, 200, SHARE, 0, LotMethod.FIFO, 0, 0,
+                    (symbol, sellId, lotId, acquiredDay, soldDay, quantity, lotCost, proceeds) -> cost[0] += lotCost);
+        }
+
+        // Assert
+        assertEquals(100, cost[0]);
+        assertEquals(0, book.openQuantity("VTI"));
+    }
+
+    @Test
+    void testOversellIsRejectedWithoutChangingTheBook() {
+        // Arrange
+        TaxLotBook book = new TaxLotBook();
+        book.buy("VTI", 1, 100, SHARE, 10_000);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () ->
+                book.sell("VTI", 2, 200, 2 * SHARE, 0, LotMethod.FIFO, 0, 0, recordInto(new ArrayList<>())));
+        assertThrows(IllegalArgumentException.class, () ->
+                book.sell("VTI", 2, 200, SHARE, 0, LotMethod.SPECIFIC, 100, 9, recordInto(new ArrayList<>())));
+        assertEquals(SHARE, book.openQuantity("VTI"));
+    }
+
+    @Test
+    void testSnapshotRoundTripKeepsOpenLots() {
+        // Arrange
+        TaxLotBook book = new TaxLotBook();
+        book.buy("VTI", 1, 100, SHARE, 10_000);
+        book.buy("BND", 2, 110, 2 * SHARE, 20_000);
+        book.buy("VTI", 3, 120, SHARE, 12_000);
+        book.sell("VTI", 4, 130, SHARE, 11_000, LotMethod.SPECIFIC, 100, 1, recordInto(new ArrayList<>()));
+
+        // Act
+        TaxLotBook restored = TaxLotBook.fromBytes(book.toBytes());
+        List<long[]> matches = new ArrayList<>();
+        restored.sell("VTI", 5, 140, SHARE, 13_000, LotMethod.FIFO, 0, 0, recordInto(matches));
+
+        // Assert
+        assertEquals(3, matches.get(0)[0]);
+        assertEquals(2 * SHARE, restored.openQuantity("BND"));
+        assertThrows(IllegalStateException.class, () -> TaxLotBook.fromBytes(new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    void testMulDivRoundsHalfEvenAndSurvivesOverflow() {
+        // Act & Assert
+        assertEquals(2, TaxLotBook.mulDiv(5, 1, 2));
+        assertEquals(4, TaxLotBook.mulDiv(7, 1, 2));
+        assertEquals(2_305_843_009_213_693_952L, TaxLotBook.mulDiv(Long.MAX_VALUE / 2, 4, 8));
+    }
+
+    /** Records {lot id, quantity, cost, proceeds} per match. */
+    private static TaxLotBook.MatchSink recordInto(List<long[]> matches) {
+        return (symbol, sellId, lotId, acquiredDay, soldDay, quantity, cost, proceeds) ->
+                matches.add(new long[]{lotId, quantity, cost, proceeds});
+    }
+}
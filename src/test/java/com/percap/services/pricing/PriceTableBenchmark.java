@@ -0,0 +1,79 @@
+package com.percap.services.pricing;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quote ingestion cost: raw table writes, and a full replay of a recorded feed of one million
+ * quotes skewed towards a few hot symbols. Run with {@code -prof gc} to confirm zero allocation
+ * per update.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PriceTableBenchmark {
+    private static final int SYMBOLS = 5000;
+    private static final int QUOTES = 1_000_000;
+
+    private PriceTable table;
+    private SymbolIndex symbols;
+    private Path feed;
+    private int[] symbolStream;
+    private int cursor;
+    private long clock;
+
+    @Setup
+    public void setUp() throws IOException {
+        table = new PriceTable(SYMBOLS);
+        symbols = new SymbolIndex(SYMBOLS);
+        SplittableRandom random = new SplittableRandom(3);
+        symbolStream = new int[QUOTES];
+        feed = Files.createTempFile("quotes", ".csv");
+        try (Writer writer = Files.newBufferedWriter(feed)) {
+            for (int i = 0; i < QUOTES; i++) {
+                // Half of the traffic hits ten symbols, as with a busy open.
+                int symbol = random.nextBoolean() ? random.nextInt(10) : random.nextInt(SYMBOLS);
+                symbolStream[i] = symbol;
+                writer.write("SYM" + symbol + "," + (100 + random.nextInt(10_000) / 100.0) + "," + (1_700_000_000_000L + i) + "\n");
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(feed);
+    }
+
+    @Benchmark
+    public void write() {
+        int symbol = symbolStream[cursor];
+        cursor = cursor + 1 == QUOTES ? 0 : cursor + 1;
+        table.onQuote(symbol, 100_000_000L + symbol, ++clock);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUOTES)
+    public long replayFeed() throws IOException {
+        return ReplayQuoteSource.ofFile(feed).replay(symbols, new PriceTable(SYMBOLS));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PriceTableBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
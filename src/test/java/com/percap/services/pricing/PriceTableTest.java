@@ -0,0 +1,142 @@
+package com.percap.services.pricing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceTableTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testOnQuote_BurstConflatesToLatestPrice() {
+        // Arrange
+        PriceTable table = new PriceTable(4);
+        PriceTable.Quote quote = new PriceTable.Quote();
+
+        // Act
+        table.onQuote(1, 100_000_000L, 1000L);
+        table.onQuote(1, 101_000_000L, 1001L);
+        table.onQuote(1, 102_500_000L, 1002L);
+
+        // Assert
+        assertTrue(table.read(1, quote));
+        assertEquals(102_500_000L, quote.priceMicros());
+        assertEquals(1002L, quote.epochMillis());
+        assertEquals(3, quote.updates());
+        assertFalse(table.read(0, quote));
+    }
+
+    @Test
+    void testOnQuote_OlderTimestampIgnored() {
+        // Arrange
+        PriceTable table = new PriceTable(1);
+        PriceTable.Quote quote = new PriceTable.Quote();
+        table.onQuote(0, 50_000_000L, 2000L);
+
+        // Act
+        table.onQuote(0, 49_000_000L, 1999L);
+
+        // Assert
+        table.read(0, quote);
+        assertEquals(50_000_000L, quote.priceMicros());
+    }
+
+    @Test
+    void testDrainChanged_ReturnsEachUpdatedSymbolOnce() {
+        // Arrange
+        PriceTable table = new PriceTable(130);
+        table.onQuote(3, 1, 1);
+        table.onQuote(3, 2, 2);
+        table.onQuote(129, 1, 1);
+        List<Integer> changed = new ArrayList<>();
+
+        // Act
+        table.drainChanged(changed::add);
+        table.drainChanged(changed::add);
+
+        // Assert
+        assertEquals(List.of(3, 129), changed);
+    }
+
+    @Test
+    void testRead_ConcurrentWriterNeverTearsQuote() throws InterruptedException {
+        // Arrange
+        PriceTable table = new PriceTable(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        // Price always equals timestamp * 10, so a torn read breaks the relation.
+        Thread writer = new Thread(() -> {
+            for (long t = 1; running.get(); t++) {
+                table.onQuote(0, t * 10, t);
+            }
+        });
+        writer.start();
+        PriceTable.Quote quote = new PriceTable.Quote();
+
+        // Act & Assert
+        try {
+            for (int i = 0; i < 1_000_000; i++) {
+                if (table.read(0, quote)) {
+                    assertEquals(quote.epochMillis() * 10, quote.priceMicros());
+                }
+            }
+        } finally {
+            running.set(false);
+            writer.join();
+        }
+    }
+
+    @Test
+    void testReplay_FileSkipsMalformedLines() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("quotes.csv");
+        Files.writeString(file, """
+                # recorded feed
+                AAPL,189.5,1700000000000
+                MSFT,410.1234567,1700000000001\r
+                AAPL,190,1700000000002
+                BROKEN LINE
+                VTI,not-a-price,1700000000003
+                VTI,250.25,1700000000004""");
+        SymbolIndex symbols = new SymbolIndex(8);
+        PriceTable table = new PriceTable(8);
+        ReplayQuoteSource source = ReplayQuoteSource.ofFile(file);
+        PriceTable.Quote quote = new PriceTable.Quote();
+
+        // Act
+        long delivered = source.replay(symbols, table);
+
+        // Assert
+        assertEquals(4, delivered);
+        assertEquals(2, source.dropped());
+        table.read(symbols.indexOf("AAPL"), quote);
+        assertEquals(190_000_000L, quote.priceMicros());
+        assertEquals(2, quote.updates());
+        table.read(symbols.indexOf("MSFT"), quote);
+        assertEquals(410_123_456L, quote.priceMicros());
+        table.read(symbols.indexOf("VTI"), quote);
+        assertEquals(250_250_000L, quote.priceMicros());
+    }
+
+    @Test
+    void testRegister_FullIndex() {
+        // Arrange
+        SymbolIndex symbols = new SymbolIndex(2);
+        symbols.register("A");
+        symbols.register("B");
+
+        // Act & Assert
+        assertEquals(0, symbols.register("A"));
+        assertEquals(SymbolIndex.NOT_FOUND, symbols.register("C"));
+        assertEquals(SymbolIndex.NOT_FOUND, symbols.indexOf("C"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.percap.services.recurring;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detection throughput over a synthetic population: each user has 40 merchants, a quarter of
+ * which bill on a regular cycle with jitter and the rest at random, over 18 months.
+ * <p>
+ * Target: at least 10k users per second per core for the detection step. At that rate a full
+ * run over 10M users takes about two minutes of detection on the default 8-worker pool, which
+ * leaves the rest of the nightly window for the database reads and writes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecurringPaymentDetectorBenchmark {
+    private static final int USERS = 1000;
+    private static final int MERCHANTS_PER_USER = 40;
+    private static final int DAYS = 540;
+
+    private int[][] dates;
+    private long[][] amounts;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(7);
+        int series = USERS * MERCHANTS_PER_USER;
+        dates = new int[series][];
+        amounts = new long[series][];
+        for (int s = 0; s < series; s++) {
+            boolean regular = random.nextInt(4) == 0;
+            int period = new int[]{7, 14, 30, 91}[random.nextInt(4)];
+            int count = regular ? DAYS / period : 2 + random.nextInt(20);
+            dates[s] = new int[count];
+            amounts[s] = new long[count];
+            long baseAmount = 500 + random.nextInt(20000);
+            int day = random.nextInt(period);
+            for (int i = 0; i < count; i++) {
+                day += regular ? period + random.nextInt(3) - 1 : 1 + random.nextInt(60);
+                dates[s][i] = day;
+                amounts[s][i] = regular ? -baseAmount : -(100 + random.nextInt(20000));
+            }
+        }
+    }
+
+    /**
+     * One operation is one user's worth of merchants.
+     */
+    @Benchmark
+    @OperationsPerInvocation(USERS)
+    public void detectAllUsers(Blackhole blackhole) {
+        for (int s = 0; s < dates.length; s++) {
+            blackhole.consume(RecurringPaymentDetector.detect(dates[s], amounts[s], dates[s].length));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RecurringPaymentDetectorBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,90 @@
+package com.percap.services.recurring;
+
+import com.percap.services.recurring.RecurringPaymentDetector.Detection;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurringPaymentDetectorTest {
+
+    private static int[] days(String... dates) {
+        int[] days = new int[dates.length];
+        for (int i = 0; i < dates.length; i++) {
+            days[i] = (int) LocalDate.parse(dates[i]).toEpochDay();
+        }
+        return days;
+    }
+
+    @Test
+    void testDetect_MonthlySubscription() {
+        // Arrange
+        int[] dates = days("2026-05-15", "2026-06-15", "2026-07-15", "2026-08-15", "2026-09-15");
+        long[] amounts = {-1599, -1599, -1599, -1799, -1799};
+
+        // Act
+        Detection detection = RecurringPaymentDetector.detect(dates, amounts, dates.length);
+
+        // Assert
+        assertNotNull(detection);
+        assertEquals(30, detection.getPeriodDays());
+        assertEquals(5, detection.getOccurrences());
+        assertEquals(1679, detection.getAverageAmountCents());
+        assertEquals(LocalDate.of(2026, 10, 16).toEpochDay(), detection.getNextExpectedEpochDay());
+    }
+
+    @Test
+    void testDetect_WeeklyWithOneMissedCharge() {
+        // Arrange
+        int[] dates = days("2026-09-01", "2026-09-08", "2026-09-15", "2026-09-29", "2026-10-06", "2026-10-13");
+        long[] amounts = {-2500, -2500, -2500, -2500, -2500, -2500};
+
+        // Act
+        Detection detection = RecurringPaymentDetector.detect(dates, amounts, dates.length);
+
+        // Assert
+        assertNotNull(detection);
+        assertEquals(7, detection.getPeriodDays());
+    }
+
+    @Test
+    void testDetect_IrregularDatesRejected() {
+        // Arrange
+        int[] dates = days("2026-06-01", "2026-06-04", "2026-06-20", "2026-07-30", "2026-08-02");
+        long[] amounts = {-1000, -1000, -1000, -1000, -1000};
+
+        // Act & Assert
+        assertNull(RecurringPaymentDetector.detect(dates, amounts, dates.length));
+    }
+
+    @Test
+    void testDetect_UnstableAmountsRejected() {
+        // Arrange
+        int[] dates = days("2026-06-01", "2026-07-01", "2026-08-01", "2026-09-01");
+        long[] amounts = {-4520, -11830, -2210, -8875};
+
+        // Act & Assert
+        assertNull(RecurringPaymentDetector.detect(dates, amounts, dates.length));
+    }
+
+    @Test
+    void testDetect_TooFewOccurrences() {
+        // Arrange
+        int[] dates = days("2026-08-01", "2026-09-01");
+        long[] amounts = {-999, -999};
+
+        // Act & Assert
+        assertNull(RecurringPaymentDetector.detect(dates, amounts, dates.length));
+    }
+
+    @Test
+    void testNormalize_GroupsVariantsOfSameMerchant() {
+        // Act & Assert
+        assertEquals("netflix com", MerchantNormalizer.normalize("NETFLIX.COM 866-579-7172"));
+        assertEquals("netflix com", MerchantNormalizer.normalize("Netflix.com 4431"));
+        assertEquals("trader joes", MerchantNormalizer.normalize("TRADER JOE'S #552"));
+        assertEquals("spotify usa inc", MerchantNormalizer.normalize("SPOTIFY USA INC NEW YORK NY"));
+        assertEquals("", MerchantNormalizer.normalize(null));
+    }
+}
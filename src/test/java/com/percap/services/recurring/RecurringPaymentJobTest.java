@@ -0,0 +1,128 @@
+package com.percap.services.recurring;
+
+import com.percap.domain.job.JobCheckpoint;
+import com.percap.repositories.JobCheckpointRepository;
+import com.percap.repositories.TransactionRepository;
+import com.percap.repositories.TransactionRepository.TouchedDescription;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecurringPaymentJobTest {
+
+    @Mock
+    private RecurringPaymentService recurringPaymentService;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    private RecurringPaymentJob recurringPaymentJob;
+
+    private final Instant databaseNow = Instant.parse("2026-10-19T02:30:00Z");
+
+    @BeforeEach
+    void setUp() {
+        recurringPaymentJob = new RecurringPaymentJob(recurringPaymentService, transactionRepository,
+                jobCheckpointRepository, 2, 5, 60);
+        when(jobCheckpointRepository.currentTimestamp()).thenReturn(databaseNow);
+    }
+
+    private static TouchedDescription touched(String userId, String description) {
+        return new TouchedDescription() {
+            @Override
+            public String getUserId() {
+                return userId;
+            }
+
+            @Override
+            public String getDescription() {
+                return description;
+            }
+        };
+    }
+
+    @Test
+    void testRun_FirstRunPagesUsersAndCheckpointsDatabaseClock() {
+        // Arrange
+        List<String> firstPage = new ArrayList<>();
+        for (int i = 0; i < RecurringPaymentJob.USER_PAGE_SIZE; i++) {
+            firstPage.add(String.format("user-%04d", i));
+        }
+        when(jobCheckpointRepository.findById(RecurringPaymentJob.JOB_NAME)).thenReturn(Optional.empty());
+        when(transactionRepository.findUserIdsTouchedBetween(eq(Instant.EPOCH), eq(databaseNow), eq(""), any(Pageable.class)))
+                .thenReturn(firstPage);
+        when(transactionRepository.findUserIdsTouchedBetween(eq(Instant.EPOCH), eq(databaseNow), eq("user-0499"), any(Pageable.class)))
+                .thenReturn(List.of("user-9999"));
+        when(transactionRepository.findDescriptionsTouchedBetween(anyCollection(), eq(Instant.EPOCH), eq(databaseNow)))
+                .thenAnswer(invocation -> {
+                    Collection<String> userIds = invocation.getArgument(0);
+                    return userIds.stream().map(userId -> touched(userId, "NETFLIX.COM 866-579")).toList();
+                });
+
+        // Act
+        boolean completed = recurringPaymentJob.run();
+
+        // Assert
+        assertTrue(completed);
+        verify(recurringPaymentService, times(RecurringPaymentJob.USER_PAGE_SIZE + 1)).refresh(anyString(), eq(Set.of("netflix com")));
+        ArgumentCaptor<JobCheckpoint> checkpoint = ArgumentCaptor.forClass(JobCheckpoint.class);
+        verify(jobCheckpointRepository).save(checkpoint.capture());
+        assertEquals(databaseNow, checkpoint.getValue().getLastRunAt());
+    }
+
+    @Test
+    void testRun_RescansOverlapBeforeCheckpoint() {
+        // Arrange
+        Instant lastRun = Instant.parse("2026-10-18T02:30:00Z");
+        when(jobCheckpointRepository.findById(RecurringPaymentJob.JOB_NAME))
+                .thenReturn(Optional.of(new JobCheckpoint(RecurringPaymentJob.JOB_NAME, lastRun)));
+        when(transactionRepository.findUserIdsTouchedBetween(any(), any(), anyString(), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        // Act
+        recurringPaymentJob.run();
+
+        // Assert
+        verify(transactionRepository).findUserIdsTouchedBetween(eq(lastRun.minus(Duration.ofMinutes(60))),
+                eq(databaseNow), eq(""), any(Pageable.class));
+        verify(transactionRepository, never()).findDescriptionsTouchedBetween(anyCollection(), any(), any());
+    }
+
+    @Test
+    void testRun_FailedUserKeepsCheckpoint() {
+        // Arrange
+        when(jobCheckpointRepository.findById(RecurringPaymentJob.JOB_NAME)).thenReturn(Optional.empty());
+        when(transactionRepository.findUserIdsTouchedBetween(any(), any(), anyString(), any(Pageable.class)))
+                .thenReturn(List.of("user-1"));
+        when(transactionRepository.findDescriptionsTouchedBetween(anyCollection(), any(), any()))
+                .thenReturn(List.of(touched("user-1", "SPOTIFY USA")));
+        when(recurringPaymentService.refresh(eq("user-1"), anySet())).thenThrow(new IllegalStateException("boom"));
+
+        // Act
+        boolean completed = recurringPaymentJob.run();
+
+        // Assert
+        assertFalse(completed);
+        verify(jobCheckpointRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,110 @@
+package com.percap.services.recurring;
+
+import com.percap.domain.recurring.RecurringPayment;
+import com.percap.domain.user.User;
+import com.percap.repositories.RecurringPaymentRepository;
+import com.percap.repositories.TransactionRepository;
+import com.percap.repositories.TransactionRepository.DatedAmount;
+import com.percap.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecurringPaymentServiceTest {
+
+    @Mock
+    private RecurringPaymentRepository recurringPaymentRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private RecurringPaymentService recurringPaymentService;
+
+    @BeforeEach
+    void setUp() {
+        recurringPaymentService = new RecurringPaymentService(recurringPaymentRepository, transactionRepository,
+                userRepository, 18);
+    }
+
+    private static DatedAmount charge(String description, LocalDate date, String amount) {
+        return new DatedAmount() {
+            @Override
+            public String getDescription() {
+                return description;
+            }
+
+            @Override
+            public LocalDate getDate() {
+                return date;
+            }
+
+            @Override
+            public BigDecimal getAmount() {
+                return new BigDecimal(amount);
+            }
+        };
+    }
+
+    @Test
+    void testRefresh_SavesDetectedMerchantOnly() {
+        // Arrange
+        LocalDate start = LocalDate.now().minusMonths(4);
+        when(transactionRepository.findByUserIdAndDateGreaterThanEqualAndAmountLessThanOrderByDateAsc(
+                eq("user-1"), any(LocalDate.class), eq(BigDecimal.ZERO))).thenReturn(List.of(
+                charge("NETFLIX.COM 866-579", start, "-15.99"),
+                charge("SAFEWAY #123", start.plusDays(3), "-80.00"),
+                charge("Netflix.com 4431", start.plusMonths(1), "-15.99"),
+                charge("NETFLIX.COM 866-579", start.plusMonths(2), "-15.99"),
+                charge("NETFLIX.COM 866-579", start.plusMonths(3), "-15.99")));
+        when(userRepository.getReferenceById("user-1")).thenReturn(new User());
+
+        // Act
+        int detected = recurringPaymentService.refresh("user-1", Set.of("netflix com"));
+
+        // Assert
+        assertEquals(1, detected);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<RecurringPayment>> saved = ArgumentCaptor.forClass(List.class);
+        verify(recurringPaymentRepository).saveAll(saved.capture());
+        RecurringPayment payment = saved.getValue().get(0);
+        assertEquals("netflix com", payment.getMerchant());
+        assertEquals(new BigDecimal("-15.99"), payment.getAverageAmount());
+        assertEquals(4, payment.getOccurrences());
+    }
+
+    @Test
+    void testRefresh_DeletesMerchantThatStoppedRecurring() {
+        // Arrange
+        RecurringPayment stale = new RecurringPayment();
+        stale.setMerchant("spotify usa");
+        when(transactionRepository.findByUserIdAndDateGreaterThanEqualAndAmountLessThanOrderByDateAsc(
+                eq("user-1"), any(LocalDate.class), eq(BigDecimal.ZERO)))
+                .thenReturn(List.of(charge("SPOTIFY USA", LocalDate.now().minusDays(3), "-9.99")));
+        when(recurringPaymentRepository.findByUserIdAndMerchantIn("user-1", Set.of("spotify usa")))
+                .thenReturn(List.of(stale));
+
+        // Act
+        int detected = recurringPaymentService.refresh("user-1", Set.of("spotify usa"));
+
+        // Assert
+        assertEquals(0, detected);
+        verify(recurringPaymentRepository).deleteAll(List.of(stale));
+        verify(recurringPaymentRepository).saveAll(List.of());
+    }
+}
@@ -0,0 +1,197 @@
+package com.percap.services.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.percap.domain.report.ReportJob;
+import com.percap.domain.report.ReportJobStatus;
+import com.percap.domain.report.ReportType;
+import com.percap.repositories.ReportJobRepository;
+import com.percap.services.coldstore.ColdLedgerStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@Testcontainers(disabledWithoutDocker = true)
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReportJobRunnerTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static DriverManagerDataSource dataSource;
+
+    @Mock
+    private ReportJobRepository reportJobRepository;
+
+    @Mock
+    private ColdLedgerStore coldLedgerStore;
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private JdbcTemplate jdbcTemplate;
+    private ReportJobService reportJobService;
+    private ReportJobRunner runner;
+
+    @BeforeAll
+    static void migrate() {
+        dataSource = new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        Flyway.configure().dataSource(dataSource).load().migrate();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM report_jobs");
+        jdbcTemplate.update("DELETE FROM transactions WHERE user_id = 'user-1'");
+        jdbcTemplate.update("INSERT INTO users (id, login, password, role) VALUES ('user-1', 'alice', 'x', 'USER') " +
+                "ON CONFLICT DO NOTHING");
+        insert("t-0", "2023-12-31", "-1.00");
+        insert("t-1", "2024-01-05", "-4.50");
+        insert("t-2", "2024-01-05", "-12.00");
+        insert("t-3", "2024-02-10", "2500.00");
+        insert("t-4", "2024-03-01", "-80.25");
+        insert("t-5", "2024-12-31", "-19.99");
+
+        reportJobService = new ReportJobService(reportJobRepository, directory.toString(), 3, 72);
+        runner = new ReportJobRunner(reportJobService, reportJobRepository, coldLedgerStore, objectMapper, dataSource,
+                new DataSourceTransactionManager(dataSource), new SimpleMeterRegistry(), 1, 8, 1, 2, 3, 60);
+        when(reportJobRepository.findById(anyString())).thenAnswer(invocation -> Optional.of(load(invocation.getArgument(0))));
+    }
+
+    private void insert(String id, String date, String amount) {
+        jdbcTemplate.update("INSERT INTO transactions (id, user_id, description, amount, currency, transaction_date, category) " +
+                "VALUES (?, 'user-1', 'Coffee', ?, 'USD', ?, 'dining')", id, new BigDecimal(amount), Date.valueOf(date));
+    }
+
+    private String queue(LocalDate cursorDate, String cursorId, long rowsProcessed, long outputBytes, String totals) {
+        String id = UUID.randomUUID().toString();
+        jdbcTemplate.update("INSERT INTO report_jobs (id, user_id, report_type, report_year, status, rows_processed, " +
+                "cursor_date, cursor_id, output_bytes, totals, created_at) VALUES (?, 'user-1', 'STATEMENT', 2024, " +
+                "'QUEUED', ?, ?, ?, ?, ?, ?)", id, rowsProcessed, Date.valueOf(cursorDate), cursorId, outputBytes,
+                totals, Timestamp.from(Instant.now()));
+        return id;
+    }
+
+    private ReportJob load(String id) {
+        return jdbcTemplate.queryForObject("SELECT * FROM report_jobs WHERE id = ?", (rs, rowNum) -> {
+            ReportJob job = new ReportJob();
+            job.setId(rs.getString("id"));
+            job.setUserId(rs.getString("user_id"));
+            job.setType(ReportType.valueOf(rs.getString("report_type")));
+            job.setYear(rs.getInt("report_year"));
+            job.setStatus(ReportJobStatus.valueOf(rs.getString("status")));
+            job.setAttempts(rs.getInt("attempts"));
+            job.setRowsProcessed(rs.getLong("rows_processed"));
+            job.setCursorDate(rs.getDate("cursor_date").toLocalDate());
+            job.setCursorId(rs.getString("cursor_id"));
+            job.setOutputBytes(rs.getLong("output_bytes"));
+            job.setTotals(rs.getString("totals"));
+            return job;
+        }, id);
+    }
+
+    private String runToCompletion() {
+        String jobId = runner.claim();
+        assertNotNull(jobId);
+        runner.run(jobId);
+        assertEquals(ReportJobStatus.SUCCEEDED, load(jobId).getStatus());
+        return jobId;
+    }
+
+    private String output(String jobId) throws IOException {
+        return Files.readString(reportJobService.outputFile(jobId), StandardCharsets.UTF_8);
+    }
+
+    private static int occurrences(String text, String token) {
+        return text.split(token, -1).length - 1;
+    }
+
+    private String totalsOfFirstTwoRows() {
+        ReportTotals totals = new ReportTotals();
+        totals.add("USD", "dining", new BigDecimal("-4.50"));
+        totals.add("USD", "dining", new BigDecimal("-12.00"));
+        return totals.toJson(objectMapper);
+    }
+
+    @Test
+    void testRun_WritesEachRowOfTheYearOnceThenTotals() throws IOException {
+        // Act
+        String jobId = runToCompletion();
+
+        // Assert
+        String output = output(jobId);
+        assertTrue(output.startsWith("id,date,description,amount,currency,category\r\n"));
+        assertEquals(0, occurrences(output, "t-0,"));
+        for (int i = 1; i <= 5; i++) {
+            assertEquals(1, occurrences(output, "t-" + i + ","), "row t-" + i);
+        }
+        assertTrue(output.endsWith("USD,dining,2500.00,-116.74,5\r\n"), output);
+        assertEquals(Files.size(reportJobService.outputFile(jobId)), load(jobId).getOutputBytes());
+    }
+
+    @Test
+    void testRun_ResumeDropsBytesWrittenAfterCheckpoint() throws IOException {
+        // Arrange
+        String expected = output(runToCompletion());
+        jdbcTemplate.update("DELETE FROM report_jobs");
+        int afterSecondRow = expected.indexOf("t-3,");
+        String jobId = queue(LocalDate.of(2024, 1, 5), "t-2", 2, afterSecondRow, totalsOfFirstTwoRows());
+        Files.writeString(reportJobService.outputFile(jobId),
+                expected.substring(0, afterSecondRow) + "t-3,2024-02-10,Coff", StandardCharsets.UTF_8);
+
+        // Act
+        runToCompletion();
+
+        // Assert
+        assertEquals(expected, output(jobId));
+        assertEquals(5, load(jobId).getRowsProcessed());
+    }
+
+    @Test
+    void testRun_StartsOverWhenOutputIsShorterThanCheckpoint() throws IOException {
+        // Arrange
+        String expected = output(runToCompletion());
+        jdbcTemplate.update("DELETE FROM report_jobs");
+        // Checkpointed on another node, whose file this node cannot see.
+        String jobId = queue(LocalDate.of(2024, 1, 5), "t-2", 2, 120, totalsOfFirstTwoRows());
+
+        // Act
+        runToCompletion();
+
+        // Assert
+        assertEquals(expected, output(jobId));
+        assertEquals(5, load(jobId).getRowsProcessed());
+    }
+}
@@ -0,0 +1,154 @@
+package com.percap.services.report;
+
+import com.percap.domain.report.ReportJob;
+import com.percap.domain.report.ReportJobStatus;
+import com.percap.domain.report.ReportType;
+import com.percap.dtos.report.ReportJobDTO;
+import com.percap.dtos.report.ReportJobRequestDTO;
+import com.percap.repositories.ReportJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportJobServiceTest {
+
+    @Mock
+    private ReportJobRepository reportJobRepository;
+
+    @TempDir
+    Path directory;
+
+    private ReportJobService reportJobService;
+
+    @BeforeEach
+    void setUp() {
+        reportJobService = new ReportJobService(reportJobRepository, directory.toString(), 2, 72);
+    }
+
+    @Test
+    void testSubmit_QueuesJobWithCursorBeforeFirstDayOfYear() {
+        // Arrange
+        when(reportJobRepository.countByUserIdAndStatusIn(eq("user-1"), anyCollection())).thenReturn(1L);
+        when(reportJobRepository.save(any(ReportJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        ReportJobDTO job = reportJobService.submit("user-1", new ReportJobRequestDTO(ReportType.STATEMENT, 2024));
+
+        // Assert
+        ArgumentCaptor<ReportJob> saved = ArgumentCaptor.forClass(ReportJob.class);
+        verify(reportJobRepository).save(saved.capture());
+        assertEquals(ReportJobStatus.QUEUED, saved.getValue().getStatus());
+        assertEquals(LocalDate.of(2023, 12, 31), saved.getValue().getCursorDate());
+        assertNull(saved.getValue().getCursorId());
+        assertEquals(0.0, job.getProgress());
+    }
+
+    @Test
+    void testSubmit_TooManyPendingJobs() {
+        // Arrange
+        when(reportJobRepository.countByUserIdAndStatusIn(eq("user-1"), anyCollection())).thenReturn(2L);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () ->
+                reportJobService.submit("user-1", new ReportJobRequestDTO(ReportType.TAX_SUMMARY, 2024)));
+        verify(reportJobRepository, never()).save(any());
+    }
+
+    @Test
+    void testSubmit_FutureYear() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> reportJobService.submit("user-1",
+                new ReportJobRequestDTO(ReportType.STATEMENT, Year.now().getValue() + 1)));
+    }
+
+    @Test
+    void testGet_ReportsProgressFromCursor() {
+        // Arrange
+        ReportJob job = job("job-1", ReportJobStatus.RUNNING);
+        job.setCursorDate(LocalDate.of(2024, 6, 30));
+        when(reportJobRepository.findByIdAndUserId("job-1", "user-1")).thenReturn(Optional.of(job));
+
+        // Act
+        ReportJobDTO dto = reportJobService.get("user-1", "job-1");
+
+        // Assert
+        assertEquals(182 / 366.0, dto.getProgress(), 1e-9);
+    }
+
+    @Test
+    void testResult_OtherUsersJob() {
+        // Arrange
+        when(reportJobRepository.findByIdAndUserId("job-1", "user-2")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> reportJobService.result("user-2", "job-1"));
+    }
+
+    @Test
+    void testResult_UnfinishedJob() {
+        // Arrange
+        when(reportJobRepository.findByIdAndUserId("job-1", "user-1"))
+                .thenReturn(Optional.of(job("job-1", ReportJobStatus.RUNNING)));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> reportJobService.result("user-1", "job-1"));
+    }
+
+    @Test
+    void testResult_SucceededJobReturnsFile() throws Exception {
+        // Arrange
+        Files.writeString(directory.resolve("job-1.csv"), "currency,category,inflow,outflow,count\r\n");
+        when(reportJobRepository.findByIdAndUserId("job-1", "user-1"))
+                .thenReturn(Optional.of(job("job-1", ReportJobStatus.SUCCEEDED)));
+
+        // Act
+        Path file = reportJobService.result("user-1", "job-1");
+
+        // Assert
+        assertEquals(directory.resolve("job-1.csv"), file);
+    }
+
+    @Test
+    void testPurgeExpired_DeletesFileAndJob() throws Exception {
+        // Arrange
+        ReportJob job = job("job-1", ReportJobStatus.SUCCEEDED);
+        Files.writeString(directory.resolve("job-1.csv"), "x");
+        when(reportJobRepository.findByFinishedAtBefore(any(Instant.class))).thenReturn(List.of(job));
+
+        // Act
+        reportJobService.purgeExpired();
+
+        // Assert
+        assertFalse(Files.exists(directory.resolve("job-1.csv")));
+        verify(reportJobRepository).delete(job);
+    }
+
+    private static ReportJob job(String id, ReportJobStatus status) {
+        ReportJob job = new ReportJob();
+        job.setId(id);
+        job.setUserId("user-1");
+        job.setType(ReportType.STATEMENT);
+        job.setYear(2024);
+        job.setStatus(status);
+        job.setCursorDate(LocalDate.of(2023, 12, 31));
+        job.setCreatedAt(Instant.now());
+        return job;
+    }
+}
@@ -0,0 +1,53 @@
+package com.percap.services.retirement;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 100k-path, 50-year simulation across pool sizes, to show how the engine scales with cores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MonteCarloSimulatorBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    private final SimulationParameters parameters =
+            new SimulationParameters(250_000, 15_000, 60_000, 20, 30, 0.06, 0.15);
+    private ForkJoinPool pool;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public double simulate() {
+        return MonteCarloSimulator.simulate(parameters, 100_000, seed++, pool, System.nanoTime() + TimeUnit.MINUTES.toNanos(1))
+                .successProbability();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MonteCarloSimulatorBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
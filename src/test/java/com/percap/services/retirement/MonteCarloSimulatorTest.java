@@ -0,0 +1,90 @@
+package com.percap.services.retirement;
+
+import com.percap.services.retirement.MonteCarloSimulator.SimulationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonteCarloSimulatorTest {
+
+    private static final SimulationParameters PARAMETERS =
+            new SimulationParameters(100_000, 10_000, 40_000, 20, 30, 0.06, 0.15);
+    private static final long NO_DEADLINE = Long.MAX_VALUE / 2;
+
+    private ForkJoinPool singleWorker;
+    private ForkJoinPool fourWorkers;
+
+    @BeforeEach
+    void setUp() {
+        singleWorker = new ForkJoinPool(1);
+        fourWorkers = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        singleWorker.shutdownNow();
+        fourWorkers.shutdownNow();
+    }
+
+    @Test
+    void testSimulate_SameSeedIndependentOfPoolSize() {
+        // Act
+        SimulationResult sequential = MonteCarloSimulator.simulate(PARAMETERS, 20_000, 42L, singleWorker,
+                System.nanoTime() + NO_DEADLINE);
+        SimulationResult parallel = MonteCarloSimulator.simulate(PARAMETERS, 20_000, 42L, fourWorkers,
+                System.nanoTime() + NO_DEADLINE);
+
+        // Assert
+        assertEquals(sequential.successProbability(), parallel.successProbability());
+        for (int year = 0; year < sequential.years(); year++) {
+            assertEquals(sequential.percentile(year, 0.5), parallel.percentile(year, 0.5));
+        }
+    }
+
+    @Test
+    void testSimulate_WithinBudgetCompletesAllPathsWithOrderedBands() {
+        // Act
+        SimulationResult result = MonteCarloSimulator.simulate(PARAMETERS, 10_000, 7L, fourWorkers,
+                System.nanoTime() + NO_DEADLINE);
+
+        // Assert
+        assertEquals(10_000, result.completedPaths());
+        assertFalse(result.isTruncated());
+        assertEquals(51, result.years());
+        assertTrue(result.successProbability() > 0 && result.successProbability() <= 1);
+        for (int year = 1; year < result.years(); year++) {
+            assertTrue(result.percentile(year, 0.1) <= result.percentile(year, 0.5));
+            assertTrue(result.percentile(year, 0.5) <= result.percentile(year, 0.9));
+        }
+    }
+
+    @Test
+    void testSimulate_ExpiredDeadlineReportsTruncation() {
+        // Act
+        SimulationResult result = MonteCarloSimulator.simulate(PARAMETERS, 10_000, 7L, fourWorkers,
+                System.nanoTime() - 1);
+
+        // Assert
+        assertTrue(result.isTruncated());
+        assertEquals(0, result.completedPaths());
+        assertEquals(0, result.successProbability());
+    }
+
+    @Test
+    void testSimulate_NoVolatilityFollowsDeterministicGrowth() {
+        // Arrange
+        SimulationParameters parameters = new SimulationParameters(1_000, 0, 0, 1, 1, 0.10, 0);
+
+        // Act
+        SimulationResult result = MonteCarloSimulator.simulate(parameters, 10_000, 1L, singleWorker,
+                System.nanoTime() + NO_DEADLINE);
+
+        // Assert
+        assertEquals(1.0, result.successProbability());
+        assertEquals(1_100, result.percentile(1, 0.5), 1_100 * 0.05);
+    }
+}
@@ -0,0 +1,69 @@
+package com.percap.services.search;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency distribution over a synthetic ledger with a skewed merchant mix.
+ * SampleTime mode reports p50/p90/p99/p99.9 per query shape.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionSearchIndexBenchmark {
+    private static final String[] MERCHANTS = {
+            "amazon mktplace", "starbucks store", "shell oil", "safeway", "uber trip", "uber eats", "netflix.com",
+            "target", "walmart supercenter", "costco whse", "delta air", "united airlines", "whole foods market",
+            "trader joe's", "chipotle", "spotify", "apple.com/bill", "comcast", "pg&e", "venmo payment"
+    };
+    private static final String[] CATEGORIES = {
+            "groceries", "dining", "travel", "fuel", "shopping", "utilities", "entertainment", "transfers"
+    };
+
+    @Param({"10000", "250000"})
+    public int transactions;
+
+    @Param({"starbucks", "uber ea", "whole foods mar", "zzz"})
+    public String query;
+
+    private TransactionSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        TransactionSearchIndex.Builder builder = TransactionSearchIndex.builder();
+        LocalDate start = LocalDate.of(2015, 1, 1);
+        for (int i = 0; i < transactions; i++) {
+            // Squaring skews the mix towards the first merchants, as in real ledgers.
+            double skew = random.nextDouble();
+            String merchant = MERCHANTS[(int) (skew * skew * MERCHANTS.length)];
+            builder.add("tx-" + i, merchant.toUpperCase() + " #" + random.nextInt(10000),
+                    CATEGORIES[random.nextInt(CATEGORIES.length)], start.plusDays(random.nextInt(3650)),
+                    BigDecimal.valueOf(-random.nextInt(50000), 2), "USD");
+        }
+        index = builder.build();
+    }
+
+    @Benchmark
+    public int[] search() {
+        return index.search(query, 20);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TransactionSearchIndexBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,126 @@
+package com.percap.services.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionSearchIndexTest {
+
+    private TransactionSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = TransactionSearchIndex.builder()
+                .add("tx-1", "STARBUCKS STORE 123", "dining", LocalDate.of(2026, 1, 1), new BigDecimal("-5.40"), "USD")
+                .add("tx-2", "STAR MARKET", "groceries", LocalDate.of(2026, 1, 2), new BigDecimal("-61.12"), "USD")
+                .add("tx-3", "Starbucks Reserve starbucks", "dining", LocalDate.of(2026, 1, 3), new BigDecimal("-7.25"), "USD")
+                .add("tx-4", "SHELL OIL 5744", "fuel", LocalDate.of(2026, 1, 4), new BigDecimal("-38.00"), "USD")
+                .build();
+    }
+
+    private String[] ids(int[] docs) {
+        String[] ids = new String[docs.length];
+        for (int i = 0; i < docs.length; i++) {
+            ids[i] = index.id(docs[i]);
+        }
+        return ids;
+    }
+
+    @Test
+    void testSearch_LastTokenMatchesAsPrefix() {
+        // Act
+        int[] docs = index.search("star", 10);
+
+        // Assert
+        assertEquals(3, docs.length);
+        assertArrayEquals(new String[]{"tx-1", "tx-2", "tx-3"}, Arrays.stream(ids(docs)).sorted().toArray());
+    }
+
+    @Test
+    void testSearch_RanksRepeatedTermHigher() {
+        // Act
+        int[] docs = index.search("starbucks", 10);
+
+        // Assert
+        assertArrayEquals(new String[]{"tx-3", "tx-1"}, ids(docs));
+    }
+
+    @Test
+    void testSearch_EarlierTokensMustMatchExactly() {
+        // Act & Assert
+        assertEquals(0, index.search("starb dining", 10).length);
+        assertArrayEquals(new String[]{"tx-3", "tx-1"}, ids(index.search("starb* dining", 10)));
+    }
+
+    @Test
+    void testSearch_AllTokensRequired() {
+        // Act
+        int[] docs = index.search("sta* mark", 10);
+
+        // Assert
+        assertArrayEquals(new String[]{"tx-2"}, ids(docs));
+    }
+
+    @Test
+    void testSearch_MatchesCategory() {
+        // Act
+        int[] docs = index.search("fuel", 10);
+
+        // Assert
+        assertArrayEquals(new String[]{"tx-4"}, ids(docs));
+        assertEquals(new BigDecimal("-38.00"), index.amount(docs[0]));
+        assertEquals(LocalDate.of(2026, 1, 4), index.date(docs[0]));
+    }
+
+    @Test
+    void testSearch_RespectsLimit() {
+        // Act
+        int[] docs = index.search("star", 2);
+
+        // Assert
+        assertEquals(2, docs.length);
+    }
+
+    @Test
+    void testSearch_NoMatchOrBlankQuery() {
+        // Act & Assert
+        assertEquals(0, index.search("zzz", 10).length);
+        assertEquals(0, index.search("  ", 10).length);
+        assertEquals(0, index.search(null, 10).length);
+    }
+
+    @Test
+    void testSearch_EmptyIndex() {
+        // Arrange
+        TransactionSearchIndex empty = TransactionSearchIndex.builder().build();
+
+        // Act & Assert
+        assertEquals(0, empty.size());
+        assertEquals(0, empty.search("star", 10).length);
+    }
+
+    @Test
+    void testTokenize_IgnoresDefaultLocale() {
+        // Arrange
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+
+        // Act
+        List<String> tokens;
+        try {
+            tokens = TransactionSearchIndex.tokenize("ISTANBUL DINER");
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+
+        // Assert
+        assertEquals(List.of("istanbul", "diner"), tokens);
+    }
+}
@@ -0,0 +1,124 @@
+package com.percap.services.streaming;
+
+import com.percap.domain.transaction.TransactionChangedEvent;
+import com.percap.repositories.PortfolioValuationRepository;
+import com.percap.repositories.FxRateRepository;
+import com.percap.repositories.TransactionRepository;
+import com.percap.repositories.TransactionRepository.CurrencyTotal;
+import com.percap.services.fx.FxService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BalanceStreamServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private PortfolioValuationRepository portfolioValuationRepository;
+
+    @Mock
+    private FxRateRepository fxRateRepository;
+
+    private BalanceStreamService balanceStreamService;
+
+    @BeforeEach
+    void setUp() {
+        balanceStreamService = new BalanceStreamService(transactionRepository, portfolioValuationRepository,
+                new FxService(fxRateRepository, event -> { }, "USD", 10), 60_000, 2, 3, 4);
+        when(transactionRepository.sumByCurrency(anyString())).thenReturn(List.of(total("USD", "100.00")));
+        when(portfolioValuationRepository.findTopByUserIdOrderByDateDesc(anyString())).thenReturn(Optional.empty());
+    }
+
+    private static CurrencyTotal total(String currency, String amount) {
+        return new CurrencyTotal() {
+            @Override
+            public String getCurrency() {
+                return currency;
+            }
+
+            @Override
+            public BigDecimal getTotal() {
+                return new BigDecimal(amount);
+            }
+        };
+    }
+
+    private void awaitInitialEvent(String userId) {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (!balanceStreamService.settled(userId)) {
+            assertTrue(System.currentTimeMillis() < deadline, "initial event was not pushed");
+            Thread.onSpinWait();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        balanceStreamService.destroy();
+    }
+
+    @Test
+    void testSubscribe_LoadsInitialSnapshot() {
+        // Act
+        balanceStreamService.subscribe("user-1");
+
+        // Assert
+        verify(transactionRepository, timeout(1000)).sumByCurrency("user-1");
+        assertEquals(1, balanceStreamService.subscriberCount());
+    }
+
+    @Test
+    void testPush_BurstOfLedgerWritesRecomputesOnce() {
+        // Arrange
+        balanceStreamService.subscribe("user-1");
+        awaitInitialEvent("user-1");
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            balanceStreamService.onTransactionChanged(new TransactionChangedEvent("user-1", null, null));
+        }
+        balanceStreamService.push("user-1");
+        balanceStreamService.push("user-1");
+
+        // Assert
+        verify(transactionRepository, times(2)).sumByCurrency("user-1");
+    }
+
+    @Test
+    void testOnTransactionChanged_UserWithoutStreams() {
+        // Act
+        balanceStreamService.onTransactionChanged(new TransactionChangedEvent("user-2", null, null));
+        balanceStreamService.flush();
+
+        // Assert
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void testSubscribe_OverLimits() {
+        // Arrange
+        balanceStreamService.subscribe("user-1");
+        balanceStreamService.subscribe("user-1");
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> balanceStreamService.subscribe("user-1"));
+        balanceStreamService.subscribe("user-2");
+        assertThrows(IllegalStateException.class, () -> balanceStreamService.subscribe("user-3"));
+        assertEquals(3, balanceStreamService.subscriberCount());
+    }
+}
@@ -0,0 +1,221 @@
+package com.percap.services.sync;
+
+import com.percap.domain.institution.Institution;
+import com.percap.repositories.InstitutionRepository;
+import com.percap.repositories.LinkedAccountRepository;
+import com.percap.repositories.LinkedAccountRepository.DueAccount;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AccountSyncSchedulerTest {
+
+    @Mock
+    private LinkedAccountRepository linkedAccountRepository;
+
+    @Mock
+    private InstitutionRepository institutionRepository;
+
+    @Mock
+    private AggregatorClient aggregatorClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccountSyncScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new AccountSyncScheduler(linkedAccountRepository, institutionRepository, aggregatorClient,
+                new UserActivityTracker(60_000), meterRegistry, 100, 10, 240, 60, 360);
+        Institution bank = new Institution("bank-1", "First Bank", 2, 6000);
+        when(institutionRepository.findAll()).thenReturn(List.of(bank));
+        when(institutionRepository.findById("bank-1")).thenReturn(Optional.of(bank));
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.destroy();
+    }
+
+    private static DueAccount due(String id, int failures) {
+        return due(id, "bank-1", failures);
+    }
+
+    private static DueAccount due(String id, String institutionId, int failures) {
+        return new DueAccount() {
+            @Override
+            public String getId() {
+                return id;
+            }
+
+            @Override
+            public String getUserId() {
+                return "user-1";
+            }
+
+            @Override
+            public String getInstitutionId() {
+                return institutionId;
+            }
+
+            @Override
+            public String getExternalAccountId() {
+                return "ext-" + id;
+            }
+
+            @Override
+            public Instant getNextSyncAt() {
+                return Instant.now().minusSeconds(60);
+            }
+
+            @Override
+            public int getConsecutiveFailures() {
+                return failures;
+            }
+        };
+    }
+
+    @Test
+    void testEnqueueDue_AccountAlreadyQueued() {
+        // Arrange
+        when(linkedAccountRepository.findDue(any(Instant.class), any())).thenReturn(List.of(due("acc-1", 0)));
+
+        // Act
+        scheduler.enqueueDue();
+        scheduler.enqueueDue();
+
+        // Assert
+        assertEquals(1, scheduler.queuedCount());
+        assertFalse(scheduler.requestSync("acc-1", "bank-1", "ext-acc-1", 0));
+    }
+
+    @Test
+    void testStart_SyncsQueuedAccountsAndRecordsOutcomes() {
+        // Arrange
+        when(linkedAccountRepository.findDue(any(Instant.class), any())).thenReturn(List.of(due("ok", 0), due("bad", 2)));
+        when(aggregatorClient.fetchBalance("bank-1", "ext-ok")).thenReturn(new AggregatedBalance(new BigDecimal("10.00"), "USD"));
+        when(aggregatorClient.fetchBalance("bank-1", "ext-bad")).thenThrow(new AggregatorException("timeout"));
+
+        // Act
+        scheduler.enqueueDue();
+        scheduler.start();
+
+        // Assert
+        verify(linkedAccountRepository, timeout(2000)).recordSuccess(eq("ok"), eq(new BigDecimal("10.00")), eq("USD"),
+                any(Instant.class), any(Instant.class));
+        verify(linkedAccountRepository, timeout(2000)).recordFailure(eq("bad"), any(Instant.class), eq("timeout"));
+        assertEquals(1.0, meterRegistry.get("sync.accounts").tag("outcome", "success").counter().count());
+    }
+
+    @Test
+    void testStart_SlowInstitutionDoesNotHoldBackOthers() throws InterruptedException {
+        // Arrange
+        scheduler.destroy();
+        scheduler = new AccountSyncScheduler(linkedAccountRepository, institutionRepository, aggregatorClient,
+                new UserActivityTracker(60_000), meterRegistry, 100, 2, 240, 60, 360);
+        when(institutionRepository.findAll()).thenReturn(List.of(new Institution("bank-1", "First Bank", 1, 6000),
+                new Institution("bank-2", "Second Bank", 1, 6000)));
+        CountDownLatch slowBankResponds = new CountDownLatch(1);
+        when(aggregatorClient.fetchBalance(eq("bank-1"), anyString())).thenAnswer(invocation -> {
+            slowBankResponds.await();
+            return new AggregatedBalance(new BigDecimal("1.00"), "USD");
+        });
+        when(aggregatorClient.fetchBalance("bank-2", "ext-other")).thenReturn(new AggregatedBalance(new BigDecimal("2.00"), "USD"));
+        when(linkedAccountRepository.findDue(any(Instant.class), any())).thenReturn(List.of(
+                due("slow-1", 0), due("slow-2", 0), due("slow-3", 0), due("other", "bank-2", 0)));
+
+        // Act
+        scheduler.enqueueDue();
+        scheduler.start();
+
+        // Assert
+        verify(linkedAccountRepository, timeout(2000)).recordSuccess(eq("other"), eq(new BigDecimal("2.00")), eq("USD"),
+                any(Instant.class), any(Instant.class));
+        slowBankResponds.countDown();
+        verify(linkedAccountRepository, timeout(2000).times(4)).recordSuccess(anyString(), any(BigDecimal.class),
+                anyString(), any(Instant.class), any(Instant.class));
+    }
+
+    @Test
+    void testBackoff_GrowsExponentiallyWithinCap() {
+        // Arrange
+        Duration base = Duration.ofSeconds(60);
+        Duration max = Duration.ofMinutes(360);
+
+        // Act & Assert
+        assertEquals(Duration.ofSeconds(30), AccountSyncScheduler.backoff(1, base, max, 0.0));
+        assertEquals(Duration.ofSeconds(240), AccountSyncScheduler.backoff(3, base, max, 0.5));
+        assertTrue(AccountSyncScheduler.backoff(40, base, max, 0.99).compareTo(max.multipliedBy(3).dividedBy(2)) < 0);
+    }
+
+    @Test
+    void testInstitutionLimiter_CapsConcurrency() throws InterruptedException {
+        // Arrange
+        InstitutionLimiter limiter = new InstitutionLimiter(2, 60_000);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                try {
+                    limiter.acquire();
+                    try {
+                        peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        Thread.sleep(20);
+                        running.decrementAndGet();
+                    } finally {
+                        limiter.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        assertEquals(2, peak.get());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void testInstitutionLimiter_SpacesStartsToRate() throws InterruptedException {
+        // Arrange
+        InstitutionLimiter limiter = new InstitutionLimiter(10, 600);
+        long start = System.nanoTime();
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire();
+            limiter.release();
+        }
+
+        // Assert
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 290);
+    }
+}